@@ -0,0 +1,119 @@
+/*
+ * 	File:				EngineAccess.java
+ * 	Associated Files:	Deck.java, MeldIndex.java, Hand.java, bench/Engine.java,
+ * 							bench/DeckBenchmark.java
+ * 	Packages Needed:	java.util.ArrayList
+ * 	Author:            	Michael Ngo (https://github.com/yeeshue99)
+ * 	Date Modified:      10/18/2026 by Michael Ngo
+ * 	Modified By:        Michael Ngo
+ *
+ * 	Purpose:			Hand the benchmarks the real Deck calls
+ */
+
+import java.util.ArrayList;
+
+import bench.Engine;
+
+/*
+ * Class:				EngineAccess
+ * Purpose:				Engine backed by Deck. DeckBenchmark loads this by name, and
+ * 							it is the only Engine, so the JIT inlines each call straight
+ * 							into the benchmark
+ * Methods:				NewDeck, NewHand, Reset, Refill, Snapshot, Restore, Deal, Draw,
+ * 							LayDown, LayOff, Score
+ */
+public class EngineAccess implements Engine {
+
+	/*
+	 * Class:				Table
+	 * Purpose:				Copy of the melds on a table, with lists to rebuild them in
+	 * 							that have room for every lay off
+	 * Methods:
+	 */
+	private static class Table {
+		final ArrayList<ArrayList<Integer>> melds = new ArrayList<ArrayList<Integer>>();
+		final ArrayList<ArrayList<Integer>> lists = new ArrayList<ArrayList<Integer>>();
+		final ArrayList<Boolean> sequence = new ArrayList<Boolean>();
+	}
+
+	@Override
+	public Object NewDeck() {
+		return new Deck();
+	}
+
+	@Override
+	public ArrayList<Integer> NewHand(int numPlayers) {
+		return new Hand(Deck.FindHandSize(numPlayers, 1) + 1);
+	}
+
+	@Override
+	public void Reset(Object deck) {
+		Deck cards = (Deck) deck;
+		cards.deck.Clear();
+		cards.discard.Clear();
+		cards.melds.Clear();
+		cards.MakeDeck();
+	}
+
+	@Override
+	public void Refill(Object deck, ArrayList<Integer> hand, int numPlayers) {
+		Deck cards = (Deck) deck;
+		hand.clear();
+		for (int i = Deck.FindHandSize(numPlayers, cards.GetDecks()); i >= 0; i--) {
+			hand.add(cards.deck.Pop());
+		}
+	}
+
+	@Override
+	public Object Snapshot(Object deck) {
+		MeldIndex melds = ((Deck) deck).melds;
+		Table table = new Table();
+		for (int meld = 0; meld < melds.Size(); meld++) {
+			table.melds.add(new ArrayList<Integer>(melds.Get(meld)));
+			table.lists.add(new ArrayList<Integer>(Card.RANKS));
+			table.sequence.add(melds.IsSequence(meld));
+		}
+		return table;
+	}
+
+	@Override
+	public void Restore(Object deck, Object snapshot) {
+		MeldIndex melds = ((Deck) deck).melds;
+		Table table = (Table) snapshot;
+		melds.Clear();
+		for (int meld = 0; meld < table.melds.size(); meld++) {
+			ArrayList<Integer> list = table.lists.get(meld);
+			list.clear();
+			ArrayList<Integer> cards = table.melds.get(meld);
+			for (int i = 0; i < cards.size(); i++) {
+				list.add(cards.get(i));
+			}
+			melds.Add(list, table.sequence.get(meld));
+		}
+	}
+
+	@Override
+	public ArrayList<ArrayList<Integer>> Deal(Object deck, int numPlayers) {
+		return ((Deck) deck).DealCards(numPlayers);
+	}
+
+	@Override
+	public int Draw(Object deck) {
+		return ((Deck) deck).DrawCard("deck");
+	}
+
+	@Override
+	public boolean LayDown(Object deck, ArrayList<Integer> hand) {
+		return ((Deck) deck).RemoveCards(hand);
+	}
+
+	@Override
+	public boolean LayOff(Object deck, ArrayList<Integer> hand) {
+		return ((Deck) deck).CheckMelds(hand);
+	}
+
+	@Override
+	public int Score(ArrayList<Integer> hand) {
+		return Deck.CalculateScore(hand);
+	}
+}
@@ -0,0 +1,241 @@
+/*
+ * 	File:				DeckBenchmark.java
+ * 	Associated Files:	Engine.java, EngineAccess.java, Deck.java
+ * 	Packages Needed:	java.util.ArrayList, java.util.concurrent.TimeUnit, org.openjdk.jmh
+ * 	Author:            	Michael Ngo (https://github.com/yeeshue99)
+ * 	Date Modified:      10/18/2026 by Michael Ngo
+ * 	Modified By:        Michael Ngo
+ *
+ * 	Purpose:			JMH benchmarks for the deck, deal and meld hot paths
+ */
+
+package bench;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/*
+ * Class:				DeckBenchmark
+ * Purpose:				Times MakeDeck, DealCards, DrawCard, RemoveCards, CheckMelds and
+ * 							CalculateScore for tables of 2 to 6 players. Calls that use up
+ * 							their deck or hand run over a batch that is put back in place
+ * 							before every invocation. Putting it back allocates nothing,
+ * 							so the bytes -prof gc reports are the call's own. Build with
+ * 							"mvn -P jmh package" and run with
+ * 							"java -jar target/benchmarks.jar -prof gc"
+ * Methods:				MakeDeck, DealCards, DrawCard, RemoveCards, CheckMelds,
+ * 							CalculateScore, Load
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeckBenchmark {
+
+	// Decks or hands used up by one invocation
+	static final int BATCH = 256;
+
+	static final Engine ENGINE = Load();
+
+	/*
+	 * Class:				Shuffled
+	 * Purpose:				Decks with a full shuffled stock and nothing dealt
+	 * Methods:				Build, Reset
+	 */
+	@State(Scope.Thread)
+	public static class Shuffled {
+		@Param({ "2", "3", "4", "5", "6" })
+		int players;
+
+		final Object[] decks = new Object[BATCH];
+
+		@Setup(Level.Trial)
+		public void Build() {
+			for (int i = 0; i < BATCH; i++) {
+				decks[i] = ENGINE.NewDeck();
+			}
+		}
+
+		@Setup(Level.Invocation)
+		public void Reset() {
+			for (int i = 0; i < BATCH; i++) {
+				ENGINE.Reset(decks[i]);
+			}
+		}
+	}
+
+	/*
+	 * Class:				Drawn
+	 * Purpose:				A dealt hand plus its first draw for each deck
+	 * Methods:				Build, Reset
+	 */
+	@State(Scope.Thread)
+	public static class Drawn {
+		@Param({ "2", "3", "4", "5", "6" })
+		int players;
+
+		final Object[] decks = new Object[BATCH];
+		final ArrayList<ArrayList<Integer>> hands = new ArrayList<ArrayList<Integer>>(BATCH);
+
+		@Setup(Level.Trial)
+		public void Build() {
+			for (int i = 0; i < BATCH; i++) {
+				decks[i] = ENGINE.NewDeck();
+				hands.add(ENGINE.NewHand(players));
+			}
+		}
+
+		@Setup(Level.Invocation)
+		public void Reset() {
+			for (int i = 0; i < BATCH; i++) {
+				ENGINE.Reset(decks[i]);
+				ENGINE.Refill(decks[i], hands.get(i), players);
+			}
+		}
+	}
+
+	/*
+	 * Class:				Melded
+	 * Purpose:				Dealt games with every dealt meld laid down, so the table
+	 * 							has melds to lay off on, keeping the first player's hand
+	 * Methods:				Build, Reset
+	 */
+	@State(Scope.Thread)
+	public static class Melded {
+		@Param({ "2", "3", "4", "5", "6" })
+		int players;
+
+		final Object[] decks = new Object[BATCH];
+		final Object[] tables = new Object[BATCH];
+		final ArrayList<ArrayList<Integer>> dealt = new ArrayList<ArrayList<Integer>>(BATCH);
+		final ArrayList<ArrayList<Integer>> hands = new ArrayList<ArrayList<Integer>>(BATCH);
+
+		@Setup(Level.Trial)
+		public void Build() {
+			for (int i = 0; i < BATCH; i++) {
+				decks[i] = ENGINE.NewDeck();
+				ArrayList<ArrayList<Integer>> game = ENGINE.Deal(decks[i], players);
+				for (ArrayList<Integer> hand : game) {
+					ENGINE.LayDown(decks[i], hand);
+				}
+				tables[i] = ENGINE.Snapshot(decks[i]);
+				dealt.add(new ArrayList<Integer>(game.get(0)));
+				hands.add(game.get(0));
+			}
+		}
+
+		@Setup(Level.Invocation)
+		public void Reset() {
+			for (int i = 0; i < BATCH; i++) {
+				ENGINE.Restore(decks[i], tables[i]);
+				ArrayList<Integer> hand = hands.get(i);
+				ArrayList<Integer> cards = dealt.get(i);
+				hand.clear();
+				for (int k = 0; k < cards.size(); k++) {
+					hand.add(cards.get(k));
+				}
+			}
+		}
+	}
+
+	/*
+	 * Class:				Scored
+	 * Purpose:				Dealt hands that are only read, so they are built once
+	 * Methods:				Build
+	 */
+	@State(Scope.Thread)
+	public static class Scored {
+		@Param({ "2", "3", "4", "5", "6" })
+		int players;
+
+		final ArrayList<ArrayList<Integer>> hands = new ArrayList<ArrayList<Integer>>(BATCH);
+
+		@Setup(Level.Trial)
+		public void Build() {
+			for (int i = 0; i < BATCH; i++) {
+				Object deck = ENGINE.NewDeck();
+				ArrayList<ArrayList<Integer>> game = ENGINE.Deal(deck, players);
+				for (ArrayList<Integer> hand : game) {
+					ENGINE.LayDown(deck, hand);
+				}
+				hands.add(game.get(0));
+			}
+		}
+	}
+
+	@Benchmark
+	public Object MakeDeck() {
+		return ENGINE.NewDeck();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH)
+	public void DealCards(Shuffled table, Blackhole hole) {
+		for (int i = 0; i < BATCH; i++) {
+			hole.consume(ENGINE.Deal(table.decks[i], table.players));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH)
+	public void DrawCard(Shuffled table, Blackhole hole) {
+		for (int i = 0; i < BATCH; i++) {
+			hole.consume(ENGINE.Draw(table.decks[i]));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH)
+	public void RemoveCards(Drawn table, Blackhole hole) {
+		for (int i = 0; i < BATCH; i++) {
+			hole.consume(ENGINE.LayDown(table.decks[i], table.hands.get(i)));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH)
+	public void CheckMelds(Melded table, Blackhole hole) {
+		for (int i = 0; i < BATCH; i++) {
+			hole.consume(ENGINE.LayOff(table.decks[i], table.hands.get(i)));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH)
+	public void CalculateScore(Scored table, Blackhole hole) {
+		for (int i = 0; i < BATCH; i++) {
+			hole.consume(ENGINE.Score(table.hands.get(i)));
+		}
+	}
+
+	/*
+	 * Function:			Load
+	 * Params:
+	 * Purpose:				Find the engine's side of the benchmarks by name
+	 * Returns: 			The engine(Engine)
+	 */
+	private static Engine Load() {
+		try {
+			return (Engine) Class.forName("EngineAccess").getDeclaredConstructor().newInstance();
+		}
+		catch (ReflectiveOperationException e) {
+			throw new IllegalStateException("EngineAccess is not on the benchmark classpath", e);
+		}
+	}
+}
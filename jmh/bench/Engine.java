@@ -0,0 +1,118 @@
+/*
+ * 	File:				Engine.java
+ * 	Associated Files:	DeckBenchmark.java, EngineAccess.java
+ * 	Packages Needed:	java.util.ArrayList
+ * 	Author:            	Michael Ngo (https://github.com/yeeshue99)
+ * 	Date Modified:      10/18/2026 by Michael Ngo
+ * 	Modified By:        Michael Ngo
+ *
+ * 	Purpose:			Reach the game engine from the benchmark package
+ */
+
+package bench;
+
+import java.util.ArrayList;
+
+/*
+ * Class:				Engine
+ * Purpose:				The Deck calls being benchmarked, and ways to put a deck back
+ * 							without allocating so -prof gc only counts the call itself.
+ * 							JMH will not generate code for a class in the default
+ * 							package, and a class in a package cannot name one in the
+ * 							default package, so EngineAccess implements this on the
+ * 							engine's side and decks are passed as Object
+ * Methods:				NewDeck, NewHand, Reset, Refill, Snapshot, Restore, Deal, Draw,
+ * 							LayDown, LayOff, Score
+ */
+public interface Engine {
+
+	/*
+	 * Function:			NewDeck
+	 * Params:
+	 * Purpose:				Build and shuffle a fresh deck
+	 * Returns: 			The deck(Object)
+	 */
+	Object NewDeck();
+
+	/*
+	 * Function:			NewHand
+	 * Params: 				Number of players(int)
+	 * Purpose:				Make an empty hand with room for a dealt hand and a draw
+	 * Returns: 			The hand(ArrayList<Integer>)
+	 */
+	ArrayList<Integer> NewHand(int numPlayers);
+
+	/*
+	 * Function:			Reset
+	 * Params: 				Deck to reset(Object)
+	 * Purpose:				Clear the table and discard pile and shuffle a full stock
+	 * 							in place
+	 * Returns:
+	 */
+	void Reset(Object deck);
+
+	/*
+	 * Function:			Refill
+	 * Params: 				Deck to draw from(Object), hand to fill(ArrayList<Integer>),
+	 * 							number of players(int)
+	 * Purpose:				Empty the hand, then draw a dealt hand and one more card
+	 * Returns:
+	 */
+	void Refill(Object deck, ArrayList<Integer> hand, int numPlayers);
+
+	/*
+	 * Function:			Snapshot
+	 * Params: 				Deck holding the table(Object)
+	 * Purpose:				Copy the melds on the table so Restore can put them back
+	 * Returns: 			The copy(Object)
+	 */
+	Object Snapshot(Object deck);
+
+	/*
+	 * Function:			Restore
+	 * Params: 				Deck holding the table(Object), copy from Snapshot(Object)
+	 * Purpose:				Put the table back the way it was when the copy was taken
+	 * Returns:
+	 */
+	void Restore(Object deck, Object snapshot);
+
+	/*
+	 * Function:			Deal
+	 * Params: 				Deck to deal from(Object), number of players(int)
+	 * Purpose:				Deal every hand and turn up the first discard
+	 * Returns: 			Each hand(ArrayList<ArrayList<Integer>>)
+	 */
+	ArrayList<ArrayList<Integer>> Deal(Object deck, int numPlayers);
+
+	/*
+	 * Function:			Draw
+	 * Params: 				Deck to draw from(Object)
+	 * Purpose:				Draw the top card of the stock
+	 * Returns: 			Drawn card code(int)
+	 */
+	int Draw(Object deck);
+
+	/*
+	 * Function:			LayDown
+	 * Params: 				Deck holding the table(Object), hand to meld from(ArrayList<Integer>)
+	 * Purpose:				Lay down every meld in the hand
+	 * Returns: 			Whether a meld was laid down(boolean)
+	 */
+	boolean LayDown(Object deck, ArrayList<Integer> hand);
+
+	/*
+	 * Function:			LayOff
+	 * Params: 				Deck holding the table(Object), hand to play from(ArrayList<Integer>)
+	 * Purpose:				Lay off every card that fits a meld on the table
+	 * Returns: 			Whether a card was laid off(boolean)
+	 */
+	boolean LayOff(Object deck, ArrayList<Integer> hand);
+
+	/*
+	 * Function:			Score
+	 * Params: 				Hand to score(ArrayList<Integer>)
+	 * Purpose:				Add up the points left in a hand
+	 * Returns: 			Points in the hand(int)
+	 */
+	int Score(ArrayList<Integer> hand);
+}
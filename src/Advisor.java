@@ -0,0 +1,387 @@
+/*
+ * 	File:				Advisor.java
+ * 	Associated Files:	ConsolePlayer.java, AdvisorPlayer.java, HandCache.java, Bitboard.java, Deck.java
+ * 	Packages Needed:	java.util.ArrayList, java.util.Arrays
+ * 	Author:            	Michael Ngo (https://github.com/yeeshue99)
+ * 	Date Modified:      10/18/2026 by Michael Ngo
+ * 	Modified By:        Michael Ngo
+ *
+ * 	Purpose:			Advise where to draw and what to throw out from the cards still hidden
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/*
+ * Class:				Advisor
+ * Purpose:				Counts the copies of every card the player has not seen, which
+ * 							is the shoe less their hand, the table melds, the discard
+ * 							pile and the cards other seats took off the discard pile and
+ * 							still hold, and rates each choice of the turn without
+ * 							simulating.
+ * 							An out is a hidden card that would meld with two cards of the
+ * 							hand or lay off on the table. Outs come from shifting the hand
+ * 							bitboard against fixed edge masks, deadwood from a table of
+ * 							points for every suit lane, and only outs need a lookup in the
+ * 							hand cache, so a whole turn is rated in a few microseconds.
+ * 							Expected deadwood assumes the player throws out the highest
+ * 							card left out of their melds after drawing. One advisor keeps
+ * 							its counts between calls, so it belongs to a single player
+ * Methods:				Observe, AdviseDraw, AdviseDiscard, Better, DrawChange, OutChange, Outs,
+ * 							Points, HighestPoints, GetUnseen, GetDeckOuts, GetDeckChange,
+ * 							GetDiscardOuts, GetDiscardChange, GetOuts, GetExpected
+ */
+public class Advisor {
+
+	// Deadwood points of every suit lane, indexed by the values held in it
+	private static final int[] LANE_POINTS = new int[1 << Card.RANKS];
+
+	// Cards with at least one or two values below or above them in their suit
+	private static final long ABOVE_ONE = Bitboard.RankCards(Bitboard.LANE & ~1L);
+	private static final long ABOVE_TWO = Bitboard.RankCards(Bitboard.LANE & ~3L);
+	private static final long BELOW_ONE = Bitboard.RankCards(Bitboard.LANE >>> 1);
+	private static final long BELOW_TWO = Bitboard.RankCards(Bitboard.LANE >>> 2);
+
+	static {
+		for (int lane = 1; lane < LANE_POINTS.length; lane++) {
+			int value = Integer.numberOfTrailingZeros(lane);
+			LANE_POINTS[lane] = LANE_POINTS[lane & (lane - 1)] + Deck.CardScore(value);
+		}
+	}
+
+	// Hidden copies of each card, every card with a hidden copy and their total
+	private final int[] unseen = new int[Card.DECK_SIZE];
+	private long unseenBits = 0L;
+	private int unseenTotal = 0;
+
+	// Cards the table takes as lay offs
+	private long playable = 0L;
+
+	// Outs found by the last DrawChange
+	private int lastOuts = 0;
+
+	// Last draw advice
+	private int deckOuts = 0;
+	private double deckChange = 0.0;
+	private int discardOuts = 0;
+	private double discardChange = 0.0;
+
+	// Last discard advice, by index in hand
+	private int[] outs = new int[16];
+	private double[] expected = new double[16];
+
+	/*
+	 * Function:			Observe
+	 * Params: 				Game being played(Rummy), player to advise(int)
+	 * Purpose:				Count the hidden copies of every card from what the player
+	 * 							can see, including the cards each other seat was seen to
+	 * 							take off the discard pile
+	 * Returns:
+	 */
+	public void Observe(Rummy game, int player) {
+		Deck deck = game.GetDeck();
+		Arrays.fill(unseen, deck.GetDecks());
+		unseen[Deck.REMOVED_CARD] = 0;
+		ArrayList<Integer> hand = game.GetHand(player);
+		for (int i = 0; i < hand.size(); i++) {
+			unseen[hand.get(i)]--;
+		}
+		for (int meld = 0; meld < deck.melds.Size(); meld++) {
+			ArrayList<Integer> cards = deck.melds.Get(meld);
+			for (int i = 0; i < cards.size(); i++) {
+				unseen[cards.get(i)]--;
+			}
+		}
+		for (int i = 0; i < deck.discard.Size(); i++) {
+			unseen[deck.discard.Get(i)]--;
+		}
+		for (int seat = 0; seat < game.GetNumPlayers(); seat++) {
+			if (seat == player) {
+				continue;
+			}
+			for (long known = game.GetKnown(seat); known != 0; known &= known - 1) {
+				int card = Long.numberOfTrailingZeros(known);
+				if (unseen[card] > 0) {
+					unseen[card]--;
+				}
+			}
+		}
+		unseenBits = 0L;
+		unseenTotal = 0;
+		for (int card = 0; card < Card.DECK_SIZE; card++) {
+			if (unseen[card] > 0) {
+				unseenBits |= Bitboard.Bit(card);
+				unseenTotal += unseen[card];
+			}
+		}
+		playable = deck.melds.Playable();
+	}
+
+	/*
+	 * Function:			AdviseDraw
+	 * Params: 				Game being played(Rummy), player to advise(int)
+	 * Purpose:				Rate drawing the top discard against drawing blind from the
+	 * 							deck, before the player has drawn. The discard is only worth
+	 * 							showing the table when it is an out
+	 * Returns: 			Where to draw from, "discard" or "deck"(String)
+	 */
+	public String AdviseDraw(Rummy game, int player) {
+		Observe(game, player);
+		long hand = Bitboard.FromHand(game.GetHand(player));
+		deckChange = DrawChange(hand);
+		deckOuts = lastOuts;
+
+		int top = game.GetDiscardTop();
+		if (top == Card.NO_CARD) {
+			discardOuts = 0;
+			discardChange = 0.0;
+			return "deck";
+		}
+		long melded = HandCache.Shared().Melded(hand);
+		int deadwood = Points(hand & ~melded);
+		int high = HighestPoints(hand & ~melded);
+		if ((Outs(hand, playable) & Bitboard.Bit(top)) != 0) {
+			discardOuts = 1;
+			discardChange = OutChange(hand, top, deadwood, high);
+		}
+		else {
+			int points = Deck.CardScore(top);
+			discardOuts = 0;
+			discardChange = points - Math.max(points, high);
+		}
+		if (!game.GetDeck().CanDraw("deck") || (discardOuts > 0 && discardChange < deckChange)) {
+			return "discard";
+		}
+		return "deck";
+	}
+
+	/*
+	 * Function:			AdviseDiscard
+	 * Params: 				Game being played(Rummy), player to advise(int)
+	 * Purpose:				Rate throwing out each card in hand by the outs it leaves, then
+	 * 							by the deadwood expected after the player's next draw. Ties
+	 * 							throw out more points. Outs come first since a hand only goes
+	 * 							out by melding, and one draw's worth of deadwood undervalues
+	 * 							keeping a pair that may meld over the next several
+	 * Returns: 			Index in hand of the card to throw out(int)
+	 */
+	public int AdviseDiscard(Rummy game, int player) {
+		Observe(game, player);
+		ArrayList<Integer> hand = game.GetHand(player);
+		long bits = Bitboard.FromHand(hand);
+		if (outs.length < hand.size()) {
+			outs = new int[2 * hand.size()];
+			expected = new double[2 * hand.size()];
+		}
+		HandCache cache = HandCache.Shared();
+		int best = 0;
+		for (int i = 0; i < hand.size(); i++) {
+			int card = hand.get(i);
+			long left = bits;
+			if (!(hand instanceof Hand) || ((Hand) hand).Count(card) == 1) {
+				left &= ~Bitboard.Bit(card);
+			}
+			expected[i] = Points(left & ~cache.Melded(left)) + DrawChange(left);
+			outs[i] = lastOuts;
+			if (i > 0 && Better(outs[i], expected[i], card, outs[best], expected[best], hand.get(best))) {
+				best = i;
+			}
+		}
+		return best;
+	}
+
+	/*
+	 * Function:			Better
+	 * Params: 				Outs, expected deadwood and card of one discard(int, double, int),
+	 * 							the same for the best discard so far(int, double, int)
+	 * Purpose:				Order discards by outs left, expected deadwood, then points
+	 * 							thrown out
+	 * Returns: 			Whether the first discard is better(boolean)
+	 */
+	private static boolean Better(int outs, double expected, int card, int bestOuts, double bestExpected, int bestCard) {
+		if (outs != bestOuts) {
+			return outs > bestOuts;
+		}
+		if (expected != bestExpected) {
+			return expected < bestExpected;
+		}
+		return Deck.CardScore(card) > Deck.CardScore(bestCard);
+	}
+
+	/*
+	 * Function:			DrawChange
+	 * Params: 				Hand before drawing(long)
+	 * Purpose:				Find the expected change in deadwood from drawing a hidden card
+	 * 							and throwing out the highest card left over, counting outs
+	 * 							into lastOuts. A card that is not an out joins no meld, so
+	 * 							its change comes from points alone
+	 * Returns: 			Expected change in deadwood points(double)
+	 */
+	private double DrawChange(long hand) {
+		lastOuts = 0;
+		if (unseenTotal == 0) {
+			return 0.0;
+		}
+		long melded = HandCache.Shared().Melded(hand);
+		int deadwood = Points(hand & ~melded);
+		int high = HighestPoints(hand & ~melded);
+		long outBits = Outs(hand, playable) & unseenBits;
+		double total = 0.0;
+		for (long rest = unseenBits; rest != 0; rest &= rest - 1) {
+			int card = Long.numberOfTrailingZeros(rest);
+			int copies = unseen[card];
+			if ((outBits & Bitboard.Bit(card)) != 0) {
+				lastOuts += copies;
+				total += copies * OutChange(hand, card, deadwood, high);
+			}
+			else {
+				int points = Deck.CardScore(card);
+				total += copies * (points - Math.max(points, high));
+			}
+		}
+		return total / unseenTotal;
+	}
+
+	/*
+	 * Function:			OutChange
+	 * Params: 				Hand before drawing(long), out drawn(int), deadwood of the
+	 * 							hand(int), highest deadwood card of the hand(int)
+	 * Purpose:				Find the exact change in deadwood from drawing an out, melding
+	 * 							or laying it off, then throwing out the highest card left
+	 * Returns: 			Change in deadwood points(int)
+	 */
+	private int OutChange(long hand, int card, int deadwood, int high) {
+		long drawn = hand | Bitboard.Bit(card);
+		long left = drawn & ~HandCache.Shared().Melded(drawn);
+		int after = Points(left) - HighestPoints(left);
+		if ((playable & Bitboard.Bit(card)) != 0) {
+			after = Math.min(after, deadwood - high);
+		}
+		return after - deadwood;
+	}
+
+	/*
+	 * Function:			Outs
+	 * Params: 				Hand(long), cards the table takes as lay offs(long)
+	 * Purpose:				Find every card not in hand that would meld with two cards of
+	 * 							the hand, as a third suit of a value or a third card of a run,
+	 * 							or lay off on the table
+	 * Returns: 			Bitboard of outs(long)
+	 */
+	static long Outs(long hand, long playable) {
+		long c = Bitboard.Lane(hand, 0);
+		long h = Bitboard.Lane(hand, 1);
+		long s = Bitboard.Lane(hand, 2);
+		long d = Bitboard.Lane(hand, 3);
+		long pairs = (c & (h | s | d)) | (h & (s | d)) | (s & d);
+
+		long down1 = (hand << 1) & ABOVE_ONE;
+		long down2 = (hand << 2) & ABOVE_TWO;
+		long up1 = (hand >>> 1) & BELOW_ONE;
+		long up2 = (hand >>> 2) & BELOW_TWO;
+		long runs = (down1 & down2) | (down1 & up1) | (up1 & up2);
+
+		return (Bitboard.RankCards(pairs) | runs | playable) & ~hand & Bitboard.FULL;
+	}
+
+	/*
+	 * Function:			Points
+	 * Params: 				Cards(long)
+	 * Purpose:				Add up the deadwood points of a set of cards, a lane at a time
+	 * Returns: 			Points(int)
+	 */
+	static int Points(long cards) {
+		return LANE_POINTS[(int) Bitboard.Lane(cards, 0)] + LANE_POINTS[(int) Bitboard.Lane(cards, 1)]
+				+ LANE_POINTS[(int) Bitboard.Lane(cards, 2)] + LANE_POINTS[(int) Bitboard.Lane(cards, 3)];
+	}
+
+	/*
+	 * Function:			HighestPoints
+	 * Params: 				Cards(long)
+	 * Purpose:				Find the points of the highest value among a set of cards
+	 * Returns: 			Points, or 0 for no cards(int)
+	 */
+	static int HighestPoints(long cards) {
+		long values = Bitboard.Lane(cards, 0) | Bitboard.Lane(cards, 1) | Bitboard.Lane(cards, 2)
+				| Bitboard.Lane(cards, 3);
+		if (values == 0) {
+			return 0;
+		}
+		return Deck.CardScore(63 - Long.numberOfLeadingZeros(values));
+	}
+
+	/*
+	 * Function:			GetUnseen
+	 * Params:
+	 * Purpose:				Getter for how many cards the player has not seen
+	 * Returns: 			Hidden cards(int)
+	 */
+	public int GetUnseen() {
+		return unseenTotal;
+	}
+
+	/*
+	 * Function:			GetDeckOuts
+	 * Params:
+	 * Purpose:				Getter for the outs among hidden cards at the last AdviseDraw
+	 * Returns: 			Outs(int)
+	 */
+	public int GetDeckOuts() {
+		return deckOuts;
+	}
+
+	/*
+	 * Function:			GetDeckChange
+	 * Params:
+	 * Purpose:				Getter for the expected change in deadwood from drawing from
+	 * 							the deck at the last AdviseDraw
+	 * Returns: 			Change in deadwood points(double)
+	 */
+	public double GetDeckChange() {
+		return deckChange;
+	}
+
+	/*
+	 * Function:			GetDiscardOuts
+	 * Params:
+	 * Purpose:				Getter for whether the top discard was an out at the last
+	 * 							AdviseDraw
+	 * Returns: 			1 for an out, otherwise 0(int)
+	 */
+	public int GetDiscardOuts() {
+		return discardOuts;
+	}
+
+	/*
+	 * Function:			GetDiscardChange
+	 * Params:
+	 * Purpose:				Getter for the change in deadwood from drawing the top discard
+	 * 							at the last AdviseDraw
+	 * Returns: 			Change in deadwood points(double)
+	 */
+	public double GetDiscardChange() {
+		return discardChange;
+	}
+
+	/*
+	 * Function:			GetOuts
+	 * Params: 				Index in hand(int)
+	 * Purpose:				Getter for the outs left by throwing out a card at the last
+	 * 							AdviseDiscard
+	 * Returns: 			Outs(int)
+	 */
+	public int GetOuts(int index) {
+		return outs[index];
+	}
+
+	/*
+	 * Function:			GetExpected
+	 * Params: 				Index in hand(int)
+	 * Purpose:				Getter for the deadwood expected after the next draw when a
+	 * 							card is thrown out, at the last AdviseDiscard
+	 * Returns: 			Deadwood points(double)
+	 */
+	public double GetExpected(int index) {
+		return expected[index];
+	}
+}
@@ -0,0 +1,75 @@
+/*
+ * 	File:				AdvisorPlayer.java
+ * 	Associated Files:	Player.java, Advisor.java, Rummy.java, Tournament.java
+ * 	Packages Needed:
+ * 	Author:            	Michael Ngo (https://github.com/yeeshue99)
+ * 	Date Modified:      10/18/2026 by Michael Ngo
+ * 	Modified By:        Michael Ngo
+ *
+ * 	Purpose:			Computer player that does whatever the advisor suggests
+ */
+
+/*
+ * Class:				AdvisorPlayer
+ * Purpose:				Player that draws and throws out by the Advisor's counts of
+ * 							outs and expected deadwood, and always melds and lays off. It
+ * 							does no search, so it costs little more than BotPlayer
+ * Methods:				ChooseDrawLocation, ChooseMelds, ChooseLayOff, ChooseDiscard
+ */
+public class AdvisorPlayer implements Player {
+
+	private final Advisor advisor = new Advisor();
+
+	// Whether this turn's lay off has been tried yet
+	private boolean layOffTried = false;
+
+	/*
+	 * Function:			ChooseDrawLocation
+	 * Params: 				Game being played(Rummy), current player(int)
+	 * Purpose:				Take the discard only when the advisor rates it an out worth
+	 * 							more than a blind draw
+	 * Returns: 			where to draw from(String)
+	 */
+	@Override
+	public String ChooseDrawLocation(Rummy game, int player) {
+		layOffTried = false;
+		return advisor.AdviseDraw(game, player);
+	}
+
+	/*
+	 * Function:			ChooseMelds
+	 * Params: 				Game being played(Rummy), current player(int)
+	 * Purpose:				Always lay down melds
+	 * Returns: 			Whether to lay down melds(boolean)
+	 */
+	@Override
+	public boolean ChooseMelds(Rummy game, int player) {
+		return true;
+	}
+
+	/*
+	 * Function:			ChooseLayOff
+	 * Params: 				Game being played(Rummy), current player(int)
+	 * Purpose:				Try to lay off once per turn
+	 * Returns: 			Whether to try a lay off(boolean)
+	 */
+	@Override
+	public boolean ChooseLayOff(Rummy game, int player) {
+		if (layOffTried) {
+			return false;
+		}
+		layOffTried = true;
+		return true;
+	}
+
+	/*
+	 * Function:			ChooseDiscard
+	 * Params: 				Game being played(Rummy), current player(int)
+	 * Purpose:				Throw out the card the advisor rates best, keeping the most outs
+	 * Returns: 			Index of card to discard(int)
+	 */
+	@Override
+	public int ChooseDiscard(Rummy game, int player) {
+		return advisor.AdviseDiscard(game, player);
+	}
+}
@@ -0,0 +1,298 @@
+/*	
+ * 	File:				Benchmark.java
+ * 	Associated Files:	Deck.java, Simulation.java, Main.java
+ * 	Packages Needed:	java.io.PrintStream, java.lang.management.ManagementFactory,
+ * 							java.util.ArrayList
+ * 	Author:            	Michael Ngo (https://github.com/yeeshue99)
+ * 	Date Modified:      10/18/2026 by Michael Ngo
+ * 	Modified By:        Michael Ngo
+ * 
+ * 	Purpose:			Smoke run of the deck, deal and meld hot paths
+ */
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+
+/*
+ * Class:				Benchmark
+ * Purpose:				Quick smoke run of the Deck hot paths that checks each
+ * 							benchmarked call still runs for every table size from 2 to
+ * 							6 players and prints rough timings. The numbers are only a
+ * 							sanity check; jmh/bench/DeckBenchmark.java is the real
+ * 							measurement, built with "mvn -P jmh package"
+ * Methods:				main, RunAll, Measure, AllocatedBytes, DealtGame
+ */
+public class Benchmark {
+
+	// Games built for each timed iteration
+	private static final int BATCH = 256;
+	private static final int WARMUP_ITERATIONS = 10;
+	private static final int MEASURE_ITERATIONS = 10;
+
+	// Results are folded in here so the JIT cannot drop the work
+	static volatile long sink;
+
+	/*
+	 * Class:				Case
+	 * Purpose:				One benchmarked operation
+	 * Methods:				Setup, Run
+	 */
+	private static abstract class Case {
+		final String name;
+
+		Case(String name) {
+			this.name = name;
+		}
+
+		/*
+		 * Function:			Setup
+		 * Params: 				Number of players(int)
+		 * Purpose:				Build the inputs for one timed iteration
+		 * Returns: 			
+		 */
+		abstract void Setup(int numPlayers);
+
+		/*
+		 * Function:			Run
+		 * Params: 				
+		 * Purpose:				Do the timed work
+		 * Returns: 			Number of operations done(int)
+		 */
+		abstract int Run();
+	}
+
+	/*
+	 * Function:			main
+	 * Params: 				commandLineArguments(String[]) {Not used}
+	 * Purpose:				Run every benchmark case
+	 * Returns: 			
+	 */
+	public static void main(String[] args) {
+		RunAll();
+	}
+
+	/*
+	 * Function:			RunAll
+	 * Params: 				
+	 * Purpose:				Run every benchmark case for 2 to 6 players and print a table
+	 * Returns: 			
+	 */
+	public static void RunAll() {
+		Case[] cases = {
+			new Case("MakeDeck") {
+				@Override
+				void Setup(int numPlayers) {
+				}
+
+				@Override
+				int Run() {
+					long total = 0;
+					for (int i = 0; i < BATCH; i++) {
+						total += new Deck().deck.Size();
+					}
+					sink += total;
+					return BATCH;
+				}
+			},
+			new Case("DealCards") {
+				Deck[] decks = new Deck[BATCH];
+				int players;
+
+				@Override
+				void Setup(int numPlayers) {
+					players = numPlayers;
+					for (int i = 0; i < BATCH; i++) {
+						decks[i] = new Deck();
+					}
+				}
+
+				@Override
+				int Run() {
+					long total = 0;
+					for (int i = 0; i < BATCH; i++) {
+						total += decks[i].DealCards(players).size();
+					}
+					sink += total;
+					return BATCH;
+				}
+			},
+			new Case("DrawCard") {
+				Deck[] decks = new Deck[BATCH];
+				int draws;
+
+				@Override
+				void Setup(int numPlayers) {
+					draws = 0;
+					for (int i = 0; i < BATCH; i++) {
+						decks[i] = new Deck();
+						decks[i].DealCards(numPlayers);
+						draws += decks[i].deck.Size();
+					}
+				}
+
+				@Override
+				int Run() {
+					long total = 0;
+					for (int i = 0; i < BATCH; i++) {
+						Deck deck = decks[i];
+						while (!deck.deck.IsEmpty()) {
+							total += deck.DrawCard("deck");
+						}
+					}
+					sink += total;
+					return draws;
+				}
+			},
+			new Case("RemoveCards") {
+				Deck[] decks = new Deck[BATCH];
+				ArrayList<ArrayList<Integer>> hands = new ArrayList<ArrayList<Integer>>();
+
+				@Override
+				void Setup(int numPlayers) {
+					hands.clear();
+					for (int i = 0; i < BATCH; i++) {
+						decks[i] = new Deck();
+						ArrayList<ArrayList<Integer>> dealt = decks[i].DealCards(numPlayers);
+						dealt.get(0).add(decks[i].DrawCard("deck"));
+						hands.add(dealt.get(0));
+					}
+				}
+
+				@Override
+				int Run() {
+					long total = 0;
+					for (int i = 0; i < BATCH; i++) {
+						if (decks[i].RemoveCards(hands.get(i))) {
+							total++;
+						}
+					}
+					sink += total;
+					return BATCH;
+				}
+			},
+			new Case("CheckMelds") {
+				Deck[] decks = new Deck[BATCH];
+				ArrayList<ArrayList<ArrayList<Integer>>> games = new ArrayList<ArrayList<ArrayList<Integer>>>();
+				int checks;
+
+				@Override
+				void Setup(int numPlayers) {
+					games.clear();
+					checks = 0;
+					for (int i = 0; i < BATCH; i++) {
+						decks[i] = new Deck();
+						games.add(DealtGame(decks[i], numPlayers));
+						checks += numPlayers;
+					}
+				}
+
+				@Override
+				int Run() {
+					long total = 0;
+					for (int i = 0; i < BATCH; i++) {
+						for (ArrayList<Integer> hand : games.get(i)) {
+							if (decks[i].CheckMelds(hand)) {
+								total++;
+							}
+						}
+					}
+					sink += total;
+					return checks;
+				}
+			},
+			new Case("CalculateScore") {
+				ArrayList<ArrayList<ArrayList<Integer>>> games = new ArrayList<ArrayList<ArrayList<Integer>>>();
+				int scores;
+
+				@Override
+				void Setup(int numPlayers) {
+					games.clear();
+					scores = 0;
+					for (int i = 0; i < BATCH; i++) {
+						games.add(DealtGame(new Deck(), numPlayers));
+						scores += numPlayers;
+					}
+				}
+
+				@Override
+				int Run() {
+					long total = 0;
+					for (int i = 0; i < BATCH; i++) {
+						for (ArrayList<Integer> hand : games.get(i)) {
+							total += Deck.CalculateScore(hand);
+						}
+					}
+					sink += total;
+					return scores;
+				}
+			},
+		};
+
+		PrintStream console = System.out;
+		console.printf("%-16s %8s %12s %14s %12s %12s%n", "Benchmark", "Players", "ns/op", "ops/s", "B/op", "MB/s alloc");
+		for (Case benchmark : cases) {
+			int lastPlayers = benchmark.name.equals("MakeDeck") ? 2 : 6;
+			for (int players = 2; players <= lastPlayers; players++) {
+				double[] result = Measure(benchmark, players);
+				console.printf("%-16s %8s %12.1f %14.0f %12.1f %12.1f%n", benchmark.name,
+						benchmark.name.equals("MakeDeck") ? "-" : Integer.toString(players),
+						result[0], 1e9 / result[0], result[1], result[1] / result[0] * 1e9 / (1 << 20));
+			}
+		}
+	}
+
+	/*
+	 * Function:			Measure
+	 * Params: 				Case to run(Case), number of players(int)
+	 * Purpose:				Warm up then time a benchmark case
+	 * Returns: 			Nanoseconds and bytes allocated per operation(double[])
+	 */
+	private static double[] Measure(Case benchmark, int numPlayers) {
+		for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+			benchmark.Setup(numPlayers);
+			benchmark.Run();
+		}
+		long ops = 0;
+		long nanos = 0;
+		long bytes = 0;
+		for (int i = 0; i < MEASURE_ITERATIONS; i++) {
+			benchmark.Setup(numPlayers);
+			long allocStart = AllocatedBytes();
+			long start = System.nanoTime();
+			ops += benchmark.Run();
+			nanos += System.nanoTime() - start;
+			bytes += AllocatedBytes() - allocStart;
+		}
+		return new double[] { (double) nanos / ops, (double) bytes / ops };
+	}
+
+	/*
+	 * Function:			AllocatedBytes
+	 * Params: 				
+	 * Purpose:				Read how many bytes this thread has allocated so far
+	 * Returns: 			Bytes allocated, or 0 if the JVM cannot tell(long)
+	 */
+	private static long AllocatedBytes() {
+		java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		if (threads instanceof com.sun.management.ThreadMXBean) {
+			return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().getId());
+		}
+		return 0;
+	}
+
+	/*
+	 * Function:			DealtGame
+	 * Params: 				Deck to deal from(Deck), number of players(int)
+	 * Purpose:				Deal a game and lay down every dealt meld, so the table
+	 * 							has melds to lay off on
+	 * Returns: 			Each hand(ArrayList<ArrayList<Integer>>)
+	 */
+	private static ArrayList<ArrayList<Integer>> DealtGame(Deck deck, int numPlayers) {
+		ArrayList<ArrayList<Integer>> hands = deck.DealCards(numPlayers);
+		for (ArrayList<Integer> hand : hands) {
+			deck.RemoveCards(hand);
+		}
+		return hands;
+	}
+}
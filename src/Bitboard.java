@@ -0,0 +1,136 @@
+/*
+ * 	File:				Bitboard.java
+ * 	Associated Files:	Deck.java, Card.java
+ * 	Packages Needed:	java.util.ArrayList
+ * 	Author:            	Michael Ngo (https://github.com/yeeshue99)
+ * 	Date Modified:      10/18/2026 by Michael Ngo
+ * 	Modified By:        Michael Ngo
+ *
+ * 	Purpose:			Encode hands as 52 bit masks for fast meld detection
+ */
+
+import java.util.ArrayList;
+
+/*
+ * Class:				Bitboard
+ * Purpose:				Hand as a long with one 13 bit lane per suit. Bit n is set
+ * 							when card code n is held, so sets and runs fall out of
+ * 							shifts, ANDs and popcounts without sorting or allocating
+ * Methods:				FromHand, Bit, Count, Lane, Matches, RankCards, Sequences,
+ * 							HasMeld
+ */
+public class Bitboard {
+
+	// One suit's worth of bits
+	public static final long LANE = (1L << Card.RANKS) - 1;
+
+	// Every card in the deck
+	public static final long FULL = (1L << Card.DECK_SIZE) - 1;
+
+	// Bits that can start a 3 card run without leaving their lane (A through J)
+	private static final long RUN_STARTS = SpreadLanes(LANE >>> 2);
+
+	/*
+	 * Function:			FromHand
+	 * Params: 				player's hand(ArrayList<Integer>)
+	 * Purpose:				Encode a list of card codes as a bitboard, already kept up
+	 * 							to date by a Hand
+	 * Returns: 			Bitboard of the hand(long)
+	 */
+	public static long FromHand(ArrayList<Integer> hand) {
+		if (hand instanceof Hand) {
+			return ((Hand) hand).Bits();
+		}
+		long bits = 0L;
+		for (int i = 0; i < hand.size(); i++) {
+			bits |= 1L << hand.get(i);
+		}
+		return bits;
+	}
+
+	/*
+	 * Function:			Bit
+	 * Params: 				Card code(int)
+	 * Purpose:				Find the single bit for a card
+	 * Returns: 			Bitboard holding only that card(long)
+	 */
+	public static long Bit(int code) {
+		return 1L << code;
+	}
+
+	/*
+	 * Function:			Count
+	 * Params: 				Bitboard(long)
+	 * Purpose:				Count the cards in a bitboard
+	 * Returns: 			Number of cards(int)
+	 */
+	public static int Count(long bits) {
+		return Long.bitCount(bits);
+	}
+
+	/*
+	 * Function:			Lane
+	 * Params: 				Bitboard(long), suit index(int)
+	 * Purpose:				Pull out the 13 values held in one suit, A in bit 0
+	 * Returns: 			Values held in the suit(long)
+	 */
+	public static long Lane(long bits, int suit) {
+		return (bits >>> (suit * Card.RANKS)) & LANE;
+	}
+
+	/*
+	 * Function:			Matches
+	 * Params: 				Bitboard(long)
+	 * Purpose:				Find every value held in at least three suits
+	 * Returns: 			13 bit mask of values that form a matching meld(long)
+	 */
+	public static long Matches(long bits) {
+		long c = Lane(bits, 0);
+		long h = Lane(bits, 1);
+		long s = Lane(bits, 2);
+		long d = Lane(bits, 3);
+		return (c & h & (s | d)) | (s & d & (c | h));
+	}
+
+	/*
+	 * Function:			RankCards
+	 * Params: 				13 bit mask of values(long)
+	 * Purpose:				Copy a value mask into every suit lane
+	 * Returns: 			Bitboard of every card with those values(long)
+	 */
+	public static long RankCards(long values) {
+		return SpreadLanes(values);
+	}
+
+	/*
+	 * Function:			Sequences
+	 * Params: 				Bitboard(long)
+	 * Purpose:				Find every card that sits in a same suit run of three or more
+	 * Returns: 			Bitboard of the cards covered by runs(long)
+	 */
+	public static long Sequences(long bits) {
+		long starts = bits & (bits >>> 1) & (bits >>> 2) & RUN_STARTS;
+		return starts | (starts << 1) | (starts << 2);
+	}
+
+	/*
+	 * Function:			HasMeld
+	 * Params: 				Bitboard(long)
+	 * Purpose:				Quick check for any matching or sequence meld
+	 * Returns: 			Whether a meld exists(boolean)
+	 */
+	public static boolean HasMeld(long bits) {
+		return Matches(bits) != 0 || Sequences(bits) != 0;
+	}
+
+	/*
+	 * Function:			SpreadLanes
+	 * Params: 				13 bit mask(long)
+	 * Purpose:				Repeat a 13 bit mask across all four suit lanes
+	 * Returns: 			Spread bitboard(long)
+	 */
+	private static long SpreadLanes(long lane) {
+		lane &= LANE;
+		return lane | (lane << Card.RANKS) | (lane << (2 * Card.RANKS)) | (lane << (3 * Card.RANKS));
+	}
+}
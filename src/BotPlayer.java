@@ -0,0 +1,126 @@
+/*	
+ * 	File:				BotPlayer.java
+ * 	Associated Files:	Player.java, Rummy.java, HandCache.java, Bitboard.java
+ * 	Packages Needed:	java.util.ArrayList
+ * 	Author:            	Michael Ngo (https://github.com/yeeshue99)
+ * 	Date Modified:      10/18/2026 by Michael Ngo
+ * 	Modified By:        Michael Ngo
+ * 
+ * 	Purpose:			Simple computer player for bot versus bot games
+ */
+
+import java.util.ArrayList;
+
+/*
+ * Class:				BotPlayer
+ * Purpose:				Player that takes the discard only when it completes a meld,
+ * 							always melds and lays off, and throws out the highest card
+ * 							that is not close to forming a meld
+ * Methods:				ChooseDrawLocation, ChooseMelds, ChooseLayOff, ChooseDiscard,
+ * 							Partners
+ */
+public class BotPlayer implements Player {
+
+	// Whether this turn's lay off has been tried yet
+	private boolean layOffTried = false;
+
+	/*
+	 * Function:			ChooseDrawLocation
+	 * Params: 				Game being played(Rummy), current player(int)
+	 * Purpose:				Take the discard if the best split of the hand would meld it
+	 * Returns: 			where to draw from(String)
+	 */
+	@Override
+	public String ChooseDrawLocation(Rummy game, int player) {
+		layOffTried = false;
+		int top = game.GetDiscardTop();
+		if (top == Card.NO_CARD) {
+			return "deck";
+		}
+		long hand = Bitboard.FromHand(game.GetHand(player)) | Bitboard.Bit(top);
+		if ((HandCache.Shared().Melded(hand) & Bitboard.Bit(top)) != 0) {
+			return "discard";
+		}
+		return "deck";
+	}
+
+	/*
+	 * Function:			ChooseMelds
+	 * Params: 				Game being played(Rummy), current player(int)
+	 * Purpose:				Always lay down melds
+	 * Returns: 			Whether to lay down melds(boolean)
+	 */
+	@Override
+	public boolean ChooseMelds(Rummy game, int player) {
+		return true;
+	}
+
+	/*
+	 * Function:			ChooseLayOff
+	 * Params: 				Game being played(Rummy), current player(int)
+	 * Purpose:				Try to lay off once per turn
+	 * Returns: 			Whether to try a lay off(boolean)
+	 */
+	@Override
+	public boolean ChooseLayOff(Rummy game, int player) {
+		if (layOffTried) {
+			return false;
+		}
+		layOffTried = true;
+		return true;
+	}
+
+	/*
+	 * Function:			ChooseDiscard
+	 * Params: 				Game being played(Rummy), current player(int)
+	 * Purpose:				Throw out the highest scoring card, keeping cards that are
+	 * 							one card away from a meld when possible
+	 * Returns: 			Index of card to discard(int)
+	 */
+	@Override
+	public int ChooseDiscard(Rummy game, int player) {
+		ArrayList<Integer> hand = game.GetHand(player);
+		long bits = Bitboard.FromHand(hand);
+		int bestIndex = 0;
+		int bestWorth = Integer.MIN_VALUE;
+		for (int i = 0; i < hand.size(); i++) {
+			int card = hand.get(i);
+			int worth = Deck.CardScore(card);
+			if (Partners(bits, card) == 0) {
+				worth += 10;
+			}
+			if (worth > bestWorth) {
+				bestWorth = worth;
+				bestIndex = i;
+			}
+		}
+		return bestIndex;
+	}
+
+	/*
+	 * Function:			Partners
+	 * Params: 				player's hand(long), card code(int)
+	 * Purpose:				Count the cards in hand that could share a meld with the card
+	 * Returns: 			Number of partner cards(int)
+	 */
+	static int Partners(long hand, int card) {
+		int value = Card.Value(card);
+		long near = Bitboard.RankCards(1L << (value - 1));
+		long lane = 0L;
+		if (value > 2) {
+			lane |= 1L << (value - 3);
+		}
+		if (value > 1) {
+			lane |= 1L << (value - 2);
+		}
+		if (value < Card.RANKS) {
+			lane |= 1L << value;
+		}
+		if (value < Card.RANKS - 1) {
+			lane |= 1L << (value + 1);
+		}
+		int suit = card / Card.RANKS;
+		near |= lane << (suit * Card.RANKS);
+		return Bitboard.Count(hand & near & ~Bitboard.Bit(card));
+	}
+}
@@ -1,6 +1,6 @@
 /*	
  * 	File:				Card.java
- * 	Associated Files:	Main.java, Deck.java, CrazyEights.java
+ * 	Associated Files:	Main.java, Deck.java, Rummy.java
  * 	Packages Needed:	
  * 	Author:            	Michael Ngo (https://github.com/yeeshue99)
  * 	Date Modified:      8/20/2020 by Michael Ngo
@@ -11,39 +11,63 @@
 
 /*
  * Class:				Card
- * Purpose:				Abstract representation of playing card
- * Methods:				GetSuit, GetValue, GetLabel, SetSuit, 
- * 							GetStringValue, SuitToChar, CharToSuit
+ * Purpose:				Abstract representation of playing card. Every card
+ * 							is a shared, pre-built flyweight addressed by a
+ * 							compact int code (suit * 13 + value - 1), so the
+ * 							engine passes codes around instead of objects
+ * Methods:				GetSuit, GetValue, GetLabel, GetCode, WithSuit,
+ * 							GetStringValue, Get, Code, Value, Suit, SuitIndex,
+ * 							Label, Short, ParseShort, SuitToChar, CharToSuit,
+ * 							CardEquivalent
  */
 public class Card{
-	private String label;
-	private int value;
-	private char suit;
-	
-	/*
-	 * Function:			Initialize 
-	 * Params: 
-	 * Purpose:				Initialize card to essentially null values;
-	 * Returns: 			
-	 */
-	public Card() {
-		label = "";
-		value = -1;
-		suit = '\000';
+
+	// Card code layout: one 13 wide lane of values per suit
+	public static final int RANKS = 13;
+	public static final int SUIT_COUNT = 4;
+	public static final int DECK_SIZE = RANKS * SUIT_COUNT;
+	public static final int NO_CARD = -1;
+
+	// Lookup tables, indexed by suit index or card code
+	private static final char[] SUIT_CHARS = { 'C', 'H', 'S', 'D' };
+	private static final String[] SUIT_NAMES = { "Clubs", "Hearts", "Spades", "Diamonds" };
+	private static final String[] VALUE_NAMES = { "A", "2", "3", "4", "5", "6", "7", "8", "9", "10", "J", "Q", "K" };
+	private static final Card[] TABLE = new Card[DECK_SIZE];
+	private static final int[] VALUES = new int[DECK_SIZE];
+	private static final char[] SUITS = new char[DECK_SIZE];
+	private static final String[] SHORT = new String[DECK_SIZE];
+
+	static {
+		for (int suit = 0; suit < SUIT_COUNT; suit++) {
+			for (int value = 1; value <= RANKS; value++) {
+				int code = suit * RANKS + value - 1;
+				VALUES[code] = value;
+				SUITS[code] = SUIT_CHARS[suit];
+				SHORT[code] = VALUE_NAMES[value - 1] + SUIT_CHARS[suit];
+				TABLE[code] = new Card(VALUE_NAMES[value - 1] + " of " + SUIT_NAMES[suit], value, SUIT_CHARS[suit], code);
+			}
+		}
 	}
-	
+
+	private final String label;
+	private final int value;
+	private final char suit;
+	private final int code;
+
 	/*
-	 * Function:			Initialize Overload
-	 * Params: 				Pretty print card(String), card numeric value(int), suit of card(char)
-	 * Purpose:				Initialize card to specific values
-	 * Returns: 			
+	 * Function:			Initialize 
+	 * Params: 				Pretty print card(String), card numeric value(int), suit of card(char),
+	 * 							card code(int)
+	 * Purpose:				Initialize card to specific values. Only used to build the flyweight table
+	 * Returns:
 	 */
-	public Card(String label, int value, char suit) {
+	private Card(String label, int value, char suit, int code) {
 		this.label = label;
 		this.value = value;
-		this.	suit = suit;
+		this.suit = suit;
+		this.code = code;
 	}
-	
+
 	/*
 	 * Function:			GetSuit 
 	 * Params: 
@@ -53,7 +77,7 @@ public class Card{
 	public char GetSuit() {
 		return suit;
 	}
-	
+
 	/*
 	 * Function:			GetValue 
 	 * Params: 
@@ -63,7 +87,7 @@ public class Card{
 	public int GetValue() {
 		return value;
 	}
-	
+
 	/*
 	 * Function:			GetLabel 
 	 * Params: 
@@ -73,40 +97,138 @@ public class Card{
 	public String GetLabel() {
 		return label;
 	}
-	
+
 	/*
-	 * Function:			SetSuit 
-	 * Params: 				Suit to set card to(char)
-	 * Purpose:				Replace 8 wild card with card of new suit
-	 * Returns: 			
+	 * Function:			GetCode
+	 * Params: 
+	 * Purpose:				Getter for compact card code
+	 * Returns: 			Code of card(int)
 	 */
-	public void SetSuit(char suit) {
-		this.suit = suit;
-		String[] splitLabel = this.label.split(" ");
-		this.label = splitLabel[0] + " of " + CharToSuit(suit);
+	public int GetCode() {
+		return code;
 	}
-	
+
+	/*
+	 * Function:			WithSuit
+	 * Params: 				Suit to switch to(char)
+	 * Purpose:				Find the card of the same value in a new suit. Cards are
+	 * 							shared, so this replaces the old label rewriting SetSuit
+	 * Returns: 			Card of same value and new suit(Card)
+	 */
+	public Card WithSuit(char suit) {
+		return Get(Code(value, suit));
+	}
+
 	/*
 	 * Function:			GetStringValue
-	 * Params: 				
+	 * Params: 
 	 * Purpose:				Find instance's String representation of card value
 	 * Returns: 			Value of card(String)
 	 */
 	public String GetStringValue() {
-		switch(value) {
-		case 11:
-			return "J";
-		case 12:
-			return "Q";
-		case 13:
-			return "K";
-		case 1:
-			return "A";
+		return VALUE_NAMES[value - 1];
+	}
+
+	/*
+	 * Function:			Get
+	 * Params: 				Card code(int)
+	 * Purpose:				Look up the shared card for a code
+	 * Returns: 			Card for the code(Card)
+	 */
+	public static Card Get(int code) {
+		return TABLE[code];
+	}
+
+	/*
+	 * Function:			Code
+	 * Params: 				Card numeric value(int), suit of card(char)
+	 * Purpose:				Build the compact code of a card
+	 * Returns: 			Code of card, or NO_CARD for an unknown suit(int)
+	 */
+	public static int Code(int value, char suit) {
+		int suitIndex = SuitIndex(suit);
+		if (suitIndex < 0) {
+			return NO_CARD;
+		}
+		return suitIndex * RANKS + value - 1;
+	}
+
+	/*
+	 * Function:			Value
+	 * Params: 				Card code(int)
+	 * Purpose:				Find numeric value of a card code
+	 * Returns: 			Value of card(int)
+	 */
+	public static int Value(int code) {
+		return VALUES[code];
+	}
+
+	/*
+	 * Function:			Suit
+	 * Params: 				Card code(int)
+	 * Purpose:				Find suit of a card code
+	 * Returns: 			Suit of card(char)
+	 */
+	public static char Suit(int code) {
+		return SUITS[code];
+	}
+
+	/*
+	 * Function:			SuitIndex
+	 * Params: 				Suit of card(char)
+	 * Purpose:				Find the lane a suit occupies in card codes
+	 * Returns: 			Index of suit, or -1 if unknown(int)
+	 */
+	public static int SuitIndex(char suit) {
+		switch(suit) {
+		case 'C':
+			return 0;
+		case 'H':
+			return 1;
+		case 'S':
+			return 2;
+		case 'D':
+			return 3;
 		default:
-			return Integer.toString(value);
+			return -1;
+		}
+	}
+
+	/*
+	 * Function:			Label
+	 * Params: 				Card code(int)
+	 * Purpose:				Find pretty print of a card code
+	 * Returns: 			Pretty print of card(String)
+	 */
+	public static String Label(int code) {
+		return TABLE[code].label;
+	}
+
+	/*
+	 * Function:			Short
+	 * Params: 				Card code(int)
+	 * Purpose:				Find the short form of a card, such as "10H", for line protocols
+	 * Returns: 			Short form of card(String)
+	 */
+	public static String Short(int code) {
+		return SHORT[code];
+	}
+
+	/*
+	 * Function:			ParseShort
+	 * Params: 				Short form of card(String)
+	 * Purpose:				Read a card written by Short
+	 * Returns: 			Code of card, or NO_CARD if it isn't a card(int)
+	 */
+	public static int ParseShort(String text) {
+		for (int code = 0; code < DECK_SIZE; code++) {
+			if (SHORT[code].equalsIgnoreCase(text)) {
+				return code;
+			}
 		}
+		return NO_CARD;
 	}
-	
+
 	/*
 	 * Function:			SuitToChar 
 	 * Params: 				Suit to be converted(String)
@@ -114,20 +236,14 @@ public class Card{
 	 * Returns: 			Char representation of suit(char)
 	 */
 	public static char SuitToChar(String suit) {
-		switch(suit) {
-		case "Clubs":
-			return 'C';
-		case "Hearts":
-			return 'H';
-		case "Spades":
-			return 'S';
-		case "Diamonds":
-			return 'D';
-		default:
-			return '\0';
+		for (int i = 0; i < SUIT_NAMES.length; i++) {
+			if (SUIT_NAMES[i].equals(suit)) {
+				return SUIT_CHARS[i];
+			}
 		}
+		return '\0';
 	}
-	
+
 	/*
 	 * Function:			CharToSuit
 	 * Params: 				Char to be converted(char)
@@ -135,20 +251,13 @@ public class Card{
 	 * Returns: 			String representation of suit(String)
 	 */
 	public static String CharToSuit(char suit) {
-		switch(suit) {
-		case 'C':
-			return "Clubs";
-		case 'H':
-			return "Hearts";
-		case 'S':
-			return "Spades";
-		case 'D':
-			return "Diamonds";
-		default:
+		int suitIndex = SuitIndex(suit);
+		if (suitIndex < 0) {
 			return "";
 		}
+		return SUIT_NAMES[suitIndex];
 	}
-	
+
 	/*
 	 * Function:			CardEquivalent
 	 * Params: 				Card value from construction(String)
@@ -156,23 +265,17 @@ public class Card{
 	 * Returns: 			Value of card(int)
 	 */
 	public static int CardEquivalent(String cardVal) {
-		switch(cardVal) {
-		case "J":
-			return 11;
-		case "Q":
-			return 12;
-		case "K":
-			return 13;
-		case "A":
-			return 1;
-		default:
-			return Integer.parseInt(cardVal);
+		for (int i = 0; i < VALUE_NAMES.length; i++) {
+			if (VALUE_NAMES[i].equals(cardVal)) {
+				return i + 1;
+			}
 		}
+		return Integer.parseInt(cardVal);
 	}
 
 	/*
 	 * Function:			toString
-	 * Params: 				
+	 * Params: 
 	 * Purpose:				Override for generic printing of card
 	 * Returns: 			Card label(String)
 	 */
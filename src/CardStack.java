@@ -0,0 +1,209 @@
+/*	
+ * 	File:				CardStack.java
+ * 	Associated Files:	Deck.java, Card.java
+ * 	Packages Needed:	java.util.SplittableRandom
+ * 	Author:            	Michael Ngo (https://github.com/yeeshue99)
+ * 	Date Modified:      10/18/2026 by Michael Ngo
+ * 	Modified By:        Michael Ngo
+ * 
+ * 	Purpose:			Array backed pile of card codes
+ */
+
+import java.util.SplittableRandom;
+
+/*
+ * Class:				CardStack
+ * Purpose:				Pile of card codes with the top card at the end of the array,
+ * 							so drawing, discarding and peeking never shift memory. A fork
+ * 							shares the array until either pile writes to it, and only
+ * 							Push, Shuffle and RecycleInto write, so a fork that just
+ * 							draws never copies
+ * Methods:				Push, Pop, Peek, Get, Size, IsEmpty, Clear, Shuffle, RecycleInto,
+ * 							Fork, Own
+ */
+public class CardStack {
+
+	private int[] cards;
+	private int size = 0;
+
+	// Whether the array may be seen by another pile
+	private boolean shared = false;
+
+	/*
+	 * Function:			Initialize
+	 * Params: 				Most cards the pile can hold(int)
+	 * Purpose:				Initializes an empty pile
+	 * Returns: 			
+	 */
+	public CardStack(int capacity) {
+		cards = new int[capacity];
+	}
+
+	/*
+	 * Function:			Initialize Overload
+	 * Params: 				Pile to copy(CardStack)
+	 * Purpose:				Initializes a copy of another pile
+	 * Returns: 			
+	 */
+	public CardStack(CardStack other) {
+		cards = other.cards.clone();
+		size = other.size;
+	}
+
+	/*
+	 * Function:			Fork
+	 * Params: 				
+	 * Purpose:				Make a copy that shares this pile's array until one of them
+	 * 							writes
+	 * Returns: 			Copy of the pile(CardStack)
+	 */
+	public CardStack Fork() {
+		// A pile already shared is left untouched, so many threads may fork it at once
+		if (!shared) {
+			shared = true;
+		}
+		CardStack copy = new CardStack(0);
+		copy.cards = cards;
+		copy.size = size;
+		copy.shared = true;
+		return copy;
+	}
+
+	/*
+	 * Function:			Push
+	 * Params: 				Card code(int)
+	 * Purpose:				Put a card on top of the pile
+	 * Returns: 			
+	 */
+	public void Push(int card) {
+		if (shared) {
+			Own();
+		}
+		cards[size++] = card;
+	}
+
+	/*
+	 * Function:			Pop
+	 * Params: 				
+	 * Purpose:				Take the top card off the pile
+	 * Returns: 			Card code(int)
+	 */
+	public int Pop() {
+		if (size == 0) {
+			throw new IllegalStateException("Cannot draw from an empty pile");
+		}
+		return cards[--size];
+	}
+
+	/*
+	 * Function:			Peek
+	 * Params: 				
+	 * Purpose:				Look at the top card without taking it
+	 * Returns: 			Card code, or Card.NO_CARD if empty(int)
+	 */
+	public int Peek() {
+		if (size == 0) {
+			return Card.NO_CARD;
+		}
+		return cards[size - 1];
+	}
+
+	/*
+	 * Function:			Get
+	 * Params: 				Position from the bottom of the pile(int)
+	 * Purpose:				Look at any card in the pile
+	 * Returns: 			Card code(int)
+	 */
+	public int Get(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Index " + index + " for pile of " + size);
+		}
+		return cards[index];
+	}
+
+	/*
+	 * Function:			Size
+	 * Params: 				
+	 * Purpose:				Getter for number of cards in the pile
+	 * Returns: 			Number of cards(int)
+	 */
+	public int Size() {
+		return size;
+	}
+
+	/*
+	 * Function:			IsEmpty
+	 * Params: 				
+	 * Purpose:				Check for an empty pile
+	 * Returns: 			Whether the pile is empty(boolean)
+	 */
+	public boolean IsEmpty() {
+		return size == 0;
+	}
+
+	/*
+	 * Function:			Clear
+	 * Params: 				
+	 * Purpose:				Empty the pile
+	 * Returns: 			
+	 */
+	public void Clear() {
+		size = 0;
+	}
+
+	/*
+	 * Function:			Shuffle
+	 * Params: 				Random source(SplittableRandom)
+	 * Purpose:				Fisher-Yates shuffle of the pile in place
+	 * Returns: 			
+	 */
+	public void Shuffle(SplittableRandom rng) {
+		if (shared) {
+			Own();
+		}
+		for (int i = size - 1; i > 0; i--) {
+			int j = rng.nextInt(i + 1);
+			int temp = cards[i];
+			cards[i] = cards[j];
+			cards[j] = temp;
+		}
+	}
+
+	/*
+	 * Function:			RecycleInto
+	 * Params: 				Empty stock to refill(CardStack)
+	 * Purpose:				Turn every card under the top discard into the new stock.
+	 * 							The two piles swap backing arrays, so nothing is copied
+	 * 							unless one was still shared with a fork
+	 * Returns: 			
+	 */
+	public void RecycleInto(CardStack stock) {
+		if (!stock.IsEmpty()) {
+			throw new IllegalStateException("Stock must be empty before recycling the discard pile");
+		}
+		if (shared) {
+			Own();
+		}
+		if (stock.shared) {
+			stock.Own();
+		}
+		int top = Pop();
+		int[] swap = stock.cards;
+		stock.cards = cards;
+		stock.size = size;
+		cards = swap;
+		size = 0;
+		Push(top);
+	}
+
+	/*
+	 * Function:			Own
+	 * Params: 				
+	 * Purpose:				Take a private copy of a shared array before writing to it
+	 * Returns: 			
+	 */
+	private void Own() {
+		cards = cards.clone();
+		shared = false;
+	}
+}
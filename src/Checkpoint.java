@@ -0,0 +1,303 @@
+/*
+ * 	File:				Checkpoint.java
+ * 	Associated Files:	Rummy.java, Deck.java, Hand.java, CardStack.java, MeldIndex.java, Main.java
+ * 	Packages Needed:	java.io.IOException, java.io.UncheckedIOException, java.nio.*,
+ * 							java.nio.channels.FileChannel, java.nio.file.*, java.util.ArrayList,
+ * 							java.util.zip.CRC32
+ * 	Author:            	Michael Ngo (https://github.com/yeeshue99)
+ * 	Date Modified:      10/18/2026 by Michael Ngo
+ * 	Modified By:        Michael Ngo
+ *
+ * 	Purpose:			Save games in progress in a small binary file and pick them back up
+ */
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.zip.CRC32;
+
+/*
+ * Class:				Checkpoint
+ * Purpose:				Writes a game's state at a turn boundary, and reads it back as a
+ * 							game ready to play on from the same seat. A checkpoint is
+ * 							little endian: a header of magic, version, players, seat to
+ * 							move, decks, seed, rounds and round limit, then the stock,
+ * 							the discard pile, each meld and each hand as a count followed
+ * 							by one byte per card code, and last a CRC32 of everything
+ * 							before it. A single deck game fits in about a hundred bytes.
+ * 							Attached to a game, a checkpoint rewrites its file every few
+ * 							turns or milliseconds, writing a temporary file first and
+ * 							moving it over the old one, so a crash mid-write leaves the
+ * 							last good checkpoint in place
+ * Methods:				Load, Encode, Decode, AfterTurn, Write, GetWrites, CheckedCard
+ */
+public class Checkpoint {
+
+	// File layout: magic and version, then the game
+	static final int MAGIC = 0x50434D52;
+	static final int VERSION = 1;
+	static final int HEADER_BYTES = 24;
+	static final int CRC_BYTES = 4;
+
+	// Meld header bit marking a sequence, the rest is the meld's length
+	private static final int SEQUENCE_FLAG = 0x80;
+
+	private final Path file;
+	private final Path temp;
+	private final int everyTurns;
+	private final long everyNanos;
+	private final CRC32 crc = new CRC32();
+	private ByteBuffer buffer = ByteBuffer.allocate(512).order(ByteOrder.LITTLE_ENDIAN);
+	private int turns = 0;
+	private long lastWrite = System.nanoTime();
+	private long writes = 0;
+
+	/*
+	 * Function:			Initialize
+	 * Params: 				Checkpoint file(Path), turns between writes, 0 for every turn(int),
+	 * 							ms after which a write is due anyway, 0 for never(long)
+	 * Purpose:				Initializes a checkpoint that writes when either the turns or
+	 * 							the time have passed
+	 * Returns:
+	 */
+	public Checkpoint(Path file, int everyTurns, long everyMillis) {
+		this.file = file;
+		this.temp = file.resolveSibling(file.getFileName() + ".tmp");
+		this.everyTurns = Math.max(1, everyTurns);
+		this.everyNanos = everyMillis * 1000000L;
+	}
+
+	/*
+	 * Function:			Load
+	 * Params: 				Checkpoint file(Path), where to send messages(Renderer)
+	 * Purpose:				Read a checkpoint file back into a game
+	 * Returns: 			Game ready to Resume(Rummy)
+	 */
+	public static Rummy Load(Path file, Renderer render) {
+		try {
+			return Decode(ByteBuffer.wrap(Files.readAllBytes(file)), render);
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/*
+	 * Function:			AfterTurn
+	 * Params: 				Game being played(Rummy), seat to move next(int)
+	 * Purpose:				Write the game if enough turns or time have passed
+	 * Returns:
+	 */
+	void AfterTurn(Rummy game, int player) {
+		turns++;
+		boolean due = turns >= everyTurns;
+		if (!due && everyNanos > 0) {
+			due = System.nanoTime() - lastWrite >= everyNanos;
+		}
+		if (due) {
+			Write(game, player);
+		}
+	}
+
+	/*
+	 * Function:			Write
+	 * Params: 				Game being played(Rummy), seat to move next(int)
+	 * Purpose:				Replace the checkpoint file with the game as it stands
+	 * Returns:
+	 */
+	public void Write(Rummy game, int player) {
+		buffer = Encode(game, player, buffer, crc);
+		try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		try {
+			Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		turns = 0;
+		lastWrite = System.nanoTime();
+		writes++;
+	}
+
+	/*
+	 * Function:			GetWrites
+	 * Params:
+	 * Purpose:				Getter for how many times the file was written
+	 * Returns: 			Writes(long)
+	 */
+	public long GetWrites() {
+		return writes;
+	}
+
+	/*
+	 * Function:			Encode
+	 * Params: 				Game to save(Rummy), seat to move next(int), buffer to reuse
+	 * 							if it is big enough(ByteBuffer), checksum to reuse(CRC32)
+	 * Purpose:				Pack a game into a checkpoint
+	 * Returns: 			Buffer holding the checkpoint, ready to read(ByteBuffer)
+	 */
+	public static ByteBuffer Encode(Rummy game, int player, ByteBuffer buffer, CRC32 crc) {
+		Deck deck = game.GetDeck();
+		int cards = deck.GetDecks() * Deck.CARDS_PER_DECK;
+		int bytes = HEADER_BYTES + 6 + 2 * deck.melds.Size() + cards + game.GetNumPlayers() + CRC_BYTES;
+		if (buffer == null || buffer.capacity() < bytes) {
+			buffer = ByteBuffer.allocate(bytes).order(ByteOrder.LITTLE_ENDIAN);
+		}
+		buffer.clear();
+		buffer.putInt(MAGIC);
+		buffer.put((byte) VERSION);
+		buffer.put((byte) game.GetNumPlayers());
+		buffer.put((byte) player);
+		buffer.put((byte) deck.GetDecks());
+		buffer.putLong(deck.GetSeed());
+		buffer.putInt(game.GetRounds());
+		buffer.putInt(game.roundLimit);
+
+		buffer.putShort((short) deck.deck.Size());
+		for (int i = 0; i < deck.deck.Size(); i++) {
+			buffer.put((byte) deck.deck.Get(i));
+		}
+		buffer.putShort((short) deck.discard.Size());
+		for (int i = 0; i < deck.discard.Size(); i++) {
+			buffer.put((byte) deck.discard.Get(i));
+		}
+		buffer.putShort((short) deck.melds.Size());
+		for (int m = 0; m < deck.melds.Size(); m++) {
+			ArrayList<Integer> meld = deck.melds.Get(m);
+			buffer.put((byte) (meld.size() | (deck.melds.IsSequence(m) ? SEQUENCE_FLAG : 0)));
+			for (int k = 0; k < meld.size(); k++) {
+				buffer.put((byte) (int) meld.get(k));
+			}
+		}
+		for (int p = 0; p < game.GetNumPlayers(); p++) {
+			ArrayList<Integer> hand = game.GetHand(p);
+			buffer.put((byte) hand.size());
+			for (int k = 0; k < hand.size(); k++) {
+				buffer.put((byte) (int) hand.get(k));
+			}
+		}
+
+		ByteBuffer body = buffer.duplicate();
+		body.flip();
+		crc.reset();
+		crc.update(body);
+		buffer.putInt((int) crc.getValue());
+		buffer.flip();
+		return buffer;
+	}
+
+	/*
+	 * Function:			Decode
+	 * Params: 				Checkpoint(ByteBuffer), where to send messages(Renderer)
+	 * Purpose:				Rebuild a game from a checkpoint, checking the header, the
+	 * 							checksum and that every card of the shoe is accounted for
+	 * Returns: 			Game ready to Resume(Rummy)
+	 */
+	public static Rummy Decode(ByteBuffer buffer, Renderer render) {
+		buffer = buffer.slice().order(ByteOrder.LITTLE_ENDIAN);
+		int length = buffer.remaining();
+		if (length < HEADER_BYTES + CRC_BYTES || buffer.getInt(0) != MAGIC) {
+			throw new IllegalArgumentException("Not a game checkpoint");
+		}
+		if (buffer.get(4) != VERSION) {
+			throw new IllegalArgumentException("Checkpoint is version " + buffer.get(4) + ", expected " + VERSION);
+		}
+		CRC32 crc = new CRC32();
+		ByteBuffer body = buffer.duplicate();
+		body.limit(length - CRC_BYTES);
+		crc.update(body);
+		if ((int) crc.getValue() != buffer.getInt(length - CRC_BYTES)) {
+			throw new IllegalArgumentException("Checkpoint failed its checksum");
+		}
+
+		try {
+			buffer.position(5);
+			int numPlayers = buffer.get();
+			int player = buffer.get();
+			int decks = buffer.get();
+			long seed = buffer.getLong();
+			int rounds = buffer.getInt();
+			int roundLimit = buffer.getInt();
+			if (numPlayers < 2 || numPlayers > Rummy.MAX_PLAYERS || player < 0 || player >= numPlayers || decks < 1) {
+				throw new IllegalArgumentException("Checkpoint header is out of range");
+			}
+			int[] copies = new int[Card.DECK_SIZE];
+
+			CardStack stock = new CardStack(decks * Deck.CARDS_PER_DECK);
+			for (int i = buffer.getShort(); i > 0; i--) {
+				stock.Push(CheckedCard(buffer.get(), copies));
+			}
+			CardStack discard = new CardStack(decks * Deck.CARDS_PER_DECK);
+			for (int i = buffer.getShort(); i > 0; i--) {
+				discard.Push(CheckedCard(buffer.get(), copies));
+			}
+			MeldIndex melds = new MeldIndex();
+			for (int m = buffer.getShort(); m > 0; m--) {
+				int header = buffer.get() & 0xFF;
+				int size = header & ~SEQUENCE_FLAG;
+				ArrayList<Integer> meld = new ArrayList<Integer>(size + 1);
+				for (int k = 0; k < size; k++) {
+					meld.add(CheckedCard(buffer.get(), copies));
+				}
+				melds.Add(meld, (header & SEQUENCE_FLAG) != 0);
+			}
+			ArrayList<ArrayList<Integer>> hands = new ArrayList<ArrayList<Integer>>(numPlayers);
+			for (int p = 0; p < numPlayers; p++) {
+				int size = buffer.get() & 0xFF;
+				Hand hand = new Hand(size + 1);
+				for (int k = 0; k < size; k++) {
+					hand.add(CheckedCard(buffer.get(), copies));
+				}
+				hands.add(hand);
+			}
+			if (buffer.position() != length - CRC_BYTES) {
+				throw new IllegalArgumentException("Checkpoint has bytes left over");
+			}
+			for (int card = 0; card < Card.DECK_SIZE; card++) {
+				if (copies[card] != (card == Deck.REMOVED_CARD ? 0 : decks)) {
+					throw new IllegalArgumentException("Checkpoint does not hold every card of the shoe");
+				}
+			}
+
+			Rummy game = new Rummy(new Deck(stock, discard, melds, seed, decks), hands, roundLimit);
+			game.rounds = rounds;
+			game.next = player;
+			game.render = render;
+			game.deck.SetRenderer(render);
+			return game;
+		}
+		catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+			throw new IllegalArgumentException("Checkpoint is cut short or corrupt", e);
+		}
+	}
+
+	/*
+	 * Function:			CheckedCard
+	 * Params: 				Card code read(byte), copies of each card seen so far(int[])
+	 * Purpose:				Check a card code is real and count it
+	 * Returns: 			Card code(int)
+	 */
+	private static int CheckedCard(byte code, int[] copies) {
+		if (code < 0 || code >= Card.DECK_SIZE) {
+			throw new IllegalArgumentException("Checkpoint holds card code " + code);
+		}
+		copies[code]++;
+		return code;
+	}
+}
@@ -0,0 +1,49 @@
+/*
+ * 	File:				Command.java
+ * 	Associated Files:	CommandReader.java, ConsolePlayer.java, ScriptDriver.java
+ * 	Packages Needed:	
+ * 	Author:            	Michael Ngo (https://github.com/yeeshue99)
+ * 	Date Modified:      10/18/2026 by Michael Ngo
+ * 	Modified By:        Michael Ngo
+ *
+ * 	Purpose:			Opcodes for the words a player can type
+ */
+
+/*
+ * Class:				Command
+ * Purpose:				Every word CommandReader knows, plus NUMBER for integers,
+ * 							UNKNOWN for anything else and END when input runs out.
+ * 							DISCARD is both a draw location and the action that ends
+ * 							a turn, so the prompt decides what it means
+ * Methods:				Word
+ */
+public enum Command {
+	DECK("deck"),
+	DISCARD("discard"),
+	MELD("meld"),
+	TABLE("table"),
+	HAND("hand"),
+	HINT("hint"),
+	GAME("game"),
+	EXPECT("expect"),
+	QUIT("quit"),
+	NUMBER(null),
+	UNKNOWN(null),
+	END(null);
+
+	private final String word;
+
+	Command(String word) {
+		this.word = word;
+	}
+
+	/*
+	 * Function:			Word
+	 * Params: 				
+	 * Purpose:				Getter for the word that reads as this command
+	 * Returns: 			Lower case word, or null for NUMBER, UNKNOWN and END(String)
+	 */
+	public String Word() {
+		return word;
+	}
+}
@@ -0,0 +1,230 @@
+/*
+ * 	File:				CommandReader.java
+ * 	Associated Files:	Command.java, ConsolePlayer.java, ScriptDriver.java, Main.java
+ * 	Packages Needed:	java.io.IOException, java.io.InputStream, java.io.UncheckedIOException,
+ * 							java.nio.charset.StandardCharsets
+ * 	Author:            	Michael Ngo (https://github.com/yeeshue99)
+ * 	Date Modified:      10/18/2026 by Michael Ngo
+ * 	Modified By:        Michael Ngo
+ *
+ * 	Purpose:			Turn typed or scripted input into commands without a Scanner
+ */
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/*
+ * Class:				CommandReader
+ * Purpose:				Byte level tokenizer for player input. Words are split on
+ * 							whitespace, copied into a small scratch array and matched
+ * 							against the command words picked out by their first letter,
+ * 							ignoring case. Integers are parsed as they are read. Nothing
+ * 							is allocated per token, and input is read in large blocks,
+ * 							or not at all when a whole script is already in memory
+ * Methods:				Next, Unread, Number, Read, IsNumber, Fill
+ */
+public class CommandReader {
+
+	private static final int BUFFER_BYTES = 1 << 16;
+
+	// Longest word kept, enough for any long, longer tokens are UNKNOWN
+	private static final int MAX_WORD = 20;
+
+	// Command words grouped by first letter, a to z
+	private static final Command[][] BY_LETTER = new Command[26][];
+	private static final byte[][] WORDS = new byte[Command.values().length][];
+
+	static {
+		int[] counts = new int[26];
+		for (Command command : Command.values()) {
+			if (command.Word() != null) {
+				WORDS[command.ordinal()] = command.Word().getBytes(StandardCharsets.US_ASCII);
+				counts[command.Word().charAt(0) - 'a']++;
+			}
+		}
+		for (int letter = 0; letter < 26; letter++) {
+			BY_LETTER[letter] = new Command[counts[letter]];
+			counts[letter] = 0;
+		}
+		for (Command command : Command.values()) {
+			if (command.Word() != null) {
+				int letter = command.Word().charAt(0) - 'a';
+				BY_LETTER[letter][counts[letter]++] = command;
+			}
+		}
+	}
+
+	private final InputStream in;
+	private final byte[] buffer;
+	private int position = 0;
+	private int limit = 0;
+	private final byte[] word = new byte[MAX_WORD];
+	private long number = 0;
+	private Command last = Command.END;
+	private boolean unread = false;
+
+	/*
+	 * Function:			Initialize
+	 * Params: 				Where input comes from(InputStream)
+	 * Purpose:				Initializes a reader over a stream, such as System.in
+	 * Returns:
+	 */
+	public CommandReader(InputStream in) {
+		this.in = in;
+		this.buffer = new byte[BUFFER_BYTES];
+	}
+
+	/*
+	 * Function:			Initialize Overload
+	 * Params: 				Whole input(byte[])
+	 * Purpose:				Initializes a reader over input already in memory, used as is
+	 * Returns:
+	 */
+	public CommandReader(byte[] input) {
+		this.in = null;
+		this.buffer = input;
+		this.limit = input.length;
+	}
+
+	/*
+	 * Function:			Next
+	 * Params:
+	 * Purpose:				Read the next word and find its command
+	 * Returns: 			Command, NUMBER with the value in Number(), UNKNOWN or END(Command)
+	 */
+	public Command Next() {
+		if (unread) {
+			unread = false;
+			return last;
+		}
+		last = Read();
+		return last;
+	}
+
+	/*
+	 * Function:			Unread
+	 * Params:
+	 * Purpose:				Give back the last command so the next call to Next returns it
+	 * 							again, such as a script's next GAME seen mid-game
+	 * Returns:
+	 */
+	public void Unread() {
+		unread = true;
+	}
+
+	/*
+	 * Function:			Read
+	 * Params:
+	 * Purpose:				Tokenize the next word from the input
+	 * Returns: 			Command found(Command)
+	 */
+	private Command Read() {
+		int b;
+		do {
+			if (position == limit && !Fill()) {
+				return Command.END;
+			}
+			b = buffer[position++];
+		} while (b <= ' ');
+
+		int length = 0;
+		while (true) {
+			if (length < MAX_WORD) {
+				word[length] = (byte) b;
+			}
+			length++;
+			if (position == limit && !Fill()) {
+				break;
+			}
+			b = buffer[position];
+			if (b <= ' ') {
+				break;
+			}
+			position++;
+		}
+		if (length > MAX_WORD) {
+			return Command.UNKNOWN;
+		}
+
+		if (IsNumber(length)) {
+			return Command.NUMBER;
+		}
+		int letter = (word[0] | 0x20) - 'a';
+		if (letter < 0 || letter >= 26) {
+			return Command.UNKNOWN;
+		}
+		for (Command command : BY_LETTER[letter]) {
+			byte[] text = WORDS[command.ordinal()];
+			if (text.length != length) {
+				continue;
+			}
+			int i = 1;
+			while (i < length && (word[i] | 0x20) == text[i]) {
+				i++;
+			}
+			if (i == length) {
+				return command;
+			}
+		}
+		return Command.UNKNOWN;
+	}
+
+	/*
+	 * Function:			Number
+	 * Params:
+	 * Purpose:				Getter for the value of the last NUMBER read
+	 * Returns: 			Value(long)
+	 */
+	public long Number() {
+		return number;
+	}
+
+	/*
+	 * Function:			IsNumber
+	 * Params: 				Length of the word(int)
+	 * Purpose:				Parse the word as an integer if it is one that fits in a long
+	 * Returns: 			Whether the word was an integer(boolean)
+	 */
+	private boolean IsNumber(int length) {
+		int i = word[0] == '-' ? 1 : 0;
+		if (i == length) {
+			return false;
+		}
+		long value = 0;
+		for (; i < length; i++) {
+			int digit = word[i] - '0';
+			if (digit < 0 || digit > 9 || value > (Long.MAX_VALUE - digit) / 10) {
+				return false;
+			}
+			value = value * 10 + digit;
+		}
+		number = word[0] == '-' ? -value : value;
+		return true;
+	}
+
+	/*
+	 * Function:			Fill
+	 * Params:
+	 * Purpose:				Read the next block of input, waiting for a person to type
+	 * Returns: 			Whether any input was read(boolean)
+	 */
+	private boolean Fill() {
+		if (in == null) {
+			return false;
+		}
+		try {
+			int read = in.read(buffer, 0, buffer.length);
+			if (read <= 0) {
+				return false;
+			}
+			position = 0;
+			limit = read;
+			return true;
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
@@ -0,0 +1,252 @@
+/*	
+ * 	File:				ConsolePlayer.java
+ * 	Associated Files:	Player.java, Rummy.java, Deck.java, Advisor.java
+ * 	Packages Needed:	java.util.ArrayList, java.util.Arrays
+ * 	Author:            	Michael Ngo (https://github.com/yeeshue99)
+ * 	Date Modified:      10/18/2026 by Michael Ngo
+ * 	Modified By:        Michael Ngo
+ * 
+ * 	Purpose:			Let a person play Rummy from the console
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/*
+ * Class:				ConsolePlayer
+ * Purpose:				Player that asks a person at the console for every choice. Input
+ * 							comes through a CommandReader, so the same player can replay
+ * 							a recorded script of what a person typed. Typing "hint" asks
+ * 							an Advisor where to draw or what to throw out
+ * Methods:				ChooseDrawLocation, ChooseMelds, ChooseLayOff, ChooseDiscard,
+ * 							HintDraw, HintDiscard, GetActionChoice, IsAction, Read
+ */
+public class ConsolePlayer implements Player {
+
+	CommandReader in;
+	String[] actions = { "meld", "discard", "table", "hand", "hint" };
+	String[] drawLocations = { "discard", "deck", "hint" };
+	private final Advisor advisor = new Advisor();
+
+	/*
+	 * Class:				InputEnded
+	 * Purpose:				Thrown when input runs out, the player quits or a script moves
+	 * 							on to its next game before this game is over
+	 * Methods:
+	 */
+	static class InputEnded extends IllegalStateException {
+		private static final long serialVersionUID = 1L;
+
+		InputEnded() {
+			super("Input ended before the game did");
+		}
+	}
+
+	/*
+	 * Function:			Initialize
+	 * Params: 				Typed or scripted input(CommandReader)
+	 * Purpose:				Initializes console player
+	 * Returns: 			
+	 */
+	public ConsolePlayer(CommandReader in) {
+		this.in = in;
+	}
+
+	/*
+	 * Function:			ChooseDrawLocation
+	 * Params: 				Game being played(Rummy), current player(int)
+	 * Purpose:				Show the player their cards and ask where to draw from
+	 * Returns: 			where to draw from(String)
+	 */
+	@Override
+	public String ChooseDrawLocation(Rummy game, int player) {
+		Renderer render = game.GetRenderer();
+		render.Println("======================================");
+		render.Printf("Player #%d, these are your cards:%n", (player + 1));
+		game.GetDeck().DisplayCards(game.GetHand(player));
+
+		render.Printf("Do you want to draw from discard or deck? ");
+		if (game.GetDiscardTop() == Card.NO_CARD) {
+			render.Printf("The discard pile is empty%n");
+		}
+		else {
+			render.Printf("The top of the discard pile is a(n): %s%n", Card.Value(game.GetDiscardTop()));
+		}
+		render.Flush();
+		Command choice = Read();
+
+		while (!(choice == Command.DISCARD || choice == Command.DECK)) {
+			if (choice == Command.HINT) {
+				HintDraw(game, player);
+			}
+			else {
+				render.Println("Invalid location! The loations you can choose are: ");
+				render.Println(Arrays.toString(drawLocations));
+			}
+			render.Flush();
+			choice = Read();
+		}
+		return choice.Word();
+	}
+
+	/*
+	 * Function:			ChooseMelds
+	 * Params: 				Game being played(Rummy), current player(int)
+	 * Purpose:				Melds in hand are always laid down for console players
+	 * Returns: 			Whether to lay down melds(boolean)
+	 */
+	@Override
+	public boolean ChooseMelds(Rummy game, int player) {
+		return true;
+	}
+
+	/*
+	 * Function:			ChooseLayOff
+	 * Params: 				Game being played(Rummy), current player(int)
+	 * Purpose:				Run the action prompt until the player asks to meld or discard
+	 * Returns: 			Whether the player asked to meld(boolean)
+	 */
+	@Override
+	public boolean ChooseLayOff(Rummy game, int player) {
+		Renderer render = game.GetRenderer();
+		game.GetDeck().DisplayCards(game.GetHand(player));
+		while (true) {
+			render.Println("What do you want to do now? (To see list of actions type \"help\"):");
+			Command action = GetActionChoice(render);
+			if (action == Command.MELD) {
+				return true;
+			}
+			else if (action == Command.DISCARD) {
+				return false;
+			}
+			else if(action == Command.TABLE){
+				game.GetDeck().DisplayMelds();
+			}
+			else if(action == Command.HAND) {
+				game.GetDeck().DisplayCards(game.GetHand(player));
+			}
+			else if (action == Command.HINT) {
+				HintDiscard(game, player);
+			}
+		}
+	}
+
+	/*
+	 * Function:			HintDraw
+	 * Params: 				Game being played(Rummy), current player(int)
+	 * Purpose:				Show the outs and expected deadwood of each place to draw from
+	 * Returns: 			
+	 */
+	private void HintDraw(Rummy game, int player) {
+		Renderer render = game.GetRenderer();
+		String location = advisor.AdviseDraw(game, player);
+		render.Printf("The deck holds %d outs among %d unseen cards, ", advisor.GetDeckOuts(), advisor.GetUnseen());
+		render.Printf("deadwood %+.1f expected%n", advisor.GetDeckChange());
+		if (game.GetDiscardTop() != Card.NO_CARD) {
+			render.Printf("The %s on the discard pile is %s", Card.Label(game.GetDiscardTop()),
+					advisor.GetDiscardOuts() > 0 ? "an out" : "not an out");
+			render.Printf(", deadwood %+.1f%n", advisor.GetDiscardChange());
+		}
+		render.Printf("Hint: draw from the %s%n", location);
+	}
+
+	/*
+	 * Function:			HintDiscard
+	 * Params: 				Game being played(Rummy), current player(int)
+	 * Purpose:				Show the outs left and deadwood expected after the next draw
+	 * 							for each card that could be thrown out
+	 * Returns: 			
+	 */
+	private void HintDiscard(Rummy game, int player) {
+		Renderer render = game.GetRenderer();
+		ArrayList<Integer> hand = game.GetHand(player);
+		int best = advisor.AdviseDiscard(game, player);
+		int bestPosition = 0;
+		for (int position = 0; position < hand.size(); position++) {
+			int card = Renderer.CardAt(hand, position);
+			int index = hand.indexOf(card);
+			if (index == best) {
+				bestPosition = position;
+			}
+			render.Printf("%3d. %-20s", (position + 1), Card.Label(card));
+			render.Printf("%3d outs, deadwood %.1f expected%n", advisor.GetOuts(index), advisor.GetExpected(index));
+		}
+		render.Printf("Hint: discard card %d, your %s%n", (bestPosition + 1), Card.Label(hand.get(best)));
+	}
+
+	/*
+	 * Function:			ChooseDiscard
+	 * Params: 				Game being played(Rummy), current player(int)
+	 * Purpose:				Determines what card to discard from hand. The player
+	 * 							counts cards in the order they were displayed
+	 * Returns: 			Index of card to discard(int)
+	 */
+	@Override
+	public int ChooseDiscard(Rummy game, int player) {
+		Renderer render = game.GetRenderer();
+		ArrayList<Integer> hand = game.GetHand(player);
+		int handSize = hand.size();
+		render.Printf("Choose a card to discard (1-%d): ", handSize);
+		render.Flush();
+		long chosenCard = -1;
+
+		if (Read() == Command.NUMBER) {
+			chosenCard = in.Number();
+		}
+		while (!(chosenCard >= 1 && chosenCard <= handSize)) {
+			render.Println(
+					"Invalid card number. Please enter integer between 1 and " + handSize + ": ");
+			render.Flush();
+			chosenCard = Read() == Command.NUMBER ? in.Number() : -1;
+		}
+		int card = Renderer.CardAt(hand, (int) chosenCard - 1);
+		return hand.indexOf(card);
+	}
+
+	/*
+	 * Function:			GetActionChoice
+	 * Params: 				Game output(Renderer)
+	 * Purpose:				Communicates with user to find what action to do
+	 * Returns: 			Player's chosen action(Command)
+	 */
+	private Command GetActionChoice(Renderer render) {
+		render.Flush();
+		Command action = Read();
+		while (!IsAction(action)) {
+			render.Println("The actions you can take are: ");
+			render.Println(Arrays.toString(actions));
+			render.Flush();
+			action = Read();
+		}
+		return action;
+	}
+
+	/*
+	 * Function:			IsAction
+	 * Params: 				Command read(Command)
+	 * Purpose:				Check a command is one of the turn actions
+	 * Returns: 			Whether the command is an action(boolean)
+	 */
+	private static boolean IsAction(Command action) {
+		return action == Command.MELD || action == Command.DISCARD || action == Command.TABLE
+				|| action == Command.HAND || action == Command.HINT;
+	}
+
+	/*
+	 * Function:			Read
+	 * Params: 				
+	 * Purpose:				Read the next command, giving up on the game if input ran out,
+	 * 							the player quit or a script moved on to its next game
+	 * Returns: 			Command read(Command)
+	 */
+	private Command Read() {
+		Command command = in.Next();
+		if (command == Command.GAME) {
+			in.Unread();
+		}
+		if (command == Command.END || command == Command.QUIT || command == Command.GAME) {
+			throw new InputEnded();
+		}
+		return command;
+	}
+}
@@ -1,7 +1,7 @@
 /*	
  * 	File:				Deck.java
- * 	Associated Files:	Main.java, Rummy.java, Card.java
- * 	Packages Needed:	java.util.ArrayList, java.util.Collections, java.util.Comparator;
+ * 	Associated Files:	Main.java, Rummy.java, Card.java, HandCache.java, Hand.java
+ * 	Packages Needed:	java.util.ArrayList, java.util.Arrays, java.util.SplittableRandom;
  * 	Author:            	Michael Ngo (https://github.com/yeeshue99)
  * 	Date Modified:      8/17/2020 by Michael Ngo
  * 	Modified By:        Michael Ngo
@@ -10,160 +10,274 @@
  */
 
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
-import java.util.HashMap;
-import java.util.Random;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
 
 /*
  * Class:				Deck
  * Purpose:				Handle all card operations
-// * Methods:			dblDigitSort, MakeDeck, DealCards, DrawCard,
- * 							CheckMelds, RemoveCards, RemoveCards, 
+// * Methods:			MakeDeck, DealCards, DrawCard, SetRenderer,
+ * 							CanDraw, CheckMelds, RemoveCards, RemoveCards, 
  * 							DisplayCards,DisplayMelds, CalculateScore, 
  * 							CardSCore,CalculateScore, CardScore,
- * 							RemoveMatchingCards, RemoveSequenceCards,
- * 							FindHandSize
+ * 							LayDownMeld, RemoveMasked, FindHandSize, SetJournal,
+ * 							SetActor, BeginTurn, EndGame, Discard, Record, DecksFor,
+ * 							GetDecks, Fork
  */
 public class Deck {
 
-	// Different combinations for cards
-	static String[] suits = { "Clubs", "Hearts", "Spades", "Diamonds" };
-	static String[] values = { "2", "3", "4", "5", "6", "7", "8", "9", "10", "J", "Q", "K", "A" };
-	static HashMap<String, Integer> letterValues = new HashMap<String, Integer>();
-	static Random rng =  new Random(420);
+	// Card left out of each deck
+	static final int REMOVED_CARD = Card.Code(12, 'H');
 	
-	// Container to hold all cards
-	public static ArrayList<Card> deck = new ArrayList<Card>();
-	public static ArrayList<Card> discard = new ArrayList<Card>();
-	public static ArrayList<ArrayList<Card>> melds = new ArrayList<ArrayList<Card>>();
-	private static ArrayList<String> meldType = new ArrayList<String>();
+	// Cards in one deck once the removed card is out
+	public static final int CARDS_PER_DECK = Card.DECK_SIZE - 1;
+	
+	// Largest table a single deck deals to
+	public static final int SINGLE_DECK_PLAYERS = 6;
+	
+	// Decks in every shoe, set with -Drummy.decks, 0 picks by table size
+	private static final int SHOE_DECKS = Integer.getInteger("rummy.decks", 0);
+	
+	// Seed the shuffle came from, kept so the game can be replayed
+	final long seed;
+	SplittableRandom rng;
+	
+	// Decks shuffled together into the shoe. Copies of a card share its code
+	final int decks;
+	
+	// Containers to hold all card codes for one game. Codes fit in the Integer cache, so boxing them never allocates
+	public CardStack deck;
+	public CardStack discard;
+	public MeldIndex melds;
+	
+	// Where this game's messages go, silent unless a game asks for output
+	Renderer render = Renderer.SILENT;
+	
+	// Where this game's events are kept, null when the game isn't recorded
+	private Journal journal = null;
+	private long[] events;
+	private int eventCount = 0;
+	private int actor = 0;
+	
+	// Melds found by the last split, reused so laying down melds never allocates
+	private final long[] found = new long[MeldSolver.MAX_MELDS];
 	
 	/*
-	 * Function:			dblDigitSort
+	 * Function:			Initialize
 	 * Params: 				
-	 * Purpose:				Sorts based off of Card values: A is low, K is high.
-	 * Returns: 			Comparator of two values
+	 * Purpose:				Initializes the cards for one game from a fresh random seed
+	 * Returns: 			
 	 */
-	public static Comparator<Card> dblDigitSort = new Comparator<Card>()
-    {
-		/*
-		 * Function:			compare
-		 * Params: 				Two cards to compare(Card, Card)
-		 * Purpose:				Calculates and converts the values to be compared
-		 * Returns: 			The comparison between c1 and c2
-		 */
-        @Override
-        public int compare(Card c1, Card c2)
-        {
-        	Integer val1;
-        	Integer val2;
-        	val1 = c1.GetValue();
-        	val2 = c2.GetValue();
-            return val1.compareTo(val2);
-        }
-    };
-    
+	public Deck() {
+		this(ThreadLocalRandom.current().nextLong(), 1);
+	}
+
 	/*
-	 * Function:			suitSort
-	 * Params: 				
-	 * Purpose:				Sorts based off of Card suits: A is low, K is high.
-	 * Returns: 			Comparator of two values
+	 * Function:			Initialize Overload
+	 * Params: 				Game seed(long)
+	 * Purpose:				Initializes the cards for one game. Every game owns its
+	 * 							own deck, so many games can run at once, and the same
+	 * 							seed always shuffles the same deck
+	 * Returns: 			
 	 */
-	public static Comparator<Card> suitSort = new Comparator<Card>()
-    {
-		/*
-		 * Function:			compare
-		 * Params: 				Two cards to compare(Card, Card)
-		 * Purpose:				Calculates and converts the values to be compared
-		 * Returns: 			The comparison between c1 and c2
-		 */
-        @Override
-        public int compare(Card c1, Card c2)
-        {
-        	char val1;
-        	char val2;
-        	val1 = c1.GetSuit();
-        	val2 = c2.GetSuit();
-            return Character.compare(val1, val2);
-        }
-    };
+	public Deck(long seed) {
+		this(seed, 1);
+	}
 
 	/*
-	 * Function:			Initialize
-	 * Params: 				
-	 * Purpose:				Initializes Rummy engine
+	 * Function:			Initialize Overload
+	 * Params: 				Game seed(long), decks in the shoe(int)
+	 * Purpose:				Initializes a shoe of several decks shuffled together for
+	 * 							large tables
 	 * Returns: 			
 	 */
-	public Deck() {
+	public Deck(long seed, int decks) {
+		if (decks < 1) {
+			throw new IllegalArgumentException("A shoe needs at least one deck, not " + decks);
+		}
+		this.seed = seed;
+		this.decks = decks;
+		rng = new SplittableRandom(seed);
+		deck = new CardStack(decks * CARDS_PER_DECK);
+		discard = new CardStack(decks * CARDS_PER_DECK);
+		melds = new MeldIndex();
 		MakeDeck();
-		letterValues.put("J", 11);
-		letterValues.put("Q", 12);
-		letterValues.put("K", 13);
-		letterValues.put("A", 1);
+	}
+
+	/*
+	 * Function:			Initialize Overload
+	 * Params: 				Stock(CardStack), discard pile(CardStack), table melds(MeldIndex),
+	 * 							seed for later shuffles(long), decks in the shoe(int)
+	 * Purpose:				Initializes a deck from a game already in progress, such as
+	 * 							one guess at the hidden cards during a search
+	 * Returns: 			
+	 */
+	Deck(CardStack deck, CardStack discard, MeldIndex melds, long seed, int decks) {
+		this.seed = seed;
+		this.decks = decks;
+		rng = new SplittableRandom(seed);
+		this.deck = deck;
+		this.discard = discard;
+		this.melds = melds;
+	}
+
+	/*
+	 * Function:			SetRenderer
+	 * Params: 				Where to send messages(Renderer)
+	 * Purpose:				Setter for this deck's output
+	 * Returns: 			
+	 */
+	public void SetRenderer(Renderer render) {
+		this.render = render;
+	}
+
+	/*
+	 * Function:			SetJournal
+	 * Params: 				Where to record events(Journal)
+	 * Purpose:				Record this game's events, starting with the deal
+	 * Returns: 			
+	 */
+	public void SetJournal(Journal journal) {
+		this.journal = journal;
+		events = new long[256];
+		eventCount = 0;
+	}
+
+	/*
+	 * Function:			SetActor
+	 * Params: 				Player whose cards are moving(int)
+	 * Purpose:				Tag the next events with a player
+	 * Returns: 			
+	 */
+	void SetActor(int player) {
+		actor = player;
+	}
+
+	/*
+	 * Function:			BeginTurn
+	 * Params: 				Player whose turn it is(int)
+	 * Purpose:				Mark the start of a turn in the journal
+	 * Returns: 			
+	 */
+	void BeginTurn(int player) {
+		actor = player;
+		Record(Journal.TURN, 0L);
+	}
+
+	/*
+	 * Function:			EndGame
+	 * Params: 				Player who won(int), score of every hand(int)
+	 * Purpose:				Record the result and write the game to the journal
+	 * Returns: 			
+	 */
+	void EndGame(int winner, int score) {
+		if (journal == null) {
+			return;
+		}
+		actor = winner;
+		Record(Journal.END, score);
+		journal.Append(events, eventCount);
+		eventCount = 0;
+	}
+
+	/*
+	 * Function:			GetSeed
+	 * Params: 				
+	 * Purpose:				Getter for the seed this deck was shuffled with
+	 * Returns: 			Game seed(long)
+	 */
+	public long GetSeed() {
+		return seed;
+	}
+
+	/*
+	 * Function:			GetDecks
+	 * Params: 				
+	 * Purpose:				Getter for the decks shuffled into this shoe
+	 * Returns: 			Number of decks(int)
+	 */
+	public int GetDecks() {
+		return decks;
+	}
+
+	/*
+	 * Function:			Fork
+	 * Params: 				
+	 * Purpose:				Make a silent, unrecorded copy of the stock, discard pile and
+	 * 							table that shares their storage until either deck writes
+	 * Returns: 			Copy of the cards(Deck)
+	 */
+	public Deck Fork() {
+		return new Deck(deck.Fork(), discard.Fork(), melds.Fork(), seed, decks);
+	}
+
+	/*
+	 * Function:			DecksFor
+	 * Params: 				Number of players(int)
+	 * Purpose:				Pick a shoe for a table: one deck up to six players, then a
+	 * 							deck for every four so at least half the shoe is left
+	 * 							after the deal. -Drummy.decks picks a fixed size instead
+	 * Returns: 			Number of decks(int)
+	 */
+	public static int DecksFor(int numPlayers) {
+		if (SHOE_DECKS > 0) {
+			return SHOE_DECKS;
+		}
+		return numPlayers <= SINGLE_DECK_PLAYERS ? 1 : (numPlayers + 3) / 4;
 	}
 
 	/*
 	 * Function:			MakeDeck 
 	 * Params: 
-	 * Purpose:				Initialize central deck to hold all cards but the Queen of Hearts
+	 * Purpose:				Initialize central deck to hold all cards but the Queen of Hearts,
+	 * 							once for every deck in the shoe
 	 * Returns: 			
 	 */
-	public static void MakeDeck() {
-		for (int i = 0; i < suits.length; i++) {
-			for (int j = 0; j < values.length; j++) {
-				if (!(values[j] == "Q" && suits[i] == "Hearts")) {
-					String label = values[j] + " of " + suits[i];
-					Card temp = new Card(label, Card.CardEquivalent(values[j]), Card.SuitToChar(suits[i]));
-					deck.add(temp);
+	public void MakeDeck() {
+		for (int copy = 0; copy < decks; copy++) {
+			for (int code = 0; code < Card.DECK_SIZE; code++) {
+				if (code != REMOVED_CARD) {
+					deck.Push(code);
 				}
 			}
 		}
-		Collections.shuffle(deck);
+		deck.Shuffle(rng);
 	}
 
 	/*
 	 * Function:			DealCards 
 	 * Params:				Number of hands(int)
-	 * Purpose: 			Evenly split every card from the center deck to each hand 
+	 * Purpose: 			Deal each hand round robin from the center deck in one pass,
+	 * 							then turn up the first discard
 	 * Returns:				Each hand
 	 */
-	public static ArrayList<ArrayList<Card>> DealCards(int numPlayers) {
-		ArrayList<ArrayList<Card>> hands = new ArrayList<ArrayList<Card>>();
+	public ArrayList<ArrayList<Integer>> DealCards(int numPlayers) {
+		ArrayList<ArrayList<Integer>> hands = new ArrayList<ArrayList<Integer>>(numPlayers);
+		int handSize = FindHandSize(numPlayers, decks);
+		if (numPlayers * handSize >= deck.Size()) {
+			throw new IllegalArgumentException(decks + " deck shoe is too small to deal " + numPlayers + " hands");
+		}
 		
 		for (int i = 0; i < numPlayers; i++) {
-			hands.add(new ArrayList<Card>());
+			hands.add(new Hand(handSize + 1));
 		}
 
-		int player = 0;
-		int handSize = FindHandSize(numPlayers);
-		outer:
-		while (!deck.isEmpty()) {
-			if(hands.get(player).size() < handSize) {
-				hands.get(player).add(deck.get(0));
-				deck.remove(0);
-			}
-			else {
-				int playersDone = 0;
-				for (ArrayList<Card> temp : hands){
-					if (temp.size() >= handSize) {
-						Collections.sort(temp, dblDigitSort);
-						playersDone++;
-					}
-				}
-				if (playersDone >= numPlayers) {
-					break outer;
-				}
+		for (int round = 0; round < handSize; round++) {
+			for (int player = 0; player < numPlayers; player++) {
+				hands.get(player).add(deck.Pop());
 			}
-			player++;
-			if (player >= numPlayers) {
-				player = 0;
+		}
+		discard.Push(deck.Pop());
+		if (journal != null) {
+			Record(Journal.START, numPlayers);
+			for (int player = 0; player < numPlayers; player++) {
+				actor = player;
+				Record(Journal.DEAL, Bitboard.FromHand(hands.get(player)));
 			}
-
+			Record(Journal.TURN_UP, Bitboard.Bit(discard.Peek()));
 		}
-		discard.add(deck.get(0));
-		deck.remove(0);
-		System.out.println();
+		render.Println();
 		return hands;
 	}
 	
@@ -171,103 +285,147 @@ public class Deck {
 	 * Function:			DrawCard
 	 * Params: 				Where to draw a card from(String)
 	 * Purpose:				Draw a card from either the deck or discard pile
-	 * Returns: 			Drawn card(String)
+	 * Returns: 			Drawn card code, or Card.NO_CARD for a bad location(int)
 	 */
-	public static Card DrawCard(String location) {
-		Card returnCard;
+	public int DrawCard(String location) {
+		long started = Metrics.Start();
+		int returnCard;
         if(location.equalsIgnoreCase("discard")) {
-        	returnCard = discard.remove(0);
+        	returnCard = discard.Pop();
+        	Record(Journal.DRAW_DISCARD, Bitboard.Bit(returnCard));
         }
         else if (location.equalsIgnoreCase("deck")){
-        	if(deck.size() <= 0) {
-        		deck = new ArrayList<Card>(discard);
-        		discard = new ArrayList<Card>();
-        		discard.add(deck.remove(0));
+        	if(deck.IsEmpty()) {
+        		discard.RecycleInto(deck);
+        		Record(Journal.RECYCLE, 0L);
         	}
-        	returnCard = deck.remove(0);
+        	returnCard = deck.Pop();
+        	Record(Journal.DRAW_DECK, Bitboard.Bit(returnCard));
         }else {
-        	System.out.println("Invalid draw location error! Returning empty string...");
-        	returnCard = new Card();
+        	render.Println("Invalid draw location error! Returning no card...");
+        	returnCard = Card.NO_CARD;
         }
+        Metrics.Stop(Metrics.DRAW, started);
         return returnCard;
 	}
 	
+	/*
+	 * Function:			Discard
+	 * Params: 				Card code(int)
+	 * Purpose:				Throw a card onto the discard pile
+	 * Returns: 			
+	 */
+	public void Discard(int card) {
+		long started = Metrics.Start();
+		discard.Push(card);
+		Record(Journal.DISCARD, Bitboard.Bit(card));
+		Metrics.Stop(Metrics.DISCARD, started);
+	}
+	
+	/*
+	 * Function:			CanDraw
+	 * Params: 				Where to draw a card from(String)
+	 * Purpose:				Check a card can be drawn from a location
+	 * Returns: 			Whether DrawCard will succeed(boolean)
+	 */
+	public boolean CanDraw(String location) {
+		if(location.equalsIgnoreCase("discard")) {
+			return !discard.IsEmpty();
+		}
+		else if (location.equalsIgnoreCase("deck")){
+			return !deck.IsEmpty() || discard.Size() > 1;
+		}
+		return false;
+	}
+	
 	/*
 	 * Function:			CheckMelds
-	 * Params: 				Hand to check(ArrayList<Card>)
+	 * Params: 				Hand to check(ArrayList<Integer>)
 	 * Purpose:				Check to see if any cards in the hand can fit in
-	 * 							a meld already on the table
+	 * 							a meld already on the table. Playable cards come
+	 * 							straight from the meld index, and laying one off can
+	 * 							open the way for the next. Each pass plays one copy of
+	 * 							a card. A set takes any copy of its value, while a run
+	 * 							only grows at its ends, so a copy of a card already in
+	 * 							it never fits
 	 * Returns: 			Whether or not a match was found(boolean)
 	 */
-	public static boolean CheckMelds(ArrayList<Card> hand) {
-		int cardValue = -1;
-		Card card;
-		int i = 0;
-		boolean removed = false;
-		while (i < hand.size()) {
-			for (int j = 0; j < melds.size(); j++) {
-				card = hand.get(i);
-				cardValue = hand.get(i).GetValue();
-				if(meldType.get(j).equalsIgnoreCase("Sequence")) {
-					if(cardValue == melds.get(j).get(0).GetValue() - 1) {
-						melds.get(j).add(0, hand.get(i));
-						hand.remove(i);
-						removed = true;
-						System.out.printf("Meld found for your %s!%n", card);
-						break;
-					}
-
-					if(cardValue == (melds.get(j).get(melds.get(j).size() - 1).GetValue() + 1)) {
-						melds.get(j).add(hand.get(i));
-						hand.remove(i);
-						removed = true;
-						System.out.printf("Meld found for your %s!%n", card);
-						break;
-					}
-				}
-				else if(meldType.get(j).equalsIgnoreCase("Match")){
-					if(cardValue == melds.get(j).get(0).GetValue()) {
-						melds.get(j).add(hand.get(i));
-						hand.remove(i);
-						removed = true;
-						System.out.printf("Meld found for your %s!%n", card);
-						break;
-					}
-				}
-
-			}
-			i++;
+	public boolean CheckMelds(ArrayList<Integer> hand) {
+		long started = Metrics.Start();
+		long handBits = Bitboard.FromHand(hand);
+		long playable = melds.Playable() & handBits;
+		if (playable == 0) {
+			Metrics.Stop(Metrics.LAY_OFF, started);
+			return false;
+		}
+		long removed = 0L;
+		while (playable != 0) {
+			int card = Long.numberOfTrailingZeros(playable);
+			melds.LayOff(card);
+			Record(Journal.LAY_OFF, Bitboard.Bit(card));
+			render.Printf("Meld found for your %s!%n", Card.Label(card));
+			removed |= Bitboard.Bit(card);
+			handBits &= ~Bitboard.Bit(card);
+			playable = melds.Playable() & handBits;
 		}
-		return removed;
+		RemoveMasked(hand, removed);
+		Metrics.Stop(Metrics.LAY_OFF, started);
+		return true;
 	}
 	
 	/*
 	 * Function:			RemoveCards
-	 * Params: 				player's hand(ArrayList<Card>)
-	 * Purpose:				Helper function to remove cards based off of meld rules
+	 * Params: 				player's hand(ArrayList<Integer>)
+	 * Purpose:				Helper function to remove cards based off of meld rules. Lays
+	 * 							down the split of the hand that leaves the least deadwood,
+	 * 							looked up in the shared hand cache. A Hand that held no meld
+	 * 							before its last draw is only checked through the new card.
+	 * 							The split uses one copy of each card, so a hand holding
+	 * 							copies from a shoe splits again until no meld is left.
+	 * 							Copies never meld together: 7H 7H 7S is not a set, but
+	 * 							the second 7H can join a different meld on a later pass
 	 * Returns: 			Whether or not a match was found(boolean)
 	 */
-	public static Boolean RemoveCards(ArrayList<Card> hand) {
-		boolean matching = RemoveMatchingCards(hand);
-		boolean sequence = RemoveSequenceCards(hand);
-		return (matching || sequence);
+	public Boolean RemoveCards(ArrayList<Integer> hand) {
+		long started = Metrics.Start();
+		long bits = Bitboard.FromHand(hand);
+		boolean hasMeld = hand instanceof Hand ? ((Hand) hand).HasMeld() : Bitboard.HasMeld(bits);
+		if (!hasMeld) {
+			Metrics.Stop(Metrics.MELD, started);
+			return false;
+		}
+		boolean copies;
+		do {
+			int count = HandCache.Shared().Split(bits, found);
+			long removed = 0L;
+			for (int i = 0; i < count; i++) {
+				LayDownMeld(found[i]);
+				removed |= found[i];
+			}
+			copies = hand instanceof Hand && ((Hand) hand).HasDuplicates();
+			RemoveMasked(hand, removed);
+			bits = Bitboard.FromHand(hand);
+		} while (copies && Bitboard.HasMeld(bits));
+		render.Println();
+		if (hand instanceof Hand) {
+			((Hand) hand).MarkMeldFree();
+		}
+		Metrics.Stop(Metrics.MELD, started);
+		return true;
 	}
 
 	/*
 	 * Function:			DisplayCards
-	 * Params: 				A certain player's hand(ArrayList<Card>)
-	 * Purpose:				Prints out a hand to the console to be viewed
+	 * Params: 				A certain player's hand(ArrayList<Integer>)
+	 * Purpose:				Prints out a hand, A low and K high, to be viewed. The
+	 * 							hand itself is left in the order it was played
 	 * Returns: 			
 	 */
-	public static void DisplayCards(ArrayList<Card> hand) {
-		Collections.sort(hand, dblDigitSort);
-		for (int i = 0; i < hand.size(); i++) {
-			if (i != 0) {
-				System.out.print(", ");
-			}
-			System.out.print(hand.get(i).GetLabel());
+	public void DisplayCards(ArrayList<Integer> hand) {
+		if (render.IsQuiet()) {
+			return;
 		}
-		System.out.println();
+		render.PrintHand(hand);
 	}
 	
 	/*
@@ -277,23 +435,37 @@ public class Deck {
 	 * 							to be viewed
 	 * Returns: 			
 	 */
-	public static void DisplayMelds() {
-		for (int i = 0; i < melds.size(); i++) {
-			System.out.printf("%s " + melds.get(i) + "%n", meldType.get(i));
+	public void DisplayMelds() {
+		if (render.IsQuiet()) {
+			return;
 		}
-		System.out.println();
+		for (int i = 0; i < melds.Size(); i++) {
+			render.Print(melds.TypeName(i));
+			render.Print(" [");
+			for (int k = 0; k < melds.Get(i).size(); k++) {
+				if (k != 0) {
+					render.Print(", ");
+				}
+				render.Print(Card.Label(melds.Get(i).get(k)));
+			}
+			render.Println("]");
+		}
+		render.Println();
 	}
 	
 	/*
 	 * Function:			CalculateScore
-	 * Params: 				A certain player's hand(ArrayList<Card>)
+	 * Params: 				A certain player's hand(ArrayList<Integer>)
 	 * Purpose:				Calculate the worth of a player's hand to be given
 	 * 							to the winner
 	 * Returns: 			Calculated score
 	 */
-	public static int CalculateScore(ArrayList<Card> hand) {
+	public static int CalculateScore(ArrayList<Integer> hand) {
+		if (hand instanceof Hand) {
+			return ((Hand) hand).Points();
+		}
 		int score = 0;
-		for (Card card : hand) {
+		for (int card : hand) {
 			score += CardScore(card);
 		}
 		return score;
@@ -301,12 +473,12 @@ public class Deck {
 	
 	/*
 	 * Function:			CardScore
-	 * Params: 				Specific card(String)
-	 * Purpose:				Prints out a hand to the console to be viewed
-	 * Returns: 			
+	 * Params: 				Specific card code(int)
+	 * Purpose:				Find the deadwood points a card is worth
+	 * Returns: 			Points of card(int)
 	 */
-	public static int CardScore(Card card) {
-		int num = card.GetValue();
+	public static int CardScore(int card) {
+		int num = Card.Value(card);
 		if(num > 10) {
 			num = 10;
 		}
@@ -316,118 +488,100 @@ public class Deck {
 	
 	
 	/*
-	 * Function:			RemoveMatchingCards
-	 * Params: 				player's hand(ArrayList<Card>)
-	 * Purpose:				Removes every meld from matching cards from the hand
-	 * Returns: 			Whether or not a match was found with this method(boolean)
+	 * Function:			LayDownMeld
+	 * Params: 				Cards of one meld(long)
+	 * Purpose:				Moves a matching or sequence meld onto the table
+	 * Returns: 			
 	 */
-	private static Boolean RemoveMatchingCards(ArrayList<Card> hand) {
-		boolean removed = false;
-		if(hand.size() < 3) {
-			return removed;
+	private void LayDownMeld(long meld) {
+		ArrayList<Integer> newMeld = new ArrayList<Integer>(Bitboard.Count(meld));
+		for (long bits = meld; bits != 0; bits &= bits - 1) {
+			newMeld.add(Long.numberOfTrailingZeros(bits));
 		}
-
-		Collections.sort(hand, dblDigitSort);
-		int i = 0;
-		int[] cardValues = new int[4];
-		while (i < hand.size() - 2) {
-			for (int j = 0; j < 3; j++) {
-				cardValues[j] = hand.get(i + j).GetValue();
-			}
-			if (cardValues[0] == cardValues[1] && cardValues[1] == cardValues[2] && cardValues[2] == cardValues[3]) {
-				System.out.printf("You had a 4 matching meld of %s\'s!", hand.get(i).GetStringValue());
-				ArrayList<Card> newMeld = new ArrayList<Card>();
-				meldType.add("Match");
-				for (int __ = 0; __ < 4; __++) {
-					newMeld.add(hand.get(i));
-					hand.remove(i);
-				}
-				i = Math.max(0, (i - 3));
-				melds.add(newMeld);
-				removed = true;
-			} 
-			else if (cardValues[0] == cardValues[1] && cardValues[1] == cardValues[2]) {
-				System.out.printf("You had a 3 matching meld of %s\'s!", hand.get(i).GetStringValue());
-				ArrayList<Card> newMeld = new ArrayList<Card>();
-				meldType.add("Match");
-				for (int __ = 0; __ < 3; __++) {
-					newMeld.add(hand.get(i));
-					hand.remove(i);
+		boolean sequence = MeldSolver.IsSequence(meld);
+		melds.Add(newMeld, sequence);
+		Record(Journal.MELD, meld);
+		if (Metrics.Recording()) {
+			MeldEvent.Emit(actor, meld, sequence);
+		}
+		if (render.IsQuiet()) {
+			return;
+		}
+		if (sequence) {
+			render.Println("You had a sequence meld! The sequence was:");
+			for (int k = 0; k < newMeld.size(); k++) {
+				if(k != 0) {
+					render.Print(", ");
 				}
-				i = Math.max(0, (i - 2));
-				melds.add(newMeld);
-				removed = true;
-			}
-
-			else {
-				i++;
+				render.Print(Card.Label(newMeld.get(k)));
 			}
+			render.Println();
+		}
+		else {
+			render.Printf("You had a %d matching meld of %s\'s!%n", newMeld.size(), Card.Get(newMeld.get(0)).GetStringValue());
+		}
+	}
+	
+	/*
+	 * Function:			Record
+	 * Params: 				Action(int), cards or number(long)
+	 * Purpose:				Buffer one event until the game ends
+	 * Returns: 			
+	 */
+	private void Record(int action, long payload) {
+		if (journal == null) {
+			return;
 		}
-		System.out.println();
-		return removed;
+		if (eventCount == events.length) {
+			events = Arrays.copyOf(events, events.length * 2);
+		}
+		events[eventCount++] = Journal.Encode(action, actor, payload);
 	}
 	
 	/*
-	 * Function:			RemoveSequenceCards
-	 * Params: 				player's hand(ArrayList<Card>)
-	 * Purpose:				Removes every meld from sequencing cards from the hand
-	 * Returns: 			Whether or not a match was found with this method(boolean)
+	 * Function:			RemoveMasked
+	 * Params: 				player's hand(ArrayList<Integer>), cards to take out(long)
+	 * Purpose:				Removes one copy of every card in the bitboard from the hand
+	 * 							in one pass, keeping the order of the rest
+	 * Returns: 			
 	 */
-	private static Boolean RemoveSequenceCards(ArrayList<Card> hand) {
-		boolean removed = false;
-		if(hand.size() < 1) {
-			return removed;
-		}
-		Collections.sort(hand, suitSort);
-		ArrayList<Card> currentSequence = new ArrayList<Card>();
-		currentSequence.add(hand.get(0));
-		ArrayList<Card> longestSequence = new ArrayList<Card>(currentSequence);
-		Card card;
-		for (int i = 1; i < hand.size(); i++) {
-			card = hand.get(i);
-			if (card.GetValue() - 1 == currentSequence.get(currentSequence.size() - 1).GetValue()){
-				currentSequence.add(card);
-				if(longestSequence.size() < currentSequence.size()) {
-					longestSequence = new ArrayList<Card>(currentSequence);
-				}
+	private static void RemoveMasked(ArrayList<Integer> hand, long cards) {
+		if (hand instanceof Hand) {
+			((Hand) hand).RemoveMask(cards);
+			return;
+		}
+		int kept = 0;
+		for (int i = 0; i < hand.size(); i++) {
+			int card = hand.get(i);
+			if ((cards & Bitboard.Bit(card)) == 0) {
+				hand.set(kept++, card);
 			}
-			else if(card.GetValue() > currentSequence.get(currentSequence.size() - 1).GetValue()){
-				currentSequence = new ArrayList<Card>();
-				currentSequence.add(card);
+			else {
+				cards &= ~Bitboard.Bit(card);
 			}
 		}
-		if (!(longestSequence.size() < 3)) {
-			System.out.println("You had a sequence meld! The sequence was:");
-			for (int k = 0; k < longestSequence.size(); k++) {
-				if(k != 0) {
-					System.out.print(", ");
-				}
-				System.out.print(longestSequence.get(k).GetLabel());
-			}
-			hand.removeAll(longestSequence);
-			melds.add(longestSequence);
-			meldType.add("Sequence");
-			System.out.println();
-			RemoveSequenceCards(hand);
-			removed = true;
-		}
-		System.out.println();
-		return removed;
+		while (hand.size() > kept) {
+			hand.remove(hand.size() - 1);
+		}
 	}
     
 	/*
 	 * Function:			FindHandSize
-	 * Params: 				Number of players(Scanner)
-	 * Purpose:				Calculate the hand size of each player based on formula
+	 * Params: 				Number of players(int), decks in the shoe(int)
+	 * Purpose:				Calculate the hand size of each player based on formula. A
+	 * 							shoe has the cards to keep big tables at seven
 	 * Returns: 			Hand size of each player(int)
 	 */
-	private static int FindHandSize(int numPlayers) {
+	static int FindHandSize(int numPlayers, int decks) {
 		if(numPlayers <= 2) {
 			return 10;
 		}
 		else if(numPlayers >= 3 && numPlayers <= 4) {
 			return 7;
 		}
+		else if(decks > 1) {
+			return 7;
+		}
 		else {
 			return 6;
 		}
@@ -0,0 +1,837 @@
+/*
+ * 	File:				Endgame.java
+ * 	Associated Files:	Rummy.java, Deck.java, MeldIndex.java, HandCache.java, Bitboard.java,
+ * 							Advisor.java, BotPlayer.java, Main.java
+ * 	Packages Needed:	java.util.ArrayList, java.util.SplittableRandom, java.util.concurrent.*,
+ * 							java.util.concurrent.atomic.*
+ * 	Author:            	Michael Ngo (https://github.com/yeeshue99)
+ * 	Date Modified:      10/18/2026 by Michael Ngo
+ * 	Modified By:        Michael Ngo
+ *
+ * 	Purpose:			Solve the last turns of a game exactly with every card in view
+ */
+
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * Class:				Endgame
+ * Purpose:				Perfect information solver for the end of a single deck game.
+ * 							Every hand and the order of the stock are read from the game,
+ * 							and each turn is a draw source and a discard, with melds and
+ * 							lay offs always made the way the bots and the engine make
+ * 							them. The search is paranoid: the other seats play together
+ * 							against the player being solved for, so a win is a win
+ * 							whatever they do. With only a win or a loss to score, alpha
+ * 							beta pruning stops a node at the first move that reaches the
+ * 							mover's goal, and every stored value is exact. Positions are
+ * 							Zobrist hashed over the hands, the stock and discard pile in
+ * 							order, the open ends and matched values of the table melds,
+ * 							the seat to move and the turns left, into a transposition
+ * 							table shared by every thread without locks. Each move at the
+ * 							root is searched as its own task, and tasks after a winning
+ * 							move stop, so the answer is the first winning move in order
+ * 							whatever the thread count. Games not ended within the turns
+ * 							searched are called for the lowest hand, as at a round limit,
+ * 							and the answer says whether that was needed. One solve runs
+ * 							at a time
+ * Methods:				Solve, Evaluate, Shutdown, GetTableEntries, Search, Play, Draw,
+ * 							Discards, LowestHand, Outcome, Key, Probe, Store, Start, RootMoves,
+ * 							Line, Move
+ */
+public class Endgame {
+
+	// Outcomes for the player solved for
+	public static final int WIN = 1;
+	public static final int LOSS = -1;
+
+	// Where a move draws from
+	public static final int DECK = 0;
+	public static final int DISCARD = 1;
+	static final String[] SOURCES = { "deck", "discard" };
+
+	// Turns searched when none are given, and the most a search may look ahead
+	public static final int DEFAULT_TURNS = 8;
+	public static final int MAX_TURNS = 64;
+
+	// Table entry data: won, called at the horizon and filled bits, then the best move plus one
+	private static final long WON = 1L;
+	private static final long HORIZON = 2L;
+	private static final long FILLED = 4L;
+	private static final int MOVE_SHIFT = 3;
+
+	// Move: source above the card, with a card of 63 for going out without a discard
+	private static final int CARD_BITS = 6;
+	private static final int WENT_OUT = (1 << CARD_BITS) - 1;
+	private static final int NO_MOVE = -1;
+
+	// Zobrist keys
+	private static final long[] HAND_KEYS = new long[Rummy.MAX_PLAYERS * Card.DECK_SIZE];
+	private static final long[] STOCK_KEYS = new long[Deck.CARDS_PER_DECK * Card.DECK_SIZE];
+	private static final long[] DISCARD_KEYS = new long[Deck.CARDS_PER_DECK * Card.DECK_SIZE];
+	private static final long[] MATCH_KEYS = new long[Card.RANKS];
+	private static final long[] LOW_KEYS = new long[Card.DECK_SIZE];
+	private static final long[] HIGH_KEYS = new long[Card.DECK_SIZE];
+	private static final long[] SEAT_KEYS = new long[Rummy.MAX_PLAYERS];
+	private static final long[] ROOT_KEYS = new long[Rummy.MAX_PLAYERS];
+	private static final long[] TURN_KEYS = new long[MAX_TURNS + 1];
+	private static final long LIMIT_KEY;
+
+	static {
+		SplittableRandom keys = new SplittableRandom(0x454E44L);
+		long[][] all = { HAND_KEYS, STOCK_KEYS, DISCARD_KEYS, MATCH_KEYS, LOW_KEYS, HIGH_KEYS, SEAT_KEYS, ROOT_KEYS,
+				TURN_KEYS };
+		for (long[] set : all) {
+			for (int i = 0; i < set.length; i++) {
+				set[i] = keys.nextLong();
+			}
+		}
+		LIMIT_KEY = keys.nextLong();
+	}
+
+	/*
+	 * Class:				Solution
+	 * Purpose:				Outcome of a solve: whether the player wins with best play, the
+	 * 							move that gets there, whether the turns searched were enough
+	 * 							to be certain, and the line of play expected
+	 * Methods:				Wins, GetDraw, GetDiscard, IsExact, GetTurns, GetNodes, GetMillis, GetLine
+	 */
+	public static class Solution {
+		final int value;
+		final int source;
+		final int discard;
+		final boolean exact;
+		final int turns;
+		final long nodes;
+		final long nanos;
+		final String line;
+
+		Solution(int value, int move, boolean exact, int turns, long nodes, long nanos, String line) {
+			this.value = value;
+			this.source = move == NO_MOVE ? -1 : move >>> CARD_BITS;
+			this.discard = move == NO_MOVE || (move & WENT_OUT) == WENT_OUT ? Card.NO_CARD : move & WENT_OUT;
+			this.exact = exact;
+			this.turns = turns;
+			this.nodes = nodes;
+			this.nanos = nanos;
+			this.line = line;
+		}
+
+		public boolean Wins() {
+			return value == WIN;
+		}
+
+		public String GetDraw() {
+			return source < 0 ? null : SOURCES[source];
+		}
+
+		public int GetDiscard() {
+			return discard;
+		}
+
+		public boolean IsExact() {
+			return exact;
+		}
+
+		public int GetTurns() {
+			return turns;
+		}
+
+		public long GetNodes() {
+			return nodes;
+		}
+
+		public double GetMillis() {
+			return nanos / 1e6;
+		}
+
+		public String GetLine() {
+			return line;
+		}
+	}
+
+	/*
+	 * Class:				Position
+	 * Purpose:				Everything that decides the rest of the game: each hand as a
+	 * 							bitboard, the stock and discard pile bottom first, the table
+	 * 							as the keys of a MeldIndex, the seat to move, and the turns
+	 * 							until the round limit calls the game
+	 * Methods:				CopyFrom, AddMeld, LayOff, Playable
+	 */
+	private static final class Position {
+		final long[] hands;
+		int[] stock = new int[Deck.CARDS_PER_DECK];
+		int stockSize = 0;
+		int[] discard = new int[Deck.CARDS_PER_DECK];
+		int discardSize = 0;
+		long matchValues = 0L;
+		long lowEnds = 0L;
+		long highEnds = 0L;
+		int seat = 0;
+		int limitLeft = Integer.MAX_VALUE;
+
+		Position(int numPlayers) {
+			hands = new long[numPlayers];
+		}
+
+		void CopyFrom(Position other) {
+			System.arraycopy(other.hands, 0, hands, 0, hands.length);
+			System.arraycopy(other.stock, 0, stock, 0, other.stockSize);
+			stockSize = other.stockSize;
+			System.arraycopy(other.discard, 0, discard, 0, other.discardSize);
+			discardSize = other.discardSize;
+			matchValues = other.matchValues;
+			lowEnds = other.lowEnds;
+			highEnds = other.highEnds;
+			seat = other.seat;
+			limitLeft = other.limitLeft;
+		}
+
+		// Same keys MeldIndex.Add sets for a new meld
+		void AddMeld(long meld) {
+			int low = Long.numberOfTrailingZeros(meld);
+			if (MeldSolver.IsSequence(meld)) {
+				int high = Long.SIZE - 1 - Long.numberOfLeadingZeros(meld);
+				if (Card.Value(low) > 1) {
+					lowEnds |= Bitboard.Bit(low - 1);
+				}
+				if (Card.Value(high) < Card.RANKS) {
+					highEnds |= Bitboard.Bit(high + 1);
+				}
+			}
+			else {
+				matchValues |= 1L << (Card.Value(low) - 1);
+			}
+		}
+
+		// Same choice of meld MeldIndex.LayOff makes: a match, then a low end, then a high end
+		void LayOff(int card) {
+			if ((matchValues & (1L << (Card.Value(card) - 1))) != 0) {
+				return;
+			}
+			if ((lowEnds & Bitboard.Bit(card)) != 0) {
+				lowEnds &= ~Bitboard.Bit(card);
+				if (Card.Value(card) > 1) {
+					lowEnds |= Bitboard.Bit(card - 1);
+				}
+				return;
+			}
+			highEnds &= ~Bitboard.Bit(card);
+			if (Card.Value(card) < Card.RANKS) {
+				highEnds |= Bitboard.Bit(card + 1);
+			}
+		}
+
+		long Playable() {
+			return Bitboard.RankCards(matchValues) | lowEnds | highEnds;
+		}
+	}
+
+	/*
+	 * Class:				Worker
+	 * Purpose:				Scratch space for searching one root move: a position for each
+	 * 							depth and each draw source, and the discards to try at each
+	 * 							depth, so the search allocates nothing
+	 * Methods:
+	 */
+	private static final class Worker {
+		final int index;
+		final Position[] stack;
+		final int[][] discards;
+		final long[] found = new long[MeldSolver.MAX_MELDS];
+		long nodes = 0;
+		boolean horizon = false;
+
+		Worker(int index, int numPlayers, int turns) {
+			this.index = index;
+			stack = new Position[3 * (turns + 1)];
+			for (int i = 0; i < stack.length; i++) {
+				stack[i] = new Position(numPlayers);
+			}
+			discards = new int[turns + 1][Deck.CARDS_PER_DECK + 1];
+		}
+	}
+
+	/*
+	 * Class:				Abort
+	 * Purpose:				Thrown inside a root task once an earlier move is known to win
+	 * Methods:
+	 */
+	private static final class Abort extends RuntimeException {
+		private static final long serialVersionUID = 1L;
+
+		Abort() {
+			super("Search stopped", null, false, false);
+		}
+	}
+
+	private static final Abort ABORT = new Abort();
+
+	// Transposition table: key xor data, then data, for each entry
+	private final long[] table;
+	private final int mask;
+	private final int threads;
+	private final ExecutorService pool;
+
+	// The solve running
+	private int numPlayers;
+	private int root;
+	private final AtomicInteger firstWin = new AtomicInteger(Integer.MAX_VALUE);
+
+	/*
+	 * Function:			Initialize
+	 * Params: 				Transposition entries as a power of two(int), worker threads(int)
+	 * Purpose:				Initializes a solver with an empty table. The table is kept
+	 * 							between solves, so later positions of the same game start warm
+	 * Returns:
+	 */
+	public Endgame(int tableBits, int threads) {
+		if (tableBits < 1 || tableBits > 28) {
+			throw new IllegalArgumentException("Table bits must be from 1 to 28, not " + tableBits);
+		}
+		table = new long[2 << tableBits];
+		mask = (1 << tableBits) - 1;
+		this.threads = Math.max(1, threads);
+		if (this.threads > 1) {
+			pool = Executors.newFixedThreadPool(this.threads, new ThreadFactory() {
+				@Override
+				public Thread newThread(Runnable task) {
+					Thread thread = new Thread(task, "endgame-worker");
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+		}
+		else {
+			pool = null;
+		}
+	}
+
+	/*
+	 * Function:			Solve
+	 * Params: 				Game to solve(Rummy), player to move(int), most turns to search,
+	 * 							counting every seat's(int)
+	 * Purpose:				Find whether the player to move wins with best play, and the
+	 * 							first move in search order that does
+	 * Returns: 			Outcome, best move and line of play(Solution)
+	 */
+	public synchronized Solution Solve(Rummy game, int player, int turns) {
+		long started = System.nanoTime();
+		Position start = Start(game, player, turns);
+		ArrayList<Integer> moves = RootMoves(start);
+		if (moves.isEmpty()) {
+			int value = Outcome(LowestHand(start));
+			return new Solution(value, NO_MOVE, true, turns, 1, System.nanoTime() - started, "");
+		}
+
+		int[] values = new int[moves.size()];
+		boolean[] horizons = new boolean[moves.size()];
+		AtomicLong nodes = new AtomicLong(1);
+		firstWin.set(Integer.MAX_VALUE);
+		ArrayList<Callable<Void>> tasks = new ArrayList<Callable<Void>>(moves.size());
+		for (int i = 0; i < moves.size(); i++) {
+			final int index = i;
+			final int move = moves.get(i);
+			tasks.add(new Callable<Void>() {
+				@Override
+				public Void call() {
+					Worker w = new Worker(index, numPlayers, turns);
+					try {
+						values[index] = Move(w, start, move, turns);
+						horizons[index] = w.horizon;
+						if (values[index] == WIN) {
+							int first = firstWin.get();
+							while (index < first && !firstWin.compareAndSet(first, index)) {
+								first = firstWin.get();
+							}
+						}
+					}
+					catch (Abort e) {
+						values[index] = 0;
+					}
+					finally {
+						nodes.addAndGet(w.nodes);
+					}
+					return null;
+				}
+			});
+		}
+		try {
+			if (pool == null) {
+				for (int i = 0; i < tasks.size() && firstWin.get() == Integer.MAX_VALUE; i++) {
+					tasks.get(i).call();
+				}
+			}
+			else {
+				for (Future<Void> result : pool.invokeAll(tasks)) {
+					result.get();
+				}
+			}
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Endgame solve was interrupted", e);
+		}
+		catch (ExecutionException e) {
+			throw new IllegalStateException("Endgame solve failed", e.getCause());
+		}
+		catch (Exception e) {
+			throw new IllegalStateException("Endgame solve failed", e);
+		}
+
+		int win = firstWin.get();
+		int value = win == Integer.MAX_VALUE ? LOSS : WIN;
+		int chosen = value == WIN ? win : 0;
+		boolean exact = value == WIN ? !horizons[win] : true;
+		if (value == LOSS) {
+			for (boolean horizon : horizons) {
+				exact &= !horizon;
+			}
+		}
+		String line = Line(start, moves.get(chosen), turns);
+		return new Solution(value, moves.get(chosen), exact, turns, nodes.get(), System.nanoTime() - started, line);
+	}
+
+	/*
+	 * Function:			Evaluate
+	 * Params: 				Game to solve(Rummy), player to move(int), draw source(String),
+	 * 							card to throw out, or Card.NO_CARD when the draw goes out(int),
+	 * 							most turns to search(int)
+	 * Purpose:				Solve the game after one given move, such as the one a bot
+	 * 							chose, on the calling thread
+	 * Returns: 			WIN or LOSS for the player(int)
+	 */
+	public synchronized int Evaluate(Rummy game, int player, String draw, int discard, int turns) {
+		Position start = Start(game, player, turns);
+		int source = draw.equalsIgnoreCase(SOURCES[DISCARD]) ? DISCARD : DECK;
+		int move = (source << CARD_BITS) | (discard == Card.NO_CARD ? WENT_OUT : discard);
+		if (!RootMoves(start).contains(move)) {
+			throw new IllegalArgumentException("Cannot draw from the " + draw + " and throw out "
+					+ (discard == Card.NO_CARD ? "nothing" : Card.Label(discard)));
+		}
+		firstWin.set(Integer.MAX_VALUE);
+		return Move(new Worker(0, numPlayers, turns), start, move, turns);
+	}
+
+	/*
+	 * Function:			Shutdown
+	 * Params:
+	 * Purpose:				Stop the worker threads once the solver is done
+	 * Returns:
+	 */
+	public void Shutdown() {
+		if (pool != null) {
+			pool.shutdownNow();
+		}
+	}
+
+	/*
+	 * Function:			GetTableEntries
+	 * Params:
+	 * Purpose:				Getter for the size of the transposition table
+	 * Returns: 			Entries(int)
+	 */
+	public int GetTableEntries() {
+		return mask + 1;
+	}
+
+	/*
+	 * Function:			Search
+	 * Params: 				Worker searching(Worker), depth of the position in its
+	 * 							stack(int), turns left to search(int)
+	 * Purpose:				Find whether the player solved for wins from a position, trying
+	 * 							the draw that leaves the fewest points first and discards
+	 * 							with the fewest partners, then the most points, first
+	 * Returns: 			WIN or LOSS, with whether it leaned on the horizon left in the
+	 * 							worker(int)
+	 */
+	private int Search(Worker w, int depth, int turnsLeft) {
+		if (w.index > firstWin.get()) {
+			throw ABORT;
+		}
+		w.nodes++;
+		Position pos = w.stack[3 * depth];
+		long key = Key(pos, turnsLeft);
+		long data = Probe(key);
+		if (data != 0) {
+			w.horizon = (data & HORIZON) != 0;
+			return (data & WON) != 0 ? WIN : LOSS;
+		}
+
+		boolean fromDeck = pos.stockSize > 0 || pos.discardSize > 1;
+		boolean fromDiscard = pos.discardSize > 0;
+		if (!fromDeck && !fromDiscard) {
+			int value = Outcome(LowestHand(pos));
+			w.horizon = false;
+			Store(key, value, false, NO_MOVE);
+			return value;
+		}
+		Position deckDraw = w.stack[3 * depth + 1];
+		Position discardDraw = w.stack[3 * depth + 2];
+		long deckHand = fromDeck ? Draw(pos, deckDraw, DECK, w.found) : -1L;
+		long discardHand = fromDiscard ? Draw(pos, discardDraw, DISCARD, w.found) : -1L;
+		int first = DECK;
+		if (fromDiscard && (!fromDeck || Advisor.Points(discardHand) < Advisor.Points(deckHand))) {
+			first = DISCARD;
+		}
+
+		int target = pos.seat == root ? WIN : LOSS;
+		int value = -target;
+		boolean horizon = false;
+		int best = NO_MOVE;
+		int[] discards = w.discards[depth];
+		search: for (int s = 0; s < 2; s++) {
+			int source = s == 0 ? first : 1 - first;
+			long hand = source == DECK ? deckHand : discardHand;
+			if (hand == -1L) {
+				continue;
+			}
+			Position drawn = source == DECK ? deckDraw : discardDraw;
+			int count = Discards(hand, discards);
+			for (int i = 0; i < count; i++) {
+				int result = Play(w, depth, drawn, hand, discards[i], turnsLeft);
+				if (best == NO_MOVE || result == target) {
+					best = (source << CARD_BITS) | (discards[i] == Card.NO_CARD ? WENT_OUT : discards[i]);
+				}
+				if (result == target) {
+					value = target;
+					horizon = w.horizon;
+					break search;
+				}
+				horizon |= w.horizon;
+			}
+		}
+		w.horizon = horizon;
+		Store(key, value, horizon, best);
+		return value;
+	}
+
+	/*
+	 * Function:			Play
+	 * Params: 				Worker searching(Worker), depth being searched(int), position
+	 * 							after the draw, melds and lay offs(Position), hand left(long),
+	 * 							card to throw out, or Card.NO_CARD if the hand is empty(int),
+	 * 							turns left including this one(int)
+	 * Purpose:				Finish a turn and score or search what follows
+	 * Returns: 			WIN or LOSS(int)
+	 */
+	private int Play(Worker w, int depth, Position drawn, long hand, int card, int turnsLeft) {
+		w.horizon = false;
+		int seat = drawn.seat;
+		if (card == Card.NO_CARD || (hand & ~Bitboard.Bit(card)) == 0) {
+			return Outcome(seat);
+		}
+		Position next = w.stack[3 * (depth + 1)];
+		next.CopyFrom(drawn);
+		next.hands[seat] = hand & ~Bitboard.Bit(card);
+		next.discard[next.discardSize++] = card;
+		next.seat = seat + 1 == numPlayers ? 0 : seat + 1;
+		if (next.limitLeft != Integer.MAX_VALUE && --next.limitLeft == 0) {
+			return Outcome(LowestHand(next));
+		}
+		if (turnsLeft <= 1) {
+			w.horizon = true;
+			return Outcome(LowestHand(next));
+		}
+		return Search(w, depth + 1, turnsLeft - 1);
+	}
+
+	/*
+	 * Function:			Move
+	 * Params: 				Worker searching(Worker), root position(Position), move(int),
+	 * 							turns to search(int)
+	 * Purpose:				Play one move from the root and search what follows
+	 * Returns: 			WIN or LOSS(int)
+	 */
+	private int Move(Worker w, Position start, int move, int turns) {
+		int source = move >>> CARD_BITS;
+		int card = (move & WENT_OUT) == WENT_OUT ? Card.NO_CARD : move & WENT_OUT;
+		w.stack[0].CopyFrom(start);
+		Position drawn = w.stack[1 + source];
+		long hand = Draw(start, drawn, source, w.found);
+		return Play(w, 0, drawn, hand, card, turns);
+	}
+
+	/*
+	 * Function:			Draw
+	 * Params: 				Position before the turn(Position), position to fill(Position),
+	 * 							DECK or DISCARD(int), scratch for melds(long[])
+	 * Purpose:				Draw a card, recycling the discard pile like Deck.DrawCard when
+	 * 							the stock is empty, then lay down the melds the hand cache
+	 * 							picks and lay off every card the table takes
+	 * Returns: 			Hand left to discard from(long)
+	 */
+	private static long Draw(Position pos, Position next, int source, long[] found) {
+		next.CopyFrom(pos);
+		int card;
+		if (source == DISCARD) {
+			card = next.discard[--next.discardSize];
+		}
+		else {
+			if (next.stockSize == 0) {
+				int top = next.discard[--next.discardSize];
+				int[] swap = next.stock;
+				next.stock = next.discard;
+				next.stockSize = next.discardSize;
+				next.discard = swap;
+				next.discard[0] = top;
+				next.discardSize = 1;
+			}
+			card = next.stock[--next.stockSize];
+		}
+		long hand = next.hands[next.seat] | Bitboard.Bit(card);
+		if (Bitboard.HasMeld(hand)) {
+			int count = HandCache.Shared().Split(hand, found);
+			for (int i = 0; i < count; i++) {
+				next.AddMeld(found[i]);
+				hand &= ~found[i];
+			}
+		}
+		long playable = next.Playable() & hand;
+		while (playable != 0) {
+			int laid = Long.numberOfTrailingZeros(playable);
+			next.LayOff(laid);
+			hand &= ~Bitboard.Bit(laid);
+			playable = next.Playable() & hand;
+		}
+		next.hands[next.seat] = hand;
+		return hand;
+	}
+
+	/*
+	 * Function:			Discards
+	 * Params: 				Hand to throw out from(long), array to fill(int[])
+	 * Purpose:				Order the cards to try throwing out: a last card first since it
+	 * 							goes out, then fewest partners, then most points
+	 * Returns: 			Number of choices(int)
+	 */
+	private static int Discards(long hand, int[] cards) {
+		if (hand == 0) {
+			cards[0] = Card.NO_CARD;
+			return 1;
+		}
+		int count = 0;
+		for (long bits = hand; bits != 0; bits &= bits - 1) {
+			int card = Long.numberOfTrailingZeros(bits);
+			int rank = Rank(hand, card);
+			int at = count++;
+			while (at > 0 && Rank(hand, cards[at - 1]) > rank) {
+				cards[at] = cards[at - 1];
+				at--;
+			}
+			cards[at] = card;
+		}
+		return count;
+	}
+
+	// Lower is tried first: partners, then fewer points
+	private static int Rank(long hand, int card) {
+		return BotPlayer.Partners(hand, card) * 16 + (10 - Deck.CardScore(card));
+	}
+
+	/*
+	 * Function:			LowestHand
+	 * Params: 				Position(Position)
+	 * Purpose:				Find the seat holding the fewest points, the lower seat on a tie
+	 * Returns: 			Seat(int)
+	 */
+	private int LowestHand(Position pos) {
+		int best = 0;
+		int bestPoints = Advisor.Points(pos.hands[0]);
+		for (int seat = 1; seat < numPlayers; seat++) {
+			int points = Advisor.Points(pos.hands[seat]);
+			if (points < bestPoints) {
+				best = seat;
+				bestPoints = points;
+			}
+		}
+		return best;
+	}
+
+	/*
+	 * Function:			Outcome
+	 * Params: 				Seat that won(int)
+	 * Purpose:				Score a finished game for the player solved for
+	 * Returns: 			WIN or LOSS(int)
+	 */
+	private int Outcome(int winner) {
+		return winner == root ? WIN : LOSS;
+	}
+
+	/*
+	 * Function:			Key
+	 * Params: 				Position(Position), turns left to search(int)
+	 * Purpose:				Zobrist hash everything that decides how the game can go from
+	 * 							here. Turns left stop mattering past the round limit
+	 * Returns: 			Key(long)
+	 */
+	private long Key(Position pos, int turnsLeft) {
+		long key = ROOT_KEYS[root] ^ SEAT_KEYS[pos.seat];
+		if (pos.limitLeft <= turnsLeft) {
+			key ^= LIMIT_KEY ^ TURN_KEYS[pos.limitLeft];
+		}
+		else {
+			key ^= TURN_KEYS[turnsLeft];
+		}
+		for (int seat = 0; seat < numPlayers; seat++) {
+			for (long bits = pos.hands[seat]; bits != 0; bits &= bits - 1) {
+				key ^= HAND_KEYS[seat * Card.DECK_SIZE + Long.numberOfTrailingZeros(bits)];
+			}
+		}
+		for (int i = 0; i < pos.stockSize; i++) {
+			key ^= STOCK_KEYS[i * Card.DECK_SIZE + pos.stock[i]];
+		}
+		for (int i = 0; i < pos.discardSize; i++) {
+			key ^= DISCARD_KEYS[i * Card.DECK_SIZE + pos.discard[i]];
+		}
+		for (long bits = pos.matchValues; bits != 0; bits &= bits - 1) {
+			key ^= MATCH_KEYS[Long.numberOfTrailingZeros(bits)];
+		}
+		for (long bits = pos.lowEnds; bits != 0; bits &= bits - 1) {
+			key ^= LOW_KEYS[Long.numberOfTrailingZeros(bits)];
+		}
+		for (long bits = pos.highEnds; bits != 0; bits &= bits - 1) {
+			key ^= HIGH_KEYS[Long.numberOfTrailingZeros(bits)];
+		}
+		return key;
+	}
+
+	/*
+	 * Function:			Probe
+	 * Params: 				Key(long)
+	 * Purpose:				Look a position up. An entry torn by two threads writing at
+	 * 							once fails the key check and reads as a miss
+	 * Returns: 			Entry data, 0 on a miss(long)
+	 */
+	private long Probe(long key) {
+		int slot = ((int) key & mask) << 1;
+		long data = table[slot + 1];
+		return (table[slot] ^ data) == key ? data : 0L;
+	}
+
+	/*
+	 * Function:			Store
+	 * Params: 				Key(long), WIN or LOSS(int), whether it leaned on the
+	 * 							horizon(boolean), best move or NO_MOVE(int)
+	 * Purpose:				Write a position's value over whatever held its slot
+	 * Returns:
+	 */
+	private void Store(long key, int value, boolean horizon, int best) {
+		long data = (value == WIN ? WON : 0L) | (horizon ? HORIZON : 0L) | FILLED | ((long) (best + 1) << MOVE_SHIFT);
+		int slot = ((int) key & mask) << 1;
+		table[slot] = key ^ data;
+		table[slot + 1] = data;
+	}
+
+	/*
+	 * Function:			Start
+	 * Params: 				Game(Rummy), player to move(int), turns to search(int)
+	 * Purpose:				Check the game can be solved and read it into a position
+	 * Returns: 			Root position(Position)
+	 */
+	private Position Start(Rummy game, int player, int turns) {
+		Deck deck = game.GetDeck();
+		if (deck.GetDecks() != 1) {
+			throw new IllegalArgumentException("Only single deck games can be solved, not " + deck.GetDecks() + " decks");
+		}
+		if (turns < 1 || turns > MAX_TURNS) {
+			throw new IllegalArgumentException("Turns must be from 1 to " + MAX_TURNS + ", not " + turns);
+		}
+		if (player < 0 || player >= game.GetNumPlayers()) {
+			throw new IllegalArgumentException("No player #" + (player + 1) + " in the game");
+		}
+		numPlayers = game.GetNumPlayers();
+		root = player;
+		Position start = new Position(numPlayers);
+		for (int seat = 0; seat < numPlayers; seat++) {
+			start.hands[seat] = Bitboard.FromHand(game.GetHand(seat));
+		}
+		start.stockSize = deck.deck.Size();
+		for (int i = 0; i < start.stockSize; i++) {
+			start.stock[i] = deck.deck.Get(i);
+		}
+		start.discardSize = deck.discard.Size();
+		for (int i = 0; i < start.discardSize; i++) {
+			start.discard[i] = deck.discard.Get(i);
+		}
+		for (int m = 0; m < deck.melds.Size(); m++) {
+			start.AddMeld(Bitboard.FromHand(deck.melds.Get(m)));
+		}
+		start.seat = player;
+		if (game.roundLimit > 0) {
+			start.limitLeft = Math.max(1, (game.roundLimit - game.GetRounds() - 1) * numPlayers + numPlayers - player);
+		}
+		return start;
+	}
+
+	/*
+	 * Function:			RootMoves
+	 * Params: 				Root position(Position)
+	 * Purpose:				List every move of the player to move, in the order searched
+	 * Returns: 			Moves, empty when nothing can be drawn(ArrayList<Integer>)
+	 */
+	private ArrayList<Integer> RootMoves(Position start) {
+		ArrayList<Integer> moves = new ArrayList<Integer>();
+		Position drawn = new Position(numPlayers);
+		int[] discards = new int[Deck.CARDS_PER_DECK + 1];
+		long[] found = new long[MeldSolver.MAX_MELDS];
+		boolean[] can = { start.stockSize > 0 || start.discardSize > 1, start.discardSize > 0 };
+		for (int source = DECK; source <= DISCARD; source++) {
+			if (!can[source]) {
+				continue;
+			}
+			int count = Discards(Draw(start, drawn, source, found), discards);
+			for (int i = 0; i < count; i++) {
+				moves.add((source << CARD_BITS) | (discards[i] == Card.NO_CARD ? WENT_OUT : discards[i]));
+			}
+		}
+		return moves;
+	}
+
+	/*
+	 * Function:			Line
+	 * Params: 				Root position(Position), move chosen(int), turns searched(int)
+	 * Purpose:				Follow the best moves kept in the table from the root move on
+	 * Returns: 			Moves as text, one turn to a line(String)
+	 */
+	private String Line(Position start, int move, int turns) {
+		StringBuilder line = new StringBuilder();
+		Worker w = new Worker(0, numPlayers, turns);
+		w.stack[0].CopyFrom(start);
+		for (int depth = 0; depth < turns && move != NO_MOVE; depth++) {
+			Position pos = w.stack[3 * depth];
+			int source = move >>> CARD_BITS;
+			int card = (move & WENT_OUT) == WENT_OUT ? Card.NO_CARD : move & WENT_OUT;
+			Position drawn = w.stack[3 * depth + 1];
+			long hand = Draw(pos, drawn, source, w.found);
+			line.append(String.format("Player #%d draws from the %s", pos.seat + 1, SOURCES[source]));
+			if (card == Card.NO_CARD || (hand & ~Bitboard.Bit(card)) == 0) {
+				line.append(card == Card.NO_CARD ? "" : " and throws out " + Card.Label(card));
+				line.append(" and goes out").append(System.lineSeparator());
+				break;
+			}
+			line.append(" and throws out ").append(Card.Label(card)).append(System.lineSeparator());
+			Position next = w.stack[3 * (depth + 1)];
+			next.CopyFrom(drawn);
+			next.hands[pos.seat] = hand & ~Bitboard.Bit(card);
+			next.discard[next.discardSize++] = card;
+			next.seat = pos.seat + 1 == numPlayers ? 0 : pos.seat + 1;
+			if (next.limitLeft != Integer.MAX_VALUE && --next.limitLeft == 0) {
+				line.append("The round limit calls the game for player #").append(LowestHand(next) + 1)
+						.append(System.lineSeparator());
+				break;
+			}
+			long data = Probe(Key(next, turns - depth - 1));
+			move = data == 0 ? NO_MOVE : (int) (data >>> MOVE_SHIFT) - 1;
+		}
+		return line.toString();
+	}
+}
@@ -0,0 +1,347 @@
+/*
+ * 	File:				GameQuery.java
+ * 	Associated Files:	GameTable.java, Rummy.java, Main.java
+ * 	Packages Needed:	java.io.Closeable, java.io.IOException, java.io.UncheckedIOException,
+ * 							java.nio.*, java.nio.channels.FileChannel, java.nio.file.*,
+ * 							java.util.Arrays
+ * 	Author:            	Michael Ngo (https://github.com/yeeshue99)
+ * 	Date Modified:      10/18/2026 by Michael Ngo
+ * 	Modified By:        Michael Ngo
+ *
+ * 	Purpose:			Filter and add up the rows of a game table straight from the mapped file
+ */
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/*
+ * Class:				GameQuery
+ * Purpose:				Maps a game table read only and scans it a block at a time.
+ * 							Each filter runs down one column and clears rows from a
+ * 							bitmap of the block, later filters only look at rows still
+ * 							set, and the totals add up the rows left. Nothing is copied
+ * 							onto the heap and no object is made per row, so a scan of
+ * 							hundreds of millions of games needs only the page cache.
+ * 							Filters are a range of values, or a set of values under 64
+ * 							given as a bitmask, such as Bitboard.RankCards of a value to
+ * 							match a card of any suit. One query belongs to one thread
+ * Methods:				Open, Rows, Where, WhereIn, Clear, Run, GetMatched, GetSeatGames, GetWins,
+ * 							WinRate, Mean, close, AddFilter, Select, Total, Value
+ */
+public class GameQuery implements Closeable {
+
+	// Filters a query can hold
+	private static final int MAX_FILTERS = 16;
+
+	private final FileChannel channel;
+	private final ByteBuffer[] blocks;
+	private final long rows;
+
+	// Filters: column, then a range, or a set of values when the set is not 0
+	private final int[] filterColumns = new int[MAX_FILTERS];
+	private final long[] filterMins = new long[MAX_FILTERS];
+	private final long[] filterMaxes = new long[MAX_FILTERS];
+	private final long[] filterSets = new long[MAX_FILTERS];
+	private int filters = 0;
+
+	// Rows of the current block still matching, one bit each
+	private final long[] selected = new long[GameTable.BLOCK_ROWS / Long.SIZE];
+
+	// Totals of the last run
+	private long matched = 0;
+	private final long[] seatGames = new long[Rummy.MAX_PLAYERS];
+	private final long[] seatWins = new long[Rummy.MAX_PLAYERS];
+	private final long[] sums = new long[GameTable.COLUMNS];
+
+	/*
+	 * Function:			Initialize
+	 * Params: 				Open file(FileChannel), rows in the file(long)
+	 * Purpose:				Initializes a query over every row in the file
+	 * Returns:
+	 */
+	private GameQuery(FileChannel channel, long rows) throws IOException {
+		this.channel = channel;
+		this.rows = rows;
+		blocks = new ByteBuffer[(int) ((rows + GameTable.BLOCK_ROWS - 1) >>> GameTable.BLOCK_BITS)];
+		for (int i = 0; i < blocks.length; i++) {
+			MappedByteBuffer block = channel.map(FileChannel.MapMode.READ_ONLY, GameTable.BlockPosition(i),
+					GameTable.BLOCK_BYTES);
+			block.order(ByteOrder.LITTLE_ENDIAN);
+			blocks[i] = block;
+		}
+	}
+
+	/*
+	 * Function:			Open
+	 * Params: 				Table file(Path)
+	 * Purpose:				Open a game table for queries
+	 * Returns: 			Query with no filters(GameQuery)
+	 */
+	public static GameQuery Open(Path file) {
+		try {
+			FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+			if (channel.size() < GameTable.HEADER_BYTES) {
+				channel.close();
+				throw new IllegalArgumentException(file + " is too short to be a game table");
+			}
+			MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, GameTable.HEADER_BYTES);
+			header.order(ByteOrder.LITTLE_ENDIAN);
+			if (header.getInt(0) != GameTable.MAGIC || header.getInt(4) != GameTable.VERSION) {
+				channel.close();
+				throw new IllegalArgumentException(file + " is not a version " + GameTable.VERSION + " game table");
+			}
+			long blocks = (channel.size() - GameTable.HEADER_BYTES) / GameTable.BLOCK_BYTES;
+			long rows = Math.min(header.getLong(8), blocks << GameTable.BLOCK_BITS);
+			return new GameQuery(channel, rows);
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/*
+	 * Function:			Rows
+	 * Params:
+	 * Purpose:				Getter for the number of rows in the table
+	 * Returns: 			Rows(long)
+	 */
+	public long Rows() {
+		return rows;
+	}
+
+	/*
+	 * Function:			Where
+	 * Params: 				Column(int), lowest value kept(long), highest value kept(long)
+	 * Purpose:				Keep only rows with a column inside a range
+	 * Returns: 			This query(GameQuery)
+	 */
+	public GameQuery Where(int column, long min, long max) {
+		return AddFilter(column, min, max, 0L);
+	}
+
+	/*
+	 * Function:			WhereIn
+	 * Params: 				Column(int), bit n set to keep value n(long)
+	 * Purpose:				Keep only rows with a column in a set of values under 64
+	 * Returns: 			This query(GameQuery)
+	 */
+	public GameQuery WhereIn(int column, long set) {
+		return AddFilter(column, 0L, 0L, set);
+	}
+
+	/*
+	 * Function:			Clear
+	 * Params:
+	 * Purpose:				Drop every filter
+	 * Returns: 			This query(GameQuery)
+	 */
+	public GameQuery Clear() {
+		filters = 0;
+		return this;
+	}
+
+	/*
+	 * Function:			Run
+	 * Params:
+	 * Purpose:				Scan every block, filtering then adding up the rows left
+	 * Returns: 			Rows matched(long)
+	 */
+	public long Run() {
+		matched = 0;
+		Arrays.fill(seatGames, 0L);
+		Arrays.fill(seatWins, 0L);
+		Arrays.fill(sums, 0L);
+		for (int b = 0; b < blocks.length; b++) {
+			ByteBuffer block = blocks[b];
+			int count = (int) Math.min(GameTable.BLOCK_ROWS, rows - ((long) b << GameTable.BLOCK_BITS));
+			int words = (count + Long.SIZE - 1) / Long.SIZE;
+			Arrays.fill(selected, 0, words, -1L);
+			if (count % Long.SIZE != 0) {
+				selected[words - 1] = (1L << (count % Long.SIZE)) - 1;
+			}
+			for (int f = 0; f < filters; f++) {
+				Select(block, words, f);
+			}
+			Total(block, words);
+		}
+		// Every game seats 0 up to its player count, so a seat played the games with more players
+		for (int seat = Rummy.MAX_PLAYERS - 1; seat > 0; seat--) {
+			seatGames[seat - 1] += seatGames[seat];
+		}
+		return matched;
+	}
+
+	/*
+	 * Function:			GetMatched
+	 * Params:
+	 * Purpose:				Getter for rows matched by the last run
+	 * Returns: 			Rows(long)
+	 */
+	public long GetMatched() {
+		return matched;
+	}
+
+	/*
+	 * Function:			GetSeatGames
+	 * Params: 				Seat(int)
+	 * Purpose:				Getter for matched games with someone in a seat
+	 * Returns: 			Games(long)
+	 */
+	public long GetSeatGames(int seat) {
+		return seatGames[seat];
+	}
+
+	/*
+	 * Function:			GetWins
+	 * Params: 				Seat(int)
+	 * Purpose:				Getter for matched games won from a seat
+	 * Returns: 			Wins(long)
+	 */
+	public long GetWins(int seat) {
+		return seatWins[seat];
+	}
+
+	/*
+	 * Function:			WinRate
+	 * Params: 				Seat(int)
+	 * Purpose:				Find the share of matched games played from a seat that it won
+	 * Returns: 			Win rate, 0 if the seat never played(double)
+	 */
+	public double WinRate(int seat) {
+		return seatGames[seat] == 0 ? 0.0 : (double) seatWins[seat] / seatGames[seat];
+	}
+
+	/*
+	 * Function:			Mean
+	 * Params: 				Column(int)
+	 * Purpose:				Find the average of players, score, rounds or dealt melds over
+	 * 							the matched rows
+	 * Returns: 			Mean, 0 if nothing matched(double)
+	 */
+	public double Mean(int column) {
+		return matched == 0 ? 0.0 : (double) sums[column] / matched;
+	}
+
+	/*
+	 * Function:			close
+	 * Params:
+	 * Purpose:				Close the table file
+	 * Returns:
+	 */
+	@Override
+	public void close() {
+		try {
+			channel.close();
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/*
+	 * Function:			AddFilter
+	 * Params: 				Column(int), lowest and highest value kept(long, long), set of
+	 * 							values kept, or 0 for the range(long)
+	 * Purpose:				Store a filter for the next run
+	 * Returns: 			This query(GameQuery)
+	 */
+	private GameQuery AddFilter(int column, long min, long max, long set) {
+		if (column < 0 || column >= GameTable.COLUMNS) {
+			throw new IllegalArgumentException("No column " + column + " in a game table");
+		}
+		if (filters == MAX_FILTERS) {
+			throw new IllegalStateException("A query holds at most " + MAX_FILTERS + " filters");
+		}
+		filterColumns[filters] = column;
+		filterMins[filters] = min;
+		filterMaxes[filters] = max;
+		filterSets[filters] = set;
+		filters++;
+		return this;
+	}
+
+	/*
+	 * Function:			Select
+	 * Params: 				Block being scanned(ByteBuffer), words of the bitmap in use(int),
+	 * 							filter(int)
+	 * Purpose:				Clear the rows of the bitmap the filter rejects
+	 * Returns:
+	 */
+	private void Select(ByteBuffer block, int words, int filter) {
+		int column = filterColumns[filter];
+		long min = filterMins[filter];
+		long max = filterMaxes[filter];
+		long set = filterSets[filter];
+		for (int word = 0; word < words; word++) {
+			long keep = selected[word];
+			for (long bits = keep; bits != 0; bits &= bits - 1) {
+				int row = (word << 6) | Long.numberOfTrailingZeros(bits);
+				long value = Value(block, column, row);
+				boolean kept = set != 0 ? (value >= 0 && value < Long.SIZE && (set & (1L << value)) != 0)
+						: (value >= min && value <= max);
+				if (!kept) {
+					keep &= ~Long.lowestOneBit(bits);
+				}
+			}
+			selected[word] = keep;
+		}
+	}
+
+	/*
+	 * Function:			Total
+	 * Params: 				Block being scanned(ByteBuffer), words of the bitmap in use(int)
+	 * Purpose:				Add the rows left in the bitmap to the totals, a column at a
+	 * 							time. Games are counted under their last seat until Run
+	 * 							spreads them over the seats below
+	 * Returns:
+	 */
+	private void Total(ByteBuffer block, int words) {
+		for (int word = 0; word < words; word++) {
+			for (long bits = selected[word]; bits != 0; bits &= bits - 1) {
+				int row = (word << 6) | Long.numberOfTrailingZeros(bits);
+				int players = block.get(GameTable.OFFSETS[GameTable.PLAYERS] + row);
+				seatGames[players - 1]++;
+				seatWins[block.get(GameTable.OFFSETS[GameTable.WINNER] + row)]++;
+				matched++;
+			}
+		}
+		for (int column = GameTable.PLAYERS; column < GameTable.COLUMNS; column++) {
+			if (column == GameTable.WINNER || column == GameTable.OPENING) {
+				continue;
+			}
+			long sum = 0;
+			for (int word = 0; word < words; word++) {
+				for (long bits = selected[word]; bits != 0; bits &= bits - 1) {
+					sum += Value(block, column, (word << 6) | Long.numberOfTrailingZeros(bits));
+				}
+			}
+			sums[column] += sum;
+		}
+	}
+
+	/*
+	 * Function:			Value
+	 * Params: 				Block being scanned(ByteBuffer), column(int), row in the block(int)
+	 * Purpose:				Read one value of a column
+	 * Returns: 			Value(long)
+	 */
+	private static long Value(ByteBuffer block, int column, int row) {
+		int width = GameTable.WIDTHS[column];
+		int position = GameTable.OFFSETS[column] + row * width;
+		if (width == Long.BYTES) {
+			return block.getLong(position);
+		}
+		if (width == Integer.BYTES) {
+			return block.getInt(position);
+		}
+		return block.get(position);
+	}
+}
@@ -0,0 +1,549 @@
+/*
+ * 	File:				GameServer.java
+ * 	Associated Files:	RemotePlayer.java, Rummy.java, BotPlayer.java, TableClient.java, Main.java
+ * 	Packages Needed:	java.io.*, java.net.*, java.nio.charset.StandardCharsets,
+ * 							java.util.ArrayList, java.util.concurrent.*, java.util.function.BiFunction
+ * 	Author:            	Michael Ngo (https://github.com/yeeshue99)
+ * 	Date Modified:      10/18/2026 by Michael Ngo
+ * 	Modified By:        Michael Ngo
+ *
+ * 	Purpose:			Host many Rummy tables for clients on a TCP line protocol
+ */
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+
+/*
+ * Class:				GameServer
+ * Purpose:				TCP server hosting any number of tables at once. A client sends
+ * 							"JOIN players" to wait for a full table, or "JOIN players bots"
+ * 							to play bots straight away. Each connection is served by a
+ * 							pooled thread with a small stack, and once a table fills, the
+ * 							thread of the last client to join runs its game loop while the
+ * 							others go back to the pool. A table's state is only touched
+ * 							by its own game thread, so moves are applied in order with no
+ * 							lock shared between tables. Seating locks only the lobby
+ * 							entry for one table size
+ * Methods:				Start, Stop, GetPort, GetGamesPlayed, GetTablesOpen, Accept, Serve, IsTableSize, Leave
+ */
+public class GameServer {
+
+	// Rounds before a server game is called for the lowest hand
+	public static final int ROUND_LIMIT = 200;
+
+	// Stack per connection thread, small so thousands of tables fit
+	private static final long STACK_BYTES = 256 * 1024;
+
+	// Longest a table waits on one answer before giving up on the client
+	private static final int READ_TIMEOUT_MS = 5 * 60 * 1000;
+
+	private final int requestedPort;
+	private ServerSocket server;
+	private ExecutorService connections;
+	private final ConcurrentHashMap<Integer, Table> waiting = new ConcurrentHashMap<Integer, Table>();
+	private final AtomicInteger tableIds = new AtomicInteger();
+	private final AtomicInteger tablesOpen = new AtomicInteger();
+	private final AtomicLong gamesPlayed = new AtomicLong();
+
+	/*
+	 * Class:				LeftTable
+	 * Purpose:				Thrown on a table's game thread when a client quits or hangs up
+	 * Methods:
+	 */
+	static class LeftTable extends RuntimeException {
+		private static final long serialVersionUID = 1L;
+
+		LeftTable() {
+			super("A player left the table");
+		}
+	}
+
+	/*
+	 * Class:				Table
+	 * Purpose:				One game and the clients seated at it. Seats fill and empty
+	 * 							under the lobby entry's lock, and a client that could not be
+	 * 							told its seat gives it up again until the game starts. After
+	 * 							that only the game thread uses the table
+	 * Methods:				Sit, Stand, IsFull, IsEmpty, Run, Broadcast, Flush, Close
+	 */
+	class Table {
+		private final int id;
+		private final int numPlayers;
+		private final Socket[] sockets;
+		private final Writer[] outs;
+		private final Player[] players;
+		private int seated = 0;
+		private boolean started = false;
+
+		Table(int numPlayers) {
+			this.id = tableIds.incrementAndGet();
+			this.numPlayers = numPlayers;
+			sockets = new Socket[numPlayers];
+			outs = new Writer[numPlayers];
+			players = new Player[numPlayers];
+		}
+
+		/*
+		 * Function:			Sit
+		 * Params: 				Client connection(Socket), lines from it(BufferedReader),
+		 * 							lines to it(Writer)
+		 * Purpose:				Seat a client at the first free seat
+		 * Returns: 			Seat taken(int)
+		 */
+		int Sit(Socket socket, BufferedReader in, Writer out) {
+			int seat = 0;
+			while (sockets[seat] != null) {
+				seat++;
+			}
+			seated++;
+			sockets[seat] = socket;
+			outs[seat] = out;
+			players[seat] = new RemotePlayer(in, out, this);
+			return seat;
+		}
+
+		/*
+		 * Function:			Stand
+		 * Params: 				Seat to give up(int)
+		 * Purpose:				Free the seat of a client that went away before the game
+		 * 							started. A seat left empty is played by a bot
+		 * Returns: 			Whether the seat was freed, false once the game began(boolean)
+		 */
+		synchronized boolean Stand(int seat) {
+			if (started || sockets[seat] == null) {
+				return false;
+			}
+			sockets[seat] = null;
+			outs[seat] = null;
+			players[seat] = null;
+			seated--;
+			return true;
+		}
+
+		/*
+		 * Function:			IsFull
+		 * Params:
+		 * Purpose:				Check every seat is taken
+		 * Returns: 			Whether the game can start(boolean)
+		 */
+		boolean IsFull() {
+			return seated == numPlayers;
+		}
+
+		/*
+		 * Function:			IsEmpty
+		 * Params:
+		 * Purpose:				Check no client is seated
+		 * Returns: 			Whether the table can be dropped(boolean)
+		 */
+		boolean IsEmpty() {
+			return seated == 0;
+		}
+
+		/*
+		 * Function:			Run
+		 * Params:
+		 * Purpose:				Fill empty seats with bots, play the game and close the table
+		 * Returns:
+		 */
+		void Run() {
+			synchronized (this) {
+				started = true;
+			}
+			tablesOpen.incrementAndGet();
+			try {
+				long seed = ThreadLocalRandom.current().nextLong();
+				Rummy game = new Rummy(numPlayers, seed, Renderer.SILENT);
+				game.SetRoundLimit(ROUND_LIMIT);
+				Player[] seats = new Player[numPlayers];
+				for (int i = 0; i < numPlayers; i++) {
+					seats[i] = new TableSeat(players[i] != null ? players[i] : new BotPlayer(), this);
+				}
+				Broadcast("START " + id + " " + numPlayers + " " + seed);
+				int[] winner = game.PlayGame(seats);
+				Broadcast("END " + (winner[0] + 1) + " " + winner[1]);
+				Flush();
+				gamesPlayed.incrementAndGet();
+			}
+			catch (LeftTable | UncheckedIOException e) {
+				try {
+					Broadcast("END aborted");
+					Flush();
+				}
+				catch (UncheckedIOException ignored) {
+					// The client that left may be the one we can't write to
+				}
+			}
+			finally {
+				Close();
+				tablesOpen.decrementAndGet();
+			}
+		}
+
+		/*
+		 * Function:			Broadcast
+		 * Params: 				Line to send(String)
+		 * Purpose:				Queue a line for every client at the table
+		 * Returns:
+		 */
+		void Broadcast(String line) {
+			for (int i = 0; i < numPlayers; i++) {
+				if (players[i] instanceof RemotePlayer) {
+					((RemotePlayer) players[i]).Send(line);
+				}
+			}
+		}
+
+		/*
+		 * Function:			Flush
+		 * Params:
+		 * Purpose:				Send every client's queued lines
+		 * Returns:
+		 */
+		void Flush() {
+			try {
+				for (int i = 0; i < numPlayers; i++) {
+					if (outs[i] != null) {
+						outs[i].flush();
+					}
+				}
+			}
+			catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+
+		/*
+		 * Function:			Close
+		 * Params:
+		 * Purpose:				Hang up on every client at the table
+		 * Returns:
+		 */
+		void Close() {
+			for (int i = 0; i < numPlayers; i++) {
+				if (sockets[i] != null) {
+					try {
+						sockets[i].close();
+					}
+					catch (IOException ignored) {
+						// Already gone
+					}
+				}
+			}
+		}
+	}
+
+	/*
+	 * Class:				TableSeat
+	 * Purpose:				Wraps a seat's player so the rest of the table hears whose
+	 * 							turn it is, where they drew from and what they threw out
+	 * Methods:				ChooseDrawLocation, ChooseMelds, ChooseLayOff, ChooseDiscard
+	 */
+	private static class TableSeat implements Player {
+		private final Player inner;
+		private final Table table;
+
+		TableSeat(Player inner, Table table) {
+			this.inner = inner;
+			this.table = table;
+		}
+
+		@Override
+		public String ChooseDrawLocation(Rummy game, int player) {
+			table.Broadcast("TURN " + (player + 1));
+			String choice = inner.ChooseDrawLocation(game, player);
+			table.Broadcast("DREW " + (player + 1) + " " + choice.toLowerCase());
+			return choice;
+		}
+
+		@Override
+		public boolean ChooseMelds(Rummy game, int player) {
+			return inner.ChooseMelds(game, player);
+		}
+
+		@Override
+		public boolean ChooseLayOff(Rummy game, int player) {
+			return inner.ChooseLayOff(game, player);
+		}
+
+		@Override
+		public int ChooseDiscard(Rummy game, int player) {
+			int index = inner.ChooseDiscard(game, player);
+			ArrayList<Integer> hand = game.GetHand(player);
+			if (index >= 0 && index < hand.size()) {
+				table.Broadcast("DISCARDED " + (player + 1) + " " + Card.Short(hand.get(index)));
+			}
+			return index;
+		}
+	}
+
+	/*
+	 * Function:			Initialize
+	 * Params: 				Port to listen on, 0 for any free port(int)
+	 * Purpose:				Initializes a server that is not yet listening
+	 * Returns:
+	 */
+	public GameServer(int port) {
+		this.requestedPort = port;
+	}
+
+	/*
+	 * Function:			Start
+	 * Params:
+	 * Purpose:				Start listening and accepting clients on a background thread
+	 * Returns:
+	 */
+	public void Start() {
+		try {
+			server = new ServerSocket();
+			server.setReuseAddress(true);
+			server.bind(new InetSocketAddress(requestedPort), 4096);
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		connections = Executors.newCachedThreadPool(new ThreadFactory() {
+			private final AtomicInteger count = new AtomicInteger();
+
+			@Override
+			public Thread newThread(Runnable task) {
+				Thread thread = new Thread(null, task, "rummy-connection-" + count.incrementAndGet(), STACK_BYTES);
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+		Thread acceptor = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				Accept();
+			}
+		}, "rummy-acceptor");
+		acceptor.setDaemon(true);
+		acceptor.start();
+	}
+
+	/*
+	 * Function:			Stop
+	 * Params:
+	 * Purpose:				Stop accepting clients and hang up on every waiting table
+	 * Returns:
+	 */
+	public void Stop() {
+		try {
+			server.close();
+		}
+		catch (IOException ignored) {
+			// Closing anyway
+		}
+		for (Table table : waiting.values()) {
+			table.Close();
+		}
+		connections.shutdownNow();
+	}
+
+	/*
+	 * Function:			GetPort
+	 * Params:
+	 * Purpose:				Getter for the port the server listens on
+	 * Returns: 			Port(int)
+	 */
+	public int GetPort() {
+		return server.getLocalPort();
+	}
+
+	/*
+	 * Function:			GetGamesPlayed
+	 * Params:
+	 * Purpose:				Getter for the games finished so far
+	 * Returns: 			Finished games(long)
+	 */
+	public long GetGamesPlayed() {
+		return gamesPlayed.get();
+	}
+
+	/*
+	 * Function:			GetTablesOpen
+	 * Params:
+	 * Purpose:				Getter for the tables playing right now
+	 * Returns: 			Tables in play(int)
+	 */
+	public int GetTablesOpen() {
+		return tablesOpen.get();
+	}
+
+	/*
+	 * Function:			Accept
+	 * Params:
+	 * Purpose:				Hand every new connection to a pooled thread until stopped
+	 * Returns:
+	 */
+	private void Accept() {
+		while (!server.isClosed()) {
+			final Socket socket;
+			try {
+				socket = server.accept();
+			}
+			catch (SocketException e) {
+				return;
+			}
+			catch (IOException e) {
+				continue;
+			}
+			connections.execute(new Runnable() {
+				@Override
+				public void run() {
+					Serve(socket);
+				}
+			});
+		}
+	}
+
+	/*
+	 * Function:			Serve
+	 * Params: 				Client connection(Socket)
+	 * Purpose:				Read the client's JOIN and seat it. The thread that fills a
+	 * 							table goes on to run its game
+	 * Returns:
+	 */
+	private void Serve(Socket socket) {
+		try {
+			socket.setTcpNoDelay(true);
+			socket.setSoTimeout(READ_TIMEOUT_MS);
+			final BufferedReader in = new BufferedReader(
+					new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+			final Writer out = new BufferedWriter(
+					new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII));
+			out.write("WELCOME\n");
+			out.flush();
+
+			String[] join = null;
+			while (join == null) {
+				String line = in.readLine();
+				if (line == null || line.trim().equalsIgnoreCase("QUIT")) {
+					socket.close();
+					return;
+				}
+				String[] words = line.trim().split("\\s+");
+				if (words.length >= 2 && words[0].equalsIgnoreCase("JOIN") && IsTableSize(words[1])
+						&& (words.length == 2 || (words.length == 3 && words[2].equalsIgnoreCase("bots")))) {
+					join = words;
+				}
+				else {
+					out.write("ERROR expected JOIN 2-" + Rummy.MAX_PLAYERS + " [bots]\n");
+					out.flush();
+				}
+			}
+
+			final int numPlayers = Integer.parseInt(join[1]);
+			if (join.length == 3) {
+				Table table = new Table(numPlayers);
+				int seat = table.Sit(socket, in, out);
+				out.write("SEATED " + table.id + " " + (seat + 1) + " " + numPlayers + "\n");
+				out.flush();
+				table.Run();
+				return;
+			}
+
+			// Only take the seat under the lobby lock, a slow client must not hold up the others
+			final Table[] joined = new Table[1];
+			final int[] seat = new int[1];
+			final boolean[] filled = new boolean[1];
+			waiting.compute(numPlayers, new BiFunction<Integer, Table, Table>() {
+				@Override
+				public Table apply(Integer size, Table table) {
+					if (table == null) {
+						table = new Table(numPlayers);
+					}
+					seat[0] = table.Sit(socket, in, out);
+					joined[0] = table;
+					filled[0] = table.IsFull();
+					return filled[0] ? null : table;
+				}
+			});
+			try {
+				out.write("SEATED " + joined[0].id + " " + (seat[0] + 1) + " " + numPlayers + "\n");
+				out.flush();
+			}
+			catch (IOException e) {
+				Leave(joined[0], seat[0], filled);
+				throw e;
+			}
+			if (filled[0]) {
+				joined[0].Run();
+			}
+		}
+		catch (IOException | UncheckedIOException e) {
+			try {
+				socket.close();
+			}
+			catch (IOException ignored) {
+				// Already gone
+			}
+		}
+	}
+
+	/*
+	 * Function:			IsTableSize
+	 * Params: 				Word sent after JOIN(String)
+	 * Purpose:				Check the word is a number of players a table can seat
+	 * Returns: 			Whether it is from 2 to Rummy.MAX_PLAYERS(boolean)
+	 */
+	private static boolean IsTableSize(String word) {
+		if (!word.matches("[0-9]{1,2}")) {
+			return false;
+		}
+		int numPlayers = Integer.parseInt(word);
+		return numPlayers >= 2 && numPlayers <= Rummy.MAX_PLAYERS;
+	}
+
+	/*
+	 * Function:			Leave
+	 * Params: 				Table joined(Table), seat taken(int), whether this client filled
+	 * 							the table and so must start it(boolean[])
+	 * Purpose:				Give up the seat of a client that could not be told it was
+	 * 							seated. A table still waiting drops the seat, or is dropped
+	 * 							once empty. A table this client filled goes back to the lobby
+	 * 							if no other is waiting, or else starts with a bot in the seat.
+	 * 							A table filled by someone else keeps a bot in the seat unless
+	 * 							its game already began
+	 * Returns:
+	 */
+	private void Leave(final Table table, final int seat, final boolean[] filled) {
+		waiting.compute(table.numPlayers, new BiFunction<Integer, Table, Table>() {
+			@Override
+			public Table apply(Integer size, Table current) {
+				table.Stand(seat);
+				if (current == table) {
+					return table.IsEmpty() ? null : table;
+				}
+				if (filled[0] && current == null && !table.IsEmpty()) {
+					filled[0] = false;
+					return table;
+				}
+				return current;
+			}
+		});
+		if (filled[0] && !table.IsEmpty()) {
+			table.Run();
+		}
+	}
+}
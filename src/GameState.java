@@ -0,0 +1,141 @@
+/*
+ * 	File:				GameState.java
+ * 	Associated Files:	Rummy.java, Deck.java, Hand.java, CardStack.java, MeldIndex.java
+ * 	Packages Needed:	java.util.ArrayList
+ * 	Author:            	Michael Ngo (https://github.com/yeeshue99)
+ * 	Date Modified:      10/18/2026 by Michael Ngo
+ * 	Modified By:        Michael Ngo
+ *
+ * 	Purpose:			Frozen version of a game to fork from or rewind to
+ */
+
+import java.util.ArrayList;
+
+/*
+ * Class:				GameState
+ * Purpose:				One saved version of a game: every hand, the stock, the
+ * 							discard pile, the table, the rounds played, the seat to move
+ * 							and the cards each seat is known to hold. The piles and table
+ * 							are copy on write forks, so saving costs a few small arrays
+ * 							and the live game only copies what it changes next.
+ * 							Nothing writes to a saved version, so it can be forked or
+ * 							restored any number of times, from any thread. Each version
+ * 							points back to the one saved before it, which is how a game
+ * 							is undone
+ * Methods:				Fork, GetPrevious, GetVersion, GetNumPlayers, GetRounds, GetNext,
+ * 							GetHandSize, GetHandBits
+ */
+public class GameState {
+
+	final Deck deck;
+	final ArrayList<ArrayList<Integer>> hands;
+	final int rounds;
+	final int roundLimit;
+	final int next;
+	final long[] known;
+	private final GameState previous;
+	private final int version;
+
+	/*
+	 * Function:			Initialize
+	 * Params: 				Game to save(Rummy), version saved before it, or null(GameState)
+	 * Purpose:				Initializes a version sharing the game's piles and table
+	 * Returns:
+	 */
+	GameState(Rummy game, GameState previous) {
+		this.deck = game.deck.Fork();
+		this.hands = Rummy.ForkHands(game.allHands);
+		this.rounds = game.rounds;
+		this.roundLimit = game.roundLimit;
+		this.next = game.next;
+		this.known = game.known.clone();
+		this.previous = previous;
+		this.version = previous == null ? 0 : previous.version + 1;
+	}
+
+	/*
+	 * Function:			Fork
+	 * Params:
+	 * Purpose:				Build a silent game that plays on from this version, such as a
+	 * 							lookahead or playout
+	 * Returns: 			Game at this version(Rummy)
+	 */
+	public Rummy Fork() {
+		Rummy game = new Rummy(deck.Fork(), Rummy.ForkHands(hands), roundLimit);
+		game.rounds = rounds;
+		game.next = next;
+		game.known = known.clone();
+		game.latest = this;
+		return game;
+	}
+
+	/*
+	 * Function:			GetPrevious
+	 * Params:
+	 * Purpose:				Getter for the version saved before this one
+	 * Returns: 			Earlier version, or null for the first(GameState)
+	 */
+	public GameState GetPrevious() {
+		return previous;
+	}
+
+	/*
+	 * Function:			GetVersion
+	 * Params:
+	 * Purpose:				Getter for how many versions were saved before this one
+	 * Returns: 			Version number, 0 for the first(int)
+	 */
+	public int GetVersion() {
+		return version;
+	}
+
+	/*
+	 * Function:			GetNumPlayers
+	 * Params:
+	 * Purpose:				Getter for number of players
+	 * Returns: 			Number of players(int)
+	 */
+	public int GetNumPlayers() {
+		return hands.size();
+	}
+
+	/*
+	 * Function:			GetRounds
+	 * Params:
+	 * Purpose:				Getter for rounds played when this version was saved
+	 * Returns: 			Rounds played(int)
+	 */
+	public int GetRounds() {
+		return rounds;
+	}
+
+	/*
+	 * Function:			GetNext
+	 * Params:
+	 * Purpose:				Getter for the seat to move when this version was saved
+	 * Returns: 			Seat(int)
+	 */
+	public int GetNext() {
+		return next;
+	}
+
+	/*
+	 * Function:			GetHandSize
+	 * Params: 				Player to look at(int)
+	 * Purpose:				Getter for how many cards a player held
+	 * Returns: 			Number of cards(int)
+	 */
+	public int GetHandSize(int player) {
+		return hands.get(player).size();
+	}
+
+	/*
+	 * Function:			GetHandBits
+	 * Params: 				Player to look at(int)
+	 * Purpose:				Getter for a player's hand as a bitboard
+	 * Returns: 			Bitboard of the hand(long)
+	 */
+	public long GetHandBits(int player) {
+		return Bitboard.FromHand(hands.get(player));
+	}
+}
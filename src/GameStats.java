@@ -0,0 +1,297 @@
+/*
+ * 	File:				GameStats.java
+ * 	Associated Files:	Simulation.java, Rummy.java, MeldIndex.java, Main.java
+ * 	Packages Needed:
+ * 	Author:            	Michael Ngo (https://github.com/yeeshue99)
+ * 	Date Modified:      10/18/2026 by Michael Ngo
+ * 	Modified By:        Michael Ngo
+ *
+ * 	Purpose:			Summarize any number of finished games in a fixed amount of memory
+ */
+
+/*
+ * Class:				GameStats
+ * Purpose:				Running summary of finished games: how many rounds each lasted,
+ * 							wins for every seat, the points left in hand at the end, how
+ * 							games ended, and the kind and length of every meld on the
+ * 							table. Lengths and rounds are exact counts up to a cap with
+ * 							one bucket for everything past it. Scores are exact up to
+ * 							SCORE_EXACT. Past it, each power of two is cut into 64
+ * 							buckets of equal width, so the buckets are linear within a
+ * 							power of two and double in width at the next. A bucket is
+ * 							never wider than 1/64 of the scores in it, so the biggest
+ * 							shoe at the biggest table still reads within two percent.
+ * 							A summary is the same few kilobytes after ten games or a
+ * 							billion. A summary is written by one thread only. Parallel
+ * 							runs give each worker its own and merge them when the run
+ * 							is done, so recording a game never waits on another thread
+ * Methods:				Record, Merge, GetGames, GetWins, WinRate, MeanRounds, RoundsPercentile,
+ * 							MeanScore, ScorePercentile, GetWentOut, GetMelds, Report, Percentile,
+ * 							ScoreBucket, BucketScore
+ */
+public class GameStats {
+
+	// Rounds counted exactly, the last bucket holds everything at or past it
+	public static final int ROUND_BUCKETS = 1024;
+
+	// Scores counted exactly below SCORE_EXACT, then in 64 equal buckets for each power of two
+	public static final int SCORE_EXACT = 1024;
+	private static final int SCORE_SUB_BITS = 6;
+	private static final int SCORE_EXACT_BITS = Integer.numberOfTrailingZeros(SCORE_EXACT);
+	public static final int SCORE_BUCKETS = SCORE_EXACT
+			+ ((Integer.SIZE - 1 - SCORE_EXACT_BITS) << SCORE_SUB_BITS);
+
+	// Meld lengths counted exactly, the last bucket holds everything at or past it
+	public static final int MELD_LENGTHS = 16;
+
+	// Kinds of meld counted
+	public static final int MATCH = 0;
+	public static final int SEQUENCE = 1;
+
+	private long games = 0;
+	private long wentOut = 0;
+	private long roundsSum = 0;
+	private long scoreSum = 0;
+	private final long[] seatGames = new long[Rummy.MAX_PLAYERS];
+	private final long[] seatWins = new long[Rummy.MAX_PLAYERS];
+	private final long[] rounds = new long[ROUND_BUCKETS];
+	private final long[] scores = new long[SCORE_BUCKETS];
+	private final long[][] melds = new long[2][MELD_LENGTHS];
+
+	/*
+	 * Function:			Record
+	 * Params: 				Finished game(Rummy), winner then total points left in every
+	 * 							hand, as PlayGame returns(int[])
+	 * Purpose:				Add one game to the summary
+	 * Returns:
+	 */
+	public void Record(Rummy game, int[] result) {
+		games++;
+		for (int seat = 0; seat < game.GetNumPlayers(); seat++) {
+			seatGames[seat]++;
+		}
+		seatWins[result[0]]++;
+		if (game.GetHand(result[0]).isEmpty()) {
+			wentOut++;
+		}
+		roundsSum += game.GetRounds();
+		rounds[Math.min(game.GetRounds(), ROUND_BUCKETS - 1)]++;
+		scoreSum += result[1];
+		scores[ScoreBucket(result[1])]++;
+		MeldIndex table = game.GetDeck().melds;
+		for (int meld = 0; meld < table.Size(); meld++) {
+			int kind = table.IsSequence(meld) ? SEQUENCE : MATCH;
+			melds[kind][Math.min(table.Get(meld).size(), MELD_LENGTHS - 1)]++;
+		}
+	}
+
+	/*
+	 * Function:			Merge
+	 * Params: 				Summary to add in(GameStats)
+	 * Purpose:				Add another summary's games to this one. The other summary
+	 * 							must no longer be written to
+	 * Returns:
+	 */
+	public void Merge(GameStats other) {
+		games += other.games;
+		wentOut += other.wentOut;
+		roundsSum += other.roundsSum;
+		scoreSum += other.scoreSum;
+		for (int seat = 0; seat < Rummy.MAX_PLAYERS; seat++) {
+			seatGames[seat] += other.seatGames[seat];
+			seatWins[seat] += other.seatWins[seat];
+		}
+		for (int b = 0; b < ROUND_BUCKETS; b++) {
+			rounds[b] += other.rounds[b];
+		}
+		for (int b = 0; b < SCORE_BUCKETS; b++) {
+			scores[b] += other.scores[b];
+		}
+		for (int kind = MATCH; kind <= SEQUENCE; kind++) {
+			for (int length = 0; length < MELD_LENGTHS; length++) {
+				melds[kind][length] += other.melds[kind][length];
+			}
+		}
+	}
+
+	/*
+	 * Function:			GetGames
+	 * Params:
+	 * Purpose:				Getter for how many games were recorded
+	 * Returns: 			Games(long)
+	 */
+	public long GetGames() {
+		return games;
+	}
+
+	/*
+	 * Function:			GetWins
+	 * Params: 				Seat(int)
+	 * Purpose:				Getter for the games won from a seat
+	 * Returns: 			Wins(long)
+	 */
+	public long GetWins(int seat) {
+		return seatWins[seat];
+	}
+
+	/*
+	 * Function:			WinRate
+	 * Params: 				Seat(int)
+	 * Purpose:				Find the share of games played from a seat that it won
+	 * Returns: 			Win rate, 0 if the seat never played(double)
+	 */
+	public double WinRate(int seat) {
+		return seatGames[seat] == 0 ? 0.0 : (double) seatWins[seat] / seatGames[seat];
+	}
+
+	/*
+	 * Function:			MeanRounds
+	 * Params:
+	 * Purpose:				Find the average rounds a game lasted
+	 * Returns: 			Mean, 0 if nothing was recorded(double)
+	 */
+	public double MeanRounds() {
+		return games == 0 ? 0.0 : (double) roundsSum / games;
+	}
+
+	/*
+	 * Function:			RoundsPercentile
+	 * Params: 				Fraction of games to cover, such as 0.99(double)
+	 * Purpose:				Find the fewest rounds that a share of games ended within
+	 * Returns: 			Rounds, ROUND_BUCKETS - 1 meaning that many or more(int)
+	 */
+	public int RoundsPercentile(double fraction) {
+		return Percentile(rounds, fraction);
+	}
+
+	/*
+	 * Function:			MeanScore
+	 * Params:
+	 * Purpose:				Find the average points left in every hand at the end
+	 * Returns: 			Mean, 0 if nothing was recorded(double)
+	 */
+	public double MeanScore() {
+		return games == 0 ? 0.0 : (double) scoreSum / games;
+	}
+
+	/*
+	 * Function:			ScorePercentile
+	 * Params: 				Fraction of games to cover, such as 0.99(double)
+	 * Purpose:				Find the lowest score that a share of games came in at or
+	 * 							under, exact below SCORE_EXACT and the top of its bucket past it
+	 * Returns: 			Score(int)
+	 */
+	public int ScorePercentile(double fraction) {
+		return BucketScore(Percentile(scores, fraction));
+	}
+
+	/*
+	 * Function:			GetWentOut
+	 * Params:
+	 * Purpose:				Getter for games won by emptying a hand, rather than called
+	 * 							for the lowest hand at the round limit or an empty stock
+	 * Returns: 			Games(long)
+	 */
+	public long GetWentOut() {
+		return wentOut;
+	}
+
+	/*
+	 * Function:			GetMelds
+	 * Params: 				MATCH or SEQUENCE(int), cards in the meld(int)
+	 * Purpose:				Getter for melds of a kind and length left on the table at the
+	 * 							end of a game. The last length counts every longer meld too
+	 * Returns: 			Melds(long)
+	 */
+	public long GetMelds(int kind, int length) {
+		return melds[kind][Math.min(length, MELD_LENGTHS - 1)];
+	}
+
+	/*
+	 * Function:			Report
+	 * Params: 				Seats to show(int)
+	 * Purpose:				Lay out the summary as a few lines of text
+	 * Returns: 			Report(String)
+	 */
+	public String Report(int numPlayers) {
+		StringBuilder text = new StringBuilder();
+		text.append(String.format("Rounds      mean %8.1f  p50 %5d  p90 %5d  p99 %5d%n", MeanRounds(),
+				RoundsPercentile(0.5), RoundsPercentile(0.9), RoundsPercentile(0.99)));
+		text.append(String.format("Score       mean %8.1f  p50 %5d  p90 %5d  p99 %5d%n", MeanScore(),
+				ScorePercentile(0.5), ScorePercentile(0.9), ScorePercentile(0.99)));
+		text.append(String.format("Went out    %d of %d games%n", wentOut, games));
+		text.append("Win rate   ");
+		for (int seat = 0; seat < numPlayers; seat++) {
+			text.append(String.format(" #%d %.1f%%", (seat + 1), 100.0 * WinRate(seat)));
+		}
+		text.append(System.lineSeparator());
+		String[] kinds = { MeldIndex.MATCH, MeldIndex.SEQUENCE };
+		for (int kind = MATCH; kind <= SEQUENCE; kind++) {
+			long total = 0;
+			StringBuilder lengths = new StringBuilder();
+			for (int length = 0; length < MELD_LENGTHS; length++) {
+				if (melds[kind][length] != 0) {
+					total += melds[kind][length];
+					lengths.append(String.format(" %d%s:%d", length, length == MELD_LENGTHS - 1 ? "+" : "",
+							melds[kind][length]));
+				}
+			}
+			text.append(String.format("%-11s %.2f per game,%s%n", kinds[kind], games == 0 ? 0.0 : (double) total / games,
+					lengths));
+		}
+		return text.toString();
+	}
+
+	/*
+	 * Function:			Percentile
+	 * Params: 				Exact counts with an overflow bucket(long[]), fraction to cover(double)
+	 * Purpose:				Find the first bucket that covers a share of the counts
+	 * Returns: 			Bucket, 0 if nothing was recorded(int)
+	 */
+	private static int Percentile(long[] buckets, double fraction) {
+		long count = 0;
+		for (long bucket : buckets) {
+			count += bucket;
+		}
+		long seen = 0;
+		for (int b = 0; b < buckets.length; b++) {
+			seen += buckets[b];
+			if (count > 0 && seen >= fraction * count) {
+				return b;
+			}
+		}
+		return 0;
+	}
+
+	/*
+	 * Function:			ScoreBucket
+	 * Params: 				Score of a game(int)
+	 * Purpose:				Find the bucket a score is counted in: the score itself below
+	 * 							SCORE_EXACT, then its power of two and the next six bits,
+	 * 							which cut that power of two into equal parts
+	 * Returns: 			Bucket(int)
+	 */
+	static int ScoreBucket(int score) {
+		if (score < SCORE_EXACT) {
+			return Math.max(score, 0);
+		}
+		int power = Integer.SIZE - 1 - Integer.numberOfLeadingZeros(score);
+		int sub = (score >>> (power - SCORE_SUB_BITS)) & ((1 << SCORE_SUB_BITS) - 1);
+		return SCORE_EXACT + ((power - SCORE_EXACT_BITS) << SCORE_SUB_BITS) + sub;
+	}
+
+	/*
+	 * Function:			BucketScore
+	 * Params: 				Bucket(int)
+	 * Purpose:				Find the highest score counted in a bucket
+	 * Returns: 			Score(int)
+	 */
+	static int BucketScore(int bucket) {
+		if (bucket < SCORE_EXACT) {
+			return bucket;
+		}
+		int power = SCORE_EXACT_BITS + ((bucket - SCORE_EXACT) >>> SCORE_SUB_BITS);
+		long sub = (1 << SCORE_SUB_BITS) + ((bucket - SCORE_EXACT) & ((1 << SCORE_SUB_BITS) - 1));
+		return (int) Math.min(((sub + 1) << (power - SCORE_SUB_BITS)) - 1, Integer.MAX_VALUE);
+	}
+}
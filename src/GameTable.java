@@ -0,0 +1,198 @@
+/*
+ * 	File:				GameTable.java
+ * 	Associated Files:	GameQuery.java, Rummy.java, Simulation.java, Main.java
+ * 	Packages Needed:	java.io.Closeable, java.io.IOException, java.io.UncheckedIOException,
+ * 							java.nio.*, java.nio.channels.FileChannel, java.nio.file.*
+ * 	Author:            	Michael Ngo (https://github.com/yeeshue99)
+ * 	Date Modified:      10/18/2026 by Michael Ngo
+ * 	Modified By:        Michael Ngo
+ *
+ * 	Purpose:			Append one row per finished game to a memory mapped column file
+ */
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/*
+ * Class:				GameTable
+ * Purpose:				Memory mapped file holding one row per finished game: seed,
+ * 							players, winning seat, score, rounds, melds laid down from
+ * 							the deal and the card turned up after it. Rows are stored in
+ * 							blocks of BLOCK_ROWS, and inside a block each column is one
+ * 							packed little endian array, so a GameQuery reads only the
+ * 							columns it filters or adds up. Like a Journal, parallel games
+ * 							can share a table and new runs append to an old one
+ * Methods:				Open, Append, Rows, close, BlockPosition, Remap
+ */
+public class GameTable implements Closeable {
+
+	// Columns, in the order they are laid out in a block
+	public static final int SEED = 0;
+	public static final int PLAYERS = 1;
+	public static final int WINNER = 2;
+	public static final int SCORE = 3;
+	public static final int ROUNDS = 4;
+	public static final int DEALT_MELDS = 5;
+	public static final int OPENING = 6;
+	public static final int COLUMNS = 7;
+	public static final String[] NAMES = { "seed", "players", "winner", "score", "rounds", "dealt.melds", "opening" };
+
+	// Bytes per value of each column
+	static final int[] WIDTHS = { Long.BYTES, 1, 1, Integer.BYTES, Integer.BYTES, 1, 1 };
+
+	// File layout: magic, version and row count, then whole blocks
+	static final int MAGIC = 0x544D4752;
+	static final int VERSION = 1;
+	static final int HEADER_BYTES = 16;
+
+	// Rows per block, and where each column starts inside one
+	static final int BLOCK_BITS = 16;
+	static final int BLOCK_ROWS = 1 << BLOCK_BITS;
+	static final int[] OFFSETS = new int[COLUMNS];
+	static final int BLOCK_BYTES;
+
+	static {
+		int offset = 0;
+		for (int column = 0; column < COLUMNS; column++) {
+			OFFSETS[column] = offset;
+			offset += WIDTHS[column] * BLOCK_ROWS;
+		}
+		BLOCK_BYTES = offset;
+	}
+
+	private final FileChannel channel;
+	private final MappedByteBuffer header;
+	private MappedByteBuffer block;
+	private long rows;
+
+	/*
+	 * Function:			Initialize
+	 * Params: 				Open file(FileChannel), rows already in the file(long)
+	 * Purpose:				Initializes a table ready to append after the last row
+	 * Returns:
+	 */
+	private GameTable(FileChannel channel, long rows) throws IOException {
+		this.channel = channel;
+		this.rows = rows;
+		header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+		header.order(ByteOrder.LITTLE_ENDIAN);
+		header.putInt(0, MAGIC);
+		header.putInt(4, VERSION);
+		header.putLong(8, rows);
+		Remap(rows);
+	}
+
+	/*
+	 * Function:			Open
+	 * Params: 				Table file(Path)
+	 * Purpose:				Create a table, or reopen one to append more games
+	 * Returns: 			Table ready for writing(GameTable)
+	 */
+	public static GameTable Open(Path file) {
+		try {
+			FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+					StandardOpenOption.WRITE);
+			long rows = 0;
+			if (channel.size() >= HEADER_BYTES) {
+				MappedByteBuffer existing = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+				existing.order(ByteOrder.LITTLE_ENDIAN);
+				if (existing.getInt(0) != MAGIC || existing.getInt(4) != VERSION) {
+					channel.close();
+					throw new IllegalArgumentException(file + " is not a version " + VERSION + " game table");
+				}
+				rows = existing.getLong(8);
+			}
+			return new GameTable(channel, rows);
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/*
+	 * Function:			Append
+	 * Params: 				Finished game(Rummy), winner then total points left in every
+	 * 							hand, as PlayGame returns(int[])
+	 * Purpose:				Write one game as the next row
+	 * Returns:
+	 */
+	public synchronized void Append(Rummy game, int[] result) {
+		int row = (int) (rows & (BLOCK_ROWS - 1));
+		if (row == 0) {
+			Remap(rows);
+		}
+		block.putLong(OFFSETS[SEED] + row * Long.BYTES, game.GetDeck().GetSeed());
+		block.put(OFFSETS[PLAYERS] + row, (byte) game.GetNumPlayers());
+		block.put(OFFSETS[WINNER] + row, (byte) result[0]);
+		block.putInt(OFFSETS[SCORE] + row * Integer.BYTES, result[1]);
+		block.putInt(OFFSETS[ROUNDS] + row * Integer.BYTES, game.GetRounds());
+		block.put(OFFSETS[DEALT_MELDS] + row, (byte) Math.min(game.GetDealtMelds(), Byte.MAX_VALUE));
+		block.put(OFFSETS[OPENING] + row, (byte) game.GetOpeningDiscard());
+		rows++;
+		header.putLong(8, rows);
+	}
+
+	/*
+	 * Function:			Rows
+	 * Params:
+	 * Purpose:				Getter for the number of rows written
+	 * Returns: 			Rows in the table(long)
+	 */
+	public synchronized long Rows() {
+		return rows;
+	}
+
+	/*
+	 * Function:			close
+	 * Params:
+	 * Purpose:				Flush the rows and trim the file after the last block used
+	 * Returns:
+	 */
+	@Override
+	public synchronized void close() {
+		try {
+			block.force();
+			header.force();
+			channel.truncate(BlockPosition((rows + BLOCK_ROWS - 1) >>> BLOCK_BITS));
+			channel.close();
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/*
+	 * Function:			BlockPosition
+	 * Params: 				Block number(long)
+	 * Purpose:				Find where a block starts in the file
+	 * Returns: 			File position(long)
+	 */
+	static long BlockPosition(long block) {
+		return HEADER_BYTES + block * BLOCK_BYTES;
+	}
+
+	/*
+	 * Function:			Remap
+	 * Params: 				Row to be written next(long)
+	 * Purpose:				Map the block holding a row for writing
+	 * Returns:
+	 */
+	private void Remap(long row) {
+		try {
+			if (block != null) {
+				block.force();
+			}
+			block = channel.map(FileChannel.MapMode.READ_WRITE, BlockPosition(row >>> BLOCK_BITS), BLOCK_BYTES);
+			block.order(ByteOrder.LITTLE_ENDIAN);
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
@@ -0,0 +1,389 @@
+/*
+ * 	File:				Hand.java
+ * 	Associated Files:	Deck.java, Rummy.java, Bitboard.java, MctsPlayer.java
+ * 	Packages Needed:	java.util.ArrayList, java.util.Arrays, java.util.Collection,
+ * 							java.util.function.*
+ * 	Author:            	Michael Ngo (https://github.com/yeeshue99)
+ * 	Date Modified:      10/18/2026 by Michael Ngo
+ * 	Modified By:        Michael Ngo
+ *
+ * 	Purpose:			Player's hand that keeps its own analysis up to date
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/*
+ * Class:				Hand
+ * Purpose:				List of card codes, in the order they were picked up, that
+ * 							updates its bitboard, per card and per rank counts and point
+ * 							total in O(1) as each card comes or goes. The bitboard holds
+ * 							each suit's run information in its lane. The hand also
+ * 							remembers when it was last seen to hold no meld, so after one
+ * 							draw only melds through the new card need checking. It is
+ * 							still an ArrayList<Integer>, so players read it as before.
+ * 							Bulk changes recount the whole hand. Cards dealt from a
+ * 							shoe can repeat: the bitboard holds each card once and the
+ * 							per card counts hold the copies. Because copies share a bit,
+ * 							two copies never meld with each other, so 7H 7H 7S is not a
+ * 							set, but the second copy can go into another meld
+ * Methods:				Bits, Points, RankCount, Count, HasDuplicates, HasMeld, MeldsWith,
+ * 							MarkMeldFree, RemoveMask, CopyFrom, Added, Removed, Recount, plus the ArrayList
+ * 							methods that change the hand
+ */
+public class Hand extends ArrayList<Integer> {
+
+	private static final long serialVersionUID = 1L;
+
+	// What is known about melds: none in hand, none but maybe through one card, or unknown
+	private static final int MELD_FREE = -1;
+	private static final int UNKNOWN = -2;
+
+	private long bits = 0L;
+	private int points = 0;
+	private final byte[] cardCounts = new byte[Card.DECK_SIZE];
+	private final byte[] rankCounts = new byte[Card.RANKS];
+	private int fresh = UNKNOWN;
+	private int duplicates = 0;
+
+	/*
+	 * Function:			Initialize
+	 * Params: 				Cards the hand has room for before growing(int)
+	 * Purpose:				Initializes an empty hand
+	 * Returns:
+	 */
+	public Hand(int capacity) {
+		super(capacity);
+		fresh = MELD_FREE;
+	}
+
+	/*
+	 * Function:			Initialize Overload
+	 * Params: 				Cards to start with(Collection<Integer>)
+	 * Purpose:				Initializes a hand holding a copy of the cards
+	 * Returns:
+	 */
+	public Hand(Collection<Integer> cards) {
+		super(cards.size() + 1);
+		super.addAll(cards);
+		Recount();
+	}
+
+	/*
+	 * Function:			Initialize Overload
+	 * Params: 				Hand to copy(Hand)
+	 * Purpose:				Initializes a copy of another hand, taking its analysis as is
+	 * 							instead of counting the cards again
+	 * Returns:
+	 */
+	public Hand(Hand other) {
+		super(other.size() + 1);
+		CopyFrom(other);
+	}
+
+	/*
+	 * Function:			CopyFrom
+	 * Params: 				Hand to copy(Hand)
+	 * Purpose:				Replace this hand's cards and analysis with another's, keeping
+	 * 							this object so anything holding it sees the change
+	 * Returns:
+	 */
+	public void CopyFrom(Hand other) {
+		super.clear();
+		super.addAll(other);
+		bits = other.bits;
+		points = other.points;
+		System.arraycopy(other.cardCounts, 0, cardCounts, 0, cardCounts.length);
+		System.arraycopy(other.rankCounts, 0, rankCounts, 0, rankCounts.length);
+		fresh = other.fresh;
+		duplicates = other.duplicates;
+	}
+
+	/*
+	 * Function:			Bits
+	 * Params:
+	 * Purpose:				Getter for the hand as a bitboard
+	 * Returns: 			Bitboard of the hand(long)
+	 */
+	public long Bits() {
+		return bits;
+	}
+
+	/*
+	 * Function:			Points
+	 * Params:
+	 * Purpose:				Getter for the points held, the deadwood once melds are down
+	 * Returns: 			Points of the hand(int)
+	 */
+	public int Points() {
+		return points;
+	}
+
+	/*
+	 * Function:			RankCount
+	 * Params: 				Card value, 1 for A up to 13 for K(int)
+	 * Purpose:				Getter for how many suits of a value are held
+	 * Returns: 			Suits held(int)
+	 */
+	public int RankCount(int value) {
+		return rankCounts[value - 1];
+	}
+
+	/*
+	 * Function:			Count
+	 * Params: 				Card code(int)
+	 * Purpose:				Getter for how many copies of a card are held
+	 * Returns: 			Copies held(int)
+	 */
+	public int Count(int card) {
+		return cardCounts[card];
+	}
+
+	/*
+	 * Function:			HasDuplicates
+	 * Params:
+	 * Purpose:				Check for a second copy of any card, only possible with a shoe
+	 * Returns: 			Whether any card is held twice(boolean)
+	 */
+	public boolean HasDuplicates() {
+		return duplicates != 0;
+	}
+
+	/*
+	 * Function:			HasMeld
+	 * Params:
+	 * Purpose:				Check for a meld, looking only through the card drawn when
+	 * 							the hand held none before it
+	 * Returns: 			Whether a meld exists(boolean)
+	 */
+	public boolean HasMeld() {
+		if (fresh == MELD_FREE) {
+			return false;
+		}
+		boolean found = fresh >= 0 ? MeldsWith(fresh) : Bitboard.HasMeld(bits);
+		if (!found) {
+			fresh = MELD_FREE;
+		}
+		return found;
+	}
+
+	/*
+	 * Function:			MeldsWith
+	 * Params: 				Card code(int)
+	 * Purpose:				Check for a set or run that uses the card, from the rank count
+	 * 							and the five cards around it in its suit
+	 * Returns: 			Whether the card is in a meld(boolean)
+	 */
+	public boolean MeldsWith(int card) {
+		if (cardCounts[card] == 0) {
+			return false;
+		}
+		int value = Card.Value(card) - 1;
+		if (rankCounts[value] >= 3) {
+			return true;
+		}
+		int suit = card / Card.RANKS;
+		long lane = Bitboard.Lane(bits, suit) << 2;
+		long window = (lane >>> value) & 0x1F;
+		return (window & 0x07) == 0x07 || (window & 0x0E) == 0x0E || (window & 0x1C) == 0x1C;
+	}
+
+	/*
+	 * Function:			MarkMeldFree
+	 * Params:
+	 * Purpose:				Note that the hand was just cleared of melds, such as after
+	 * 							laying down the best split
+	 * Returns:
+	 */
+	public void MarkMeldFree() {
+		fresh = MELD_FREE;
+	}
+
+	/*
+	 * Function:			RemoveMask
+	 * Params: 				Cards to take out(long)
+	 * Purpose:				Removes the first copy of every card in the bitboard in one
+	 * 							pass, keeping the order of the rest
+	 * Returns:
+	 */
+	public void RemoveMask(long cards) {
+		int kept = 0;
+		for (int i = 0; i < size(); i++) {
+			int card = get(i);
+			if ((cards & Bitboard.Bit(card)) == 0) {
+				super.set(kept++, card);
+			}
+			else {
+				cards &= ~Bitboard.Bit(card);
+				Removed(card);
+			}
+		}
+		super.removeRange(kept, size());
+	}
+
+	@Override
+	public Object clone() {
+		return new Hand(this);
+	}
+
+	@Override
+	public boolean add(Integer card) {
+		super.add(card);
+		Added(card);
+		return true;
+	}
+
+	@Override
+	public void add(int index, Integer card) {
+		super.add(index, card);
+		Added(card);
+	}
+
+	@Override
+	public Integer remove(int index) {
+		Integer card = super.remove(index);
+		Removed(card);
+		return card;
+	}
+
+	@Override
+	public boolean remove(Object card) {
+		if (super.remove(card)) {
+			Removed((Integer) card);
+			return true;
+		}
+		return false;
+	}
+
+	@Override
+	public Integer set(int index, Integer card) {
+		Integer old = super.set(index, card);
+		if (!old.equals(card)) {
+			Removed(old);
+			Added(card);
+		}
+		return old;
+	}
+
+	@Override
+	public void clear() {
+		super.clear();
+		Recount();
+	}
+
+	@Override
+	public boolean addAll(Collection<? extends Integer> cards) {
+		boolean changed = super.addAll(cards);
+		Recount();
+		return changed;
+	}
+
+	@Override
+	public boolean addAll(int index, Collection<? extends Integer> cards) {
+		boolean changed = super.addAll(index, cards);
+		Recount();
+		return changed;
+	}
+
+	@Override
+	public boolean removeAll(Collection<?> cards) {
+		boolean changed = super.removeAll(cards);
+		Recount();
+		return changed;
+	}
+
+	@Override
+	public boolean retainAll(Collection<?> cards) {
+		boolean changed = super.retainAll(cards);
+		Recount();
+		return changed;
+	}
+
+	@Override
+	public boolean removeIf(Predicate<? super Integer> filter) {
+		boolean changed = super.removeIf(filter);
+		Recount();
+		return changed;
+	}
+
+	@Override
+	public void replaceAll(UnaryOperator<Integer> operator) {
+		super.replaceAll(operator);
+		Recount();
+	}
+
+	@Override
+	protected void removeRange(int from, int to) {
+		super.removeRange(from, to);
+		Recount();
+	}
+
+	/*
+	 * Function:			Added
+	 * Params: 				Card code(int)
+	 * Purpose:				Count a card that came into the hand
+	 * Returns:
+	 */
+	private void Added(int card) {
+		if (cardCounts[card]++ == 0) {
+			bits |= Bitboard.Bit(card);
+			rankCounts[Card.Value(card) - 1]++;
+		}
+		else {
+			duplicates++;
+		}
+		points += Deck.CardScore(card);
+		fresh = fresh == MELD_FREE ? card : UNKNOWN;
+	}
+
+	/*
+	 * Function:			Removed
+	 * Params: 				Card code(int)
+	 * Purpose:				Count a card that left the hand. Taking cards out never makes
+	 * 							a meld, and taking out the one fresh card makes the hand
+	 * 							meld free again
+	 * Returns:
+	 */
+	private void Removed(int card) {
+		if (--cardCounts[card] == 0) {
+			bits &= ~Bitboard.Bit(card);
+			rankCounts[Card.Value(card) - 1]--;
+			if (fresh == card) {
+				fresh = MELD_FREE;
+			}
+		}
+		else {
+			duplicates--;
+		}
+		points -= Deck.CardScore(card);
+	}
+
+	/*
+	 * Function:			Recount
+	 * Params:
+	 * Purpose:				Rebuild the analysis from scratch after a bulk change
+	 * Returns:
+	 */
+	private void Recount() {
+		bits = 0L;
+		points = 0;
+		Arrays.fill(cardCounts, (byte) 0);
+		Arrays.fill(rankCounts, (byte) 0);
+		duplicates = 0;
+		for (int i = 0; i < size(); i++) {
+			int card = get(i);
+			if (cardCounts[card]++ == 0) {
+				bits |= Bitboard.Bit(card);
+				rankCounts[Card.Value(card) - 1]++;
+			}
+			else {
+				duplicates++;
+			}
+			points += Deck.CardScore(card);
+		}
+		fresh = UNKNOWN;
+	}
+}
@@ -0,0 +1,341 @@
+/*
+ * 	File:				HandCache.java
+ * 	Associated Files:	MeldSolver.java, Deck.java, BotPlayer.java, Simulation.java, Main.java
+ * 	Packages Needed:	java.util.Arrays, java.util.concurrent.atomic.LongAdder,
+ * 							java.util.concurrent.locks.StampedLock
+ * 	Author:            	Michael Ngo (https://github.com/yeeshue99)
+ * 	Date Modified:      10/18/2026 by Michael Ngo
+ * 	Modified By:        Michael Ngo
+ *
+ * 	Purpose:			Remember how hands split into melds across every game
+ */
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+
+/*
+ * Class:				HandCache
+ * Purpose:				Bounded cache of MeldSolver answers shared by every thread.
+ * 							A hand's bitboard is already a canonical key, since it does
+ * 							not depend on the order the cards were picked up. The cache
+ * 							is 4 way set associative: a hand can only live in the 4 ways
+ * 							of the set its hash picks. Sets are first in, first out: a
+ * 							new hand goes in front and pushes the oldest one out the
+ * 							back. Hits write nothing, so they never fight over cache
+ * 							lines, and a set's keys and answers share one line. Sets are
+ * 							split over striped locks. Lookups read optimistically and
+ * 							only take the lock when a writer got in the way. Hands
+ * 							without a choice of melds skip the cache, the solver answers
+ * 							them faster than a lookup could
+ * Methods:				Shared, Split, Melded, Deadwood, GetHits, GetMisses, GetEvictions,
+ * 							GetCapacity, HitRate, Report, Clear, Info, IsWorthKeeping, Probe,
+ * 							Fill, Pack, Set
+ */
+public class HandCache {
+
+	// Hands one set can hold
+	public static final int WAYS = 4;
+
+	// Longs per set in the table, the keys then the info of each way
+	private static final int STRIDE = 2 * WAYS;
+
+	// Locks the sets are spread over, must be a power of two
+	private static final int STRIPES = 64;
+
+	// Entries in the shared cache, set with -Drummy.handcache, 0 turns it off
+	private static final HandCache SHARED = new HandCache(Integer.getInteger("rummy.handcache", 1 << 16));
+
+	// Entry info holds the melded cards in the low 52 bits and deadwood above them
+	private static final int DEADWOOD_SHIFT = Card.DECK_SIZE;
+
+	private final int setBits;
+	private final long[] table;
+	private final long[][] melds;
+	private final StampedLock[] locks = new StampedLock[STRIPES];
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+
+	/*
+	 * Function:			Initialize
+	 * Params: 				Most hands to hold, rounded up to a power of two, 0 for a cache
+	 * 							that sends every hand straight to the solver(int)
+	 * Purpose:				Initializes an empty cache
+	 * Returns:
+	 */
+	public HandCache(int capacity) {
+		if (capacity <= 0) {
+			this.setBits = 0;
+			this.table = null;
+			this.melds = null;
+			return;
+		}
+		int sets = Integer.highestOneBit(Math.max(STRIPES, (capacity + WAYS - 1) / WAYS) - 1) << 1;
+		this.setBits = Integer.numberOfTrailingZeros(sets);
+		this.table = new long[sets * STRIDE];
+		this.melds = new long[sets * WAYS][];
+		for (int i = 0; i < STRIPES; i++) {
+			locks[i] = new StampedLock();
+		}
+	}
+
+	/*
+	 * Function:			Shared
+	 * Params:
+	 * Purpose:				Getter for the cache every game shares
+	 * Returns: 			Shared cache(HandCache)
+	 */
+	public static HandCache Shared() {
+		return SHARED;
+	}
+
+	/*
+	 * Function:			Split
+	 * Params: 				player's hand(long), array to fill with meld bitboards(long[])
+	 * Purpose:				Find the melds that leave the least deadwood in the hand
+	 * Returns: 			Number of melds written to the array(int)
+	 */
+	public int Split(long hand, long[] meldsOut) {
+		if (table == null || !IsWorthKeeping(hand)) {
+			return MeldSolver.Shared().Solve(hand, meldsOut);
+		}
+		int set = Set(hand);
+		StampedLock lock = locks[set & (STRIPES - 1)];
+		long stamp = lock.tryOptimisticRead();
+		int way = Probe(hand, set);
+		long[] found = way >= 0 ? melds[set * WAYS + way] : null;
+		if (found == null || !lock.validate(stamp)) {
+			found = Fill(hand, set, lock);
+		}
+		else {
+			hits.increment();
+		}
+		System.arraycopy(found, 0, meldsOut, 0, found.length);
+		return found.length;
+	}
+
+	/*
+	 * Function:			Melded
+	 * Params: 				player's hand(long)
+	 * Purpose:				Find every card the best split lays down
+	 * Returns: 			Bitboard of melded cards(long)
+	 */
+	public long Melded(long hand) {
+		return Info(hand) & Bitboard.FULL;
+	}
+
+	/*
+	 * Function:			Deadwood
+	 * Params: 				player's hand(long)
+	 * Purpose:				Find the fewest points the hand can be left holding
+	 * Returns: 			Deadwood points(int)
+	 */
+	public int Deadwood(long hand) {
+		return (int) (Info(hand) >>> DEADWOOD_SHIFT);
+	}
+
+	/*
+	 * Function:			GetHits
+	 * Params:
+	 * Purpose:				Getter for lookups answered from the cache
+	 * Returns: 			Hits(long)
+	 */
+	public long GetHits() {
+		return hits.sum();
+	}
+
+	/*
+	 * Function:			GetMisses
+	 * Params:
+	 * Purpose:				Getter for lookups that had to run the solver
+	 * Returns: 			Misses(long)
+	 */
+	public long GetMisses() {
+		return misses.sum();
+	}
+
+	/*
+	 * Function:			GetEvictions
+	 * Params:
+	 * Purpose:				Getter for hands pushed out to make room
+	 * Returns: 			Evictions(long)
+	 */
+	public long GetEvictions() {
+		return evictions.sum();
+	}
+
+	/*
+	 * Function:			GetCapacity
+	 * Params:
+	 * Purpose:				Getter for the most hands the cache holds
+	 * Returns: 			Capacity, 0 when the cache is off(int)
+	 */
+	public int GetCapacity() {
+		return table == null ? 0 : melds.length;
+	}
+
+	/*
+	 * Function:			HitRate
+	 * Params:
+	 * Purpose:				Find the share of lookups answered from the cache
+	 * Returns: 			Hit rate from 0 to 1(double)
+	 */
+	public double HitRate() {
+		long hit = GetHits();
+		long total = hit + GetMisses();
+		return total == 0 ? 0.0 : (double) hit / total;
+	}
+
+	/*
+	 * Function:			Report
+	 * Params:
+	 * Purpose:				Lay out the cache statistics as one line of text
+	 * Returns: 			Report(String)
+	 */
+	public String Report() {
+		return String.format("Hand cache: %d entries, %d hits, %d misses, %d evictions, %.1f%% hit rate",
+				GetCapacity(), GetHits(), GetMisses(), GetEvictions(), 100 * HitRate());
+	}
+
+	/*
+	 * Function:			Clear
+	 * Params:
+	 * Purpose:				Drop every hand and reset the statistics
+	 * Returns:
+	 */
+	public void Clear() {
+		if (table != null) {
+			for (int stripe = 0; stripe < STRIPES; stripe++) {
+				long stamp = locks[stripe].writeLock();
+				for (int set = stripe; set < melds.length / WAYS; set += STRIPES) {
+					Arrays.fill(table, set * STRIDE, (set + 1) * STRIDE, 0L);
+					Arrays.fill(melds, set * WAYS, (set + 1) * WAYS, null);
+				}
+				locks[stripe].unlockWrite(stamp);
+			}
+		}
+		hits.reset();
+		misses.reset();
+		evictions.reset();
+	}
+
+	/*
+	 * Function:			Info
+	 * Params: 				player's hand(long)
+	 * Purpose:				Find a hand's melded cards and deadwood packed together
+	 * Returns: 			Entry info(long)
+	 */
+	private long Info(long hand) {
+		if (table == null || !IsWorthKeeping(hand)) {
+			return Pack(hand, MeldSolver.Shared().BestMelds(hand));
+		}
+		int set = Set(hand);
+		StampedLock lock = locks[set & (STRIPES - 1)];
+		long stamp = lock.tryOptimisticRead();
+		int way = Probe(hand, set);
+		long found = way >= 0 ? table[set * STRIDE + WAYS + way] : 0L;
+		if (way >= 0 && lock.validate(stamp)) {
+			hits.increment();
+			return found;
+		}
+		long melded = 0L;
+		for (long meld : Fill(hand, set, lock)) {
+			melded |= meld;
+		}
+		return Pack(hand, melded);
+	}
+
+	/*
+	 * Function:			IsWorthKeeping
+	 * Params: 				player's hand(long)
+	 * Purpose:				Check a hand has a real choice of melds. Hands with no meld or
+	 * 							only one are answered faster than they can be looked up
+	 * Returns: 			Whether the hand goes through the cache(boolean)
+	 */
+	private static boolean IsWorthKeeping(long hand) {
+		return Bitboard.Count(MeldSolver.Candidates(hand)) > MeldSolver.SINGLE_MELD;
+	}
+
+	/*
+	 * Function:			Probe
+	 * Params: 				player's hand(long), set it lives in(int)
+	 * Purpose:				Look through a set for a hand
+	 * Returns: 			Way holding the hand, -1 if none(int)
+	 */
+	private int Probe(long hand, int set) {
+		int first = set * STRIDE;
+		for (int way = 0; way < WAYS; way++) {
+			if (table[first + way] == hand) {
+				return way;
+			}
+		}
+		return -1;
+	}
+
+	/*
+	 * Function:			Fill
+	 * Params: 				player's hand(long), set it lives in(int), lock of the set's
+	 * 							stripe(StampedLock)
+	 * Purpose:				Handle a miss: solve the hand outside the lock, then put the
+	 * 							answer at the front of its set. Two threads missing on one
+	 * 							hand may both solve it, only the first answer is kept
+	 * Returns: 			Melds of the best split(long[])
+	 */
+	private long[] Fill(long hand, int set, StampedLock lock) {
+		misses.increment();
+		MeldSolver solver = MeldSolver.Shared();
+		int count = solver.Solve(hand, solver.scratch);
+		long[] found = new long[count];
+		long melded = 0L;
+		for (int i = 0; i < count; i++) {
+			found[i] = solver.scratch[i];
+			melded |= found[i];
+		}
+		long packed = Pack(hand, melded);
+
+		int first = set * STRIDE;
+		int firstMeld = set * WAYS;
+		long stamp = lock.writeLock();
+		try {
+			if (Probe(hand, set) >= 0) {
+				return found;
+			}
+			if (melds[firstMeld + WAYS - 1] != null) {
+				evictions.increment();
+			}
+			for (int way = WAYS - 1; way > 0; way--) {
+				table[first + way] = table[first + way - 1];
+				table[first + WAYS + way] = table[first + WAYS + way - 1];
+				melds[firstMeld + way] = melds[firstMeld + way - 1];
+			}
+			table[first] = hand;
+			table[first + WAYS] = packed;
+			melds[firstMeld] = found;
+		}
+		finally {
+			lock.unlockWrite(stamp);
+		}
+		return found;
+	}
+
+	/*
+	 * Function:			Pack
+	 * Params: 				player's hand(long), cards the best split lays down(long)
+	 * Purpose:				Pack the melded cards and the deadwood left into one entry
+	 * Returns: 			Entry info(long)
+	 */
+	private static long Pack(long hand, long melded) {
+		return melded | ((long) MeldSolver.Points(hand & ~melded) << DEADWOOD_SHIFT);
+	}
+
+	/*
+	 * Function:			Set
+	 * Params: 				player's hand(long)
+	 * Purpose:				Pick the set a hand lives in
+	 * Returns: 			Set index(int)
+	 */
+	private int Set(long hand) {
+		return (int) ((hand * 0x9E3779B97F4A7C15L) >>> (64 - setBits));
+	}
+}
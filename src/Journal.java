@@ -0,0 +1,242 @@
+/*
+ * 	File:				Journal.java
+ * 	Associated Files:	Deck.java, Rummy.java, Replay.java, Simulation.java
+ * 	Packages Needed:	java.io.Closeable, java.io.IOException, java.io.UncheckedIOException,
+ * 							java.nio.*, java.nio.channels.FileChannel, java.nio.file.*
+ * 	Author:            	Michael Ngo (https://github.com/yeeshue99)
+ * 	Date Modified:      10/18/2026 by Michael Ngo
+ * 	Modified By:        Michael Ngo
+ *
+ * 	Purpose:			Append game events to a binary file of fixed width records
+ */
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/*
+ * Class:				Journal
+ * Purpose:				Memory mapped file of 8 byte game event records. Each record
+ * 							packs an action in the top 6 bits, a seat in the next 6 and
+ * 							a 52 bit payload that is a bitboard of the cards involved,
+ * 							or a plain number for START and END. Games buffer their
+ * 							records and append them in one block when they finish, so
+ * 							parallel games can share a journal without mixing records
+ * Methods:				Open, Append, Size, close, Encode, Action, Player, Payload,
+ * 							ActionName, Remap
+ */
+public class Journal implements Closeable {
+
+	// Record actions
+	public static final int START = 1;
+	public static final int DEAL = 2;
+	public static final int TURN_UP = 3;
+	public static final int TURN = 4;
+	public static final int DRAW_DECK = 5;
+	public static final int DRAW_DISCARD = 6;
+	public static final int MELD = 7;
+	public static final int LAY_OFF = 8;
+	public static final int DISCARD = 9;
+	public static final int RECYCLE = 10;
+	public static final int END = 11;
+
+	private static final String[] ACTION_NAMES = { "?", "START", "DEAL", "TURN_UP", "TURN", "DRAW_DECK",
+			"DRAW_DISCARD", "MELD", "LAY_OFF", "DISCARD", "RECYCLE", "END" };
+
+	// Record layout
+	public static final int RECORD_BYTES = Long.BYTES;
+	public static final int PLAYER_SHIFT = Card.DECK_SIZE;
+	public static final int ACTION_SHIFT = PLAYER_SHIFT + 6;
+	public static final int MAX_PLAYERS = 1 << (ACTION_SHIFT - PLAYER_SHIFT);
+	public static final long PAYLOAD_MASK = (1L << PLAYER_SHIFT) - 1;
+
+	// File layout: magic, version and record count, then the records
+	static final int MAGIC = 0x524D4A31;
+	static final int VERSION = 1;
+	static final int HEADER_BYTES = 16;
+
+	// Records mapped at a time while writing
+	private static final long CHUNK_RECORDS = 1L << 23;
+
+	private final FileChannel channel;
+	private final MappedByteBuffer header;
+	private MappedByteBuffer chunk;
+	private LongBuffer records;
+	private long chunkStart;
+	private long size;
+
+	/*
+	 * Function:			Initialize
+	 * Params: 				Open file(FileChannel), records already in the file(long)
+	 * Purpose:				Initializes a journal ready to append after the last record
+	 * Returns:
+	 */
+	private Journal(FileChannel channel, long size) throws IOException {
+		this.channel = channel;
+		this.size = size;
+		header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+		header.order(ByteOrder.LITTLE_ENDIAN);
+		header.putInt(0, MAGIC);
+		header.putInt(4, VERSION);
+		header.putLong(8, size);
+		Remap(size);
+	}
+
+	/*
+	 * Function:			Open
+	 * Params: 				Journal file(Path)
+	 * Purpose:				Create a journal, or reopen one to append more games
+	 * Returns: 			Journal ready for writing(Journal)
+	 */
+	public static Journal Open(Path file) {
+		try {
+			FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+					StandardOpenOption.WRITE);
+			long size = 0;
+			if (channel.size() >= HEADER_BYTES) {
+				MappedByteBuffer existing = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+				existing.order(ByteOrder.LITTLE_ENDIAN);
+				if (existing.getInt(0) != MAGIC || existing.getInt(4) != VERSION) {
+					channel.close();
+					throw new IllegalArgumentException(file + " is not a version " + VERSION + " game journal");
+				}
+				size = existing.getLong(8);
+			}
+			return new Journal(channel, size);
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/*
+	 * Function:			Append
+	 * Params: 				Records of one game(long[]), number of records(int)
+	 * Purpose:				Copy a finished game onto the end of the journal
+	 * Returns:
+	 */
+	public synchronized void Append(long[] events, int count) {
+		int done = 0;
+		while (done < count) {
+			if (size - chunkStart >= CHUNK_RECORDS) {
+				Remap(size);
+			}
+			int room = (int) Math.min(CHUNK_RECORDS - (size - chunkStart), count - done);
+			records.position((int) (size - chunkStart));
+			records.put(events, done, room);
+			done += room;
+			size += room;
+		}
+		header.putLong(8, size);
+	}
+
+	/*
+	 * Function:			Size
+	 * Params:
+	 * Purpose:				Getter for the number of records written
+	 * Returns: 			Records in the journal(long)
+	 */
+	public synchronized long Size() {
+		return size;
+	}
+
+	/*
+	 * Function:			close
+	 * Params:
+	 * Purpose:				Flush the records and trim the file to its last record
+	 * Returns:
+	 */
+	@Override
+	public synchronized void close() {
+		try {
+			chunk.force();
+			header.force();
+			channel.truncate(HEADER_BYTES + size * RECORD_BYTES);
+			channel.close();
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/*
+	 * Function:			Encode
+	 * Params: 				Action(int), seat(int), cards or number(long)
+	 * Purpose:				Pack one event into a record
+	 * Returns: 			Record(long)
+	 */
+	public static long Encode(int action, int player, long payload) {
+		return ((long) action << ACTION_SHIFT) | ((long) player << PLAYER_SHIFT) | (payload & PAYLOAD_MASK);
+	}
+
+	/*
+	 * Function:			Action
+	 * Params: 				Record(long)
+	 * Purpose:				Unpack the action of a record
+	 * Returns: 			Action(int)
+	 */
+	public static int Action(long record) {
+		return (int) (record >>> ACTION_SHIFT);
+	}
+
+	/*
+	 * Function:			Player
+	 * Params: 				Record(long)
+	 * Purpose:				Unpack the seat of a record
+	 * Returns: 			Seat(int)
+	 */
+	public static int Player(long record) {
+		return (int) (record >>> PLAYER_SHIFT) & (MAX_PLAYERS - 1);
+	}
+
+	/*
+	 * Function:			Payload
+	 * Params: 				Record(long)
+	 * Purpose:				Unpack the cards or number of a record
+	 * Returns: 			Payload(long)
+	 */
+	public static long Payload(long record) {
+		return record & PAYLOAD_MASK;
+	}
+
+	/*
+	 * Function:			ActionName
+	 * Params: 				Action(int)
+	 * Purpose:				Find the printable name of an action
+	 * Returns: 			Name of action(String)
+	 */
+	public static String ActionName(int action) {
+		if (action <= 0 || action >= ACTION_NAMES.length) {
+			return ACTION_NAMES[0];
+		}
+		return ACTION_NAMES[action];
+	}
+
+	/*
+	 * Function:			Remap
+	 * Params: 				Record the new window starts at(long)
+	 * Purpose:				Map the next window of the file for writing
+	 * Returns:
+	 */
+	private void Remap(long start) {
+		try {
+			if (chunk != null) {
+				chunk.force();
+			}
+			chunkStart = start;
+			chunk = channel.map(FileChannel.MapMode.READ_WRITE, HEADER_BYTES + start * RECORD_BYTES,
+					CHUNK_RECORDS * RECORD_BYTES);
+			chunk.order(ByteOrder.LITTLE_ENDIAN);
+			records = chunk.asLongBuffer();
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
@@ -1,7 +1,11 @@
 /*	
  * 	File:				Main.java
- * 	Associated Files:	Deck.java, Rummy.java, Card.java
- * 	Packages Needed:	
+ * 	Associated Files:	Deck.java, Rummy.java, Card.java, ConsolePlayer.java, MctsPlayer.java, Simulation.java, Benchmark.java, Journal.java, Replay.java,
+ * 							GameServer.java, TableClient.java, Metrics.java, CommandReader.java, ScriptDriver.java,
+ * 							HandCache.java, Tournament.java, Checkpoint.java, GameStats.java, GameTable.java,
+ * 							GameQuery.java, Endgame.java, SelfCheck.java
+ * 	Packages Needed:	java.io.*, java.nio.charset.StandardCharsets, java.nio.file.*,
+ * 							java.util.Arrays, java.util.concurrent.ScheduledExecutorService
  * 	Author:            	Michael Ngo (https://github.com/yeeshue99)
  * 	Date Modified:      8/17/2020 by Michael Ngo
  * 	Modified By:        Michael Ngo
@@ -9,31 +13,435 @@
  * 	Purpose:			Run a simple War game in console
  */
 
-import java.util.Scanner;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.concurrent.ScheduledExecutorService;
 
 /*
  * Class:				Main
  * Purpose:				Run the code
- * Methods:				main
+ * Methods:				main, Simulate, ShowReplay, Serve, Load, RunScript, RecordScript,
+ * 							RunTournament, Query, Solve
  */
 public class Main {
 	
 	/*
 	 * Function:			main 
-	 * Params: 				commandLineArguments(String[]) {Not used}
-	 * Purpose:				Handle overhead components to structure Rummy game
+	 * Params: 				commandLineArguments(String[]) {"simulate" games players [seed] [journal] plays
+	 * 							bot games, "replay" journal game [turn] rebuilds a recorded game,
+	 * 							"serve" port hosts tables, "load" tables players [bots] plays
+	 * 							scripted clients against a local server, "script" file replays
+	 * 							recorded console games, "record" file games players [rounds]
+	 * 							[seed] writes a script from bot games, "tournament" roundrobin|swiss
+	 * 							rounds games seats seed strategies... ranks strategies,
+	 * 							"resume" file picks a console game back up from its checkpoint,
+	 * 							"query" table [players] [opening value] totals games from a game
+	 * 							table, "solve" file [turns] finds who wins a checkpointed game
+	 * 							with every card in view, "benchmark" smoke tests the engine hot paths,
+	 * 							"check" [melds|endgame|state] [count] [seed] checks the meld and
+	 * 							endgame solvers against brute force and saved games against
+	 * 							untouched ones, "seed" n replays a dealt game,
+	 * 							"versus" [ms] seats search bots against player #1}
+	 * Purpose:				Handle overhead components to structure Rummy game. With
+	 * 							-Drummy.checkpoint=file a console game is saved every turn.
+	 * 							-Drummy.checkpoint.turns=n saves every n turns instead, and
+	 * 							-Drummy.checkpoint.millis=ms also saves once that long has
+	 * 							passed since the last save. With only millis set, time alone
+	 * 							decides. Both apply to resumed games as well. Typing quit, or input running out, ends a console game
+	 * 							without a winner
 	 * Returns: 			
 	 */
 	public static void main(String[] args) {
-        Scanner sc = new Scanner(System.in);
-        System.out.print("Welcome to Rummy. Let's get ready to play! ");
-        System.out.print("Enter number of players: ");
-        int numPlayers = sc.nextInt();
-        Rummy rummyGame = new Rummy(numPlayers);
+        if (args.length >= 3 && args[0].equalsIgnoreCase("simulate")) {
+            long seed = args.length >= 4 ? Long.parseLong(args[3]) : System.nanoTime();
+            String journal = args.length >= 5 ? args[4] : null;
+            Simulate(Integer.parseInt(args[1]), Integer.parseInt(args[2]), seed, journal);
+            return;
+        }
+        if (args.length >= 2 && args[0].equalsIgnoreCase("query")) {
+            int players = args.length >= 3 ? Integer.parseInt(args[2]) : 0;
+            int opening = args.length >= 4 ? Card.CardEquivalent(args[3].toUpperCase()) : 0;
+            Query(args[1], players, opening);
+            return;
+        }
+        if (args.length >= 2 && args[0].equalsIgnoreCase("solve")) {
+            int turns = args.length >= 3 ? Integer.parseInt(args[2]) : Endgame.DEFAULT_TURNS;
+            Solve(args[1], turns);
+            return;
+        }
+        if (args.length >= 3 && args[0].equalsIgnoreCase("replay")) {
+            int turn = args.length >= 4 ? Integer.parseInt(args[3]) : Integer.MAX_VALUE;
+            ShowReplay(args[1], Long.parseLong(args[2]), turn);
+            return;
+        }
+        if (args.length >= 2 && args[0].equalsIgnoreCase("serve")) {
+            Serve(Integer.parseInt(args[1]));
+            return;
+        }
+        if (args.length >= 3 && args[0].equalsIgnoreCase("load")) {
+            boolean bots = args.length >= 4 && args[3].equalsIgnoreCase("bots");
+            Load(Integer.parseInt(args[1]), Integer.parseInt(args[2]), bots);
+            return;
+        }
+        if (args.length >= 1 && args[0].equalsIgnoreCase("benchmark")) {
+            Benchmark.RunAll();
+            return;
+        }
+        if (args.length >= 1 && args[0].equalsIgnoreCase("check")) {
+            String kind = args.length >= 2 ? args[1] : "all";
+            int count = args.length >= 3 ? Integer.parseInt(args[2]) : 0;
+            long seed = args.length >= 4 ? Long.parseLong(args[3]) : System.nanoTime();
+            RunChecks(kind, count, seed);
+            return;
+        }
+        if (args.length >= 2 && args[0].equalsIgnoreCase("script")) {
+            RunScript(args[1]);
+            return;
+        }
+        if (args.length >= 4 && args[0].equalsIgnoreCase("record")) {
+            int rounds = args.length >= 5 ? Integer.parseInt(args[4]) : Simulation.ROUND_LIMIT;
+            long seed = args.length >= 6 ? Long.parseLong(args[5]) : System.nanoTime();
+            RecordScript(args[1], Integer.parseInt(args[2]), Integer.parseInt(args[3]), rounds, seed);
+            return;
+        }
+        if (args.length >= 7 && args[0].equalsIgnoreCase("tournament")) {
+            String[] strategies = Arrays.copyOfRange(args, 6, args.length);
+            RunTournament(args[1], Integer.parseInt(args[2]), Integer.parseInt(args[3]), Integer.parseInt(args[4]),
+                    Long.parseLong(args[5]), strategies);
+            return;
+        }
+        CommandReader in = new CommandReader(System.in);
+        boolean resume = args.length >= 2 && args[0].equalsIgnoreCase("resume");
+        Rummy rummyGame;
+        if (resume) {
+            rummyGame = Checkpoint.Load(Paths.get(args[1]), new Renderer(System.out, Renderer.NORMAL));
+        }
+        else {
+            System.out.print("Welcome to Rummy. Let's get ready to play! ");
+            System.out.print("Enter number of players: ");
+            Command command;
+            while ((command = in.Next()) != Command.NUMBER || in.Number() < 2 || in.Number() > Rummy.MAX_PLAYERS) {
+                if (command == Command.END || command == Command.QUIT) {
+                    System.out.println();
+                    System.out.println("No game was started. Goodbye!");
+                    return;
+                }
+                System.out.printf("Enter number of players, 2 to %d: ", Rummy.MAX_PLAYERS);
+            }
+            int numPlayers = (int) in.Number();
+            if (args.length >= 2 && args[0].equalsIgnoreCase("seed")) {
+                rummyGame = new Rummy(numPlayers, Long.parseLong(args[1]));
+            }
+            else {
+                rummyGame = new Rummy(numPlayers);
+            }
+        }
+        String checkpointFile = resume ? args[1] : System.getProperty("rummy.checkpoint");
+        if (checkpointFile != null) {
+            long everyMillis = Long.getLong("rummy.checkpoint.millis", 0L);
+            int everyTurns = Integer.getInteger("rummy.checkpoint.turns", everyMillis > 0 ? Integer.MAX_VALUE : 1);
+            rummyGame.SetCheckpoint(new Checkpoint(Paths.get(checkpointFile), everyTurns, everyMillis));
+        }
 
-        int[] winner = rummyGame.PlayGame(sc);
+        boolean versus = args.length >= 1 && args[0].equalsIgnoreCase("versus");
+        long thinkMillis = versus && args.length >= 2 ? Long.parseLong(args[1]) : 500;
+        int threads = Runtime.getRuntime().availableProcessors();
+        Player[] players = new Player[rummyGame.GetNumPlayers()];
+        for (int i = 0; i < players.length; i++) {
+            if (versus && i > 0) {
+                players[i] = new MctsPlayer(thinkMillis, threads, System.nanoTime() + i);
+            }
+            else {
+                players[i] = new ConsolePlayer(in);
+            }
+        }
+
+        int[] winner;
+        try {
+            winner = resume ? rummyGame.Resume(players) : rummyGame.PlayGame(players);
+        }
+        catch (ConsolePlayer.InputEnded e) {
+            rummyGame.GetRenderer().Flush();
+            System.out.println();
+            System.out.println("The game was stopped before it was over. Goodbye!");
+            if (checkpointFile != null) {
+                System.out.printf("Pick it back up with: resume %s%n", checkpointFile);
+            }
+            return;
+        }
+        finally {
+            for (int i = 0; i < players.length; i++) {
+                if (players[i] instanceof MctsPlayer) {
+                    ((MctsPlayer) players[i]).Shutdown();
+                }
+            }
+        }
         winner[0] = winner[0] + 1;
         System.out.printf("Conratulations, player #%d, you won!", (winner[0]));
         System.out.printf("Your score was: %d%n", (winner[1]));
     }
+
+	/*
+	 * Function:			Simulate
+	 * Params: 				Number of games(int), number of players(int), run seed(long),
+	 * 							journal file, or null(String)
+	 * Purpose:				Play bot games on every core and print wins per seat, after a
+	 * 							summary of game lengths, scores and melds. With
+	 * 							-Drummy.metrics=true the metrics go to JMX, print every ten
+	 * 							seconds and print once more at the end. With
+	 * 							-Drummy.table=file every game is added to a game table
+	 * Returns: 			
+	 */
+	private static void Simulate(int games, int numPlayers, long seed, String journalFile) {
+        int threads = Runtime.getRuntime().availableProcessors();
+        ScheduledExecutorService reporter = null;
+        if (Metrics.ENABLED) {
+            Metrics.Register();
+            reporter = Metrics.StartReporter(System.out, 10);
+        }
+        long start = System.nanoTime();
+        String tableFile = System.getProperty("rummy.table");
+        GameStats stats;
+        try (Journal journal = journalFile == null ? null : Journal.Open(Paths.get(journalFile));
+                GameTable table = tableFile == null ? null : GameTable.Open(Paths.get(tableFile))) {
+            stats = Simulation.RunGames(games, numPlayers, threads, seed, journal, table);
+            if (journal != null) {
+                System.out.printf("Journal %s holds %d records%n", journalFile, journal.Size());
+            }
+            if (table != null) {
+                System.out.printf("Table %s holds %d games%n", tableFile, table.Rows());
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("Played %d games on %d threads in %.2f seconds (run seed %d)%n", games, threads, elapsed / 1e9, seed);
+        System.out.print(stats.Report(numPlayers));
+        for (int i = 0; i < numPlayers; i++) {
+            System.out.printf("Player #%d won %d games%n", (i + 1), stats.GetWins(i));
+        }
+        System.out.println(HandCache.Shared().Report());
+        if (reporter != null) {
+            reporter.shutdown();
+            System.out.printf("Metrics for the run (ns):%n%s", Metrics.TakeSnapshot().Report());
+        }
+    }
+
+	/*
+	 * Function:			Query
+	 * Params: 				Game table file(String), player count to match, 0 for any(int),
+	 * 							value of the card turned up after the deal, 0 for any(int)
+	 * Purpose:				Scan a game table and print win rate by seat and averages of
+	 * 							the games that match
+	 * Returns: 			
+	 */
+	private static void Query(String tableFile, int players, int opening) {
+        try (GameQuery query = GameQuery.Open(Paths.get(tableFile))) {
+            if (players > 0) {
+                query.Where(GameTable.PLAYERS, players, players);
+            }
+            if (opening > 0) {
+                query.WhereIn(GameTable.OPENING, Bitboard.RankCards(1L << (opening - 1)));
+            }
+            long start = System.nanoTime();
+            long matched = query.Run();
+            long elapsed = System.nanoTime() - start;
+            System.out.printf("%d of %d games matched in %.1f ms%n", matched, query.Rows(), elapsed / 1e6);
+            StringBuilder rates = new StringBuilder("Win rate   ");
+            for (int seat = 0; seat < Rummy.MAX_PLAYERS && query.GetSeatGames(seat) > 0; seat++) {
+                rates.append(String.format(" #%d %.1f%%", (seat + 1), 100.0 * query.WinRate(seat)));
+            }
+            System.out.println(rates);
+            System.out.printf("Mean score %.1f, rounds %.1f, dealt melds %.2f%n", query.Mean(GameTable.SCORE),
+                    query.Mean(GameTable.ROUNDS), query.Mean(GameTable.DEALT_MELDS));
+        }
+    }
+
+	/*
+	 * Function:			Solve
+	 * Params: 				Checkpoint file(String), most turns to search(int)
+	 * Purpose:				Solve a checkpointed single deck game for the seat to move and
+	 * 							print the best move and the line of play
+	 * Returns: 			
+	 */
+	private static void Solve(String checkpointFile, int turns) {
+        Rummy game = Checkpoint.Load(Paths.get(checkpointFile), Renderer.SILENT);
+        Endgame solver = new Endgame(22, Runtime.getRuntime().availableProcessors());
+        try {
+            Endgame.Solution solution = solver.Solve(game, game.next, turns);
+            System.out.printf("Player #%d %s with best play%s%n", (game.next + 1), solution.Wins() ? "wins" : "loses",
+                    solution.IsExact() ? "" : " within " + turns + " turns, then the lowest hand");
+            if (solution.GetDraw() != null) {
+                System.out.printf("Draw from the %s and %s%n", solution.GetDraw(), solution.GetDiscard() == Card.NO_CARD
+                        ? "go out" : "throw out " + Card.Label(solution.GetDiscard()));
+            }
+            System.out.print(solution.GetLine());
+            System.out.printf("Searched %d positions in %.1f ms%n", solution.GetNodes(), solution.GetMillis());
+        }
+        finally {
+            solver.Shutdown();
+        }
+    }
+
+	/*
+	 * Function:			ShowReplay
+	 * Params: 				Journal file(String), game to show(long), turn to stop after(int)
+	 * Purpose:				Rebuild a recorded game and print the table
+	 * Returns: 			
+	 */
+	private static void ShowReplay(String journalFile, long game, int turn) {
+        try (Replay replay = Replay.Open(Paths.get(journalFile))) {
+            System.out.printf("Game %d of %d%n", game, replay.Games());
+            replay.Load(game, turn);
+            replay.Print(new Renderer(System.out, Renderer.NORMAL));
+        }
+    }
+
+	/*
+	 * Function:			Serve
+	 * Params: 				Port to listen on(int)
+	 * Purpose:				Host tables until the process is stopped
+	 * Returns: 			
+	 */
+	private static void Serve(int port) {
+        GameServer server = new GameServer(port);
+        server.Start();
+        System.out.printf("Serving Rummy tables on port %d%n", server.GetPort());
+        while (true) {
+            try {
+                Thread.sleep(60000);
+            }
+            catch (InterruptedException e) {
+                break;
+            }
+            System.out.printf("%d tables in play, %d games played%n", server.GetTablesOpen(), server.GetGamesPlayed());
+        }
+        server.Stop();
+    }
+
+	/*
+	 * Function:			Load
+	 * Params: 				Tables to fill(int), seats per table(int), whether one client
+	 * 							plays bots at each table(boolean)
+	 * Purpose:				Start a local server, play every table at once with scripted
+	 * 							clients and print how long answers took
+	 * Returns: 			
+	 */
+	private static void Load(int tables, int numPlayers, boolean bots) {
+        GameServer server = new GameServer(0);
+        server.Start();
+        long start = System.nanoTime();
+        long[] latencies = TableClient.RunLoad("localhost", server.GetPort(), tables, numPlayers, bots);
+        long elapsed = System.nanoTime() - start;
+        server.Stop();
+        long answers = 0;
+        for (long count : latencies) {
+            answers += count;
+        }
+        System.out.printf("%d games, %d answers in %.2f seconds%n", server.GetGamesPlayed(), answers, elapsed / 1e9);
+        long seen = 0;
+        double[] marks = { 0.5, 0.9, 0.99, 0.999 };
+        int mark = 0;
+        for (int b = 0; b < latencies.length && mark < marks.length; b++) {
+            seen += latencies[b];
+            while (mark < marks.length && seen >= marks[mark] * answers) {
+                System.out.printf("p%s answer latency under %d us%n", marks[mark] * 100, 1L << b);
+                mark++;
+            }
+        }
+    }
+
+	/*
+	 * Function:			RunScript
+	 * Params: 				Script file(String)
+	 * Purpose:				Replay every game in a script quietly and print how they ended
+	 * Returns: 			
+	 */
+	private static void RunScript(String scriptFile) {
+        ScriptDriver driver = ScriptDriver.Load(Paths.get(scriptFile));
+        long start = System.nanoTime();
+        driver.Run(Renderer.SILENT);
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("Replayed %d games in %.2f seconds%n", driver.GetGames(), elapsed / 1e9);
+        System.out.printf("%d matched, %d mismatched, %d failed%n", driver.GetMatched(), driver.GetMismatched(),
+                driver.GetFailed());
+    }
+
+	/*
+	 * Function:			RunChecks
+	 * Params: 				Which check, "melds", "endgame", "state" or "all"(String),
+	 * 							hands or games to check, or 0 for the default(int), run
+	 * 							seed(long)
+	 * Purpose:				Check the fast solvers against brute force and saved games
+	 * 							against untouched ones, and print every mismatch, then the
+	 * 							totals
+	 * Returns: 			
+	 */
+	private static void RunChecks(String kind, int count, long seed) {
+        boolean all = kind.equalsIgnoreCase("all");
+        boolean melds = all || kind.equalsIgnoreCase("melds");
+        boolean endgame = all || kind.equalsIgnoreCase("endgame");
+        boolean state = all || kind.equalsIgnoreCase("state");
+        if (!melds && !endgame && !state) {
+            System.out.println("Unknown check " + kind + ", expected melds, endgame, state or all");
+            return;
+        }
+        System.out.printf("Checking with seed %d%n", seed);
+        if (melds) {
+            SelfCheck.CheckMelds(count > 0 ? count : 100000, seed, System.out);
+        }
+        if (endgame) {
+            SelfCheck.CheckEndgame(count > 0 ? count : 300, seed, System.out);
+        }
+        if (state) {
+            SelfCheck.CheckState(count > 0 ? count : 1000, seed, System.out);
+        }
+    }
+
+	/*
+	 * Function:			RecordScript
+	 * Params: 				Script file(String), number of games(int), number of players(int),
+	 * 							round limit(int), run seed(long)
+	 * Purpose:				Write a script of bot games for the script command to replay
+	 * Returns: 			
+	 */
+	private static void RecordScript(String scriptFile, int games, int numPlayers, int rounds, long seed) {
+        try (Writer out = Files.newBufferedWriter(Paths.get(scriptFile), StandardCharsets.US_ASCII)) {
+            ScriptDriver.Record(out, games, numPlayers, rounds, seed);
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        System.out.printf("Wrote %d games to %s (run seed %d)%n", games, scriptFile, seed);
+    }
+
+	/*
+	 * Function:			RunTournament
+	 * Params: 				Format, roundrobin or swiss(String), rounds(int), games per
+	 * 							match(int), seats at each table(int), run seed(long),
+	 * 							strategy of each entrant(String[])
+	 * Purpose:				Play a tournament on every core and print the standings
+	 * Returns: 			
+	 */
+	private static void RunTournament(String format, int rounds, int games, int seats, long seed,
+            String[] strategies) {
+        int threads = Integer.getInteger("rummy.threads", Runtime.getRuntime().availableProcessors());
+        Tournament tournament = new Tournament(strategies, seats, games, threads, seed);
+        long start = System.nanoTime();
+        if (format.equalsIgnoreCase("swiss")) {
+            tournament.Swiss(rounds);
+        }
+        else if (format.equalsIgnoreCase("roundrobin")) {
+            tournament.RoundRobin(rounds);
+        }
+        else {
+            throw new IllegalArgumentException("Unknown format " + format + ", expected roundrobin or swiss");
+        }
+        long elapsed = System.nanoTime() - start;
+        tournament.PrintStandings(System.out);
+        System.out.printf("Played in %.2f seconds on %d threads (seed %d)%n", elapsed / 1e9, threads, seed);
+    }
 }
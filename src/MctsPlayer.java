@@ -0,0 +1,744 @@
+/*
+ * 	File:				MctsPlayer.java
+ * 	Associated Files:	Player.java, BotPlayer.java, Rummy.java, Deck.java
+ * 	Packages Needed:	java.util.ArrayList, java.util.Arrays, java.util.SplittableRandom,
+ * 							java.util.concurrent.*
+ * 	Author:            	Michael Ngo (https://github.com/yeeshue99)
+ * 	Date Modified:      10/18/2026 by Michael Ngo
+ * 	Modified By:        Michael Ngo
+ *
+ * 	Purpose:			Computer player that searches with information set Monte Carlo
+ * 							tree search
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+/*
+ * Class:				MctsPlayer
+ * Purpose:				Player that picks its draw source and discard with single
+ * 							observer information set Monte Carlo tree search. Each node
+ * 							of the tree is an information set as this player sees it:
+ * 							one seat's draw or discard after the draws and discards that
+ * 							led there, whatever the hidden cards are. Every iteration
+ * 							deals the hidden cards at random in a way that matches the
+ * 							discard pile, the table melds and each hand size, then plays
+ * 							the deal with the engine. In the tree every seat picks with
+ * 							UCB1 among the moves legal on that deal, counting only the
+ * 							iterations a move was legal in, with a bias toward
+ * 							BotPlayer's choice that fades as it is visited. One node is
+ * 							added per iteration, BotPlayer plays on from there, and each
+ * 							node on the path is scored for the seat that chose at it.
+ * 							Each worker thread grows its own tree before the root visit
+ * 							counts are merged and the most visited move is played
+ * Methods:				ChooseDrawLocation, ChooseMelds, ChooseLayOff, ChooseDiscard,
+ * 							GetPlayouts, Shutdown, Search, Merge, Observe, Deal, Playout,
+ * 							Rewards, LowestHand, Horizon, Won
+ */
+public class MctsPlayer implements Player {
+
+	// Rounds a playout looks ahead before the hands left are scored
+	private static final int PLAYOUT_ROUNDS = 8;
+	// Weight of the UCB1 exploration term
+	private static final double EXPLORATION = 0.3;
+	// Bias toward BotPlayer's move, divided by one more than its visits
+	private static final double BOT_BIAS = 10.0;
+	// Deadwood points per other hand that a reward of 1 stands for
+	private static final double POINTS_PER_HAND = 25.0;
+	// Deadwood gap that sets how sure a cut off playout is of going out first
+	private static final double HORIZON_POINTS = 8.0;
+
+	// Kinds of decision searched
+	private static final int DRAW = 0;
+	private static final int DISCARD = 1;
+
+	// Draw moves. A discard move is the code of the card thrown out
+	private static final int FROM_DECK = 0;
+	private static final int FROM_DISCARD = 1;
+
+	private final long budgetNanos;
+	private final long budgetPlayouts;
+	private final int threads;
+	private final SplittableRandom seeds;
+	private final ExecutorService pool;
+	private final BotPlayer fallback = new BotPlayer();
+	private boolean layOffTried = false;
+	private long playouts = 0;
+
+	/*
+	 * Class:				Observation
+	 * Purpose:				Everything the player can see when a decision is made. Shared
+	 * 							read only by the search workers
+	 * Methods:
+	 */
+	private static class Observation {
+		int me;
+		int numPlayers;
+		int rounds;
+		int roundLimit;
+		int[] handSizes;
+		Hand myHand;
+		CardStack discard;
+		MeldIndex melds;
+		int decks;
+		int[] unknown;
+	}
+
+	/*
+	 * Class:				Node
+	 * Purpose:				One information set in the tree. For each move it keeps the
+	 * 							visits, the reward summed for the seat choosing, how many
+	 * 							iterations it was legal in, and the node it leads to once it
+	 * 							has been visited before
+	 * Methods:				Select
+	 */
+	private static class Node {
+		final int seat;
+		final int kind;
+		final int[] visits;
+		final int[] available;
+		final double[] reward;
+		final Node[] children;
+
+		Node(int seat, int kind) {
+			this.seat = seat;
+			this.kind = kind;
+			int moves = kind == DRAW ? 2 : Card.DECK_SIZE;
+			visits = new int[moves];
+			available = new int[moves];
+			reward = new double[moves];
+			children = new Node[moves];
+		}
+
+		/*
+		 * Function:			Select
+		 * Params: 				Moves legal on this deal as bits(long), BotPlayer's move(int)
+		 * Purpose:				Count every legal move as available, then take BotPlayer's
+		 * 							move if it is untried, then any untried move, then the move
+		 * 							with the best UCB1 score plus the bias
+		 * Returns: 			Move picked(int)
+		 */
+		int Select(long legal, int usual) {
+			int untried = -1;
+			for (long bits = legal; bits != 0; bits &= bits - 1) {
+				int move = Long.numberOfTrailingZeros(bits);
+				available[move]++;
+				if (visits[move] == 0 && untried < 0) {
+					untried = move;
+				}
+			}
+			if (visits[usual] == 0) {
+				return usual;
+			}
+			if (untried >= 0) {
+				return untried;
+			}
+			int best = usual;
+			double bestScore = Double.NEGATIVE_INFINITY;
+			for (long bits = legal; bits != 0; bits &= bits - 1) {
+				int move = Long.numberOfTrailingZeros(bits);
+				double score = reward[move] / visits[move]
+						+ EXPLORATION * Math.sqrt(Math.log(available[move]) / visits[move]);
+				if (move == usual) {
+					score += BOT_BIAS / (visits[move] + 1);
+				}
+				if (score > bestScore) {
+					best = move;
+					bestScore = score;
+				}
+			}
+			return best;
+		}
+	}
+
+	/*
+	 * Class:				Walker
+	 * Purpose:				Plays every seat of one iteration. While the iteration is in
+	 * 							the tree, each decision with a choice is picked by its node.
+	 * 							After the first untried move, and for forced moves,
+	 * 							BotPlayer plays. The path taken is kept to back up the
+	 * 							rewards
+	 * Methods:				ChooseDrawLocation, ChooseMelds, ChooseLayOff, ChooseDiscard,
+	 * 							Begin, Decide, Backup
+	 */
+	private static class Walker implements Player {
+		private final Node root;
+		private final BotPlayer[] bots;
+		private final ArrayList<Node> path = new ArrayList<Node>();
+		private final ArrayList<Integer> moves = new ArrayList<Integer>();
+		private Node current = null;
+		private boolean inTree = false;
+
+		Walker(Node root, int numPlayers) {
+			this.root = root;
+			bots = new BotPlayer[numPlayers];
+			for (int p = 0; p < numPlayers; p++) {
+				bots[p] = new BotPlayer();
+			}
+		}
+
+		/*
+		 * Function:			ChooseDrawLocation
+		 * Params: 				Game being played(Rummy), current player(int)
+		 * Purpose:				Draw where the seat's node picks, or where BotPlayer would
+		 * Returns: 			where to draw from(String)
+		 */
+		@Override
+		public String ChooseDrawLocation(Rummy game, int player) {
+			int usual = bots[player].ChooseDrawLocation(game, player).equals("discard") ? FROM_DISCARD : FROM_DECK;
+			long legal = 0L;
+			if (game.GetDeck().CanDraw("deck")) {
+				legal |= 1L << FROM_DECK;
+			}
+			if (game.GetDeck().CanDraw("discard")) {
+				legal |= 1L << FROM_DISCARD;
+			}
+			return Decide(player, DRAW, legal, usual) == FROM_DISCARD ? "discard" : "deck";
+		}
+
+		/*
+		 * Function:			ChooseMelds
+		 * Params: 				Game being played(Rummy), current player(int)
+		 * Purpose:				Meld as BotPlayer does
+		 * Returns: 			Whether to lay down melds(boolean)
+		 */
+		@Override
+		public boolean ChooseMelds(Rummy game, int player) {
+			return bots[player].ChooseMelds(game, player);
+		}
+
+		/*
+		 * Function:			ChooseLayOff
+		 * Params: 				Game being played(Rummy), current player(int)
+		 * Purpose:				Lay off as BotPlayer does
+		 * Returns: 			Whether to try a lay off(boolean)
+		 */
+		@Override
+		public boolean ChooseLayOff(Rummy game, int player) {
+			return bots[player].ChooseLayOff(game, player);
+		}
+
+		/*
+		 * Function:			ChooseDiscard
+		 * Params: 				Game being played(Rummy), current player(int)
+		 * Purpose:				Throw out the card the seat's node picks, or BotPlayer's
+		 * Returns: 			Index of card to discard(int)
+		 */
+		@Override
+		public int ChooseDiscard(Rummy game, int player) {
+			ArrayList<Integer> hand = game.GetHand(player);
+			int usual = bots[player].ChooseDiscard(game, player);
+			int card = Decide(player, DISCARD, Bitboard.FromHand(hand), hand.get(usual));
+			return card == hand.get(usual) ? usual : hand.indexOf(card);
+		}
+
+		/*
+		 * Function:			Begin
+		 * Params:
+		 * Purpose:				Start the next iteration at the root
+		 * Returns:
+		 */
+		void Begin() {
+			path.clear();
+			moves.clear();
+			current = root;
+			inTree = true;
+		}
+
+		/*
+		 * Function:			Decide
+		 * Params: 				Seat choosing(int), kind of decision(int), moves legal on
+		 * 							this deal as bits(long), BotPlayer's move(int)
+		 * Purpose:				Pick a move in the tree, adding the node if this is its
+		 * 							first visit. The iteration leaves the tree after an untried
+		 * 							move, or if the deal reaches a node of another seat or kind
+		 * Returns: 			Move to play(int)
+		 */
+		int Decide(int seat, int kind, long legal, int usual) {
+			if (!inTree || Long.bitCount(legal) < 2) {
+				return usual;
+			}
+			Node node = current;
+			if (node == null) {
+				node = new Node(seat, kind);
+				path.get(path.size() - 1).children[moves.get(moves.size() - 1)] = node;
+			}
+			else if (node.seat != seat || node.kind != kind) {
+				inTree = false;
+				return usual;
+			}
+			int move = node.Select(legal, usual);
+			path.add(node);
+			moves.add(move);
+			if (node.visits[move] == 0) {
+				inTree = false;
+			}
+			else {
+				current = node.children[move];
+			}
+			return move;
+		}
+
+		/*
+		 * Function:			Backup
+		 * Params: 				Reward of each seat(double[])
+		 * Purpose:				Add the iteration to every move on its path, scored for the
+		 * 							seat that chose it
+		 * Returns:
+		 */
+		void Backup(double[] rewards) {
+			for (int i = 0; i < path.size(); i++) {
+				Node node = path.get(i);
+				int move = moves.get(i);
+				node.visits[move]++;
+				node.reward[move] += rewards[node.seat];
+			}
+		}
+	}
+
+	/*
+	 * Function:			Initialize
+	 * Params: 				Time to think per decision in ms(long), worker threads(int),
+	 * 							search seed(long)
+	 * Purpose:				Initializes the player and its worker threads
+	 * Returns:
+	 */
+	public MctsPlayer(long budgetMillis, int threads, long seed) {
+		this(budgetMillis, 0, threads, seed);
+	}
+
+	/*
+	 * Function:			Initialize Overload
+	 * Params: 				Time to think per decision in ms(long), iterations per
+	 * 							decision for each worker, 0 to search until the time is
+	 * 							up(long), worker threads(int), search seed(long)
+	 * Purpose:				Initializes the player. With an iteration budget the choices
+	 * 							depend only on the seed, never on how fast the machine is
+	 * Returns:
+	 */
+	public MctsPlayer(long budgetMillis, long budgetPlayouts, int threads, long seed) {
+		this.budgetNanos = budgetMillis * 1000000L;
+		this.budgetPlayouts = budgetPlayouts;
+		this.threads = Math.max(1, threads);
+		this.seeds = new SplittableRandom(seed);
+		if (this.threads > 1) {
+			pool = Executors.newFixedThreadPool(this.threads, new ThreadFactory() {
+				@Override
+				public Thread newThread(Runnable task) {
+					Thread thread = new Thread(task, "mcts-worker");
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+		}
+		else {
+			pool = null;
+		}
+	}
+
+	/*
+	 * Function:			ChooseDrawLocation
+	 * Params: 				Game being played(Rummy), current player(int)
+	 * Purpose:				Search drawing from the deck against taking the discard
+	 * Returns: 			where to draw from(String)
+	 */
+	@Override
+	public String ChooseDrawLocation(Rummy game, int player) {
+		layOffTried = false;
+		if (game.GetDiscardTop() == Card.NO_CARD) {
+			return "deck";
+		}
+		String usual = fallback.ChooseDrawLocation(game, player);
+		int move = Search(game, player, DRAW, usual.equals("discard") ? FROM_DISCARD : FROM_DECK);
+		if (move < 0) {
+			return usual;
+		}
+		return move == FROM_DISCARD ? "discard" : "deck";
+	}
+
+	/*
+	 * Function:			ChooseMelds
+	 * Params: 				Game being played(Rummy), current player(int)
+	 * Purpose:				Always lay down melds
+	 * Returns: 			Whether to lay down melds(boolean)
+	 */
+	@Override
+	public boolean ChooseMelds(Rummy game, int player) {
+		return true;
+	}
+
+	/*
+	 * Function:			ChooseLayOff
+	 * Params: 				Game being played(Rummy), current player(int)
+	 * Purpose:				Try to lay off once per turn
+	 * Returns: 			Whether to try a lay off(boolean)
+	 */
+	@Override
+	public boolean ChooseLayOff(Rummy game, int player) {
+		if (layOffTried) {
+			return false;
+		}
+		layOffTried = true;
+		return true;
+	}
+
+	/*
+	 * Function:			ChooseDiscard
+	 * Params: 				Game being played(Rummy), current player(int)
+	 * Purpose:				Search every card in hand as the discard
+	 * Returns: 			Index of card to discard(int)
+	 */
+	@Override
+	public int ChooseDiscard(Rummy game, int player) {
+		ArrayList<Integer> hand = game.GetHand(player);
+		if (hand.size() == 1) {
+			return 0;
+		}
+		int usual = fallback.ChooseDiscard(game, player);
+		int move = Search(game, player, DISCARD, hand.get(usual));
+		if (move < 0) {
+			return usual;
+		}
+		return hand.indexOf(move);
+	}
+
+	/*
+	 * Function:			GetPlayouts
+	 * Params:
+	 * Purpose:				Getter for search iterations run by this player so far
+	 * Returns: 			Number of iterations(long)
+	 */
+	public long GetPlayouts() {
+		return playouts;
+	}
+
+	/*
+	 * Function:			Shutdown
+	 * Params:
+	 * Purpose:				Stop the worker threads once the player is done
+	 * Returns:
+	 */
+	public void Shutdown() {
+		if (pool != null) {
+			pool.shutdownNow();
+		}
+	}
+
+	/*
+	 * Function:			Search
+	 * Params: 				Game being played(Rummy), current player(int), kind of
+	 * 							decision(int), BotPlayer's move(int)
+	 * Purpose:				Grow a tree on each worker until the time or iteration
+	 * 							budget is spent, then merge the root visit counts
+	 * Returns: 			Most visited move, BotPlayer's on a tie, or -1 if the hidden
+	 * 							cards don't add up(int)
+	 */
+	private int Search(Rummy game, int player, final int kind, final int reference) {
+		final Observation seen = Observe(game, player);
+		if (seen == null) {
+			return -1;
+		}
+		final long deadline = System.nanoTime() + budgetNanos;
+		final int moves = kind == DRAW ? 2 : Card.DECK_SIZE;
+		// Root visits for each move, then iterations run
+		final double[] totals = new double[moves + 1];
+
+		ArrayList<Callable<double[]>> workers = new ArrayList<Callable<double[]>>(threads);
+		for (int t = 0; t < threads; t++) {
+			final SplittableRandom rng = seeds.split();
+			workers.add(new Callable<double[]>() {
+				@Override
+				public double[] call() {
+					Node root = new Node(seen.me, kind);
+					Walker walker = new Walker(root, seen.numPlayers);
+					long iterations = 0;
+					do {
+						int[] deal = Deal(seen, rng);
+						walker.Backup(Playout(seen, kind, reference, walker, deal, rng.nextLong()));
+						iterations++;
+					} while (budgetPlayouts > 0 ? iterations < budgetPlayouts : System.nanoTime() < deadline);
+					double[] stats = new double[moves + 1];
+					for (int move = 0; move < moves; move++) {
+						stats[move] = root.visits[move];
+					}
+					stats[moves] = iterations;
+					return stats;
+				}
+			});
+		}
+
+		try {
+			if (pool == null) {
+				Merge(workers.get(0).call(), totals);
+			}
+			else {
+				for (Future<double[]> result : pool.invokeAll(workers)) {
+					Merge(result.get(), totals);
+				}
+			}
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return -1;
+		}
+		catch (ExecutionException e) {
+			throw new IllegalStateException("Search playout failed", e.getCause());
+		}
+		catch (Exception e) {
+			throw new IllegalStateException("Search playout failed", e);
+		}
+
+		playouts += (long) totals[moves];
+		int best = reference;
+		for (int move = 0; move < moves; move++) {
+			if (totals[move] > totals[best]) {
+				best = move;
+			}
+		}
+		return best;
+	}
+
+	/*
+	 * Function:			Merge
+	 * Params: 				One worker's totals(double[]), totals so far(double[])
+	 * Purpose:				Add one worker's results into the totals
+	 * Returns:
+	 */
+	private static void Merge(double[] stats, double[] totals) {
+		for (int i = 0; i < totals.length; i++) {
+			totals[i] += stats[i];
+		}
+	}
+
+	/*
+	 * Function:			Observe
+	 * Params: 				Game being played(Rummy), current player(int)
+	 * Purpose:				Record what the player can see and work out which cards are
+	 * 							hidden, counting copies when the game deals from a shoe
+	 * Returns: 			What the player knows, or null if the counts don't add up(Observation)
+	 */
+	private static Observation Observe(Rummy game, int player) {
+		Deck deck = game.GetDeck();
+		Observation seen = new Observation();
+		seen.me = player;
+		seen.numPlayers = game.GetNumPlayers();
+		seen.rounds = game.GetRounds();
+		seen.roundLimit = game.roundLimit;
+		seen.myHand = new Hand(game.GetHand(player));
+		seen.discard = deck.discard.Fork();
+		seen.melds = deck.melds.Fork();
+		seen.handSizes = new int[seen.numPlayers];
+		seen.decks = deck.GetDecks();
+
+		int[] copies = new int[Card.DECK_SIZE];
+		Arrays.fill(copies, seen.decks);
+		copies[Deck.REMOVED_CARD] = 0;
+		for (int card : seen.myHand) {
+			copies[card]--;
+		}
+		for (int meld = 0; meld < seen.melds.Size(); meld++) {
+			for (int card : seen.melds.Get(meld)) {
+				copies[card]--;
+			}
+		}
+		for (int i = 0; i < seen.discard.Size(); i++) {
+			copies[seen.discard.Get(i)]--;
+		}
+		int hidden = 0;
+		for (int card = 0; card < Card.DECK_SIZE; card++) {
+			if (copies[card] < 0) {
+				return null;
+			}
+			hidden += copies[card];
+		}
+
+		int expected = deck.deck.Size();
+		for (int i = 0; i < seen.numPlayers; i++) {
+			seen.handSizes[i] = game.GetHand(i).size();
+			if (i != player) {
+				expected += seen.handSizes[i];
+			}
+		}
+		if (hidden != expected) {
+			return null;
+		}
+		seen.unknown = new int[expected];
+		int n = 0;
+		for (int card = 0; card < Card.DECK_SIZE; card++) {
+			for (int copy = 0; copy < copies[card]; copy++) {
+				seen.unknown[n++] = card;
+			}
+		}
+		return seen;
+	}
+
+	/*
+	 * Function:			Deal
+	 * Params: 				What the player knows(Observation), random source(SplittableRandom)
+	 * Purpose:				Shuffle the hidden cards into one guess at the other hands
+	 * 							and the stock
+	 * Returns: 			Hidden cards in dealing order(int[])
+	 */
+	private static int[] Deal(Observation seen, SplittableRandom rng) {
+		int[] hidden = seen.unknown.clone();
+		for (int i = hidden.length - 1; i > 0; i--) {
+			int j = rng.nextInt(i + 1);
+			int temp = hidden[i];
+			hidden[i] = hidden[j];
+			hidden[j] = temp;
+		}
+		return hidden;
+	}
+
+	/*
+	 * Function:			Playout
+	 * Params: 				What the player knows(Observation), kind of decision(int),
+	 * 							BotPlayer's move at the root(int), player walking the
+	 * 							tree(Walker), hidden cards from Deal(int[]), seed for
+	 * 							restocking the deck(long)
+	 * Purpose:				Play one iteration on the dealt cards, walking the tree from
+	 * 							the root decision, until a hand goes out or PLAYOUT_ROUNDS
+	 * 							rounds pass
+	 * Returns: 			Reward of each seat(double[])
+	 */
+	private static double[] Playout(Observation seen, int kind, int reference, Walker walker, int[] hidden, long deckSeed) {
+
+		ArrayList<ArrayList<Integer>> hands = new ArrayList<ArrayList<Integer>>(seen.numPlayers);
+		int next = 0;
+		for (int p = 0; p < seen.numPlayers; p++) {
+			if (p == seen.me) {
+				hands.add(new Hand(seen.myHand));
+				continue;
+			}
+			Hand hand = new Hand(seen.handSizes[p] + 1);
+			for (int k = 0; k < seen.handSizes[p]; k++) {
+				hand.add(hidden[next++]);
+			}
+			hands.add(hand);
+		}
+		CardStack stock = new CardStack(seen.decks * Deck.CARDS_PER_DECK);
+		while (next < hidden.length) {
+			stock.Push(hidden[next++]);
+		}
+
+		Deck deck = new Deck(stock, seen.discard.Fork(), seen.melds.Fork(), deckSeed, seen.decks);
+		int limit = seen.rounds + PLAYOUT_ROUNDS;
+		if (seen.roundLimit > 0) {
+			limit = Math.min(limit, seen.roundLimit);
+		}
+		Rummy game = new Rummy(deck, hands, limit);
+		game.rounds = seen.rounds;
+		Player[] seats = new Player[seen.numPlayers];
+		Arrays.fill(seats, walker);
+
+		walker.Begin();
+		int start = seen.me;
+		if (kind == DISCARD) {
+			ArrayList<Integer> hand = hands.get(seen.me);
+			int card = walker.Decide(seen.me, DISCARD, Bitboard.FromHand(hand), reference);
+			deck.discard.Push(hand.remove(hand.indexOf(card)));
+			if (hand.isEmpty()) {
+				return Rewards(hands, seen.me);
+			}
+			start = seen.me + 1;
+			if (start == seen.numPlayers) {
+				// Same round count the engine's NextPlayer keeps
+				start = 0;
+				game.rounds++;
+				if (game.rounds >= limit) {
+					return Rewards(hands, limit == seen.roundLimit ? LowestHand(hands) : -1);
+				}
+			}
+		}
+		int winner = game.PlayFrom(seats, start)[0];
+		if (hands.get(winner).isEmpty() || limit == seen.roundLimit) {
+			return Rewards(hands, winner);
+		}
+		return Rewards(hands, -1);
+	}
+
+	/*
+	 * Function:			Rewards
+	 * Params: 				Hand of each seat(ArrayList<ArrayList<Integer>>), seat that
+	 * 							won, or -1 if the playout was cut off(int)
+	 * Purpose:				Score the end of a playout for every seat: the points the
+	 * 							winner takes, or each seat's Horizon score, over
+	 * 							POINTS_PER_HAND for each other hand
+	 * Returns: 			Reward of each seat(double[])
+	 */
+	private static double[] Rewards(ArrayList<ArrayList<Integer>> hands, int winner) {
+		double scale = POINTS_PER_HAND * (hands.size() - 1);
+		double[] rewards = new double[hands.size()];
+		for (int p = 0; p < hands.size(); p++) {
+			if (winner < 0) {
+				rewards[p] = Horizon(hands, p) / scale;
+			}
+			else if (p == winner) {
+				rewards[p] = Won(hands, p) / scale;
+			}
+		}
+		return rewards;
+	}
+
+	/*
+	 * Function:			LowestHand
+	 * Params: 				Hand of each seat(ArrayList<ArrayList<Integer>>)
+	 * Purpose:				Find who the engine would call the winner at the round limit
+	 * Returns: 			Seat holding the fewest points, the lower seat on a tie(int)
+	 */
+	private static int LowestHand(ArrayList<ArrayList<Integer>> hands) {
+		int best = 0;
+		for (int p = 1; p < hands.size(); p++) {
+			if (Deck.CalculateScore(hands.get(p)) < Deck.CalculateScore(hands.get(best))) {
+				best = p;
+			}
+		}
+		return best;
+	}
+
+	/*
+	 * Function:			Horizon
+	 * Params: 				Hand of each seat(ArrayList<ArrayList<Integer>>), seat to
+	 * 							score(int)
+	 * Purpose:				Score a playout cut off before anyone went out. The points on
+	 * 							the table are weighted by a guess at the chance of going
+	 * 							out first, from how far the player's deadwood is below the
+	 * 							best other hand's
+	 * Returns: 			Points the player can expect to take(double)
+	 */
+	private static double Horizon(ArrayList<ArrayList<Integer>> hands, int me) {
+		int other = Integer.MAX_VALUE;
+		for (int p = 0; p < hands.size(); p++) {
+			if (p != me) {
+				other = Math.min(other, Deck.CalculateScore(hands.get(p)));
+			}
+		}
+		int mine = Deck.CalculateScore(hands.get(me));
+		return Won(hands, me) / (1.0 + Math.exp((mine - other) / HORIZON_POINTS));
+	}
+
+	/*
+	 * Function:			Won
+	 * Params: 				Hand of each seat(ArrayList<ArrayList<Integer>>), seat to
+	 * 							score(int)
+	 * Purpose:				Score the other hands the way a tournament does when the
+	 * 							player goes out
+	 * Returns: 			Points the player would take(double)
+	 */
+	private static double Won(ArrayList<ArrayList<Integer>> hands, int me) {
+		int total = 0;
+		for (int p = 0; p < hands.size(); p++) {
+			if (p != me) {
+				total += Deck.CalculateScore(hands.get(p));
+			}
+		}
+		return total;
+	}
+}
@@ -0,0 +1,65 @@
+/*
+ * 	File:				MeldEvent.java
+ * 	Associated Files:	Deck.java, Metrics.java
+ * 	Packages Needed:	jdk.jfr.*
+ * 	Author:            	Michael Ngo (https://github.com/yeeshue99)
+ * 	Date Modified:      10/18/2026 by Michael Ngo
+ * 	Modified By:        Michael Ngo
+ *
+ * 	Purpose:			Flight Recorder event for one meld laid down
+ */
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/*
+ * Class:				MeldEvent
+ * Purpose:				Marks a meld moving from a hand onto the table. Only committed
+ * 							while a recording has rummy.Meld enabled
+ * Methods:				Emit
+ */
+@Name("rummy.Meld")
+@Label("Rummy Meld")
+@Category("Rummy")
+@Description("A matching or sequence meld laid down from a hand")
+public class MeldEvent extends Event {
+
+	@Label("Player")
+	int player;
+
+	@Label("Cards")
+	String cards;
+
+	@Label("Sequence")
+	boolean sequence;
+
+	@Label("Points")
+	int points;
+
+	/*
+	 * Function:			Emit
+	 * Params: 				Player laying down the meld(int), cards of the meld(long),
+	 * 							whether it is a sequence(boolean)
+	 * Purpose:				Commit a meld event if a recording wants one. Only call once
+	 * 							Metrics.Recording() is true
+	 * Returns:
+	 */
+	static void Emit(int player, long meld, boolean sequence) {
+		MeldEvent event = new MeldEvent();
+		if (!event.shouldCommit()) {
+			return;
+		}
+		StringBuilder cards = new StringBuilder();
+		for (long bits = meld; bits != 0; bits &= bits - 1) {
+			cards.append(cards.length() == 0 ? "" : " ").append(Card.Short(Long.numberOfTrailingZeros(bits)));
+		}
+		event.player = player + 1;
+		event.cards = cards.toString();
+		event.sequence = sequence;
+		event.points = MeldSolver.Points(meld);
+		event.commit();
+	}
+}
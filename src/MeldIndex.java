@@ -0,0 +1,389 @@
+/*	
+ * 	File:				MeldIndex.java
+ * 	Associated Files:	Deck.java, Bitboard.java, Card.java
+ * 	Packages Needed:	java.util.ArrayList, java.util.Arrays
+ * 	Author:            	Michael Ngo (https://github.com/yeeshue99)
+ * 	Date Modified:      10/18/2026 by Michael Ngo
+ * 	Modified By:        Michael Ngo
+ * 
+ * 	Purpose:			Table melds indexed for constant time lay offs
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/*
+ * Class:				MeldIndex
+ * Purpose:				Holds every meld on the table. Matching melds are keyed by
+ * 							value and sequence melds by the card just past each open
+ * 							end, so finding where a card can be laid off is a direct
+ * 							lookup. The index is kept up to date as melds grow. With a
+ * 							shoe two runs can wait on the same card, so each end key
+ * 							heads a short chain of melds taken in turn, and a matching
+ * 							meld takes any copy of its value. A fork shares the whole
+ * 							index until it is written, then copies the keys and only
+ * 							the melds it lays off on
+ * Methods:				Add, LayOff, Target, Cards, Playable, Size, Get, IsSequence, TypeName,
+ * 							Fork, Clear, SetLowEnd, SetHighEnd, ClearLowEnd, ClearHighEnd, Own,
+ * 							OwnMeld
+ */
+public class MeldIndex {
+
+	public static final String SEQUENCE = "Sequence";
+	public static final String MATCH = "Match";
+
+	// Melds the key arrays make room for before growing
+	private static final int START_MELDS = 16;
+
+	private ArrayList<ArrayList<Integer>> melds;
+	private ArrayList<Boolean> sequence;
+
+	// Meld index holding each value as a match, or -1
+	private int[] matchByValue;
+
+	// Sequence meld each card would extend at its low or high end, or -1
+	private int[] extendsLow;
+	private int[] extendsHigh;
+
+	// Next meld waiting on the same end key as each meld, or -1
+	private int[] nextLow;
+	private int[] nextHigh;
+
+	// Whether the storage above may be seen by a fork, and which melds are this table's own
+	private boolean shared = false;
+	private boolean[] owned;
+
+	// Bitboards of the keys above, for checking a whole hand at once
+	private long matchValues = 0L;
+	private long lowEnds = 0L;
+	private long highEnds = 0L;
+
+	/*
+	 * Function:			Initialize
+	 * Params: 				
+	 * Purpose:				Initializes an empty table
+	 * Returns: 			
+	 */
+	public MeldIndex() {
+		melds = new ArrayList<ArrayList<Integer>>();
+		sequence = new ArrayList<Boolean>();
+		matchByValue = new int[Card.RANKS];
+		extendsLow = new int[Card.DECK_SIZE];
+		extendsHigh = new int[Card.DECK_SIZE];
+		nextLow = new int[START_MELDS];
+		nextHigh = new int[START_MELDS];
+		owned = new boolean[START_MELDS];
+		Arrays.fill(matchByValue, -1);
+		Arrays.fill(extendsLow, -1);
+		Arrays.fill(extendsHigh, -1);
+	}
+
+	/*
+	 * Function:			Initialize Overload
+	 * Params: 				Table to copy(MeldIndex)
+	 * Purpose:				Initializes a copy of another table that can grow on its own
+	 * Returns: 			
+	 */
+	public MeldIndex(MeldIndex other) {
+		this(other, false);
+	}
+
+	/*
+	 * Function:			Initialize Overload
+	 * Params: 				Table to copy(MeldIndex), whether to share its storage until
+	 * 							a write instead of copying it now(boolean)
+	 * Purpose:				Initializes a deep or copy on write copy of another table
+	 * Returns: 			
+	 */
+	private MeldIndex(MeldIndex other, boolean share) {
+		melds = other.melds;
+		sequence = other.sequence;
+		matchByValue = other.matchByValue;
+		extendsLow = other.extendsLow;
+		extendsHigh = other.extendsHigh;
+		nextLow = other.nextLow;
+		nextHigh = other.nextHigh;
+		matchValues = other.matchValues;
+		lowEnds = other.lowEnds;
+		highEnds = other.highEnds;
+		shared = true;
+		if (!share) {
+			Own();
+			for (int meld = 0; meld < melds.size(); meld++) {
+				OwnMeld(meld);
+			}
+		}
+	}
+
+	/*
+	 * Function:			Fork
+	 * Params: 				
+	 * Purpose:				Make a copy that shares this table until one of them writes
+	 * Returns: 			Copy of the table(MeldIndex)
+	 */
+	public MeldIndex Fork() {
+		// A table already shared is left untouched, so many threads may fork it at once
+		if (!shared) {
+			shared = true;
+		}
+		return new MeldIndex(this, true);
+	}
+
+	/*
+	 * Function:			Clear
+	 * Params: 				
+	 * Purpose:				Take every meld off the table, keeping the storage so the
+	 * 							table can be filled again without allocating
+	 * Returns: 			
+	 */
+	public void Clear() {
+		if (shared) {
+			Own();
+		}
+		melds.clear();
+		sequence.clear();
+		Arrays.fill(matchByValue, -1);
+		Arrays.fill(extendsLow, -1);
+		Arrays.fill(extendsHigh, -1);
+		Arrays.fill(owned, false);
+		matchValues = 0L;
+		lowEnds = 0L;
+		highEnds = 0L;
+	}
+
+	/*
+	 * Function:			Add
+	 * Params: 				Cards of the meld, ascending for sequences(ArrayList<Integer>),
+	 * 							whether it is a sequence(boolean)
+	 * Purpose:				Put a new meld on the table and index its open ends
+	 * Returns: 			Index of the new meld(int)
+	 */
+	public int Add(ArrayList<Integer> cards, boolean isSequence) {
+		if (shared) {
+			Own();
+		}
+		int meld = melds.size();
+		melds.add(cards);
+		sequence.add(isSequence);
+		if (meld == nextLow.length) {
+			nextLow = Arrays.copyOf(nextLow, 2 * meld);
+			nextHigh = Arrays.copyOf(nextHigh, 2 * meld);
+			owned = Arrays.copyOf(owned, 2 * meld);
+		}
+		owned[meld] = true;
+		if (isSequence) {
+			SetLowEnd(meld, cards.get(0));
+			SetHighEnd(meld, cards.get(cards.size() - 1));
+		}
+		else {
+			int value = Card.Value(cards.get(0));
+			matchByValue[value - 1] = meld;
+			matchValues |= 1L << (value - 1);
+		}
+		return meld;
+	}
+
+	/*
+	 * Function:			Target
+	 * Params: 				Card code(int)
+	 * Purpose:				Find a meld the card can be laid off on
+	 * Returns: 			Index of the meld, or -1 if none(int)
+	 */
+	public int Target(int card) {
+		int meld = matchByValue[Card.Value(card) - 1];
+		if (meld >= 0) {
+			return meld;
+		}
+		if (extendsLow[card] >= 0) {
+			return extendsLow[card];
+		}
+		return extendsHigh[card];
+	}
+
+	/*
+	 * Function:			LayOff
+	 * Params: 				Card code(int)
+	 * Purpose:				Add the card to a meld it fits and move that meld's open end
+	 * Returns: 			Index of the meld it joined, or -1 if none(int)
+	 */
+	public int LayOff(int card) {
+		if (shared) {
+			Own();
+		}
+		int meld = matchByValue[Card.Value(card) - 1];
+		if (meld >= 0) {
+			OwnMeld(meld);
+			melds.get(meld).add(card);
+			return meld;
+		}
+		meld = extendsLow[card];
+		if (meld >= 0) {
+			OwnMeld(meld);
+			ClearLowEnd(meld, card);
+			melds.get(meld).add(0, card);
+			SetLowEnd(meld, card);
+			return meld;
+		}
+		meld = extendsHigh[card];
+		if (meld >= 0) {
+			OwnMeld(meld);
+			ClearHighEnd(meld, card);
+			melds.get(meld).add(card);
+			SetHighEnd(meld, card);
+			return meld;
+		}
+		return -1;
+	}
+
+	/*
+	 * Function:			Cards
+	 * Params: 				
+	 * Purpose:				Find every card on the table
+	 * Returns: 			Bitboard of melded cards(long)
+	 */
+	public long Cards() {
+		long cards = 0L;
+		for (int i = 0; i < melds.size(); i++) {
+			cards |= Bitboard.FromHand(melds.get(i));
+		}
+		return cards;
+	}
+
+	/*
+	 * Function:			Playable
+	 * Params: 				
+	 * Purpose:				Find every card that could be laid off right now
+	 * Returns: 			Bitboard of playable cards(long)
+	 */
+	public long Playable() {
+		return Bitboard.RankCards(matchValues) | lowEnds | highEnds;
+	}
+
+	/*
+	 * Function:			Size
+	 * Params: 				
+	 * Purpose:				Getter for number of melds on the table
+	 * Returns: 			Number of melds(int)
+	 */
+	public int Size() {
+		return melds.size();
+	}
+
+	/*
+	 * Function:			Get
+	 * Params: 				Index of meld(int)
+	 * Purpose:				Getter for the cards of one meld
+	 * Returns: 			Card codes of the meld(ArrayList<Integer>)
+	 */
+	public ArrayList<Integer> Get(int meld) {
+		return melds.get(meld);
+	}
+
+	/*
+	 * Function:			IsSequence
+	 * Params: 				Index of meld(int)
+	 * Purpose:				Tell sequence melds from matching melds
+	 * Returns: 			Whether the meld is a sequence(boolean)
+	 */
+	public boolean IsSequence(int meld) {
+		return sequence.get(meld);
+	}
+
+	/*
+	 * Function:			TypeName
+	 * Params: 				Index of meld(int)
+	 * Purpose:				Pretty print of the kind of meld
+	 * Returns: 			"Sequence" or "Match"(String)
+	 */
+	public String TypeName(int meld) {
+		return sequence.get(meld) ? SEQUENCE : MATCH;
+	}
+
+	/*
+	 * Function:			SetLowEnd
+	 * Params: 				Index of meld(int), lowest card of the meld(int)
+	 * Purpose:				Index the card that would extend the meld downward
+	 * Returns: 			
+	 */
+	private void SetLowEnd(int meld, int low) {
+		if (Card.Value(low) > 1) {
+			nextLow[meld] = extendsLow[low - 1];
+			extendsLow[low - 1] = meld;
+			lowEnds |= Bitboard.Bit(low - 1);
+		}
+	}
+
+	/*
+	 * Function:			SetHighEnd
+	 * Params: 				Index of meld(int), highest card of the meld(int)
+	 * Purpose:				Index the card that would extend the meld upward
+	 * Returns: 			
+	 */
+	private void SetHighEnd(int meld, int high) {
+		if (Card.Value(high) < Card.RANKS) {
+			nextHigh[meld] = extendsHigh[high + 1];
+			extendsHigh[high + 1] = meld;
+			highEnds |= Bitboard.Bit(high + 1);
+		}
+	}
+
+	/*
+	 * Function:			ClearLowEnd
+	 * Params: 				Meld the key was used on(int), card that was the low key(int)
+	 * Purpose:				Drop a low end key once it has been used, handing it to the
+	 * 							next meld waiting on the same card
+	 * Returns: 			
+	 */
+	private void ClearLowEnd(int meld, int card) {
+		extendsLow[card] = nextLow[meld];
+		if (extendsLow[card] < 0) {
+			lowEnds &= ~Bitboard.Bit(card);
+		}
+	}
+
+	/*
+	 * Function:			ClearHighEnd
+	 * Params: 				Meld the key was used on(int), card that was the high key(int)
+	 * Purpose:				Drop a high end key once it has been used, handing it to the
+	 * 							next meld waiting on the same card
+	 * Returns: 			
+	 */
+	private void ClearHighEnd(int meld, int card) {
+		extendsHigh[card] = nextHigh[meld];
+		if (extendsHigh[card] < 0) {
+			highEnds &= ~Bitboard.Bit(card);
+		}
+	}
+
+	/*
+	 * Function:			Own
+	 * Params: 				
+	 * Purpose:				Take private copies of shared keys and meld lists before
+	 * 							writing. The melds themselves stay shared until laid off on
+	 * Returns: 			
+	 */
+	private void Own() {
+		melds = new ArrayList<ArrayList<Integer>>(melds);
+		sequence = new ArrayList<Boolean>(sequence);
+		matchByValue = matchByValue.clone();
+		extendsLow = extendsLow.clone();
+		extendsHigh = extendsHigh.clone();
+		nextLow = nextLow.clone();
+		nextHigh = nextHigh.clone();
+		owned = new boolean[nextLow.length];
+		shared = false;
+	}
+
+	/*
+	 * Function:			OwnMeld
+	 * Params: 				Index of meld(int)
+	 * Purpose:				Take a private copy of one meld before it grows
+	 * Returns: 			
+	 */
+	private void OwnMeld(int meld) {
+		if (!owned[meld]) {
+			melds.set(meld, new ArrayList<Integer>(melds.get(meld)));
+			owned[meld] = true;
+		}
+	}
+}
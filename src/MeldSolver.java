@@ -0,0 +1,302 @@
+/*
+ * 	File:				MeldSolver.java
+ * 	Associated Files:	Deck.java, Bitboard.java, Card.java
+ * 	Packages Needed:	java.util.Arrays
+ * 	Author:            	Michael Ngo (https://github.com/yeeshue99)
+ * 	Date Modified:      10/18/2026 by Michael Ngo
+ * 	Modified By:        Michael Ngo
+ *
+ * 	Purpose:			Split a hand into melds leaving the least deadwood
+ */
+
+import java.util.Arrays;
+
+/*
+ * Class:				MeldSolver
+ * Purpose:				Memoised search over bitboard hand states for the set of
+ * 							disjoint matching and sequence melds with the most points.
+ * 							Each search only branches on melds that hold the lowest
+ * 							card left, so a 10 card hand takes a handful of steps
+ * Methods:				Shared, Solve, BestMelds, Deadwood, Points, Candidates, IsSequence,
+ * 							Search, Choice, Find, IsHit, NextStamp
+ */
+public class MeldSolver {
+
+	// Most melds one deck's worth of cards can split into
+	public static final int MAX_MELDS = Card.DECK_SIZE / 3;
+
+	// Most meld cards that can only be laid down as one meld. Two melds
+	// need 5 cards, a run and a set sharing one
+	public static final int SINGLE_MELD = 4;
+
+	// Deadwood points of every card code
+	private static final int[] POINTS = new int[Card.DECK_SIZE];
+
+	// Memo table size, must be a power of two
+	private static final int MEMO_BITS = 10;
+	private static final int MEMO_SIZE = 1 << MEMO_BITS;
+	private static final int MEMO_PROBES = 8;
+
+	// One solver per thread so parallel games never share memo tables
+	private static final ThreadLocal<MeldSolver> SHARED = new ThreadLocal<MeldSolver>() {
+		@Override
+		protected MeldSolver initialValue() {
+			return new MeldSolver();
+		}
+	};
+
+	static {
+		for (int code = 0; code < Card.DECK_SIZE; code++) {
+			POINTS[code] = Math.min(Card.Value(code), 10);
+		}
+	}
+
+	// Memo entries are only valid when their stamp matches the current search
+	private final long[] memoHands = new long[MEMO_SIZE];
+	private final long[] memoChoice = new long[MEMO_SIZE];
+	private final int[] memoPoints = new int[MEMO_SIZE];
+	private final int[] memoStamp = new int[MEMO_SIZE];
+	private int stamp = 0;
+
+	// Meld array for callers to solve into, such as HandCache, owned by this thread too
+	final long[] scratch = new long[MAX_MELDS];
+
+	/*
+	 * Function:			Shared
+	 * Params:
+	 * Purpose:				Getter for this thread's solver
+	 * Returns: 			Solver owned by the calling thread(MeldSolver)
+	 */
+	public static MeldSolver Shared() {
+		return SHARED.get();
+	}
+
+	/*
+	 * Function:			Solve
+	 * Params: 				player's hand(long), array to fill with meld bitboards(long[])
+	 * Purpose:				Find the melds that leave the least deadwood in the hand
+	 * Returns: 			Number of melds written to the array(int)
+	 */
+	public int Solve(long hand, long[] meldsOut) {
+		long candidates = Candidates(hand);
+		if (Bitboard.Count(candidates) <= SINGLE_MELD) {
+			meldsOut[0] = candidates;
+			return candidates == 0 ? 0 : 1;
+		}
+		NextStamp();
+		Search(hand);
+		int count = 0;
+		long remaining = hand;
+		while (Bitboard.HasMeld(remaining)) {
+			long meld = Choice(remaining);
+			if (meld != 0) {
+				meldsOut[count++] = meld;
+				remaining &= ~meld;
+			}
+			else {
+				remaining &= remaining - 1;
+			}
+		}
+		return count;
+	}
+
+	/*
+	 * Function:			BestMelds
+	 * Params: 				player's hand(long)
+	 * Purpose:				Find every card the best split lays down
+	 * Returns: 			Bitboard of melded cards(long)
+	 */
+	public long BestMelds(long hand) {
+		long candidates = Candidates(hand);
+		if (Bitboard.Count(candidates) <= SINGLE_MELD) {
+			return candidates;
+		}
+		NextStamp();
+		Search(hand);
+		long melded = 0L;
+		long remaining = hand;
+		while (Bitboard.HasMeld(remaining)) {
+			long meld = Choice(remaining);
+			if (meld != 0) {
+				melded |= meld;
+				remaining &= ~meld;
+			}
+			else {
+				remaining &= remaining - 1;
+			}
+		}
+		return melded;
+	}
+
+	/*
+	 * Function:			Deadwood
+	 * Params: 				player's hand(long)
+	 * Purpose:				Find the fewest points the hand can be left holding
+	 * Returns: 			Deadwood points(int)
+	 */
+	public int Deadwood(long hand) {
+		NextStamp();
+		return Points(hand) - Search(hand);
+	}
+
+	/*
+	 * Function:			Points
+	 * Params: 				Bitboard of cards(long)
+	 * Purpose:				Sum the deadwood points of the cards
+	 * Returns: 			Points of cards(int)
+	 */
+	public static int Points(long cards) {
+		int points = 0;
+		for (; cards != 0; cards &= cards - 1) {
+			points += POINTS[Long.numberOfTrailingZeros(cards)];
+		}
+		return points;
+	}
+
+	/*
+	 * Function:			Candidates
+	 * Params: 				player's hand(long)
+	 * Purpose:				Find every card that sits in some meld. When there are
+	 * 							SINGLE_MELD or fewer they are the whole answer
+	 * Returns: 			Bitboard of meld cards(long)
+	 */
+	public static long Candidates(long hand) {
+		return Bitboard.Sequences(hand) | (Bitboard.RankCards(Bitboard.Matches(hand)) & hand);
+	}
+
+	/*
+	 * Function:			IsSequence
+	 * Params: 				Bitboard of one meld(long)
+	 * Purpose:				Tell sequence melds from matching melds
+	 * Returns: 			Whether every card shares a suit(boolean)
+	 */
+	public static boolean IsSequence(long meld) {
+		int suit = Long.numberOfTrailingZeros(meld) / Card.RANKS;
+		return meld == (Bitboard.Lane(meld, suit) << (suit * Card.RANKS));
+	}
+
+	/*
+	 * Function:			Search
+	 * Params: 				Cards not yet placed(long)
+	 * Purpose:				Find the most points that can be melded from the cards,
+	 * 							remembering the meld chosen for the lowest card
+	 * Returns: 			Melded points(int)
+	 */
+	private int Search(long remaining) {
+		if (remaining == 0 || !Bitboard.HasMeld(remaining)) {
+			return 0;
+		}
+		int slot = Find(remaining);
+		if (IsHit(slot, remaining)) {
+			return memoPoints[slot];
+		}
+
+		int low = Long.numberOfTrailingZeros(remaining);
+		long lowBit = 1L << low;
+
+		// Leave the lowest card as deadwood
+		int best = Search(remaining & ~lowBit);
+		long bestMeld = 0L;
+
+		// Sequences starting at the lowest card
+		int suit = low / Card.RANKS;
+		int value = low - suit * Card.RANKS;
+		long run = lowBit;
+		for (int next = value + 1; next < Card.RANKS; next++) {
+			long nextBit = 1L << (low + next - value);
+			if ((remaining & nextBit) == 0) {
+				break;
+			}
+			run |= nextBit;
+			if (next - value >= 2) {
+				int points = Points(run) + Search(remaining & ~run);
+				if (points > best) {
+					best = points;
+					bestMeld = run;
+				}
+			}
+		}
+
+		// Matches holding the lowest card, which is always the lowest suit in them
+		long others = remaining & Bitboard.RankCards(1L << value) & ~lowBit;
+		if (Bitboard.Count(others) >= 2) {
+			for (long subset = others; subset != 0; subset = (subset - 1) & others) {
+				if (Bitboard.Count(subset) < 2) {
+					continue;
+				}
+				long match = subset | lowBit;
+				int points = Points(match) + Search(remaining & ~match);
+				if (points > best) {
+					best = points;
+					bestMeld = match;
+				}
+			}
+		}
+
+		slot = Find(remaining);
+		memoHands[slot] = remaining;
+		memoPoints[slot] = best;
+		memoChoice[slot] = bestMeld;
+		memoStamp[slot] = stamp;
+		return best;
+	}
+
+	/*
+	 * Function:			Choice
+	 * Params: 				Cards not yet placed(long)
+	 * Purpose:				Find the meld the search chose for the lowest card,
+	 * 							searching again if the memo entry was pushed out
+	 * Returns: 			Bitboard of the chosen meld, 0 for deadwood(long)
+	 */
+	private long Choice(long remaining) {
+		int slot = Find(remaining);
+		if (!IsHit(slot, remaining)) {
+			Search(remaining);
+			slot = Find(remaining);
+		}
+		return memoChoice[slot];
+	}
+
+	/*
+	 * Function:			Find
+	 * Params: 				Cards not yet placed(long)
+	 * Purpose:				Find the memo slot for a hand state. Probes a few slots for
+	 * 							the state or a free one, then falls back to overwriting
+	 * Returns: 			Memo slot(int)
+	 */
+	private int Find(long remaining) {
+		int home = (int) ((remaining * 0x9E3779B97F4A7C15L) >>> (64 - MEMO_BITS));
+		int slot = home;
+		for (int probe = 0; probe < MEMO_PROBES; probe++) {
+			if (memoStamp[slot] != stamp || memoHands[slot] == remaining) {
+				return slot;
+			}
+			slot = (slot + 1) & (MEMO_SIZE - 1);
+		}
+		return home;
+	}
+
+	/*
+	 * Function:			IsHit
+	 * Params: 				Memo slot(int), cards not yet placed(long)
+	 * Purpose:				Check a slot holds this search's answer for the state
+	 * Returns: 			Whether the slot can be used(boolean)
+	 */
+	private boolean IsHit(int slot, long remaining) {
+		return memoStamp[slot] == stamp && memoHands[slot] == remaining;
+	}
+
+	/*
+	 * Function:			NextStamp
+	 * Params:
+	 * Purpose:				Invalidate every memo entry before a new search
+	 * Returns:
+	 */
+	private void NextStamp() {
+		stamp++;
+		if (stamp == 0) {
+			Arrays.fill(memoStamp, 0);
+			stamp = 1;
+		}
+	}
+}
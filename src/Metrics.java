@@ -0,0 +1,346 @@
+/*
+ * 	File:				Metrics.java
+ * 	Associated Files:	MetricsMXBean.java, Deck.java, Rummy.java, TurnEvent.java, MeldEvent.java
+ * 	Packages Needed:	java.io.PrintStream, java.lang.management.ManagementFactory,
+ * 							java.util.concurrent.*, java.util.concurrent.atomic.LongAdder,
+ * 							javax.management.*, jdk.jfr.FlightRecorder
+ * 	Author:            	Michael Ngo (https://github.com/yeeshue99)
+ * 	Date Modified:      10/18/2026 by Michael Ngo
+ * 	Modified By:        Michael Ngo
+ *
+ * 	Purpose:			Count and time the engine's hot paths
+ */
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import jdk.jfr.FlightRecorder;
+
+/*
+ * Class:				Metrics
+ * Purpose:				Process wide counters and log2 histograms for draws, meld
+ * 							searches, lay offs, discards, turns and whole games. Metrics
+ * 							are switched on with -Drummy.metrics=true. The switch is a
+ * 							static final, so when it is off the JIT drops every timing
+ * 							call and the hot paths pay nothing. Cells are LongAdders so
+ * 							parallel games never fight over one counter. Results can be
+ * 							read as snapshots, printed on a timer or browsed over JMX.
+ * 							Turn and meld Flight Recorder events are separate and follow
+ * 							whatever recording is running
+ * Methods:				Start, Stop, Record, Recording, TakeSnapshot, Register,
+ * 							StartReporter, Bucket
+ */
+public class Metrics {
+
+	// Whether metrics are collected, fixed when the class loads
+	public static final boolean ENABLED = Boolean.getBoolean("rummy.metrics");
+
+	// Metrics kept, all in nanoseconds but GAME_TURNS
+	public static final int DRAW = 0;
+	public static final int MELD = 1;
+	public static final int LAY_OFF = 2;
+	public static final int DISCARD = 3;
+	public static final int TURN = 4;
+	public static final int GAME = 5;
+	public static final int GAME_TURNS = 6;
+	public static final String[] NAMES = { "draw", "meld", "layoff", "discard", "turn", "game", "game.turns" };
+
+	// Bucket n holds values under 2^n, and bucket 0 holds zero
+	public static final int BUCKETS = 64;
+
+	private static final LongAdder[][] BUCKET_CELLS = new LongAdder[NAMES.length][BUCKETS];
+	private static final LongAdder[] SUM_CELLS = new LongAdder[NAMES.length];
+
+	static {
+		for (int metric = 0; metric < NAMES.length; metric++) {
+			SUM_CELLS[metric] = new LongAdder();
+			for (int b = 0; b < BUCKETS; b++) {
+				BUCKET_CELLS[metric][b] = new LongAdder();
+			}
+		}
+	}
+
+	/*
+	 * Class:				Snapshot
+	 * Purpose:				Counts and histograms read at one moment. Two snapshots can be
+	 * 							subtracted to see what happened in between
+	 * Methods:				Count, Sum, Mean, Percentile, Minus, Report
+	 */
+	public static class Snapshot {
+		final long time;
+		final long[] sums = new long[NAMES.length];
+		final long[][] buckets = new long[NAMES.length][BUCKETS];
+
+		Snapshot(long time) {
+			this.time = time;
+		}
+
+		/*
+		 * Function:			Count
+		 * Params: 				Metric(int)
+		 * Purpose:				Find how many times a metric was recorded
+		 * Returns: 			Count(long)
+		 */
+		public long Count(int metric) {
+			long count = 0;
+			for (long bucket : buckets[metric]) {
+				count += bucket;
+			}
+			return count;
+		}
+
+		/*
+		 * Function:			Sum
+		 * Params: 				Metric(int)
+		 * Purpose:				Find the total of every value recorded for a metric
+		 * Returns: 			Sum(long)
+		 */
+		public long Sum(int metric) {
+			return sums[metric];
+		}
+
+		/*
+		 * Function:			Mean
+		 * Params: 				Metric(int)
+		 * Purpose:				Find the average value recorded for a metric
+		 * Returns: 			Mean, 0 if nothing was recorded(double)
+		 */
+		public double Mean(int metric) {
+			long count = Count(metric);
+			return count == 0 ? 0.0 : (double) sums[metric] / count;
+		}
+
+		/*
+		 * Function:			Percentile
+		 * Params: 				Metric(int), fraction of values to cover, such as 0.99(double)
+		 * Purpose:				Find the bucket bound that covers a share of the values
+		 * Returns: 			Upper bound of that bucket(long)
+		 */
+		public long Percentile(int metric, double fraction) {
+			long count = Count(metric);
+			long seen = 0;
+			for (int b = 0; b < BUCKETS; b++) {
+				seen += buckets[metric][b];
+				if (count > 0 && seen >= fraction * count) {
+					return b == 0 ? 0 : (b >= 63 ? Long.MAX_VALUE : 1L << b);
+				}
+			}
+			return 0;
+		}
+
+		/*
+		 * Function:			Minus
+		 * Params: 				Earlier snapshot(Snapshot)
+		 * Purpose:				Find what was recorded between two snapshots
+		 * Returns: 			Difference(Snapshot)
+		 */
+		public Snapshot Minus(Snapshot earlier) {
+			Snapshot delta = new Snapshot(time - earlier.time);
+			for (int metric = 0; metric < NAMES.length; metric++) {
+				delta.sums[metric] = sums[metric] - earlier.sums[metric];
+				for (int b = 0; b < BUCKETS; b++) {
+					delta.buckets[metric][b] = buckets[metric][b] - earlier.buckets[metric][b];
+				}
+			}
+			return delta;
+		}
+
+		/*
+		 * Function:			Report
+		 * Params:
+		 * Purpose:				Lay out every metric as one line of text
+		 * Returns: 			Report(String)
+		 */
+		public String Report() {
+			StringBuilder text = new StringBuilder();
+			for (int metric = 0; metric < NAMES.length; metric++) {
+				text.append(String.format("%-11s count %10d  mean %10.1f  p50 < %8d  p99 < %8d  p99.9 < %8d%n",
+						NAMES[metric], Count(metric), Mean(metric), Percentile(metric, 0.5),
+						Percentile(metric, 0.99), Percentile(metric, 0.999)));
+			}
+			return text.toString();
+		}
+	}
+
+	/*
+	 * Class:				Bean
+	 * Purpose:				JMX view of the metrics, read fresh on every call
+	 * Methods:				getEnabled, getNames, getCounts, getMeans, getP99s, getReport
+	 */
+	private static class Bean implements MetricsMXBean {
+		@Override
+		public boolean getEnabled() {
+			return ENABLED;
+		}
+
+		@Override
+		public String[] getNames() {
+			return NAMES.clone();
+		}
+
+		@Override
+		public long[] getCounts() {
+			Snapshot now = TakeSnapshot();
+			long[] counts = new long[NAMES.length];
+			for (int metric = 0; metric < NAMES.length; metric++) {
+				counts[metric] = now.Count(metric);
+			}
+			return counts;
+		}
+
+		@Override
+		public double[] getMeans() {
+			Snapshot now = TakeSnapshot();
+			double[] means = new double[NAMES.length];
+			for (int metric = 0; metric < NAMES.length; metric++) {
+				means[metric] = now.Mean(metric);
+			}
+			return means;
+		}
+
+		@Override
+		public long[] getP99s() {
+			Snapshot now = TakeSnapshot();
+			long[] p99s = new long[NAMES.length];
+			for (int metric = 0; metric < NAMES.length; metric++) {
+				p99s[metric] = now.Percentile(metric, 0.99);
+			}
+			return p99s;
+		}
+
+		@Override
+		public String getReport() {
+			return TakeSnapshot().Report();
+		}
+	}
+
+	/*
+	 * Function:			Start
+	 * Params:
+	 * Purpose:				Begin timing a hot path
+	 * Returns: 			Start time, or 0 when metrics are off(long)
+	 */
+	public static long Start() {
+		return ENABLED ? System.nanoTime() : 0L;
+	}
+
+	/*
+	 * Function:			Stop
+	 * Params: 				Metric(int), time from Start(long)
+	 * Purpose:				Record how long a hot path took
+	 * Returns:
+	 */
+	public static void Stop(int metric, long started) {
+		if (ENABLED) {
+			Record(metric, System.nanoTime() - started);
+		}
+	}
+
+	/*
+	 * Function:			Record
+	 * Params: 				Metric(int), value(long)
+	 * Purpose:				Add one value to a metric's histogram
+	 * Returns:
+	 */
+	public static void Record(int metric, long value) {
+		if (ENABLED) {
+			BUCKET_CELLS[metric][Bucket(value)].increment();
+			SUM_CELLS[metric].add(value);
+		}
+	}
+
+	/*
+	 * Function:			Recording
+	 * Params:
+	 * Purpose:				Check Flight Recorder is running before touching an event
+	 * 							class. Loading the first event class starts up the recorder's
+	 * 							machinery, which costs a third of a second when nobody is
+	 * 							recording
+	 * Returns: 			Whether events could be recorded(boolean)
+	 */
+	public static boolean Recording() {
+		return FlightRecorder.isInitialized();
+	}
+
+	/*
+	 * Function:			TakeSnapshot
+	 * Params:
+	 * Purpose:				Read every metric. Cells are read one at a time while games
+	 * 							keep running, so a snapshot is close to, not exactly, one moment
+	 * Returns: 			Current values(Snapshot)
+	 */
+	public static Snapshot TakeSnapshot() {
+		Snapshot now = new Snapshot(System.nanoTime());
+		for (int metric = 0; metric < NAMES.length; metric++) {
+			now.sums[metric] = SUM_CELLS[metric].sum();
+			for (int b = 0; b < BUCKETS; b++) {
+				now.buckets[metric][b] = BUCKET_CELLS[metric][b].sum();
+			}
+		}
+		return now;
+	}
+
+	/*
+	 * Function:			Register
+	 * Params:
+	 * Purpose:				Publish the metrics over JMX as rummy:type=Metrics
+	 * Returns:
+	 */
+	public static void Register() {
+		try {
+			ObjectName name = new ObjectName("rummy:type=Metrics");
+			if (!ManagementFactory.getPlatformMBeanServer().isRegistered(name)) {
+				ManagementFactory.getPlatformMBeanServer().registerMBean(new Bean(), name);
+			}
+		}
+		catch (JMException e) {
+			throw new IllegalStateException("Could not register metrics with JMX", e);
+		}
+	}
+
+	/*
+	 * Function:			StartReporter
+	 * Params: 				Where to print(PrintStream), seconds between reports(long)
+	 * Purpose:				Print what was recorded in each period on a daemon thread
+	 * Returns: 			Timer to shut down when done(ScheduledExecutorService)
+	 */
+	public static ScheduledExecutorService StartReporter(final PrintStream out, long periodSeconds) {
+		ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+			@Override
+			public Thread newThread(Runnable task) {
+				Thread thread = new Thread(task, "rummy-metrics");
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+		final Snapshot[] last = { TakeSnapshot() };
+		timer.scheduleAtFixedRate(new Runnable() {
+			@Override
+			public void run() {
+				Snapshot now = TakeSnapshot();
+				Snapshot delta = now.Minus(last[0]);
+				last[0] = now;
+				out.printf("Metrics for the last %.1f seconds (ns):%n%s", delta.time / 1e9, delta.Report());
+			}
+		}, periodSeconds, periodSeconds, TimeUnit.SECONDS);
+		return timer;
+	}
+
+	/*
+	 * Function:			Bucket
+	 * Params: 				Value(long)
+	 * Purpose:				Find the log2 bucket a value falls in
+	 * Returns: 			Bucket(int)
+	 */
+	private static int Bucket(long value) {
+		return value <= 0 ? 0 : 64 - Long.numberOfLeadingZeros(value);
+	}
+}
@@ -0,0 +1,67 @@
+/*
+ * 	File:				MetricsMXBean.java
+ * 	Associated Files:	Metrics.java
+ * 	Packages Needed:	
+ * 	Author:            	Michael Ngo (https://github.com/yeeshue99)
+ * 	Date Modified:      10/18/2026 by Michael Ngo
+ * 	Modified By:        Michael Ngo
+ *
+ * 	Purpose:			JMX view of the engine metrics
+ */
+
+/*
+ * Class:				MetricsMXBean
+ * Purpose:				Attributes published as rummy:type=Metrics. Arrays line up with
+ * 							getNames, and times are in nanoseconds
+ * Methods:				getEnabled, getNames, getCounts, getMeans, getP99s, getReport
+ */
+public interface MetricsMXBean {
+
+	/*
+	 * Function:			getEnabled
+	 * Params: 				
+	 * Purpose:				Check metrics are being collected
+	 * Returns: 			Whether -Drummy.metrics=true was set(boolean)
+	 */
+	boolean getEnabled();
+
+	/*
+	 * Function:			getNames
+	 * Params: 				
+	 * Purpose:				Getter for the name of every metric
+	 * Returns: 			Metric names(String[])
+	 */
+	String[] getNames();
+
+	/*
+	 * Function:			getCounts
+	 * Params: 				
+	 * Purpose:				Getter for how often each metric was recorded
+	 * Returns: 			Counts(long[])
+	 */
+	long[] getCounts();
+
+	/*
+	 * Function:			getMeans
+	 * Params: 				
+	 * Purpose:				Getter for the average of each metric
+	 * Returns: 			Means(double[])
+	 */
+	double[] getMeans();
+
+	/*
+	 * Function:			getP99s
+	 * Params: 				
+	 * Purpose:				Getter for the bound under which 99% of each metric fell
+	 * Returns: 			99th percentiles(long[])
+	 */
+	long[] getP99s();
+
+	/*
+	 * Function:			getReport
+	 * Params: 				
+	 * Purpose:				Getter for every metric laid out as text
+	 * Returns: 			Report(String)
+	 */
+	String getReport();
+}
@@ -0,0 +1,52 @@
+/*
+ * 	File:				Player.java
+ * 	Associated Files:	Rummy.java, ConsolePlayer.java, BotPlayer.java
+ * 	Packages Needed:
+ * 	Author:            	Michael Ngo (https://github.com/yeeshue99)
+ * 	Date Modified:      10/18/2026 by Michael Ngo
+ * 	Modified By:        Michael Ngo
+ *
+ * 	Purpose:			Decisions a Rummy player makes during a turn
+ */
+
+/*
+ * Interface:			Player
+ * Purpose:				Strategy the Rummy engine asks for every choice in a turn, so
+ * 							games can be played by people at a console or by bots
+ * Methods:				ChooseDrawLocation, ChooseMelds, ChooseLayOff, ChooseDiscard
+ */
+public interface Player {
+
+	/*
+	 * Function:			ChooseDrawLocation
+	 * Params: 				Game being played(Rummy), current player(int)
+	 * Purpose:				Determine where player wants to draw from
+	 * Returns: 			"discard" or "deck"(String)
+	 */
+	String ChooseDrawLocation(Rummy game, int player);
+
+	/*
+	 * Function:			ChooseMelds
+	 * Params: 				Game being played(Rummy), current player(int)
+	 * Purpose:				Determine whether to lay down the melds in hand after drawing
+	 * Returns: 			Whether to lay down melds(boolean)
+	 */
+	boolean ChooseMelds(Rummy game, int player);
+
+	/*
+	 * Function:			ChooseLayOff
+	 * Params: 				Game being played(Rummy), current player(int)
+	 * Purpose:				Determine whether to try laying off cards on the table melds.
+	 * 							Asked again after every attempt until it returns false
+	 * Returns: 			Whether to try a lay off(boolean)
+	 */
+	boolean ChooseLayOff(Rummy game, int player);
+
+	/*
+	 * Function:			ChooseDiscard
+	 * Params: 				Game being played(Rummy), current player(int)
+	 * Purpose:				Determines what card to discard from hand
+	 * Returns: 			Index of card to discard(int)
+	 */
+	int ChooseDiscard(Rummy game, int player);
+}
@@ -0,0 +1,177 @@
+/*
+ * 	File:				RemotePlayer.java
+ * 	Associated Files:	Player.java, GameServer.java, Rummy.java
+ * 	Packages Needed:	java.io.BufferedReader, java.io.IOException, java.io.UncheckedIOException,
+ * 							java.io.Writer, java.util.ArrayList
+ * 	Author:            	Michael Ngo (https://github.com/yeeshue99)
+ * 	Date Modified:      10/18/2026 by Michael Ngo
+ * 	Modified By:        Michael Ngo
+ *
+ * 	Purpose:			Let a person play Rummy over a network connection
+ */
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.ArrayList;
+
+/*
+ * Class:				RemotePlayer
+ * Purpose:				Player that asks a client on a socket for every choice using the
+ * 							server's line protocol. Prompts end in '?', the client answers
+ * 							with one line, and a bad answer gets an ERROR line and the
+ * 							prompt again. Only the table's game thread calls it
+ * Methods:				ChooseDrawLocation, ChooseMelds, ChooseLayOff, ChooseDiscard,
+ * 							Send, Ask, SendHand
+ */
+public class RemotePlayer implements Player {
+
+	private final BufferedReader in;
+	private final Writer out;
+	private final GameServer.Table table;
+
+	/*
+	 * Function:			Initialize
+	 * Params: 				Lines from the client(BufferedReader), lines to the client(Writer),
+	 * 							table the player sits at(GameServer.Table)
+	 * Purpose:				Initializes remote player
+	 * Returns:
+	 */
+	public RemotePlayer(BufferedReader in, Writer out, GameServer.Table table) {
+		this.in = in;
+		this.out = out;
+		this.table = table;
+	}
+
+	/*
+	 * Function:			ChooseDrawLocation
+	 * Params: 				Game being played(Rummy), current player(int)
+	 * Purpose:				Send the hand and discard top, then ask where to draw from
+	 * Returns: 			where to draw from(String)
+	 */
+	@Override
+	public String ChooseDrawLocation(Rummy game, int player) {
+		SendHand(game.GetHand(player));
+		int top = game.GetDiscardTop();
+		Send("TOP " + (top == Card.NO_CARD ? "-" : Card.Short(top)));
+		while (true) {
+			String[] answer = Ask("DRAW?");
+			if (answer.length == 2 && answer[0].equalsIgnoreCase("DRAW")
+					&& (answer[1].equalsIgnoreCase("deck") || answer[1].equalsIgnoreCase("discard"))) {
+				return answer[1];
+			}
+			Send("ERROR expected DRAW deck or DRAW discard");
+		}
+	}
+
+	/*
+	 * Function:			ChooseMelds
+	 * Params: 				Game being played(Rummy), current player(int)
+	 * Purpose:				Melds in hand are always laid down for remote players
+	 * Returns: 			Whether to lay down melds(boolean)
+	 */
+	@Override
+	public boolean ChooseMelds(Rummy game, int player) {
+		return true;
+	}
+
+	/*
+	 * Function:			ChooseLayOff
+	 * Params: 				Game being played(Rummy), current player(int)
+	 * Purpose:				Send the hand and ask whether to lay off onto the table
+	 * Returns: 			Whether the player asked to lay off(boolean)
+	 */
+	@Override
+	public boolean ChooseLayOff(Rummy game, int player) {
+		SendHand(game.GetHand(player));
+		while (true) {
+			String[] answer = Ask("LAYOFF?");
+			if (answer.length == 1 && answer[0].equalsIgnoreCase("LAYOFF")) {
+				return true;
+			}
+			if (answer.length == 1 && answer[0].equalsIgnoreCase("PASS")) {
+				return false;
+			}
+			Send("ERROR expected LAYOFF or PASS");
+		}
+	}
+
+	/*
+	 * Function:			ChooseDiscard
+	 * Params: 				Game being played(Rummy), current player(int)
+	 * Purpose:				Ask which card to discard, counted in the order the hand was sent
+	 * Returns: 			Index of card to discard(int)
+	 */
+	@Override
+	public int ChooseDiscard(Rummy game, int player) {
+		ArrayList<Integer> hand = game.GetHand(player);
+		SendHand(hand);
+		while (true) {
+			String[] answer = Ask("DISCARD? " + hand.size());
+			if (answer.length == 2 && answer[0].equalsIgnoreCase("DISCARD")) {
+				try {
+					int position = Integer.parseInt(answer[1]);
+					if (position >= 1 && position <= hand.size()) {
+						return hand.indexOf(Renderer.CardAt(hand, position - 1));
+					}
+				}
+				catch (NumberFormatException e) {
+					// Falls through to the error below
+				}
+			}
+			Send("ERROR expected DISCARD 1-" + hand.size());
+		}
+	}
+
+	/*
+	 * Function:			Send
+	 * Params: 				Line to send(String)
+	 * Purpose:				Queue a line for the client. Lines go out at the next prompt
+	 * Returns:
+	 */
+	void Send(String line) {
+		try {
+			out.write(line);
+			out.write('\n');
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/*
+	 * Function:			Ask
+	 * Params: 				Prompt(String)
+	 * Purpose:				Send a prompt, flush every seat's waiting lines and read one answer
+	 * Returns: 			Words of the answer(String[])
+	 */
+	private String[] Ask(String prompt) {
+		Send(prompt);
+		table.Flush();
+		try {
+			String line = in.readLine();
+			if (line == null || line.trim().equalsIgnoreCase("QUIT")) {
+				throw new GameServer.LeftTable();
+			}
+			return line.trim().split("\\s+");
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/*
+	 * Function:			SendHand
+	 * Params: 				player's hand(ArrayList<Integer>)
+	 * Purpose:				Send the hand in display order, A low and K high
+	 * Returns:
+	 */
+	private void SendHand(ArrayList<Integer> hand) {
+		StringBuilder line = new StringBuilder("HAND");
+		for (int i = 0; i < hand.size(); i++) {
+			line.append(' ').append(Card.Short(Renderer.CardAt(hand, i)));
+		}
+		Send(line.toString());
+	}
+}
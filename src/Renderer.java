@@ -0,0 +1,267 @@
+/*	
+ * 	File:				Renderer.java
+ * 	Associated Files:	Rummy.java, Deck.java, ConsolePlayer.java
+ * 	Packages Needed:	java.io.PrintStream, java.util.ArrayList, java.util.Formatter
+ * 	Author:            	Michael Ngo (https://github.com/yeeshue99)
+ * 	Date Modified:      10/18/2026 by Michael Ngo
+ * 	Modified By:        Michael Ngo
+ * 
+ * 	Purpose:			Buffered console output for the Rummy engine
+ */
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Formatter;
+
+/*
+ * Class:				Renderer
+ * Purpose:				Collects everything a game prints into one reusable buffer and
+ * 							writes it out in a single call per frame. Hands are rendered
+ * 							once and cached until they change. A quiet renderer returns
+ * 							before doing any formatting at all. Hands holding copies
+ * 							from a shoe list every copy
+ * Methods:				IsQuiet, Print, Println, Printf, PrintHand, HandText, CardAt, Flush
+ */
+public class Renderer {
+
+	// Output levels
+	public static final int QUIET = 0;
+	public static final int NORMAL = 1;
+
+	// Shared renderer that prints nothing. It never touches its buffer, so any thread may use it
+	public static final Renderer SILENT = new Renderer(null, QUIET);
+
+	// Rendered hands kept, must be a power of two
+	private static final int HAND_CACHE = 16;
+
+	private final PrintStream out;
+	private final int level;
+	private final StringBuilder frame = new StringBuilder(1024);
+	private final Formatter formatter = new Formatter(frame);
+	private final long[] handKeys = new long[HAND_CACHE];
+	private final String[] handText = new String[HAND_CACHE];
+
+	/*
+	 * Function:			Initialize
+	 * Params: 				Where to write frames(PrintStream), output level(int)
+	 * Purpose:				Initializes a renderer
+	 * Returns: 			
+	 */
+	public Renderer(PrintStream out, int level) {
+		this.out = out;
+		this.level = level;
+		for (int i = 0; i < HAND_CACHE; i++) {
+			handKeys[i] = -1L;
+		}
+	}
+
+	/*
+	 * Function:			IsQuiet
+	 * Params: 				
+	 * Purpose:				Check whether output is being thrown away
+	 * Returns: 			Whether the renderer is quiet(boolean)
+	 */
+	public boolean IsQuiet() {
+		return level == QUIET;
+	}
+
+	/*
+	 * Function:			Print
+	 * Params: 				Text to add(String)
+	 * Purpose:				Add text to the current frame
+	 * Returns: 			
+	 */
+	public void Print(String text) {
+		if (level == QUIET) {
+			return;
+		}
+		frame.append(text);
+	}
+
+	/*
+	 * Function:			Println
+	 * Params: 				Text to add(String)
+	 * Purpose:				Add a line to the current frame
+	 * Returns: 			
+	 */
+	public void Println(String text) {
+		if (level == QUIET) {
+			return;
+		}
+		frame.append(text).append(System.lineSeparator());
+	}
+
+	/*
+	 * Function:			Println
+	 * Params: 				
+	 * Purpose:				End the current line
+	 * Returns: 			
+	 */
+	public void Println() {
+		if (level == QUIET) {
+			return;
+		}
+		frame.append(System.lineSeparator());
+	}
+
+	/*
+	 * Function:			Printf
+	 * Params: 				Format string(String)
+	 * Purpose:				Add formatted text to the current frame. Fixed argument
+	 * 							overloads keep quiet calls from building varargs arrays
+	 * Returns: 			
+	 */
+	public void Printf(String format) {
+		if (level == QUIET) {
+			return;
+		}
+		formatter.format(format);
+	}
+
+	/*
+	 * Function:			Printf
+	 * Params: 				Format string(String), argument(Object)
+	 * Purpose:				Add formatted text to the current frame
+	 * Returns: 			
+	 */
+	public void Printf(String format, Object arg) {
+		if (level == QUIET) {
+			return;
+		}
+		formatter.format(format, arg);
+	}
+
+	/*
+	 * Function:			Printf
+	 * Params: 				Format string(String), arguments(Object, Object)
+	 * Purpose:				Add formatted text to the current frame
+	 * Returns: 			
+	 */
+	public void Printf(String format, Object arg1, Object arg2) {
+		if (level == QUIET) {
+			return;
+		}
+		formatter.format(format, arg1, arg2);
+	}
+
+	/*
+	 * Function:			PrintHand
+	 * Params: 				player's hand(long)
+	 * Purpose:				Add a hand, lowest value first, as one line of the frame
+	 * Returns: 			
+	 */
+	public void PrintHand(long hand) {
+		if (level == QUIET) {
+			return;
+		}
+		frame.append(HandText(hand)).append(System.lineSeparator());
+	}
+
+	/*
+	 * Function:			PrintHand Overload
+	 * Params: 				player's hand(ArrayList<Integer>)
+	 * Purpose:				Add a hand, lowest value first, with every copy of a card
+	 * Returns: 			
+	 */
+	public void PrintHand(ArrayList<Integer> hand) {
+		if (level == QUIET) {
+			return;
+		}
+		if (!(hand instanceof Hand) || !((Hand) hand).HasDuplicates()) {
+			PrintHand(Bitboard.FromHand(hand));
+			return;
+		}
+		Hand counted = (Hand) hand;
+		int start = frame.length();
+		for (int position = 0; position < hand.size(); position++) {
+			if (frame.length() != start) {
+				frame.append(", ");
+			}
+			frame.append(Card.Label(CardAt(counted, position)));
+		}
+		frame.append(System.lineSeparator());
+	}
+
+	/*
+	 * Function:			HandText
+	 * Params: 				player's hand(long)
+	 * Purpose:				Render a hand, reusing the text while the hand is unchanged
+	 * Returns: 			Pretty print of the hand(String)
+	 */
+	public String HandText(long hand) {
+		int slot = (int) ((hand * 0x9E3779B97F4A7C15L) >>> 60) & (HAND_CACHE - 1);
+		if (handKeys[slot] != hand) {
+			StringBuilder text = new StringBuilder(Bitboard.Count(hand) * 16);
+			for (int value = 0; value < Card.RANKS; value++) {
+				for (int suit = 0; suit < Card.SUIT_COUNT; suit++) {
+					int card = suit * Card.RANKS + value;
+					if ((hand & Bitboard.Bit(card)) != 0) {
+						if (text.length() != 0) {
+							text.append(", ");
+						}
+						text.append(Card.Label(card));
+					}
+				}
+			}
+			handKeys[slot] = hand;
+			handText[slot] = text.toString();
+		}
+		return handText[slot];
+	}
+
+	/*
+	 * Function:			CardAt
+	 * Params: 				player's hand(long), position as printed, from 0(int)
+	 * Purpose:				Find the card printed at a position by PrintHand
+	 * Returns: 			Card code, or Card.NO_CARD if out of range(int)
+	 */
+	public static int CardAt(long hand, int position) {
+		for (int value = 0; value < Card.RANKS; value++) {
+			for (int suit = 0; suit < Card.SUIT_COUNT; suit++) {
+				int card = suit * Card.RANKS + value;
+				if ((hand & Bitboard.Bit(card)) != 0 && position-- == 0) {
+					return card;
+				}
+			}
+		}
+		return Card.NO_CARD;
+	}
+
+	/*
+	 * Function:			CardAt Overload
+	 * Params: 				player's hand(ArrayList<Integer>), position as printed, from 0(int)
+	 * Purpose:				Find the card printed at a position, counting every copy
+	 * Returns: 			Card code, or Card.NO_CARD if out of range(int)
+	 */
+	public static int CardAt(ArrayList<Integer> hand, int position) {
+		if (!(hand instanceof Hand) || !((Hand) hand).HasDuplicates()) {
+			return CardAt(Bitboard.FromHand(hand), position);
+		}
+		Hand counted = (Hand) hand;
+		for (int value = 0; value < Card.RANKS; value++) {
+			for (int suit = 0; suit < Card.SUIT_COUNT; suit++) {
+				int card = suit * Card.RANKS + value;
+				position -= counted.Count(card);
+				if (position < 0) {
+					return card;
+				}
+			}
+		}
+		return Card.NO_CARD;
+	}
+
+	/*
+	 * Function:			Flush
+	 * Params: 				
+	 * Purpose:				Write the current frame in one call and start a new one
+	 * Returns: 			
+	 */
+	public void Flush() {
+		if (level == QUIET || frame.length() == 0) {
+			return;
+		}
+		out.print(frame);
+		out.flush();
+		frame.setLength(0);
+	}
+}
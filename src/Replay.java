@@ -0,0 +1,428 @@
+/*
+ * 	File:				Replay.java
+ * 	Associated Files:	Journal.java, Deck.java, MeldIndex.java, Main.java
+ * 	Packages Needed:	java.io.Closeable, java.io.IOException, java.io.UncheckedIOException,
+ * 							java.nio.*, java.nio.channels.FileChannel, java.nio.file.*,
+ * 							java.util.ArrayList, java.util.Arrays
+ * 	Author:            	Michael Ngo (https://github.com/yeeshue99)
+ * 	Date Modified:      10/18/2026 by Michael Ngo
+ * 	Modified By:        Michael Ngo
+ *
+ * 	Purpose:			Rebuild recorded games from a journal, turn by turn
+ */
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/*
+ * Class:				Replay
+ * Purpose:				Maps a journal read only and replays its records to rebuild
+ * 							the table after any turn of any game. Game starts
+ * 							are indexed every few games on the first search, so finding
+ * 							a game in a large journal only scans a short stretch
+ * Methods:				Open, Size, Record, Games, Load, GetNumPlayers, GetHand,
+ * 							GetDiscard, GetStock, GetMelds, GetTurn, GetPlayer,
+ * 							GetWinner, GetScore, Print, close, Apply, Reset, FindGame
+ */
+public class Replay implements Closeable {
+
+	// Records mapped per read window, 1 GB each
+	private static final int WINDOW_BITS = 27;
+	private static final long WINDOW_RECORDS = 1L << WINDOW_BITS;
+
+	// Games between entries of the game start index
+	private static final int INDEX_STRIDE = 256;
+
+	private final FileChannel channel;
+	private final LongBuffer[] windows;
+	private final long size;
+	private long[] gameIndex = null;
+	private long games = -1;
+
+	// Table of the loaded game
+	private int numPlayers = 0;
+	private long[] hands = new long[0];
+	private final CardStack discard = new CardStack(Card.DECK_SIZE);
+	private long stock = 0L;
+	private MeldIndex melds = new MeldIndex();
+	private int turn = -1;
+	private int player = 0;
+	private int winner = -1;
+	private long score = 0;
+
+	/*
+	 * Function:			Initialize
+	 * Params: 				Open file(FileChannel), records in the file(long)
+	 * Purpose:				Initializes a replay over every record in the file
+	 * Returns:
+	 */
+	private Replay(FileChannel channel, long size) throws IOException {
+		this.channel = channel;
+		this.size = size;
+		windows = new LongBuffer[(int) ((size + WINDOW_RECORDS - 1) >>> WINDOW_BITS)];
+		for (int i = 0; i < windows.length; i++) {
+			long start = (long) i << WINDOW_BITS;
+			long count = Math.min(WINDOW_RECORDS, size - start);
+			MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY,
+					Journal.HEADER_BYTES + start * Journal.RECORD_BYTES, count * Journal.RECORD_BYTES);
+			window.order(ByteOrder.LITTLE_ENDIAN);
+			windows[i] = window.asLongBuffer();
+		}
+	}
+
+	/*
+	 * Function:			Open
+	 * Params: 				Journal file(Path)
+	 * Purpose:				Open a journal for replay
+	 * Returns: 			Replay of the journal(Replay)
+	 */
+	public static Replay Open(Path file) {
+		try {
+			FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+			if (channel.size() < Journal.HEADER_BYTES) {
+				channel.close();
+				throw new IllegalArgumentException(file + " is too short to be a game journal");
+			}
+			MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, Journal.HEADER_BYTES);
+			header.order(ByteOrder.LITTLE_ENDIAN);
+			if (header.getInt(0) != Journal.MAGIC || header.getInt(4) != Journal.VERSION) {
+				channel.close();
+				throw new IllegalArgumentException(file + " is not a version " + Journal.VERSION + " game journal");
+			}
+			long size = Math.min(header.getLong(8), (channel.size() - Journal.HEADER_BYTES) / Journal.RECORD_BYTES);
+			return new Replay(channel, size);
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/*
+	 * Function:			Size
+	 * Params:
+	 * Purpose:				Getter for the number of records in the journal
+	 * Returns: 			Records(long)
+	 */
+	public long Size() {
+		return size;
+	}
+
+	/*
+	 * Function:			Record
+	 * Params: 				Position in the journal(long)
+	 * Purpose:				Read one record
+	 * Returns: 			Record(long)
+	 */
+	public long Record(long index) {
+		return windows[(int) (index >>> WINDOW_BITS)].get((int) (index & (WINDOW_RECORDS - 1)));
+	}
+
+	/*
+	 * Function:			Games
+	 * Params:
+	 * Purpose:				Count the games in the journal, building the game index
+	 * Returns: 			Number of games(long)
+	 */
+	public long Games() {
+		if (games >= 0) {
+			return games;
+		}
+		long[] index = new long[16];
+		long count = 0;
+		for (long i = 0; i < size; i++) {
+			if (Journal.Action(Record(i)) == Journal.START) {
+				if (count % INDEX_STRIDE == 0) {
+					int slot = (int) (count / INDEX_STRIDE);
+					if (slot == index.length) {
+						index = Arrays.copyOf(index, index.length * 2);
+					}
+					index[slot] = i;
+				}
+				count++;
+			}
+		}
+		gameIndex = index;
+		games = count;
+		return games;
+	}
+
+	/*
+	 * Function:			Load
+	 * Params: 				Game to load, from 0(long), turn to stop after, from 0(int)
+	 * Purpose:				Rebuild the table as it stood after a turn, or after the deal
+	 * 							for turn -1. A turn past the end of the game loads the final table
+	 * Returns: 			Turn actually reached(int)
+	 */
+	public int Load(long game, int stopTurn) {
+		long at = FindGame(game);
+		Reset(Journal.Player(Record(at)), (int) Journal.Payload(Record(at)));
+		for (long i = at + 1; i < size; i++) {
+			long record = Record(i);
+			int action = Journal.Action(record);
+			if (action == Journal.START) {
+				break;
+			}
+			if (action == Journal.TURN && turn + 1 > stopTurn) {
+				break;
+			}
+			Apply(record);
+			if (action == Journal.END) {
+				break;
+			}
+		}
+		return turn;
+	}
+
+	/*
+	 * Function:			GetNumPlayers
+	 * Params:
+	 * Purpose:				Getter for the seats in the loaded game
+	 * Returns: 			Number of players(int)
+	 */
+	public int GetNumPlayers() {
+		return numPlayers;
+	}
+
+	/*
+	 * Function:			GetHand
+	 * Params: 				Seat(int)
+	 * Purpose:				Getter for a seat's hand in the loaded game
+	 * Returns: 			Bitboard of the hand(long)
+	 */
+	public long GetHand(int seat) {
+		return hands[seat];
+	}
+
+	/*
+	 * Function:			GetDiscard
+	 * Params:
+	 * Purpose:				Getter for the discard pile in the loaded game
+	 * Returns: 			Discard pile, bottom first(CardStack)
+	 */
+	public CardStack GetDiscard() {
+		return discard;
+	}
+
+	/*
+	 * Function:			GetStock
+	 * Params:
+	 * Purpose:				Getter for the cards left in the stock. The journal keeps which
+	 * 							cards were drawn, not the order of the ones left
+	 * Returns: 			Bitboard of the stock(long)
+	 */
+	public long GetStock() {
+		return stock;
+	}
+
+	/*
+	 * Function:			GetMelds
+	 * Params:
+	 * Purpose:				Getter for the melds on the table in the loaded game
+	 * Returns: 			Table melds(MeldIndex)
+	 */
+	public MeldIndex GetMelds() {
+		return melds;
+	}
+
+	/*
+	 * Function:			GetTurn
+	 * Params:
+	 * Purpose:				Getter for the last turn started, -1 while dealing
+	 * Returns: 			Turn(int)
+	 */
+	public int GetTurn() {
+		return turn;
+	}
+
+	/*
+	 * Function:			GetPlayer
+	 * Params:
+	 * Purpose:				Getter for the seat that played the last turn started
+	 * Returns: 			Seat(int)
+	 */
+	public int GetPlayer() {
+		return player;
+	}
+
+	/*
+	 * Function:			GetWinner
+	 * Params:
+	 * Purpose:				Getter for the winner once the loaded game is over
+	 * Returns: 			Seat of winner, or -1 if the game is still going(int)
+	 */
+	public int GetWinner() {
+		return winner;
+	}
+
+	/*
+	 * Function:			GetScore
+	 * Params:
+	 * Purpose:				Getter for the final score once the loaded game is over
+	 * Returns: 			Score of every hand(long)
+	 */
+	public long GetScore() {
+		return score;
+	}
+
+	/*
+	 * Function:			Print
+	 * Params: 				Where to send the table(Renderer)
+	 * Purpose:				Print every hand, the discard top and the table melds
+	 * Returns:
+	 */
+	public void Print(Renderer render) {
+		render.Printf("Turn %d, stock holds %d cards%n", turn, Bitboard.Count(stock));
+		for (int i = 0; i < numPlayers; i++) {
+			render.Printf("Player #%d: ", (i + 1));
+			render.PrintHand(hands[i]);
+		}
+		if (!discard.IsEmpty()) {
+			render.Printf("Discard top: %s%n", Card.Label(discard.Peek()));
+		}
+		for (int i = 0; i < melds.Size(); i++) {
+			render.Print(melds.TypeName(i));
+			render.Print(" [");
+			for (int k = 0; k < melds.Get(i).size(); k++) {
+				if (k != 0) {
+					render.Print(", ");
+				}
+				render.Print(Card.Label(melds.Get(i).get(k)));
+			}
+			render.Println("]");
+		}
+		if (winner >= 0) {
+			render.Printf("Player #%d won with a score of %d%n", (winner + 1), score);
+		}
+		render.Flush();
+	}
+
+	/*
+	 * Function:			close
+	 * Params:
+	 * Purpose:				Close the journal file
+	 * Returns:
+	 */
+	@Override
+	public void close() {
+		try {
+			channel.close();
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/*
+	 * Function:			Apply
+	 * Params: 				Record(long)
+	 * Purpose:				Replay one event onto the table
+	 * Returns:
+	 */
+	private void Apply(long record) {
+		int seat = Journal.Player(record);
+		long cards = Journal.Payload(record);
+		int card = Long.numberOfTrailingZeros(cards);
+		switch (Journal.Action(record)) {
+		case Journal.DEAL:
+			hands[seat] = cards;
+			stock &= ~cards;
+			break;
+		case Journal.TURN_UP:
+			discard.Push(card);
+			stock &= ~cards;
+			break;
+		case Journal.TURN:
+			turn++;
+			player = seat;
+			break;
+		case Journal.DRAW_DECK:
+			hands[seat] |= cards;
+			stock &= ~cards;
+			break;
+		case Journal.DRAW_DISCARD:
+			discard.Pop();
+			hands[seat] |= cards;
+			break;
+		case Journal.MELD:
+			ArrayList<Integer> meld = new ArrayList<Integer>(Bitboard.Count(cards));
+			for (long bits = cards; bits != 0; bits &= bits - 1) {
+				meld.add(Long.numberOfTrailingZeros(bits));
+			}
+			melds.Add(meld, MeldSolver.IsSequence(cards));
+			hands[seat] &= ~cards;
+			break;
+		case Journal.LAY_OFF:
+			melds.LayOff(card);
+			hands[seat] &= ~cards;
+			break;
+		case Journal.DISCARD:
+			discard.Push(card);
+			hands[seat] &= ~cards;
+			break;
+		case Journal.RECYCLE:
+			int top = discard.Pop();
+			for (int i = 0; i < discard.Size(); i++) {
+				stock |= Bitboard.Bit(discard.Get(i));
+			}
+			discard.Clear();
+			discard.Push(top);
+			break;
+		case Journal.END:
+			winner = seat;
+			score = cards;
+			break;
+		default:
+			throw new IllegalStateException("Unknown journal action " + Journal.Action(record));
+		}
+	}
+
+	/*
+	 * Function:			Reset
+	 * Params: 				Seat of the START record(int), number of players(int)
+	 * Purpose:				Clear the table before replaying a game
+	 * Returns:
+	 */
+	private void Reset(int seat, int players) {
+		numPlayers = players;
+		hands = new long[players];
+		discard.Clear();
+		stock = Bitboard.FULL & ~Bitboard.Bit(Deck.REMOVED_CARD);
+		melds = new MeldIndex();
+		turn = -1;
+		player = seat;
+		winner = -1;
+		score = 0;
+	}
+
+	/*
+	 * Function:			FindGame
+	 * Params: 				Game to find, from 0(long)
+	 * Purpose:				Find the START record of a game through the game index
+	 * Returns: 			Position of the record(long)
+	 */
+	private long FindGame(long game) {
+		if (game < 0 || game >= Games()) {
+			throw new IllegalArgumentException("No game " + game + " in a journal of " + games + " games");
+		}
+		long at = gameIndex[(int) (game / INDEX_STRIDE)];
+		long skip = game % INDEX_STRIDE;
+		while (true) {
+			if (Journal.Action(Record(at)) == Journal.START) {
+				if (skip == 0) {
+					return at;
+				}
+				skip--;
+			}
+			at++;
+		}
+	}
+}
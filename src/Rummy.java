@@ -1,7 +1,7 @@
 /*	
  * 	File:				Rummy.java
  * 	Associated Files:	Main.java, Deck.java, Card.java
- * 	Packages Needed:	java.util.ArrayList, java.util.HashMap, java.util.Scanner
+ * 	Packages Needed:	java.util.ArrayList, java.util.concurrent.ThreadLocalRandom
  * 	Author:            	Michael Ngo (https://github.com/yeeshue99)
  * 	Date Modified:      8/18/2020 by Michael Ngo
  * 	Modified By:        Michael Ngo
@@ -10,199 +10,511 @@
  */
 
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Scanner;
+import java.util.concurrent.ThreadLocalRandom;
 
 /*
  * Class:				Rummy
- * Purpose:				Handles Rummy engine and game
- * Methods:				PlayGame, GetDiscardChoice, GetActionChoice, NextPlayer
+ * Purpose:				Handles Rummy engine and game. Every choice is made by a
+ * 							Player, so the engine never touches console input. Between
+ * 							turns a game can be forked for a lookahead, or saved as a
+ * 							GameState and later rewound to it. A Checkpoint attached to
+ * 							the game is offered every turn boundary
+ * Methods:				PlayGame, PlayFrom, TakeTurn, GetHand, GetKnown, GetDiscardTop, GetDeck, GetRenderer,
+ * 							GetNumPlayers, GetOpeningDiscard, GetDealtMelds, GetRounds, SetRoundLimit, LowestHand, NextPlayer,
+ * 							Fork, Save, Restore, Undo, ForkHands, SetCheckpoint, Resume
  */
 public class Rummy {
 
+	// Largest table a game deals to, dealt from a shoe past six players
+	public static final int MAX_PLAYERS = 32;
+
 	int numPlayers = 2;
 	int rounds = 0;
+	int roundLimit = 0;
 	Deck deck;
-	ArrayList<ArrayList<Card>> allHands;
-	String[] actions = { "meld", "discard", "table", "hand" };
-	String[] drawLocations = { "discard", "deck" };
+	Renderer render;
+	ArrayList<ArrayList<Integer>> allHands;
+
+	// Cards each seat took off the discard pile and still holds, which every seat saw
+	long[] known;
+
+	// Version last saved or restored, the one Undo goes back to
+	GameState latest = null;
+
+	// Seat to move when play starts or resumes, and where turns are saved, or null
+	int next = 0;
+	private Checkpoint checkpoint = null;
+
+	// Card turned up after the deal and melds laid down from the dealt hands, unknown for forks
+	private int openingDiscard = Card.NO_CARD;
+	private int dealtMelds = 0;
 
 	/*
 	 * Function:			Initialize
 	 * Params: 				Number of players(int)
-	 * Purpose:				Initializes Rummy engine
+	 * Purpose:				Initializes Rummy engine with a fresh random seed
 	 * Returns: 			
 	 */
 	public Rummy(int numPlayers) {
+		this(numPlayers, new Deck(ThreadLocalRandom.current().nextLong(), Deck.DecksFor(numPlayers)),
+				new Renderer(System.out, Renderer.NORMAL), null);
+	}
+
+	/*
+	 * Function:			Initialize Overload
+	 * Params: 				Number of players(int), game seed(long)
+	 * Purpose:				Initializes Rummy engine so the same seed deals the same game
+	 * Returns: 			
+	 */
+	public Rummy(int numPlayers, long seed) {
+		this(numPlayers, new Deck(seed, Deck.DecksFor(numPlayers)), new Renderer(System.out, Renderer.NORMAL), null);
+	}
+
+	/*
+	 * Function:			Initialize Overload
+	 * Params: 				Number of players(int), game seed(long), where to send
+	 * 							messages(Renderer)
+	 * Purpose:				Initializes Rummy engine with its own output, such as
+	 * 							Renderer.SILENT for bot games
+	 * Returns: 			
+	 */
+	public Rummy(int numPlayers, long seed, Renderer render) {
+		this(numPlayers, new Deck(seed, Deck.DecksFor(numPlayers)), render, null);
+	}
+
+	/*
+	 * Function:			Initialize Overload
+	 * Params: 				Number of players(int), game seed(long), where to send
+	 * 							messages(Renderer), where to record events(Journal)
+	 * Purpose:				Initializes Rummy engine and records the game, deal included
+	 * Returns: 			
+	 */
+	public Rummy(int numPlayers, long seed, Renderer render, Journal journal) {
+		this(numPlayers, new Deck(seed, Deck.DecksFor(numPlayers)), render, journal);
+	}
+
+	/*
+	 * Function:			Initialize Overload
+	 * Params: 				Number of players(int), decks in the shoe(int), game seed(long),
+	 * 							where to send messages(Renderer)
+	 * Purpose:				Initializes Rummy engine dealing from a shoe of a chosen size
+	 * Returns: 			
+	 */
+	public Rummy(int numPlayers, int decks, long seed, Renderer render) {
+		this(numPlayers, new Deck(seed, decks), render, null);
+	}
+
+	/*
+	 * Function:			Initialize Overload
+	 * Params: 				Cards to play with(Deck), hand of each seat(ArrayList<ArrayList<Integer>>),
+	 * 							round limit(int)
+	 * Purpose:				Initializes a silent game already in progress, for search playouts
+	 * Returns: 			
+	 */
+	Rummy(Deck deck, ArrayList<ArrayList<Integer>> allHands, int roundLimit) {
+		this.render = Renderer.SILENT;
+		this.numPlayers = allHands.size();
+		this.known = new long[numPlayers];
+		this.deck = deck;
+		this.allHands = allHands;
+		this.roundLimit = roundLimit;
+		deck.SetRenderer(render);
+	}
+
+	/*
+	 * Function:			Initialize Overload
+	 * Params: 				Number of players(int), cards to play with(Deck),
+	 * 							where to send messages(Renderer), where to record events,
+	 * 							or null(Journal)
+	 * Purpose:				Initializes Rummy engine and deals the game
+	 * Returns: 			
+	 */
+	private Rummy(int numPlayers, Deck deck, Renderer render, Journal journal) {
+		this.render = render;
 		if (numPlayers <= 1) {
 			numPlayers = 2;
-			System.out.println("There has to be at least two players. I assume that's what you meant!");
+			render.Println("There has to be at least two players. I assume that's what you meant!");
 		}
-		if (numPlayers > 6) {
-			numPlayers = 6;
-			System.out.println("There can be at most six players. I assume that's what you meant!");
+		if (numPlayers > MAX_PLAYERS) {
+			numPlayers = MAX_PLAYERS;
+			render.Printf("There can be at most %d players. I assume that's what you meant!%n", MAX_PLAYERS);
 		}
 		this.numPlayers = numPlayers;
-		deck = new Deck();
-		System.out.println("Dealing the deck evenly to every player...");
-		allHands = Deck.DealCards(numPlayers);
+		this.known = new long[numPlayers];
+		this.deck = deck;
+		deck.SetRenderer(render);
+		if (journal != null && deck.GetDecks() > 1) {
+			throw new IllegalArgumentException("Journals record single deck games, this one deals from "
+					+ deck.GetDecks() + " decks");
+		}
+		if (journal != null) {
+			deck.SetJournal(journal);
+		}
+		render.Printf("Dealing the deck evenly to every player... (game seed %d)%n", deck.GetSeed());
+		allHands = deck.DealCards(numPlayers);
 		for (int i = 0; i < numPlayers; i++) {
-			System.out.printf("Player #%d, this is the hand you were dealt:%n", (i + 1));
-			Deck.DisplayCards(allHands.get(i));
-			System.out.printf("Okay, Player #%d, let's see if you had any melds...%n", (i + 1));
-			if (!Deck.RemoveCards(allHands.get(i))) {
-				System.out.printf("No melds found!%n%n");
+			render.Printf("Player #%d, this is the hand you were dealt:%n", (i + 1));
+			deck.DisplayCards(allHands.get(i));
+			render.Printf("Okay, Player #%d, let's see if you had any melds...%n", (i + 1));
+			deck.SetActor(i);
+			if (!deck.RemoveCards(allHands.get(i))) {
+				render.Printf("No melds found!%n%n");
 			}
 		}
+		openingDiscard = deck.discard.Peek();
+		dealtMelds = deck.melds.Size();
+		render.Flush();
 	}
 
 	/*
 	 * Function:			PlayGame
-	 * Params: 				Java command line input(Scanner)
-	 * Purpose:				Run the game loop and communicate with user
-	 * Returns: 			Player who won and the rounds the game took(int[])
+	 * Params: 				Player for each seat(Player[])
+	 * Purpose:				Run the game loop, asking each seat's player for its choices
+	 * Returns: 			Player who won and the score of every hand(int[])
+	 */
+	public int[] PlayGame(Player[] players) {
+		render.Println("Welcome to the game of Rummy!");
+		return PlayFrom(players, 0);
+	}
+
+	/*
+	 * Function:			Resume
+	 * Params: 				Player for each seat(Player[])
+	 * Purpose:				Run the game loop from the seat whose turn was next when the
+	 * 							game was checkpointed
+	 * Returns: 			Player who won and the score of every hand(int[])
 	 */
-	public int[] PlayGame(Scanner sc) {
-		System.out.println("Welcome to the game of Rummy!");
+	public int[] Resume(Player[] players) {
+		render.Printf("Picking the game back up at round %d, Player #%d to move.%n", rounds, (next + 1));
+		return PlayFrom(players, next);
+	}
+
+	/*
+	 * Function:			SetCheckpoint
+	 * Params: 				Where to save turns, or null to stop(Checkpoint)
+	 * Purpose:				Setter for this game's checkpoint
+	 * Returns: 			
+	 */
+	public void SetCheckpoint(Checkpoint checkpoint) {
+		this.checkpoint = checkpoint;
+	}
 
-		int player = 0;
+	/*
+	 * Function:			PlayFrom
+	 * Params: 				Player for each seat(Player[]), player whose turn it is(int)
+	 * Purpose:				Run the game loop from any seat, such as the middle of a
+	 * 							search playout
+	 * Returns: 			Player who won and the score of every hand(int[])
+	 */
+	int[] PlayFrom(Player[] players, int player) {
+		if (players.length != numPlayers) {
+			throw new IllegalArgumentException("Expected " + numPlayers + " players but got " + players.length);
+		}
 
+		next = player;
+		long gameStarted = Metrics.Start();
+		int turns = 0;
 		while (true) {
-			System.out.println("======================================");
-			System.out.printf("Player #%d, these are your cards:%n", (player + 1));
-			Deck.DisplayCards(allHands.get(player));
-
-			String choice = GetDrawLocation(sc);
-			
-			Card cardDrawn = Deck.DrawCard(choice);
-			allHands.get(player).add(cardDrawn);
-			System.out.printf("Player #%d, you drew %s%n", (player + 1), cardDrawn.GetLabel());
-			System.out.printf("After drawing, let's see if you have any melds...%n", (player + 1));
-			if (!Deck.RemoveCards(allHands.get(player))) {
-				System.out.printf("No melds found!%n%n");
+			long turnStarted = Metrics.Start();
+			TurnEvent event = Metrics.Recording() ? TurnEvent.Begin() : null;
+			boolean drew = TakeTurn(players[player], player);
+			Metrics.Stop(Metrics.TURN, turnStarted);
+			turns++;
+			if (event != null) {
+				TurnEvent.End(event, player, rounds, drew, allHands.get(player).size(), deck.melds.Size());
+			}
+			render.Flush();
+			if (!drew) {
+				player = LowestHand();
+				render.Printf("No more cards can be drawn! Player #%d holds the fewest points.%n", (player + 1));
+				break;
 			}
-			Deck.DisplayCards(allHands.get(player));
-
-			ChoiceLoop(sc, player);
-			
 			if (allHands.get(player).size() <= 0) {
+				render.Println("Someone has no more cards!");
 				break;
 			}
 			player = NextPlayer(player);
+			if (roundLimit > 0 && rounds >= roundLimit) {
+				player = LowestHand();
+				render.Printf("The round limit was reached! Player #%d holds the fewest points.%n", (player + 1));
+				break;
+			}
+			next = player;
+			if (checkpoint != null) {
+				checkpoint.AfterTurn(this, player);
+			}
 		}
-		System.out.printf("Someone has no more cards! The game lasted %d rounds!%n", rounds);
+		Metrics.Stop(Metrics.GAME, gameStarted);
+		Metrics.Record(Metrics.GAME_TURNS, turns);
+		render.Printf("The game lasted %d rounds!%n", rounds);
+		render.Flush();
 		int score = 0;
-		for (ArrayList<Card> hand : allHands) {
+		for (ArrayList<Integer> hand : allHands) {
 			score += Deck.CalculateScore(hand);
 		}
+		deck.EndGame(player, score);
 		int[] playerAndScore = new int[2];
 		playerAndScore[0] = player;
 		playerAndScore[1] = score;
 		return playerAndScore;
 	}
-	
+
 	/*
-	 * Function:			GetDrawLocation
-	 * Params: 				Java command line input(Scanner)
-	 * Purpose:				Determine where player wants to draw from
-	 * Returns: 			where to draw from(String)
+	 * Function:			TakeTurn
+	 * Params: 				Strategy of current player(Player), current player(int)
+	 * Purpose:				Draw, meld, lay off and discard for one player
+	 * Returns: 			Whether a card could be drawn(boolean)
 	 */
-	private String GetDrawLocation(Scanner sc) {
-		System.out.printf("Do you want to draw from discard or deck? ");
-		System.out.printf("The top of the discard pile is a(n): %s%n", Deck.discard.get(0).GetValue());
-		String choice = sc.next();
+	private boolean TakeTurn(Player current, int player) {
+		ArrayList<Integer> hand = allHands.get(player);
+		deck.BeginTurn(player);
+
+		String choice = current.ChooseDrawLocation(this, player);
+		if (!deck.CanDraw(choice)) {
+			choice = choice.equalsIgnoreCase("discard") ? "deck" : "discard";
+			if (!deck.CanDraw(choice)) {
+				return false;
+			}
+		}
+
+		int cardDrawn = deck.DrawCard(choice);
+		hand.add(cardDrawn);
+		if (choice.equalsIgnoreCase("discard")) {
+			known[player] |= Bitboard.Bit(cardDrawn);
+		}
+		render.Printf("Player #%d, you drew %s%n", (player + 1), Card.Label(cardDrawn));
+		if (current.ChooseMelds(this, player)) {
+			render.Printf("After drawing, let's see if you have any melds...%n");
+			if (!deck.RemoveCards(hand)) {
+				render.Printf("No melds found!%n%n");
+			}
+		}
+
+		while (!hand.isEmpty() && current.ChooseLayOff(this, player)) {
+			if (!deck.CheckMelds(hand)) {
+				render.Println("No melds found!");
+			}
+		}
+		if (hand.isEmpty()) {
+			known[player] = 0L;
+			return true;
+		}
 
-		while (!(choice.equalsIgnoreCase("discard") || choice.equalsIgnoreCase("deck"))) {
-			System.out.println("Invalid location! The loations you can choose are: ");
-			System.out.println(Arrays.toString(drawLocations));
-			choice = sc.next();
+		int chosenCard = current.ChooseDiscard(this, player);
+		if (chosenCard < 0 || chosenCard >= hand.size()) {
+			throw new IllegalArgumentException("Invalid discard index " + chosenCard + " for hand of " + hand.size());
 		}
-		return choice;
+		render.Printf("Throwing out your %s...%n", Card.Label(hand.get(chosenCard)));
+		deck.Discard(hand.remove(chosenCard));
+		known[player] &= Bitboard.FromHand(hand);
+		return true;
 	}
-	
+
 	/*
-	 * Function:			GetDiscardchoice
-	 * Params: 				Java command line input(Scanner), Current player(int)
-	 * Purpose:				Determines what card to discard from hand
-	 * Returns: 			Index of card to discard(int)
+	 * Function:			GetHand
+	 * Params: 				Player to look at(int)
+	 * Purpose:				Getter for a player's hand
+	 * Returns: 			Card codes in the hand(ArrayList<Integer>)
 	 */
-	private int GetDiscardChoice(Scanner sc, int player) {
-		System.out.printf("Choose a card to discard (1-%d): ", allHands.get(player).size());
-		int chosenCard = -1;
+	public ArrayList<Integer> GetHand(int player) {
+		return allHands.get(player);
+	}
 
-		chosenCard = sc.nextInt();
-		// sc.nextLine();
-		while (!(chosenCard >= 1 && chosenCard <= allHands.get(player).size())) {
-			System.out.println(
-					"Invalid card number. Please enter integer between 1 and " + allHands.get(player).size() + ": ");
-			chosenCard = sc.nextInt();
-		}
-		return chosenCard - 1;
+	/*
+	 * Function:			GetKnown
+	 * Params: 				Player to look at(int)
+	 * Purpose:				Getter for the cards a player took off the discard pile and
+	 * 							has not laid down or thrown out since. Every seat sees
+	 * 							these go into the hand
+	 * Returns: 			Bitboard of the cards(long)
+	 */
+	public long GetKnown(int player) {
+		return known[player];
 	}
 
 	/*
-	 * Function:			ChoiceLoop
-	 * Params: 				Java command line input(Scanner), Current player(int)
-	 * Purpose:				Run turn loop of an individual player
+	 * Function:			GetDiscardTop
+	 * Params: 				
+	 * Purpose:				Getter for the card on top of the discard pile
+	 * Returns: 			Card code, or Card.NO_CARD if the pile is empty(int)
+	 */
+	public int GetDiscardTop() {
+		return deck.discard.Peek();
+	}
+
+	/*
+	 * Function:			GetDeck
+	 * Params: 				
+	 * Purpose:				Getter for this game's stock, discard pile and table melds
+	 * Returns: 			Cards of this game(Deck)
+	 */
+	public Deck GetDeck() {
+		return deck;
+	}
+
+	/*
+	 * Function:			GetRenderer
+	 * Params: 				
+	 * Purpose:				Getter for where this game's messages go
+	 * Returns: 			Output of this game(Renderer)
+	 */
+	public Renderer GetRenderer() {
+		return render;
+	}
+
+	/*
+	 * Function:			GetNumPlayers
+	 * Params: 				
+	 * Purpose:				Getter for number of players
+	 * Returns: 			Number of players(int)
+	 */
+	public int GetNumPlayers() {
+		return numPlayers;
+	}
+
+	/*
+	 * Function:			GetOpeningDiscard
+	 * Params: 				
+	 * Purpose:				Getter for the card turned up to start the discard pile
+	 * Returns: 			Card code, or Card.NO_CARD if this game was not dealt here(int)
+	 */
+	public int GetOpeningDiscard() {
+		return openingDiscard;
+	}
+
+	/*
+	 * Function:			GetDealtMelds
+	 * Params: 				
+	 * Purpose:				Getter for melds laid down from the dealt hands
+	 * Returns: 			Number of melds(int)
+	 */
+	public int GetDealtMelds() {
+		return dealtMelds;
+	}
+
+	/*
+	 * Function:			GetRounds
+	 * Params: 				
+	 * Purpose:				Getter for rounds played so far
+	 * Returns: 			Rounds played(int)
+	 */
+	public int GetRounds() {
+		return rounds;
+	}
+
+	/*
+	 * Function:			SetRoundLimit
+	 * Params: 				Most rounds to play, 0 for no limit(int)
+	 * Purpose:				Stop games between bots that would never end
 	 * Returns: 			
 	 */
-	private void ChoiceLoop(Scanner sc, int player) {
-		int chosenCard = 0;
-		String action = "";
-		
-		while (!action.equalsIgnoreCase("discard")) {
-			System.out.println("What do you want to do now? (To see list of actions type \"help\"):");
-			action = GetActionChoice(sc);
-			if (action.equalsIgnoreCase(actions[0])) {
-				if (!Deck.CheckMelds(allHands.get(player))) {
-					System.out.println("No melds found!");
-				}
-			}
-			else if (action.equalsIgnoreCase(actions[1])) {
-				chosenCard = GetDiscardChoice(sc, player);
-				System.out.printf("Throwing out your %s...%n", allHands.get(player).get(chosenCard).GetLabel());
-				Deck.discard.add(0, allHands.get(player).get(chosenCard));
-				allHands.get(player).remove(chosenCard);
-			}
-			else if(action.equalsIgnoreCase(actions[2])){
-				Deck.DisplayMelds();
-			}
-			else if(action.equalsIgnoreCase(actions[3])) {
-				Deck.DisplayCards(allHands.get(player));
+	public void SetRoundLimit(int roundLimit) {
+		this.roundLimit = roundLimit;
+	}
+
+	/*
+	 * Function:			Fork
+	 * Params: 				
+	 * Purpose:				Make a silent copy of the game that plays on by itself. The
+	 * 							piles and table are shared until either game changes them
+	 * Returns: 			Copy of the game(Rummy)
+	 */
+	public Rummy Fork() {
+		Rummy copy = new Rummy(deck.Fork(), ForkHands(allHands), roundLimit);
+		copy.rounds = rounds;
+		copy.next = next;
+		copy.known = known.clone();
+		return copy;
+	}
+
+	/*
+	 * Function:			Save
+	 * Params: 				
+	 * Purpose:				Freeze the game as it stands, pointing back at the version
+	 * 							saved before
+	 * Returns: 			Saved version(GameState)
+	 */
+	public GameState Save() {
+		latest = new GameState(this, latest);
+		return latest;
+	}
+
+	/*
+	 * Function:			Restore
+	 * Params: 				Version to go back to(GameState)
+	 * Purpose:				Put the game back as it was saved, with the same seat to move.
+	 * 							Hands are rewound in place, so a player may restore during
+	 * 							its own turn. The version stays frozen, and a rewound game
+	 * 							is no longer recorded
+	 * Returns: 			
+	 */
+	public void Restore(GameState state) {
+		if (state.GetNumPlayers() != numPlayers) {
+			throw new IllegalArgumentException("Saved game has " + state.GetNumPlayers() + " players, not " + numPlayers);
+		}
+		deck = state.deck.Fork();
+		deck.SetRenderer(render);
+		for (int i = 0; i < numPlayers; i++) {
+			Hand saved = (Hand) state.hands.get(i);
+			if (allHands.get(i) instanceof Hand) {
+				((Hand) allHands.get(i)).CopyFrom(saved);
 			}
 			else {
-				System.out.println("The actions you can take are: ");
-				System.out.println(Arrays.toString(actions));
+				allHands.set(i, new Hand(saved));
 			}
 		}
+		rounds = state.rounds;
+		roundLimit = state.roundLimit;
+		next = state.next;
+		System.arraycopy(state.known, 0, known, 0, numPlayers);
+		latest = state;
 	}
-	
+
 	/*
-	 * Function:			GetActionChoice
-	 * Params: 				Java command line input(Scanner)
-	 * Purpose:				Communicates with user to find what action to do
-	 * Returns: 			Player's chosen action(String)
+	 * Function:			Undo
+	 * Params: 				
+	 * Purpose:				Rewind to the version saved last, so the next Undo goes back
+	 * 							one further
+	 * Returns: 			Whether there was a version to go back to(boolean)
 	 */
-	private String GetActionChoice(Scanner sc) {
-		String action;
-		action = sc.next();
-		boolean reDoChoice = true;
-		for (int i = 0; i < actions.length; i++) {
-			if (action.equalsIgnoreCase(actions[i])) {
-				reDoChoice = false;
-			}
+	public boolean Undo() {
+		GameState back = latest;
+		if (back == null) {
+			return false;
+		}
+		Restore(back);
+		latest = back.GetPrevious();
+		return true;
+	}
+
+	/*
+	 * Function:			ForkHands
+	 * Params: 				Hand of each seat(ArrayList<ArrayList<Integer>>)
+	 * Purpose:				Copy every hand along with its analysis
+	 * Returns: 			Copied hands(ArrayList<ArrayList<Integer>>)
+	 */
+	static ArrayList<ArrayList<Integer>> ForkHands(ArrayList<ArrayList<Integer>> hands) {
+		ArrayList<ArrayList<Integer>> copies = new ArrayList<ArrayList<Integer>>(hands.size());
+		for (ArrayList<Integer> hand : hands) {
+			copies.add(hand instanceof Hand ? new Hand((Hand) hand) : new Hand(hand));
 		}
-		while (reDoChoice) {
-			System.out.println("The actions you can take are: ");
-			System.out.println(Arrays.toString(actions));
-			action = sc.next();
-			for (int i = 0; i < actions.length; i++) {
-				if (action.equalsIgnoreCase(actions[i])) {
-					reDoChoice = false;
-				}
+		return copies;
+	}
+
+	/*
+	 * Function:			LowestHand
+	 * Params: 				
+	 * Purpose:				Find the player holding the fewest points
+	 * Returns: 			Position of that player(int)
+	 */
+	private int LowestHand() {
+		int best = 0;
+		for (int i = 1; i < numPlayers; i++) {
+			if (Deck.CalculateScore(allHands.get(i)) < Deck.CalculateScore(allHands.get(best))) {
+				best = i;
 			}
 		}
-		return action;
+		return best;
 	}
 
 	/*
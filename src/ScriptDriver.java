@@ -0,0 +1,255 @@
+/*
+ * 	File:				ScriptDriver.java
+ * 	Associated Files:	CommandReader.java, Command.java, ConsolePlayer.java, Rummy.java, Main.java
+ * 	Packages Needed:	java.io.*, java.nio.file.*, java.util.ArrayList, java.util.SplittableRandom
+ * 	Author:            	Michael Ngo (https://github.com/yeeshue99)
+ * 	Date Modified:      10/18/2026 by Michael Ngo
+ * 	Modified By:        Michael Ngo
+ *
+ * 	Purpose:			Replay recorded console games and check how they ended
+ */
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+
+/*
+ * Class:				ScriptDriver
+ * Purpose:				Plays every game in a script through ConsolePlayers sharing one
+ * 							CommandReader, exactly as if a person had typed it. A script
+ * 							holds many games, each written as
+ * 								game <players> <seed> <round limit, 0 for none>
+ * 								<everything typed during the game>
+ * 								expect <winning player #> <score>
+ * 							The expect line is optional. A game that runs out of input,
+ * 							quits or leaves input unused is a failure, and the driver
+ * 							carries on from the next game line. The whole file is read
+ * 							once and tokenized in place. Record writes scripts from bot
+ * 							games so the driver has something to chew on
+ * Methods:				Run, Load, Record, GetGames, GetMatched, GetMismatched, GetFailed,
+ * 							ReadNumbers
+ */
+public class ScriptDriver {
+
+	private final CommandReader in;
+	private final long[] header = new long[3];
+	private int games = 0;
+	private int matched = 0;
+	private int mismatched = 0;
+	private int failed = 0;
+
+	/*
+	 * Function:			Initialize
+	 * Params: 				Whole script(byte[])
+	 * Purpose:				Initializes a driver over a script already in memory
+	 * Returns:
+	 */
+	public ScriptDriver(byte[] script) {
+		this.in = new CommandReader(script);
+	}
+
+	/*
+	 * Function:			Load
+	 * Params: 				Script file(Path)
+	 * Purpose:				Read a script file into a driver in one go
+	 * Returns: 			Driver for the script(ScriptDriver)
+	 */
+	public static ScriptDriver Load(Path file) {
+		try {
+			return new ScriptDriver(Files.readAllBytes(file));
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/*
+	 * Function:			Run
+	 * Params: 				Game output, usually Renderer.SILENT(Renderer)
+	 * Purpose:				Play every game left in the script, counting how each ended
+	 * Returns:
+	 */
+	public void Run(Renderer render) {
+		while (true) {
+			Command command = in.Next();
+			if (command == Command.END) {
+				return;
+			}
+			if (command != Command.GAME) {
+				// Left over from a game that already ended or failed
+				continue;
+			}
+			games++;
+			if (!ReadNumbers(header, 3)) {
+				failed++;
+				continue;
+			}
+			Rummy game = new Rummy((int) header[0], header[1], render);
+			game.SetRoundLimit((int) header[2]);
+			Player[] players = new Player[game.GetNumPlayers()];
+			ConsolePlayer player = new ConsolePlayer(in);
+			for (int i = 0; i < players.length; i++) {
+				players[i] = player;
+			}
+
+			int[] result;
+			try {
+				result = game.PlayGame(players);
+			}
+			catch (ConsolePlayer.InputEnded e) {
+				// Anything else thrown is an engine bug, not a bad script
+				failed++;
+				continue;
+			}
+
+			command = in.Next();
+			if (command == Command.EXPECT) {
+				if (ReadNumbers(header, 2) && header[0] == result[0] + 1 && header[1] == result[1]) {
+					matched++;
+				}
+				else {
+					mismatched++;
+				}
+			}
+			else if (command == Command.GAME || command == Command.END) {
+				// Nothing to check against
+				in.Unread();
+			}
+			else {
+				// The game ended before its input did
+				failed++;
+			}
+		}
+	}
+
+	/*
+	 * Function:			Record
+	 * Params: 				Where the script goes(Writer), number of games(int),
+	 * 							number of players(int), round limit(int), run seed(long)
+	 * Purpose:				Play bot games and write down what a person would have typed
+	 * 							to make the same moves, ending each game with its result
+	 * Returns:
+	 */
+	public static void Record(Writer out, int numGames, int numPlayers, int roundLimit, long seed) {
+		SplittableRandom seeds = new SplittableRandom(seed);
+		final StringBuilder typed = new StringBuilder();
+		final BotPlayer bot = new BotPlayer();
+		Player scribe = new Player() {
+			@Override
+			public String ChooseDrawLocation(Rummy game, int player) {
+				String location = bot.ChooseDrawLocation(game, player);
+				typed.append(location).append(' ');
+				return location;
+			}
+
+			@Override
+			public boolean ChooseMelds(Rummy game, int player) {
+				return bot.ChooseMelds(game, player);
+			}
+
+			@Override
+			public boolean ChooseLayOff(Rummy game, int player) {
+				boolean layOff = bot.ChooseLayOff(game, player);
+				typed.append(layOff ? "meld " : "discard ");
+				return layOff;
+			}
+
+			@Override
+			public int ChooseDiscard(Rummy game, int player) {
+				int index = bot.ChooseDiscard(game, player);
+				ArrayList<Integer> hand = game.GetHand(player);
+				int position = 0;
+				while (Renderer.CardAt(hand, position) != hand.get(index)) {
+					position++;
+				}
+				typed.append(position + 1).append('\n');
+				return index;
+			}
+		};
+
+		try {
+			for (int g = 0; g < numGames; g++) {
+				long gameSeed = seeds.nextLong();
+				Rummy game = new Rummy(numPlayers, gameSeed, Renderer.SILENT);
+				game.SetRoundLimit(roundLimit);
+				Player[] players = new Player[game.GetNumPlayers()];
+				for (int i = 0; i < players.length; i++) {
+					players[i] = scribe;
+				}
+				typed.setLength(0);
+				int[] result = game.PlayGame(players);
+				out.write("game " + numPlayers + " " + gameSeed + " " + roundLimit + "\n");
+				out.append(typed);
+				out.write("expect " + (result[0] + 1) + " " + result[1] + "\n");
+			}
+			out.flush();
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/*
+	 * Function:			GetGames
+	 * Params:
+	 * Purpose:				Getter for how many games the script started
+	 * Returns: 			Games(int)
+	 */
+	public int GetGames() {
+		return games;
+	}
+
+	/*
+	 * Function:			GetMatched
+	 * Params:
+	 * Purpose:				Getter for how many games ended as expected
+	 * Returns: 			Games(int)
+	 */
+	public int GetMatched() {
+		return matched;
+	}
+
+	/*
+	 * Function:			GetMismatched
+	 * Params:
+	 * Purpose:				Getter for how many games ended with another winner or score
+	 * Returns: 			Games(int)
+	 */
+	public int GetMismatched() {
+		return mismatched;
+	}
+
+	/*
+	 * Function:			GetFailed
+	 * Params:
+	 * Purpose:				Getter for how many games did not fit their input
+	 * Returns: 			Games(int)
+	 */
+	public int GetFailed() {
+		return failed;
+	}
+
+	/*
+	 * Function:			ReadNumbers
+	 * Params: 				Where the numbers go(long[]), how many to read(int)
+	 * Purpose:				Read the numbers that follow a game or expect line
+	 * Returns: 			Whether every word was a number(boolean)
+	 */
+	private boolean ReadNumbers(long[] numbers, int count) {
+		for (int i = 0; i < count; i++) {
+			Command command = in.Next();
+			if (command != Command.NUMBER) {
+				if (command == Command.GAME) {
+					in.Unread();
+				}
+				return false;
+			}
+			numbers[i] = in.Number();
+		}
+		return true;
+	}
+}
@@ -0,0 +1,779 @@
+/*
+ * 	File:				SelfCheck.java
+ * 	Associated Files:	MeldSolver.java, HandCache.java, Bitboard.java, Card.java, Main.java,
+ * 							Endgame.java, Rummy.java, BotPlayer.java, Player.java, GameState.java
+ * 	Packages Needed:	java.io.PrintStream, java.util.ArrayList, java.util.SplittableRandom
+ * 	Author:            	Michael Ngo (https://github.com/yeeshue99)
+ * 	Date Modified:      10/18/2026 by Michael Ngo
+ * 	Modified By:        Michael Ngo
+ *
+ * 	Purpose:			Check the fast solvers against slow brute force answers, and
+ * 							saved games against games left alone
+ */
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+
+/*
+ * Class:				SelfCheck
+ * Purpose:				Cross checks run from "Main check". The meld check deals random
+ * 							hands and compares the split MeldSolver and HandCache lay
+ * 							down with the best split found by trying every set of
+ * 							disjoint melds in the hand. The endgame check plays bot games
+ * 							down to a short stock and compares what Endgame says with
+ * 							every line the engine itself can play from there, and with
+ * 							what a solver on several threads says. The state check plays
+ * 							each bot game twice, the second time saving, forking and
+ * 							undoing a change at every turn, and the two must match
+ * Methods:				CheckMelds, CheckSplit, BruteMelded, Best, AllMelds, IsMeld,
+ * 							CheckEndgame, Lowest, Run, Moves, Value, MoveValue, CheckState,
+ * 							Bots, Mutate, Describe, Drift, Show, Show
+ */
+public class SelfCheck {
+
+	// Suits in card code order
+	private static final String SUITS = "CHSD";
+
+	// Values the dense hands are dealt from
+	private static final int DENSE_VALUES = 5;
+
+	// Most melds a hand of up to one deck can hold, counting every overlapping one
+	private static final int MAX_CANDIDATES = 1024;
+
+	// Stock size at which a bot game is picked up for the endgame check
+	private static final int ENDGAME_STOCK = 10;
+
+	// Turns the endgame check looks ahead
+	private static final int ENDGAME_TURNS = 4;
+
+	// Size of each endgame solver's table, as a power of two
+	private static final int ENDGAME_TABLE_BITS = 20;
+
+	// Draw sources by the index the moves hold
+	private static final String[] SOURCES = { "deck", "discard" };
+
+	/*
+	 * Class:				Stop
+	 * Purpose:				Thrown by Script to end a game where the check wants to look
+	 * Methods:
+	 */
+	private static final class Stop extends RuntimeException {
+		private static final long serialVersionUID = 1L;
+
+		Stop() {
+			super("Script finished", null, false, false);
+		}
+	}
+
+	/*
+	 * Class:				Meddler
+	 * Purpose:				Bot that, at the start of every turn, saves the game, plays a
+	 * 							fork and a fork of the saved version to the end, then changes
+	 * 							the live game and undoes the change. Each fork must end the
+	 * 							way the untouched game did, and the live game must be just as
+	 * 							it was after each step
+	 * Methods:				ChooseDrawLocation
+	 */
+	private static class Meddler extends BotPlayer {
+		private final int[] expected;
+		private final int[] tally;
+		private final String name;
+		private final PrintStream out;
+
+		Meddler(int[] expected, int[] tally, String name, PrintStream out) {
+			this.expected = expected;
+			this.tally = tally;
+			this.name = name;
+			this.out = out;
+		}
+
+		/*
+		 * Function:			ChooseDrawLocation
+		 * Params: 				Game being played(Rummy), current player(int)
+		 * Purpose:				Check the forks and the undo, then draw as the bot would
+		 * Returns: 			where to draw from(String)
+		 */
+		@Override
+		public String ChooseDrawLocation(Rummy game, int player) {
+			tally[0]++;
+			String before = Describe(game);
+			GameState saved = game.Save();
+			Check(game.Fork().PlayFrom(Bots(game.GetNumPlayers()), player), game, before, "a fork", player);
+			Check(saved.Fork().PlayFrom(Bots(game.GetNumPlayers()), player), game, before, "a saved fork", player);
+			Mutate(game, player);
+			if (!game.Undo()) {
+				tally[1]++;
+				out.printf("%s, round %d: nothing to undo%n", name, game.GetRounds());
+			}
+			Check(expected, game, before, "an undo", player);
+			return super.ChooseDrawLocation(game, player);
+		}
+
+		/*
+		 * Function:			Check
+		 * Params: 				How the copy ended(int[]), live game(Rummy), the live game
+		 * 							before(String), what was done(String), seat to move(int)
+		 * Purpose:				Report a copy that ended another way, or a live game that
+		 * 							was changed or whose hands no longer match their analysis
+		 * Returns:
+		 */
+		private void Check(int[] result, Rummy game, String before, String step, int player) {
+			String problem = null;
+			if (result[0] != expected[0] || result[1] != expected[1]) {
+				problem = step + " won with seat " + (result[0] + 1) + " for " + result[1] + " points";
+			}
+			else if (!Describe(game).equals(before)) {
+				problem = step + " changed the live game to " + Describe(game);
+			}
+			else if (Drift(game) >= 0) {
+				problem = step + " left the analysis of seat " + (Drift(game) + 1) + " out of date";
+			}
+			if (problem != null) {
+				tally[1]++;
+				out.printf("%s, round %d, seat %d to move: %s%n", name, game.GetRounds(), player + 1, problem);
+			}
+		}
+	}
+
+	/*
+	 * Class:				Capture
+	 * Purpose:				Bot that forks the game the first time a draw comes up with
+	 * 							the stock down to a given size. Every seat shares the slot
+	 * 							the copy and the seat to move are put in
+	 * Methods:				ChooseDrawLocation
+	 */
+	private static class Capture extends BotPlayer {
+		private final Rummy[] position;
+		private final int[] seat;
+		private final int stock;
+
+		Capture(Rummy[] position, int[] seat, int stock) {
+			this.position = position;
+			this.seat = seat;
+			this.stock = stock;
+		}
+
+		/*
+		 * Function:			ChooseDrawLocation
+		 * Params: 				Game being played(Rummy), current player(int)
+		 * Purpose:				Fork the game if it is the first draw at the stock size,
+		 * 							then draw as the bot would
+		 * Returns: 			where to draw from(String)
+		 */
+		@Override
+		public String ChooseDrawLocation(Rummy game, int player) {
+			if (position[0] == null && game.GetDeck().deck.Size() <= stock) {
+				position[0] = game.Fork();
+				seat[0] = player;
+			}
+			return super.ChooseDrawLocation(game, player);
+		}
+	}
+
+	/*
+	 * Class:				Script
+	 * Purpose:				Plays one turn the check picked, melding and laying off all
+	 * 							it can, then stops at the next draw. With no discard picked
+	 * 							it stops at the discard instead and keeps the hand it saw
+	 * Methods:				ChooseDrawLocation, ChooseMelds, ChooseLayOff, ChooseDiscard
+	 */
+	private static class Script implements Player {
+		private final String source;
+		private final int card;
+		private boolean started = false;
+		private boolean laidOff = false;
+		private long hand = 0L;
+
+		Script(String source, int card) {
+			this.source = source;
+			this.card = card;
+		}
+
+		/*
+		 * Function:			ChooseDrawLocation
+		 * Params: 				Game being played(Rummy), current player(int)
+		 * Purpose:				Draw from the picked pile, or stop if the turn is over
+		 * Returns: 			where to draw from(String)
+		 */
+		@Override
+		public String ChooseDrawLocation(Rummy game, int player) {
+			if (started) {
+				throw new Stop();
+			}
+			started = true;
+			return source;
+		}
+
+		/*
+		 * Function:			ChooseMelds
+		 * Params: 				Game being played(Rummy), current player(int)
+		 * Purpose:				Always lay down melds
+		 * Returns: 			true(boolean)
+		 */
+		@Override
+		public boolean ChooseMelds(Rummy game, int player) {
+			return true;
+		}
+
+		/*
+		 * Function:			ChooseLayOff
+		 * Params: 				Game being played(Rummy), current player(int)
+		 * Purpose:				Lay off once in the turn
+		 * Returns: 			Whether to lay off(boolean)
+		 */
+		@Override
+		public boolean ChooseLayOff(Rummy game, int player) {
+			if (laidOff) {
+				return false;
+			}
+			laidOff = true;
+			return true;
+		}
+
+		/*
+		 * Function:			ChooseDiscard
+		 * Params: 				Game being played(Rummy), current player(int)
+		 * Purpose:				Throw out the picked card, or keep the hand and stop
+		 * Returns: 			Index of the card in the hand(int)
+		 */
+		@Override
+		public int ChooseDiscard(Rummy game, int player) {
+			if (card == Card.NO_CARD) {
+				hand = Bitboard.FromHand(game.GetHand(player));
+				throw new Stop();
+			}
+			int index = game.GetHand(player).indexOf(card);
+			if (index < 0) {
+				throw new IllegalStateException("Script discard " + Card.Short(card) + " is not in the hand");
+			}
+			return index;
+		}
+	}
+
+	/*
+	 * Function:			CheckMelds
+	 * Params: 				Number of hands(int), seed for dealing(long), where to
+	 * 							report(PrintStream)
+	 * Purpose:				Deal hands of 3 to 14 cards, every other one from only a
+	 * 							few values, and check each one's split, deadwood and
+	 * 							HasMeld against brute force. The hand cache is asked twice
+	 * 							so both a miss and a hit are checked
+	 * Returns: 			Number of mismatches(int)
+	 */
+	public static int CheckMelds(int hands, long seed, PrintStream out) {
+		SplittableRandom rng = new SplittableRandom(seed);
+		long[] melds = new long[MeldSolver.MAX_MELDS];
+		int bad = 0;
+		int melded = 0;
+		for (int i = 0; i < hands; i++) {
+			Deck deck = new Deck(rng.nextLong());
+			// Every other hand comes from a few neighbouring values, so melds overlap
+			int low = i % 2 == 0 ? 1 : 1 + rng.nextInt(Card.RANKS - DENSE_VALUES + 1);
+			int high = i % 2 == 0 ? Card.RANKS : low + DENSE_VALUES - 1;
+			long hand = 0L;
+			for (int k = 3 + rng.nextInt(12); k > 0; ) {
+				int card = deck.deck.Pop();
+				if (Card.Value(card) >= low && Card.Value(card) <= high) {
+					hand |= Bitboard.Bit(card);
+					k--;
+				}
+			}
+			int best = BruteMelded(hand);
+			int deadwood = MeldSolver.Points(hand) - best;
+			if (best > 0) {
+				melded++;
+			}
+
+			String problem = null;
+			if (Bitboard.HasMeld(hand) != (best > 0)) {
+				problem = "HasMeld " + Bitboard.HasMeld(hand);
+			}
+			else if (MeldSolver.Shared().Deadwood(hand) != deadwood) {
+				problem = "MeldSolver deadwood " + MeldSolver.Shared().Deadwood(hand);
+			}
+			else if (HandCache.Shared().Deadwood(hand) != deadwood) {
+				problem = "HandCache deadwood " + HandCache.Shared().Deadwood(hand);
+			}
+			else {
+				problem = CheckSplit(hand, MeldSolver.Shared().Solve(hand, melds), melds, best, "MeldSolver");
+				for (int pass = 0; pass < 2 && problem == null; pass++) {
+					problem = CheckSplit(hand, HandCache.Shared().Split(hand, melds), melds, best, "HandCache");
+				}
+			}
+			if (problem != null) {
+				bad++;
+				out.printf("Hand %s: brute force deadwood %d, %s%n", Show(hand), deadwood, problem);
+			}
+		}
+		out.printf("Checked %d hands, %d with melds: %d mismatches%n", hands, melded, bad);
+		return bad;
+	}
+
+	/*
+	 * Function:			CheckSplit
+	 * Params: 				Hand that was split(long), number of melds(int), the
+	 * 							melds(long[]), most points brute force melds(int), which
+	 * 							solver made the split(String)
+	 * Purpose:				Check the melds are real, disjoint, from the hand and lay
+	 * 							down as many points as brute force
+	 * Returns: 			What was wrong, or null if the split is right(String)
+	 */
+	private static String CheckSplit(long hand, int count, long[] melds, int best, String solver) {
+		long used = 0L;
+		int points = 0;
+		for (int i = 0; i < count; i++) {
+			if (!IsMeld(melds[i])) {
+				return solver + " laid down " + Show(melds[i]) + ", which is not a meld";
+			}
+			if ((melds[i] & ~hand) != 0 || (melds[i] & used) != 0) {
+				return solver + " laid down " + Show(melds[i]) + " twice or from outside the hand";
+			}
+			used |= melds[i];
+			points += MeldSolver.Points(melds[i]);
+		}
+		if (points != best) {
+			return solver + " melded " + points + " points with " + Show(used) + " against " + best;
+		}
+		return null;
+	}
+
+	/*
+	 * Function:			BruteMelded
+	 * Params: 				Hand to split(long)
+	 * Purpose:				Try every set of disjoint melds in the hand
+	 * Returns: 			Most points that can be melded(int)
+	 */
+	static int BruteMelded(long hand) {
+		long[] candidates = new long[MAX_CANDIDATES];
+		int count = AllMelds(hand, candidates);
+		return Best(candidates, count, 0, hand);
+	}
+
+	/*
+	 * Function:			Best
+	 * Params: 				Every meld in the hand(long[]), number of melds(int), first
+	 * 							meld still to try(int), cards not yet used(long)
+	 * Purpose:				Take or skip each meld in turn
+	 * Returns: 			Most points the melds from here on can lay down(int)
+	 */
+	private static int Best(long[] candidates, int count, int from, long left) {
+		int best = 0;
+		for (int i = from; i < count; i++) {
+			if ((candidates[i] & ~left) == 0) {
+				best = Math.max(best, MeldSolver.Points(candidates[i]) + Best(candidates, count, i + 1, left & ~candidates[i]));
+			}
+		}
+		return best;
+	}
+
+	/*
+	 * Function:			AllMelds
+	 * Params: 				Hand(long), array to fill(long[])
+	 * Purpose:				List every run of 3 or more in a suit and every set of 3 or
+	 * 							more of a value that the hand holds, overlapping or not
+	 * Returns: 			Number of melds written to the array(int)
+	 */
+	private static int AllMelds(long hand, long[] candidates) {
+		int count = 0;
+		for (int s = 0; s < SUITS.length(); s++) {
+			for (int low = 1; low <= Card.RANKS - 2; low++) {
+				long run = 0L;
+				for (int value = low; value <= Card.RANKS; value++) {
+					long card = Bitboard.Bit(Card.Code(value, SUITS.charAt(s)));
+					if ((hand & card) == 0) {
+						break;
+					}
+					run |= card;
+					if (value - low >= 2) {
+						candidates[count++] = run;
+					}
+				}
+			}
+		}
+		for (int value = 1; value <= Card.RANKS; value++) {
+			long same = 0L;
+			for (int s = 0; s < SUITS.length(); s++) {
+				same |= Bitboard.Bit(Card.Code(value, SUITS.charAt(s)));
+			}
+			same &= hand;
+			// Every subset of the value's cards, keeping those of 3 or more
+			for (long subset = same; subset != 0; subset = (subset - 1) & same) {
+				if (Bitboard.Count(subset) >= 3) {
+					candidates[count++] = subset;
+				}
+			}
+		}
+		return count;
+	}
+
+	/*
+	 * Function:			IsMeld
+	 * Params: 				Cards laid down together(long)
+	 * Purpose:				Check the cards are 3 or more of a value, or a run of 3 or
+	 * 							more in one suit
+	 * Returns: 			Whether the cards are a meld(boolean)
+	 */
+	private static boolean IsMeld(long meld) {
+		if (Bitboard.Count(meld) < 3) {
+			return false;
+		}
+		int first = Long.numberOfTrailingZeros(meld);
+		boolean sameValue = true;
+		boolean sameSuit = true;
+		for (long bits = meld; bits != 0; bits &= bits - 1) {
+			int card = Long.numberOfTrailingZeros(bits);
+			sameValue &= Card.Value(card) == Card.Value(first);
+			sameSuit &= Card.Suit(card) == Card.Suit(first);
+		}
+		if (sameValue) {
+			return true;
+		}
+		int high = Card.Value(63 - Long.numberOfLeadingZeros(meld));
+		return sameSuit && high - Card.Value(first) + 1 == Bitboard.Count(meld);
+	}
+
+	/*
+	 * Function:			CheckEndgame
+	 * Params: 				Number of games(int), seed for the first game(long), where to
+	 * 							report(PrintStream)
+	 * Purpose:				Play bot games of 2 to 4 players down to a short stock and
+	 * 							check the solver's answer for the seat to move, and its
+	 * 							value for each move, against playing out every line with
+	 * 							the engine. Every other position is one round from the
+	 * 							round limit, so games that end on the limit are checked
+	 * 							too. A solver on several threads must give the same answer
+	 * Returns: 			Number of mismatches(int)
+	 */
+	public static int CheckEndgame(int games, long seed, PrintStream out) {
+		Endgame solver = new Endgame(ENDGAME_TABLE_BITS, 1);
+		Endgame parallel = new Endgame(ENDGAME_TABLE_BITS, Math.max(2, Runtime.getRuntime().availableProcessors()));
+		int positions = 0;
+		int moves = 0;
+		int wins = 0;
+		int bad = 0;
+		try {
+			for (int g = 0; g < games; g++) {
+				int players = 2 + g % 3;
+				Rummy game = new Rummy(players, seed + g, Renderer.SILENT, null);
+				game.SetRoundLimit(Simulation.ROUND_LIMIT);
+				Rummy[] position = new Rummy[1];
+				int[] seat = new int[1];
+				Player[] bots = new Player[players];
+				for (int i = 0; i < players; i++) {
+					bots[i] = new Capture(position, seat, ENDGAME_STOCK);
+				}
+				game.PlayGame(bots);
+				if (position[0] == null) {
+					continue;
+				}
+				Rummy start = position[0];
+				if ((g / 3) % 2 == 1) {
+					start.SetRoundLimit(start.GetRounds() + 1);
+				}
+				positions++;
+
+				Endgame.Solution solution = solver.Solve(start, seat[0], ENDGAME_TURNS);
+				boolean engineWins = Value(start, seat[0], seat[0], ENDGAME_TURNS) == Endgame.WIN;
+				if (solution.Wins()) {
+					wins++;
+				}
+				if (solution.Wins() != engineWins) {
+					bad++;
+					out.printf("Game %d, seat %d: solver wins %b, engine wins %b%n", seed + g, seat[0] + 1,
+							solution.Wins(), engineWins);
+				}
+				Endgame.Solution threaded = parallel.Solve(start, seat[0], ENDGAME_TURNS);
+				if (threaded.Wins() != solution.Wins() || threaded.IsExact() != solution.IsExact()) {
+					bad++;
+					out.printf("Game %d, seat %d: one thread wins %b exact %b, several win %b exact %b%n", seed + g,
+							seat[0] + 1, solution.Wins(), solution.IsExact(), threaded.Wins(), threaded.IsExact());
+				}
+				for (int[] move : Moves(start, seat[0])) {
+					moves++;
+					int engine = MoveValue(start, seat[0], seat[0], ENDGAME_TURNS, move);
+					int solved = solver.Evaluate(start, seat[0], SOURCES[move[0]], move[1], ENDGAME_TURNS);
+					if (engine != solved) {
+						bad++;
+						out.printf("Game %d, seat %d: draw from %s, discard %s: solver %d, engine %d%n", seed + g,
+								seat[0] + 1, SOURCES[move[0]], move[1] == Card.NO_CARD ? "none" : Card.Short(move[1]),
+								solved, engine);
+					}
+				}
+			}
+		}
+		finally {
+			solver.Shutdown();
+			parallel.Shutdown();
+		}
+		out.printf("Checked %d positions, %d moves, %d wins: %d mismatches%n", positions, moves, wins, bad);
+		return bad;
+	}
+
+	/*
+	 * Function:			Lowest
+	 * Params: 				Game that has run out(Rummy)
+	 * Purpose:				Find who wins when no one can go out, the lowest hand with
+	 * 							ties to the earlier seat
+	 * Returns: 			Position of that player(int)
+	 */
+	private static int Lowest(Rummy game) {
+		int best = 0;
+		for (int i = 1; i < game.GetNumPlayers(); i++) {
+			if (Deck.CalculateScore(game.GetHand(i)) < Deck.CalculateScore(game.GetHand(best))) {
+				best = i;
+			}
+		}
+		return best;
+	}
+
+	/*
+	 * Function:			Run
+	 * Params: 				Game to play on(Rummy), seat to move(int), turn to play(Script)
+	 * Purpose:				Let the script play every seat until it stops or the game ends
+	 * Returns: 			The winner, or -1 if the script stopped first(int)
+	 */
+	private static int Run(Rummy game, int seat, Script script) {
+		Player[] players = new Player[game.GetNumPlayers()];
+		for (int i = 0; i < players.length; i++) {
+			players[i] = script;
+		}
+		try {
+			return game.PlayFrom(players, seat)[0];
+		}
+		catch (Stop e) {
+			return -1;
+		}
+	}
+
+	/*
+	 * Function:			Moves
+	 * Params: 				Game to move in(Rummy), seat to move(int)
+	 * Purpose:				Find each draw the engine allows and each card it leaves to
+	 * 							discard. A draw that goes out has no discard
+	 * Returns: 			Each move as source index and card(ArrayList<int[]>)
+	 */
+	private static ArrayList<int[]> Moves(Rummy game, int seat) {
+		ArrayList<int[]> moves = new ArrayList<int[]>();
+		for (int source = 0; source < SOURCES.length; source++) {
+			if (!game.GetDeck().CanDraw(SOURCES[source])) {
+				continue;
+			}
+			Script script = new Script(SOURCES[source], Card.NO_CARD);
+			if (Run(game.Fork(), seat, script) >= 0) {
+				moves.add(new int[] { source, Card.NO_CARD });
+				continue;
+			}
+			for (long bits = script.hand; bits != 0; bits &= bits - 1) {
+				moves.add(new int[] { source, Long.numberOfTrailingZeros(bits) });
+			}
+		}
+		return moves;
+	}
+
+	/*
+	 * Function:			Value
+	 * Params: 				Game to move in(Rummy), seat to move(int), seat being solved
+	 * 							for(int), turns left(int)
+	 * Purpose:				Try every move the engine allows. The solved seat wins if any
+	 * 							of its moves wins, and loses if any other seat's move beats it
+	 * Returns: 			Endgame.WIN or Endgame.LOSS for the solved seat(int)
+	 */
+	private static int Value(Rummy game, int seat, int root, int turns) {
+		ArrayList<int[]> moves = Moves(game, seat);
+		if (moves.isEmpty()) {
+			return Lowest(game) == root ? Endgame.WIN : Endgame.LOSS;
+		}
+		int target = seat == root ? Endgame.WIN : Endgame.LOSS;
+		for (int[] move : moves) {
+			if (MoveValue(game, seat, root, turns, move) == target) {
+				return target;
+			}
+		}
+		return -target;
+	}
+
+	/*
+	 * Function:			MoveValue
+	 * Params: 				Game to move in(Rummy), seat to move(int), seat being solved
+	 * 							for(int), turns left(int), source index and card(int[])
+	 * Purpose:				Play the move on a copy and go on from there. When the
+	 * 							turns run out the lowest hand wins, as the solver scores it
+	 * Returns: 			Endgame.WIN or Endgame.LOSS for the solved seat(int)
+	 */
+	private static int MoveValue(Rummy game, int seat, int root, int turns, int[] move) {
+		Rummy copy = game.Fork();
+		int winner = Run(copy, seat, new Script(SOURCES[move[0]], move[1]));
+		if (winner >= 0) {
+			return winner == root ? Endgame.WIN : Endgame.LOSS;
+		}
+		if (turns == 1) {
+			return Lowest(copy) == root ? Endgame.WIN : Endgame.LOSS;
+		}
+		return Value(copy, (seat + 1) % copy.GetNumPlayers(), root, turns - 1);
+	}
+
+	/*
+	 * Function:			CheckState
+	 * Params: 				Number of games(int), seed for the first game(long), where to
+	 * 							report(PrintStream)
+	 * Purpose:				Play bot games of 2 to 8 players twice, once untouched and
+	 * 							once with a save, two forks and an undone change at every
+	 * 							turn, and check both end the same way with the same cards
+	 * 							where they were
+	 * Returns: 			Number of mismatches(int)
+	 */
+	public static int CheckState(int games, long seed, PrintStream out) {
+		// Turns checked, then mismatches
+		int[] tally = new int[2];
+		for (int g = 0; g < games; g++) {
+			int players = 2 + g % 7;
+			Rummy untouched = new Rummy(players, seed + g, Renderer.SILENT, null);
+			untouched.SetRoundLimit(Simulation.ROUND_LIMIT);
+			int[] expected = untouched.PlayGame(Bots(players));
+
+			String name = "Game " + (seed + g) + " with " + players + " players";
+			Rummy game = new Rummy(players, seed + g, Renderer.SILENT, null);
+			game.SetRoundLimit(Simulation.ROUND_LIMIT);
+			Player[] meddlers = new Player[players];
+			for (int i = 0; i < players; i++) {
+				meddlers[i] = new Meddler(expected, tally, name, out);
+			}
+			int[] result = game.PlayGame(meddlers);
+			if (result[0] != expected[0] || result[1] != expected[1] || !Describe(game).equals(Describe(untouched))) {
+				tally[1]++;
+				out.printf("%s: ended as %s, untouched it ended as %s%n", name, Describe(game), Describe(untouched));
+			}
+		}
+		out.printf("Checked %d games, %d turns: %d mismatches%n", games, tally[0], tally[1]);
+		return tally[1];
+	}
+
+	/*
+	 * Function:			Bots
+	 * Params: 				Number of seats(int)
+	 * Purpose:				Seat a fresh BotPlayer in every seat
+	 * Returns: 			The bots(Player[])
+	 */
+	private static Player[] Bots(int players) {
+		Player[] bots = new Player[players];
+		for (int i = 0; i < players; i++) {
+			bots[i] = new BotPlayer();
+		}
+		return bots;
+	}
+
+	/*
+	 * Function:			Mutate
+	 * Params: 				Game to change(Rummy), seat to move(int)
+	 * Purpose:				Play part of a turn by hand and move the round, seat and the
+	 * 							next hand on, writing to every pile the game shares with its
+	 * 							saved version
+	 * Returns:
+	 */
+	private static void Mutate(Rummy game, int player) {
+		Deck deck = game.GetDeck();
+		ArrayList<Integer> hand = game.GetHand(player);
+		for (String source : SOURCES) {
+			if (deck.CanDraw(source)) {
+				hand.add(deck.DrawCard(source));
+			}
+		}
+		deck.RemoveCards(hand);
+		deck.CheckMelds(hand);
+		if (!hand.isEmpty()) {
+			deck.Discard(hand.remove(hand.size() - 1));
+		}
+		ArrayList<Integer> other = game.GetHand((player + 1) % game.GetNumPlayers());
+		if (!other.isEmpty()) {
+			other.remove(0);
+		}
+		game.known[player] = Bitboard.FromHand(hand);
+		game.rounds++;
+		game.next = (player + 1) % game.GetNumPlayers();
+	}
+
+	/*
+	 * Function:			Describe
+	 * Params: 				Game to look at(Rummy)
+	 * Purpose:				Write out everything a save has to bring back: the round, the
+	 * 							seat to move, the stock, the discard pile, the table and each
+	 * 							hand in order with the cards it is known to hold
+	 * Returns: 			Description of the game(String)
+	 */
+	private static String Describe(Rummy game) {
+		Deck deck = game.GetDeck();
+		StringBuilder text = new StringBuilder();
+		text.append("round ").append(game.GetRounds()).append(", seat ").append(game.next + 1);
+		text.append(", stock ").append(Show(deck.deck));
+		text.append(", discard ").append(Show(deck.discard));
+		text.append(", table");
+		for (int meld = 0; meld < deck.melds.Size(); meld++) {
+			text.append(' ').append(deck.melds.TypeName(meld)).append(deck.melds.Get(meld));
+		}
+		for (int i = 0; i < game.GetNumPlayers(); i++) {
+			text.append(", hand ").append(i + 1).append(' ').append(game.GetHand(i));
+			text.append(" known ").append(Show(game.GetKnown(i)));
+		}
+		return text.toString();
+	}
+
+	/*
+	 * Function:			Drift
+	 * Params: 				Game to look at(Rummy)
+	 * Purpose:				Count every hand again and compare with its kept analysis
+	 * Returns: 			First seat whose bitboard or points are off, or -1(int)
+	 */
+	private static int Drift(Rummy game) {
+		for (int i = 0; i < game.GetNumPlayers(); i++) {
+			ArrayList<Integer> hand = game.GetHand(i);
+			if (!(hand instanceof Hand)) {
+				continue;
+			}
+			long bits = 0L;
+			int points = 0;
+			for (int card : hand) {
+				bits |= Bitboard.Bit(card);
+				points += Deck.CardScore(card);
+			}
+			if (((Hand) hand).Bits() != bits || ((Hand) hand).Points() != points) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/*
+	 * Function:			Show
+	 * Params: 				Pile of cards(CardStack)
+	 * Purpose:				Pretty print of a pile, bottom card first
+	 * Returns: 			Short labels of the cards(String)
+	 */
+	private static String Show(CardStack pile) {
+		StringBuilder text = new StringBuilder("[");
+		for (int i = 0; i < pile.Size(); i++) {
+			if (i > 0) {
+				text.append(' ');
+			}
+			text.append(Card.Short(pile.Get(i)));
+		}
+		return text.append(']').toString();
+	}
+
+	/*
+	 * Function:			Show
+	 * Params: 				Cards(long)
+	 * Purpose:				Pretty print of a set of cards
+	 * Returns: 			Short labels of the cards(String)
+	 */
+	private static String Show(long cards) {
+		StringBuilder text = new StringBuilder("[");
+		for (long bits = cards; bits != 0; bits &= bits - 1) {
+			if (text.length() > 1) {
+				text.append(' ');
+			}
+			text.append(Card.Short(Long.numberOfTrailingZeros(bits)));
+		}
+		return text.append(']').toString();
+	}
+}
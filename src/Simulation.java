@@ -0,0 +1,163 @@
+/*	
+ * 	File:				Simulation.java
+ * 	Associated Files:	Rummy.java, BotPlayer.java, Main.java, Journal.java, GameStats.java, GameTable.java
+ * 	Packages Needed:	java.util.*, java.util.concurrent.ForkJoinPool,
+ * 							java.util.concurrent.RecursiveAction
+ * 	Author:            	Michael Ngo (https://github.com/yeeshue99)
+ * 	Date Modified:      10/18/2026 by Michael Ngo
+ * 	Modified By:        Michael Ngo
+ * 
+ * 	Purpose:			Play many bot games at once on every core
+ */
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/*
+ * Class:				Simulation
+ * Purpose:				Runs independent bot versus bot games on a fork join pool.
+ * 							Each game owns its Rummy and Deck, and each worker thread
+ * 							records into its own GameStats, so workers share nothing
+ * 							until the summaries are merged at the end. Game seeds come
+ * 							from splitting one run seed along the fixed task tree, so a
+ * 							run seed always plays the same games no matter how work is
+ * 							scheduled
+ * Methods:				RunGames, PlayOne
+ */
+public class Simulation {
+
+	// Games a worker plays before it stops splitting its range
+	private static final int BATCH = 64;
+
+	// Rounds before a bot game is called for the lowest hand
+	public static final int ROUND_LIMIT = 500;
+
+
+	/*
+	 * Class:				GameBatch
+	 * Purpose:				Fork join task playing a range of games into the running
+	 * 							thread's summary
+	 * Methods:				compute
+	 */
+	private static class GameBatch extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final int numPlayers;
+		private final int from;
+		private final int to;
+		private final SplittableRandom seeds;
+		private final Journal journal;
+		private final GameTable table;
+		private final ThreadLocal<GameStats> stats;
+
+		GameBatch(int numPlayers, int from, int to, SplittableRandom seeds, Journal journal, GameTable table,
+				ThreadLocal<GameStats> stats) {
+			this.numPlayers = numPlayers;
+			this.from = from;
+			this.to = to;
+			this.seeds = seeds;
+			this.journal = journal;
+			this.table = table;
+			this.stats = stats;
+		}
+
+		/*
+		 * Function:			compute
+		 * Params: 				
+		 * Purpose:				Play the range directly or split it in half
+		 * Returns: 			
+		 */
+		@Override
+		protected void compute() {
+			if (to - from <= BATCH) {
+				GameStats local = stats.get();
+				for (int i = from; i < to; i++) {
+					PlayOne(numPlayers, seeds.nextLong(), journal, table, local);
+				}
+				return;
+			}
+			int mid = (from + to) >>> 1;
+			GameBatch left = new GameBatch(numPlayers, from, mid, seeds.split(), journal, table, stats);
+			left.fork();
+			new GameBatch(numPlayers, mid, to, seeds, journal, table, stats).compute();
+			left.join();
+		}
+	}
+
+	/*
+	 * Function:			RunGames
+	 * Params: 				Number of games(int), number of players(int), worker threads(int),
+	 * 							run seed(long)
+	 * Purpose:				Play quiet bot games in parallel
+	 * Returns: 			Summary of every game(GameStats)
+	 */
+	public static GameStats RunGames(int games, int numPlayers, int threads, long seed) {
+		return RunGames(games, numPlayers, threads, seed, null, null);
+	}
+
+	/*
+	 * Function:			RunGames Overload
+	 * Params: 				Number of games(int), number of players(int), worker threads(int),
+	 * 							run seed(long), where to record every game, or null(Journal),
+	 * 							where to add a row for every game, or null(GameTable)
+	 * Purpose:				Play quiet bot games in parallel, recording each one as it ends.
+	 * 							Each worker thread gets a summary the first time it plays, and
+	 * 							they are merged once every game is done
+	 * Returns: 			Summary of every game(GameStats)
+	 */
+	public static GameStats RunGames(int games, int numPlayers, int threads, long seed, Journal journal,
+			GameTable table) {
+		final List<GameStats> parts = Collections.synchronizedList(new ArrayList<GameStats>());
+		ThreadLocal<GameStats> stats = new ThreadLocal<GameStats>() {
+			@Override
+			protected GameStats initialValue() {
+				GameStats part = new GameStats();
+				parts.add(part);
+				return part;
+			}
+		};
+		ForkJoinPool pool = new ForkJoinPool(threads);
+		try {
+			pool.invoke(new GameBatch(numPlayers, 0, games, new SplittableRandom(seed), journal, table, stats));
+		}
+		finally {
+			pool.shutdown();
+		}
+		GameStats total = new GameStats();
+		synchronized (parts) {
+			for (GameStats part : parts) {
+				total.Merge(part);
+			}
+		}
+		return total;
+	}
+
+	/*
+	 * Function:			PlayOne
+	 * Params: 				Number of players(int), game seed(long), where to record the game,
+	 * 							or null(Journal), where to add its row, or null(GameTable),
+	 * 							summary to add the game to, or null(GameStats)
+	 * Purpose:				Play one bot game from deal to finish
+	 * Returns: 			Seat of the winner(int)
+	 */
+	public static int PlayOne(int numPlayers, long seed, Journal journal, GameTable table, GameStats stats) {
+		Rummy game = new Rummy(numPlayers, seed, Renderer.SILENT, journal);
+		game.SetRoundLimit(ROUND_LIMIT);
+		Player[] players = new Player[game.GetNumPlayers()];
+		for (int i = 0; i < players.length; i++) {
+			players[i] = new BotPlayer();
+		}
+		int[] result = game.PlayGame(players);
+		if (table != null) {
+			table.Append(game, result);
+		}
+		if (stats != null) {
+			stats.Record(game, result);
+		}
+		return result[0];
+	}
+}
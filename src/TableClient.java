@@ -0,0 +1,172 @@
+/*
+ * 	File:				TableClient.java
+ * 	Associated Files:	GameServer.java, RemotePlayer.java, Main.java
+ * 	Packages Needed:	java.io.*, java.net.Socket, java.nio.charset.StandardCharsets
+ * 	Author:            	Michael Ngo (https://github.com/yeeshue99)
+ * 	Date Modified:      10/18/2026 by Michael Ngo
+ * 	Modified By:        Michael Ngo
+ *
+ * 	Purpose:			Scripted client for load testing the game server
+ */
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+/*
+ * Class:				TableClient
+ * Purpose:				Plays one game against a GameServer with a fixed script: draw
+ * 							from the deck, lay off once a turn and throw out the highest
+ * 							card. Times every answer until the next prompt comes back,
+ * 							and RunLoad runs many clients at once to see how the server
+ * 							holds up as the table count grows
+ * Methods:				Play, RunLoad, GetLatencies, Record
+ */
+public class TableClient {
+
+	// Latency buckets, bucket n holds answers that took under 2^n microseconds
+	public static final int BUCKETS = 32;
+
+	private final String host;
+	private final int port;
+	private final String join;
+	private final long[] latencies = new long[BUCKETS];
+	private boolean finished = false;
+
+	/*
+	 * Function:			Initialize
+	 * Params: 				Server host(String), server port(int), seats at the table(int),
+	 * 							whether to fill the other seats with bots(boolean)
+	 * Purpose:				Initializes a client that has not yet connected
+	 * Returns:
+	 */
+	public TableClient(String host, int port, int numPlayers, boolean bots) {
+		this.host = host;
+		this.port = port;
+		this.join = "JOIN " + numPlayers + (bots ? " bots" : "");
+	}
+
+	/*
+	 * Function:			Play
+	 * Params:
+	 * Purpose:				Connect, join a table and answer every prompt until the game ends
+	 * Returns: 			Whether the game finished rather than being aborted(boolean)
+	 */
+	public boolean Play() {
+		try (Socket socket = new Socket(host, port)) {
+			socket.setTcpNoDelay(true);
+			BufferedReader in = new BufferedReader(
+					new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+			Writer out = new BufferedWriter(
+					new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII));
+			out.write(join + "\n");
+			out.flush();
+
+			boolean laidOff = false;
+			long sent = 0;
+			String line;
+			while ((line = in.readLine()) != null) {
+				String answer = null;
+				if (line.startsWith("DRAW?")) {
+					laidOff = false;
+					answer = "DRAW deck";
+				}
+				else if (line.startsWith("LAYOFF?")) {
+					answer = laidOff ? "PASS" : "LAYOFF";
+					laidOff = true;
+				}
+				else if (line.startsWith("DISCARD?")) {
+					answer = "DISCARD " + line.substring("DISCARD? ".length());
+				}
+				else if (line.startsWith("END")) {
+					finished = !line.equals("END aborted");
+					break;
+				}
+				if (answer != null) {
+					if (sent != 0) {
+						Record(System.nanoTime() - sent);
+					}
+					out.write(answer);
+					out.write('\n');
+					out.flush();
+					sent = System.nanoTime();
+				}
+			}
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return finished;
+	}
+
+	/*
+	 * Function:			GetLatencies
+	 * Params:
+	 * Purpose:				Getter for the answer latency histogram
+	 * Returns: 			Count of answers per bucket(long[])
+	 */
+	public long[] GetLatencies() {
+		return latencies;
+	}
+
+	/*
+	 * Function:			RunLoad
+	 * Params: 				Server host(String), server port(int), tables to fill(int),
+	 * 							seats per table(int), whether one client plays bots(boolean)
+	 * Purpose:				Play every table at once and report games and answer latency
+	 * Returns: 			Latency histogram of every client(long[])
+	 */
+	public static long[] RunLoad(String host, int port, int tables, int numPlayers, boolean bots) {
+		int clients = bots ? tables : tables * numPlayers;
+		final TableClient[] players = new TableClient[clients];
+		final boolean[] done = new boolean[clients];
+		Thread[] threads = new Thread[clients];
+		for (int i = 0; i < clients; i++) {
+			final int n = i;
+			players[i] = new TableClient(host, port, numPlayers, bots);
+			threads[i] = new Thread(null, new Runnable() {
+				@Override
+				public void run() {
+					done[n] = players[n].Play();
+				}
+			}, "rummy-client-" + i, 256 * 1024);
+			threads[i].start();
+		}
+		long[] total = new long[BUCKETS];
+		int finishedGames = 0;
+		for (int i = 0; i < clients; i++) {
+			try {
+				threads[i].join();
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				break;
+			}
+			if (done[i]) {
+				finishedGames++;
+			}
+			for (int b = 0; b < BUCKETS; b++) {
+				total[b] += players[i].latencies[b];
+			}
+		}
+		System.out.printf("%d of %d clients finished their game%n", finishedGames, clients);
+		return total;
+	}
+
+	/*
+	 * Function:			Record
+	 * Params: 				Time from answer to next prompt in ns(long)
+	 * Purpose:				Add one answer to the latency histogram
+	 * Returns:
+	 */
+	private void Record(long nanos) {
+		long micros = Math.max(1, nanos / 1000);
+		latencies[Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros))]++;
+	}
+}
@@ -0,0 +1,418 @@
+/*
+ * 	File:				Tournament.java
+ * 	Associated Files:	Rummy.java, BotPlayer.java, AdvisorPlayer.java, MctsPlayer.java, Simulation.java, Main.java
+ * 	Packages Needed:	java.io.PrintStream, java.util.*, java.util.concurrent.*
+ * 	Author:            	Michael Ngo (https://github.com/yeeshue99)
+ * 	Date Modified:      10/18/2026 by Michael Ngo
+ * 	Modified By:        Michael Ngo
+ *
+ * 	Purpose:			Rank strategies against each other over many parallel games
+ */
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/*
+ * Class:				Tournament
+ * Purpose:				Schedules matches between strategies, round robin or Swiss,
+ * 							and plays every game of a round at once on a fork join pool.
+ * 							A match is one table of entrants playing a few games with
+ * 							the seats rotated. Each round's games and seeds are fixed
+ * 							before any are played, and results are applied in schedule
+ * 							order, so a seed gives the same standings on any number of
+ * 							threads. The winner of a game scores the other hands with
+ * 							Deck.CalculateScore, and Elo ratings move for every winner
+ * 							and loser pair at the table. Strategies are named "bot",
+ * 							"advisor" or "mcts:<playouts per decision>"
+ * Methods:				RoundRobin, Swiss, AvoidRematches, Rematches, PlayRound, PlayMatch,
+ * 							Standings, PrintStandings, NewPlayer, Apply, Combinations
+ */
+public class Tournament {
+
+	// Rating every entrant starts at and how far one game can move it
+	public static final double START_RATING = 1500.0;
+	public static final double K_FACTOR = 24.0;
+
+	// Playouts per decision for "mcts" with no number
+	private static final int DEFAULT_PLAYOUTS = 100;
+
+	/*
+	 * Class:				Entrant
+	 * Purpose:				One strategy's running totals
+	 * Methods:				GetName, GetRating, GetPoints, GetWins, GetGames
+	 */
+	public static class Entrant {
+		final String name;
+		final int index;
+		double rating = START_RATING;
+		long points = 0;
+		int wins = 0;
+		int games = 0;
+
+		Entrant(String name, int index) {
+			this.name = name;
+			this.index = index;
+		}
+
+		public String GetName() {
+			return name;
+		}
+
+		public double GetRating() {
+			return rating;
+		}
+
+		public long GetPoints() {
+			return points;
+		}
+
+		public int GetWins() {
+			return wins;
+		}
+
+		public int GetGames() {
+			return games;
+		}
+	}
+
+	// Best first: points, then rating, then entry order
+	private static final Comparator<Entrant> STANDING = new Comparator<Entrant>() {
+		@Override
+		public int compare(Entrant a, Entrant b) {
+			if (a.points != b.points) {
+				return Long.compare(b.points, a.points);
+			}
+			if (a.rating != b.rating) {
+				return Double.compare(b.rating, a.rating);
+			}
+			return Integer.compare(a.index, b.index);
+		}
+	};
+
+	private final Entrant[] entrants;
+	private final int seats;
+	private final int gamesPerMatch;
+	private final int threads;
+	private final SplittableRandom seeds;
+	private int gamesPlayed = 0;
+
+	// Times each pair of entrants has shared a Swiss table
+	private final int[][] met;
+
+	/*
+	 * Function:			Initialize
+	 * Params: 				Strategy of each entrant(String[]), seats at each table(int),
+	 * 							games in each match(int), worker threads(int), run seed(long)
+	 * Purpose:				Initializes a tournament with every entrant unrated
+	 * Returns:
+	 */
+	public Tournament(String[] strategies, int seats, int gamesPerMatch, int threads, long seed) {
+		if (seats < 2 || seats > Rummy.MAX_PLAYERS || strategies.length < seats) {
+			throw new IllegalArgumentException("Need 2 to " + Rummy.MAX_PLAYERS + " seats and at least as many entrants");
+		}
+		this.entrants = new Entrant[strategies.length];
+		for (int i = 0; i < strategies.length; i++) {
+			NewPlayer(strategies[i], 0L);
+			entrants[i] = new Entrant(strategies[i], i);
+		}
+		this.seats = seats;
+		this.gamesPerMatch = Math.max(1, gamesPerMatch);
+		this.threads = Math.max(1, threads);
+		this.seeds = new SplittableRandom(seed);
+		this.met = new int[strategies.length][strategies.length];
+	}
+
+	/*
+	 * Function:			RoundRobin
+	 * Params: 				Times to play every table(int)
+	 * Purpose:				Play every combination of entrants that fills a table, once
+	 * 							per round
+	 * Returns:
+	 */
+	public void RoundRobin(int rounds) {
+		List<int[]> tables = Combinations(entrants.length, seats);
+		for (int round = 0; round < rounds; round++) {
+			PlayRound(tables);
+		}
+	}
+
+	/*
+	 * Function:			Swiss
+	 * Params: 				Rounds to play(int)
+	 * Purpose:				Each round, seat entrants with their neighbours in the
+	 * 							standings, then move them between tables to keep apart
+	 * 							entrants who have met before. Leftovers form a smaller
+	 * 							table, or sit out alone
+	 * Returns:
+	 */
+	public void Swiss(int rounds) {
+		for (int round = 0; round < rounds; round++) {
+			Entrant[] order = Standings();
+			List<int[]> tables = new ArrayList<int[]>();
+			for (int first = 0; first + 1 < order.length; first += seats) {
+				int size = Math.min(seats, order.length - first);
+				int[] table = new int[size];
+				for (int seat = 0; seat < size; seat++) {
+					table[seat] = order[first + seat].index;
+				}
+				tables.add(table);
+			}
+			AvoidRematches(tables);
+			for (int[] table : tables) {
+				for (int i = 0; i < table.length; i++) {
+					for (int j = i + 1; j < table.length; j++) {
+						met[table[i]][table[j]]++;
+						met[table[j]][table[i]]++;
+					}
+				}
+			}
+			PlayRound(tables);
+		}
+	}
+
+	/*
+	 * Function:			AvoidRematches
+	 * Params: 				Entrants at each table, best first(List<int[]>)
+	 * Purpose:				Going down the tables, swap an entrant of a table that
+	 * 							holds a rematch with one from a table further down,
+	 * 							nearest in the standings first, whenever that seats fewer
+	 * 							pairs who have met. Every swap lowers the rematches below
+	 * 							the table, so the passes end
+	 * Returns:
+	 */
+	private void AvoidRematches(List<int[]> tables) {
+		for (int t = 0; t < tables.size(); t++) {
+			int[] table = tables.get(t);
+			boolean swapped = true;
+			while (swapped && Rematches(table) > 0) {
+				swapped = false;
+				for (int other = t + 1; other < tables.size() && !swapped; other++) {
+					int[] below = tables.get(other);
+					int before = Rematches(table) + Rematches(below);
+					for (int a = table.length - 1; a >= 0 && !swapped; a--) {
+						for (int b = 0; b < below.length && !swapped; b++) {
+							int moved = table[a];
+							table[a] = below[b];
+							below[b] = moved;
+							if (Rematches(table) + Rematches(below) < before) {
+								swapped = true;
+							} else {
+								below[b] = table[a];
+								table[a] = moved;
+							}
+						}
+					}
+				}
+			}
+		}
+	}
+
+	/*
+	 * Function:			Rematches
+	 * Params: 				Entrants at a table(int[])
+	 * Purpose:				Count the earlier meetings between every pair at the table
+	 * Returns: 			Total meetings(int)
+	 */
+	private int Rematches(int[] table) {
+		int total = 0;
+		for (int i = 0; i < table.length; i++) {
+			for (int j = i + 1; j < table.length; j++) {
+				total += met[table[i]][table[j]];
+			}
+		}
+		return total;
+	}
+
+	/*
+	 * Function:			PlayRound
+	 * Params: 				Entrants at each table(List<int[]>)
+	 * Purpose:				Play every game of the round in parallel, then apply the
+	 * 							results in schedule order
+	 * Returns:
+	 */
+	private void PlayRound(List<int[]> tables) {
+		List<int[]> seatings = new ArrayList<int[]>();
+		List<Callable<int[]>> games = new ArrayList<Callable<int[]>>();
+		for (int[] table : tables) {
+			for (int game = 0; game < gamesPerMatch; game++) {
+				// Rotate the seats so everyone takes a turn going first
+				int[] seating = new int[table.length];
+				for (int seat = 0; seat < table.length; seat++) {
+					seating[seat] = table[(seat + game) % table.length];
+				}
+				seatings.add(seating);
+				games.add(PlayMatch(seating, seeds.nextLong()));
+			}
+		}
+
+		ForkJoinPool pool = new ForkJoinPool(threads);
+		try {
+			List<Future<int[]>> results = pool.invokeAll(games);
+			for (int i = 0; i < results.size(); i++) {
+				Apply(seatings.get(i), results.get(i).get());
+			}
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Tournament was interrupted", e);
+		}
+		catch (ExecutionException e) {
+			throw new IllegalStateException("Tournament game failed", e.getCause());
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+
+	/*
+	 * Function:			PlayMatch
+	 * Params: 				Entrant in each seat(int[]), game seed(long)
+	 * Purpose:				Build one quiet game for a worker to play
+	 * Returns: 			Game that returns the winning seat then each seat's hand score
+	 * 							(Callable<int[]>)
+	 */
+	private Callable<int[]> PlayMatch(final int[] seating, final long seed) {
+		return new Callable<int[]>() {
+			@Override
+			public int[] call() {
+				Rummy game = new Rummy(seating.length, seed, Renderer.SILENT);
+				game.SetRoundLimit(Simulation.ROUND_LIMIT);
+				Player[] players = new Player[seating.length];
+				for (int seat = 0; seat < seating.length; seat++) {
+					players[seat] = NewPlayer(entrants[seating[seat]].name, seed + seat);
+				}
+				int[] result = new int[1 + seating.length];
+				result[0] = game.PlayGame(players)[0];
+				for (int seat = 0; seat < seating.length; seat++) {
+					result[1 + seat] = Deck.CalculateScore(game.GetHand(seat));
+					if (players[seat] instanceof MctsPlayer) {
+						((MctsPlayer) players[seat]).Shutdown();
+					}
+				}
+				return result;
+			}
+		};
+	}
+
+	/*
+	 * Function:			Apply
+	 * Params: 				Entrant in each seat(int[]), winning seat then each seat's
+	 * 							hand score(int[])
+	 * Purpose:				Add one game to the standings and move the ratings. Each
+	 * 							loser counts as a lost head to head game worth a share of K
+	 * Returns:
+	 */
+	private void Apply(int[] seating, int[] result) {
+		Entrant winner = entrants[seating[result[0]]];
+		double[] change = new double[seating.length];
+		double k = K_FACTOR / (seating.length - 1);
+		for (int seat = 0; seat < seating.length; seat++) {
+			Entrant entrant = entrants[seating[seat]];
+			entrant.games++;
+			if (seat == result[0]) {
+				continue;
+			}
+			winner.points += result[1 + seat];
+			double expected = 1.0 / (1.0 + Math.pow(10.0, (entrant.rating - winner.rating) / 400.0));
+			change[result[0]] += k * (1.0 - expected);
+			change[seat] -= k * (1.0 - expected);
+		}
+		winner.wins++;
+		for (int seat = 0; seat < seating.length; seat++) {
+			entrants[seating[seat]].rating += change[seat];
+		}
+		gamesPlayed++;
+	}
+
+	/*
+	 * Function:			Standings
+	 * Params:
+	 * Purpose:				Sort the entrants best first by points, then rating
+	 * Returns: 			Entrants in order(Entrant[])
+	 */
+	public Entrant[] Standings() {
+		Entrant[] order = entrants.clone();
+		Arrays.sort(order, STANDING);
+		return order;
+	}
+
+	/*
+	 * Function:			PrintStandings
+	 * Params: 				Where to print(PrintStream)
+	 * Purpose:				Print the standings as a table
+	 * Returns:
+	 */
+	public void PrintStandings(PrintStream out) {
+		out.printf("%d games played%n", gamesPlayed);
+		out.printf("%-4s %-16s %8s %8s %6s %8s%n", "#", "Strategy", "Rating", "Points", "Wins", "Games");
+		Entrant[] order = Standings();
+		for (int i = 0; i < order.length; i++) {
+			out.printf("%-4d %-16s %8.1f %8d %6d %8d%n", (i + 1), order[i].name, order[i].rating,
+					order[i].points, order[i].wins, order[i].games);
+		}
+	}
+
+	/*
+	 * Function:			NewPlayer
+	 * Params: 				Strategy name(String), seed for strategies that search(long)
+	 * Purpose:				Build a fresh player for one game
+	 * Returns: 			Player(Player)
+	 */
+	static Player NewPlayer(String strategy, long seed) {
+		String[] parts = strategy.toLowerCase().split(":");
+		if (parts[0].equals("bot") && parts.length == 1) {
+			return new BotPlayer();
+		}
+		if (parts[0].equals("advisor") && parts.length == 1) {
+			return new AdvisorPlayer();
+		}
+		if (parts[0].equals("mcts") && parts.length <= 2) {
+			try {
+				long playouts = parts.length == 2 ? Long.parseLong(parts[1]) : DEFAULT_PLAYOUTS;
+				if (playouts > 0) {
+					return new MctsPlayer(0, playouts, 1, seed);
+				}
+			}
+			catch (NumberFormatException e) {
+				// Falls through to the error below
+			}
+		}
+		throw new IllegalArgumentException("Unknown strategy " + strategy + ", expected bot, advisor or mcts:<playouts>");
+	}
+
+	/*
+	 * Function:			Combinations
+	 * Params: 				Number of entrants(int), seats at a table(int)
+	 * Purpose:				List every way to pick a table of entrants, in order
+	 * Returns: 			Entrants at each table(List<int[]>)
+	 */
+	private static List<int[]> Combinations(int n, int k) {
+		List<int[]> tables = new ArrayList<int[]>();
+		int[] pick = new int[k];
+		for (int i = 0; i < k; i++) {
+			pick[i] = i;
+		}
+		while (true) {
+			tables.add(pick.clone());
+			int i = k - 1;
+			while (i >= 0 && pick[i] == n - k + i) {
+				i--;
+			}
+			if (i < 0) {
+				return tables;
+			}
+			pick[i]++;
+			for (int j = i + 1; j < k; j++) {
+				pick[j] = pick[j - 1] + 1;
+			}
+		}
+	}
+}
@@ -0,0 +1,77 @@
+/*
+ * 	File:				TurnEvent.java
+ * 	Associated Files:	Rummy.java, Metrics.java
+ * 	Packages Needed:	jdk.jfr.*
+ * 	Author:            	Michael Ngo (https://github.com/yeeshue99)
+ * 	Date Modified:      10/18/2026 by Michael Ngo
+ * 	Modified By:        Michael Ngo
+ *
+ * 	Purpose:			Flight Recorder event for one turn
+ */
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/*
+ * Class:				TurnEvent
+ * Purpose:				Times one player's turn from draw to discard. Only committed
+ * 							while a recording has rummy.Turn enabled
+ * Methods:				Begin, End
+ */
+@Name("rummy.Turn")
+@Label("Rummy Turn")
+@Category("Rummy")
+@Description("One player's draw, melds, lay offs and discard")
+public class TurnEvent extends Event {
+
+	@Label("Player")
+	int player;
+
+	@Label("Round")
+	int round;
+
+	@Label("Drew")
+	@Description("False when no card could be drawn and the game ended")
+	boolean drew;
+
+	@Label("Hand Size")
+	int handSize;
+
+	@Label("Table Melds")
+	int tableMelds;
+
+	/*
+	 * Function:			Begin
+	 * Params:
+	 * Purpose:				Start timing a turn. Only call once Metrics.Recording() is true
+	 * Returns: 			Event to end(TurnEvent)
+	 */
+	static TurnEvent Begin() {
+		TurnEvent event = new TurnEvent();
+		event.begin();
+		return event;
+	}
+
+	/*
+	 * Function:			End
+	 * Params: 				Event from Begin(TurnEvent), player(int), round(int), whether a
+	 * 							card was drawn(boolean), cards left in hand(int), melds on
+	 * 							the table(int)
+	 * Purpose:				Commit a turn event if a recording wants one
+	 * Returns:
+	 */
+	static void End(TurnEvent event, int player, int round, boolean drew, int handSize, int tableMelds) {
+		if (event == null || !event.shouldCommit()) {
+			return;
+		}
+		event.player = player + 1;
+		event.round = round;
+		event.drew = drew;
+		event.handSize = handSize;
+		event.tableMelds = tableMelds;
+		event.commit();
+	}
+}